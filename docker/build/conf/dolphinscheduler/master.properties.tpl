@@ -27,7 +27,7 @@ master.exec.task.num=${MASTER_EXEC_TASK_NUM}
 # master dispatch task number per batch
 master.dispatch.task.num=${MASTER_DISPATCH_TASK_NUM}
 
-# master host selector to select a suitable worker, default value: LowerWeight. Optional values include Random, RoundRobin, LowerWeight
+# master host selector to select a suitable worker, default value: LowerWeight. Optional values include Random, RoundRobin, LowerWeight, Slot
 master.host.selector=${MASTER_HOST_SELECTOR}
 
 # master heartbeat interval, the unit is second
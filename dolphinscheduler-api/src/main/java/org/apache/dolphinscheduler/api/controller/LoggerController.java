@@ -27,10 +27,13 @@ import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.dao.entity.User;
 
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -38,6 +41,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiImplicitParam;
@@ -88,7 +92,7 @@ public class LoggerController extends BaseController {
      *
      * @param loginUser      login user
      * @param taskInstanceId task instance id
-     * @return log file content
+     * @param response response, the log file content is streamed to it
      */
     @ApiOperation(value = "downloadTaskLog", notes = "DOWNLOAD_TASK_INSTANCE_LOG_NOTES")
     @ApiImplicitParams({
@@ -97,14 +101,34 @@ public class LoggerController extends BaseController {
     @GetMapping(value = "/download-log")
     @ResponseBody
     @ApiException(DOWNLOAD_TASK_INSTANCE_LOG_FILE_ERROR)
+    @AccessLogAnnotation(ignoreRequestArgs = {"loginUser", "response"})
+    public void downloadTaskLog(@ApiIgnore @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                @RequestParam(value = "taskInstanceId") int taskInstanceId,
+                                HttpServletResponse response) throws IOException {
+        loggerService.getLogBytes(taskInstanceId, response);
+    }
+
+    /**
+     * follow task log, the lines appended to the log are pushed as server sent events
+     *
+     * @param loginUser      login user
+     * @param taskInstanceId task instance id
+     * @param offset         byte offset to follow from, negative means the end of the log, which is the default
+     * @return emitter of log events
+     */
+    @ApiOperation(value = "followLog", notes = "FOLLOW_TASK_INSTANCE_LOG_NOTES")
+    @ApiImplicitParams({
+            @ApiImplicitParam(name = "taskInstanceId", value = "TASK_ID", dataType = "Int", example = "100"),
+            @ApiImplicitParam(name = "offset", value = "LOG_OFFSET", dataType = "Long", example = "-1")
+    })
+    @GetMapping(value = "/follow", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseStatus(HttpStatus.OK)
+    @ApiException(QUERY_TASK_INSTANCE_LOG_ERROR)
     @AccessLogAnnotation(ignoreRequestArgs = "loginUser")
-    public ResponseEntity downloadTaskLog(@ApiIgnore @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
-                                          @RequestParam(value = "taskInstanceId") int taskInstanceId) {
-        byte[] logBytes = loggerService.getLogBytes(taskInstanceId);
-        return ResponseEntity
-                .ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + System.currentTimeMillis() + ".log" + "\"")
-                .body(logBytes);
+    public SseEmitter followLog(@ApiIgnore @RequestAttribute(value = Constants.SESSION_USER) User loginUser,
+                                @RequestParam(value = "taskInstanceId") int taskInstanceId,
+                                @RequestParam(value = "offset", required = false, defaultValue = "-1") long offset) {
+        return loggerService.followLog(taskInstanceId, offset);
     }
 
 }
@@ -19,6 +19,12 @@ package org.apache.dolphinscheduler.api.service;
 
 import org.apache.dolphinscheduler.api.utils.Result;
 
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
 /**
  * logger service
  */
@@ -43,4 +49,22 @@ public interface LoggerService {
      */
     byte[] getLogBytes(int taskInstId);
 
+    /**
+     * stream log to the response as an attachment
+     *
+     * @param taskInstId task instance id
+     * @param response http response
+     * @throws IOException if the log can not be written
+     */
+    void getLogBytes(int taskInstId, HttpServletResponse response) throws IOException;
+
+    /**
+     * follow log, the log from the offset and the lines appended later are pushed as server sent events
+     *
+     * @param taskInstId task instance id
+     * @param offset byte offset to follow from, negative means the end of the log
+     * @return emitter of log events
+     */
+    SseEmitter followLog(int taskInstId, long offset);
+
 }
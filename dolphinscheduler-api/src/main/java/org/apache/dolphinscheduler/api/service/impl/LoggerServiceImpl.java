@@ -24,22 +24,35 @@ import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.utils.StringUtils;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.service.log.LogClientService;
+import org.apache.dolphinscheduler.service.log.LogFollowListener;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
 import org.apache.commons.lang.ArrayUtils;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletResponse;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * logger service impl
@@ -51,6 +64,11 @@ public class LoggerServiceImpl implements LoggerService {
 
     private static final String LOG_HEAD_FORMAT = "[LOG-PATH]: %s, [HOST]:  %s%s";
 
+    /**
+     * a followed log is closed after the timeout, the browser reconnects if it still watches
+     */
+    private static final long LOG_FOLLOW_TIMEOUT = 30 * 60 * 1000L;
+
     @Autowired
     private ProcessService processService;
 
@@ -133,6 +151,59 @@ public class LoggerServiceImpl implements LoggerService {
                 logClient.getLogBytes(host, Constants.RPC_PORT, taskInstance.getLogPath()));
     }
 
+    /**
+     * stream log to the response as an attachment, the log is sent by the worker chunk by chunk
+     *
+     * @param taskInstId task instance id
+     * @param response http response
+     * @throws IOException if the log can not be written
+     */
+    @Override
+    public void getLogBytes(int taskInstId, HttpServletResponse response) throws IOException {
+        TaskInstance taskInstance = processService.findTaskInstanceById(taskInstId);
+        if (taskInstance == null || StringUtils.isBlank(taskInstance.getHost())) {
+            throw new ServiceException("task instance is null or host is null");
+        }
+        String host = getHost(taskInstance.getHost());
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + System.currentTimeMillis() + ".log" + "\"");
+        OutputStream outputStream = response.getOutputStream();
+        outputStream.write(String.format(LOG_HEAD_FORMAT,
+                taskInstance.getLogPath(),
+                host,
+                Constants.SYSTEM_LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8));
+        logClient.streamLogBytes(host, Constants.RPC_PORT, taskInstance.getLogPath(), outputStream);
+        outputStream.flush();
+    }
+
+    /**
+     * follow log, the worker pushes the bytes appended to the log and they are sent as server sent events.
+     * no thread is held while the log does not grow
+     *
+     * @param taskInstId task instance id
+     * @param offset byte offset to follow from, negative means the end of the log
+     * @return emitter of log events
+     */
+    @Override
+    public SseEmitter followLog(int taskInstId, long offset) {
+        TaskInstance taskInstance = processService.findTaskInstanceById(taskInstId);
+        if (taskInstance == null || StringUtils.isBlank(taskInstance.getHost())) {
+            throw new ServiceException("task instance is null or host is null");
+        }
+        String host = getHost(taskInstance.getHost());
+        LogFollowEmitter emitter = new LogFollowEmitter(LOG_FOLLOW_TIMEOUT);
+        try {
+            long followId = logClient.followLog(host, Constants.RPC_PORT, taskInstance.getLogPath(), offset, emitter);
+            emitter.onCompletion(() -> logClient.cancelLogFollow(followId));
+            emitter.onTimeout(() -> logClient.cancelLogFollow(followId));
+            emitter.onError(e -> logClient.cancelLogFollow(followId));
+        } catch (RemotingException e) {
+            logger.error("follow log of task instance {} error", taskInstId, e);
+            throw new ServiceException(Status.QUERY_TASK_INSTANCE_LOG_ERROR);
+        }
+        return emitter;
+    }
+
     /**
      * get host
      *
@@ -145,4 +216,94 @@ public class LoggerServiceImpl implements LoggerService {
         }
         return Host.of(address).getIp();
     }
+
+    /**
+     * emits the bytes of a followed log as "log" events, each complete line of the log is a data line of the event.
+     * a line or a character split between two chunks is held back until it is completed by a later chunk.
+     * a "close" event carrying the last incomplete line, if any, is sent when the worker stops sending the log
+     */
+    static class LogFollowEmitter extends SseEmitter implements LogFollowListener {
+
+        private static final Pattern LINE_SEPARATOR = Pattern.compile("\\r\\n|\\r|\\n");
+
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        /**
+         * bytes of a character split between two chunks
+         */
+        private byte[] pending = new byte[0];
+
+        /**
+         * text after the last line separator
+         */
+        private String partialLine = StringUtils.EMPTY;
+
+        LogFollowEmitter(long timeout) {
+            super(timeout);
+        }
+
+        @Override
+        public void onLog(byte[] bytes) throws IOException {
+            String text = partialLine + decode(bytes);
+            int end = lastLineEnd(text);
+            partialLine = text.substring(end);
+            if (end == 0) {
+                return;
+            }
+            SseEventBuilder event = event().name("log");
+            // the text ends with a line separator, nothing follows the last one
+            String[] lines = LINE_SEPARATOR.split(text.substring(0, end), -1);
+            for (int i = 0; i < lines.length - 1; i++) {
+                event.data(lines[i]);
+            }
+            try {
+                send(event);
+            } catch (IllegalStateException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void onClose(boolean success, String msg) {
+            try {
+                if (!partialLine.isEmpty()) {
+                    send(event().name("log").data(partialLine));
+                    partialLine = StringUtils.EMPTY;
+                }
+                send(event().name("close").data(success || msg == null ? StringUtils.EMPTY : msg));
+                complete();
+            } catch (IOException | IllegalStateException e) {
+                logger.warn("send log close event error : {}", e.getMessage());
+            }
+        }
+
+        /**
+         * end of the complete lines of text, a trailing carriage return may be the first half of a line separator
+         */
+        private static int lastLineEnd(String text) {
+            for (int i = text.length() - 1; i >= 0; i--) {
+                char c = text.charAt(i);
+                if (c == '\n') {
+                    return i + 1;
+                }
+                if (c == '\r' && i < text.length() - 1) {
+                    return i + 1;
+                }
+            }
+            return 0;
+        }
+
+        private String decode(byte[] bytes) {
+            ByteBuffer in = ByteBuffer.allocate(pending.length + bytes.length);
+            in.put(pending).put(bytes).flip();
+            CharBuffer out = CharBuffer.allocate(in.remaining());
+            decoder.decode(in, out, false);
+            pending = new byte[in.remaining()];
+            in.get(pending);
+            out.flip();
+            return out.toString();
+        }
+    }
 }
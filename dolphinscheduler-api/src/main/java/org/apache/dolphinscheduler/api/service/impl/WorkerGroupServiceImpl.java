@@ -24,7 +24,7 @@ import org.apache.dolphinscheduler.api.utils.RegistryMonitor;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.NodeType;
 import org.apache.dolphinscheduler.common.utils.CollectionUtils;
-import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.common.utils.HeartBeat;
 import org.apache.dolphinscheduler.common.utils.StringUtils;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.User;
@@ -288,8 +288,11 @@ public class WorkerGroupServiceImpl extends BaseServiceImpl implements WorkerGro
             if (isPaging) {
                 wg.setAddrList(String.join(Constants.COMMA, childrenNodes));
                 String registeredValue = registryClient.get(workerGroupPath + Constants.SLASH + childrenNodes.get(0));
-                wg.setCreateTime(DateUtils.stringToDate(registeredValue.split(Constants.COMMA)[6]));
-                wg.setUpdateTime(DateUtils.stringToDate(registeredValue.split(Constants.COMMA)[7]));
+                HeartBeat heartBeat = HeartBeat.decodeHeartBeat(registeredValue);
+                if (heartBeat != null) {
+                    wg.setCreateTime(new Date(heartBeat.getStartupTime()));
+                    wg.setUpdateTime(new Date(heartBeat.getReportTime()));
+                }
                 wg.setSystemDefault(true);
             }
             workerGroups.add(wg);
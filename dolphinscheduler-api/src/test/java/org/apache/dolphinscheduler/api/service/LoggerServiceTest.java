@@ -18,11 +18,14 @@
 package org.apache.dolphinscheduler.api.service;
 
 import org.apache.dolphinscheduler.api.enums.Status;
+import org.apache.dolphinscheduler.api.exceptions.ServiceException;
 import org.apache.dolphinscheduler.api.service.impl.LoggerServiceImpl;
 import org.apache.dolphinscheduler.api.utils.Result;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
+import java.io.IOException;
+
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -35,6 +38,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 /**
  * logger service test
@@ -113,6 +117,23 @@ public class LoggerServiceTest {
 
     }
 
+    @Test
+    public void testStreamLogBytesTaskInstanceNotFound() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            loggerService.getLogBytes(2, response);
+            Assert.fail("task instance should not be found");
+        } catch (ServiceException e) {
+            Assert.assertFalse(response.isCommitted());
+            Assert.assertEquals(0, response.getContentAsByteArray().length);
+        }
+    }
+
+    @Test(expected = ServiceException.class)
+    public void testFollowLogTaskInstanceNotFound() {
+        loggerService.followLog(2, 0);
+    }
+
     @After
     public void close() {
         this.loggerService.close();
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.api.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+
+/**
+ * logger service impl test
+ */
+public class LoggerServiceImplTest {
+
+    @Test
+    public void testFollowLogLines() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        byte[] bytes = "first line\nsecond 日志\r\nthird\n\nlast".getBytes(StandardCharsets.UTF_8);
+        // split inside the multi-byte characters, the lines and the line separators
+        int[] splits = {3, 14, 19, 23, 25, 33, bytes.length};
+        int from = 0;
+        for (int to : splits) {
+            emitter.onLog(Arrays.copyOfRange(bytes, from, to));
+            from = to;
+        }
+        emitter.onClose(true, null);
+
+        Assert.assertEquals(Arrays.asList(
+                "event:log\ndata:first line\n\n",
+                "event:log\ndata:second 日志\ndata:third\ndata:\n\n",
+                "event:log\ndata:last\n\n",
+                "event:close\ndata:\n\n"), emitter.events);
+    }
+
+    /**
+     * emitter recording the events sent
+     */
+    private static class RecordingEmitter extends LoggerServiceImpl.LogFollowEmitter {
+
+        private final List<String> events = new ArrayList<>();
+
+        RecordingEmitter() {
+            super(1000);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder event = new StringBuilder();
+            for (DataWithMediaType data : builder.build()) {
+                event.append(data.getData());
+            }
+            events.add(event.toString());
+        }
+    }
+}
@@ -393,11 +393,6 @@ public final class Constants {
      */
     public static final int DEFAULT_WORKER_HOST_WEIGHT = 100;
 
-    /**
-     * default log cache rows num,output when reach the number
-     */
-    public static final int DEFAULT_LOG_ROWS_NUM = 4 * 16;
-
     /**
      * log flush interval?output when reach the interval
      */
@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
@@ -151,6 +152,18 @@ public class TaskNode {
      */
     private int delayTime;
 
+    /**
+     * cpu quota required by task, percent of a cpu core, no requirement if not positive
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private int cpuQuota;
+
+    /**
+     * max memory required by task in MB, no requirement if not positive
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private int memoryMax;
+
     public String getId() {
         return id;
     }
@@ -331,6 +344,22 @@ public class TaskNode {
         this.delayTime = delayTime;
     }
 
+    public int getCpuQuota() {
+        return cpuQuota;
+    }
+
+    public void setCpuQuota(int cpuQuota) {
+        this.cpuQuota = cpuQuota;
+    }
+
+    public int getMemoryMax() {
+        return memoryMax;
+    }
+
+    public void setMemoryMax(int memoryMax) {
+        this.memoryMax = memoryMax;
+    }
+
     public Long getCode() {
         return code;
     }
@@ -415,6 +444,8 @@ public class TaskNode {
                 + ", workerGroup='" + workerGroup + '\''
                 + ", timeout='" + timeout + '\''
                 + ", delayTime=" + delayTime
+                + ", cpuQuota=" + cpuQuota
+                + ", memoryMax=" + memoryMax
                 + '}';
     }
 }
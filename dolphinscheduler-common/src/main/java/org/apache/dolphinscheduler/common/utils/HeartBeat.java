@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.utils;
+
+import org.apache.dolphinscheduler.common.Constants;
+
+import java.util.Date;
+
+/**
+ * heartbeat of master and worker in registry, encoded as json with a version.
+ * the comma joined heartbeat of older servers can still be decoded
+ */
+public class HeartBeat {
+
+    /**
+     * version of the json heartbeat
+     */
+    public static final int VERSION = 1;
+
+    private int version = VERSION;
+
+    private long startupTime;
+    private long reportTime;
+    private double cpuUsage;
+    private double memoryUsage;
+    private double loadAverage;
+    private double availablePhysicalMemorySize; // unit: G
+    private double maxCpuloadAvg;
+    private double reservedMemory; // unit: G
+    private double diskAvailable; // unit: G, -1 if unknown
+    private int processId;
+    private int serverStatus;
+
+    // worker only
+    private int workerHostWeight;
+    private int workerQueuedTaskCount;
+    private int workerRunningTaskCount;
+    private int workerExecThreadCount; // 0 if unknown
+    private int cpuCores; // 0 if unknown
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
+    public long getStartupTime() {
+        return startupTime;
+    }
+
+    public void setStartupTime(long startupTime) {
+        this.startupTime = startupTime;
+    }
+
+    public long getReportTime() {
+        return reportTime;
+    }
+
+    public void setReportTime(long reportTime) {
+        this.reportTime = reportTime;
+    }
+
+    public double getCpuUsage() {
+        return cpuUsage;
+    }
+
+    public void setCpuUsage(double cpuUsage) {
+        this.cpuUsage = cpuUsage;
+    }
+
+    public double getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    public void setMemoryUsage(double memoryUsage) {
+        this.memoryUsage = memoryUsage;
+    }
+
+    public double getLoadAverage() {
+        return loadAverage;
+    }
+
+    public void setLoadAverage(double loadAverage) {
+        this.loadAverage = loadAverage;
+    }
+
+    public double getAvailablePhysicalMemorySize() {
+        return availablePhysicalMemorySize;
+    }
+
+    public void setAvailablePhysicalMemorySize(double availablePhysicalMemorySize) {
+        this.availablePhysicalMemorySize = availablePhysicalMemorySize;
+    }
+
+    public double getMaxCpuloadAvg() {
+        return maxCpuloadAvg;
+    }
+
+    public void setMaxCpuloadAvg(double maxCpuloadAvg) {
+        this.maxCpuloadAvg = maxCpuloadAvg;
+    }
+
+    public double getReservedMemory() {
+        return reservedMemory;
+    }
+
+    public void setReservedMemory(double reservedMemory) {
+        this.reservedMemory = reservedMemory;
+    }
+
+    public double getDiskAvailable() {
+        return diskAvailable;
+    }
+
+    public void setDiskAvailable(double diskAvailable) {
+        this.diskAvailable = diskAvailable;
+    }
+
+    public int getProcessId() {
+        return processId;
+    }
+
+    public void setProcessId(int processId) {
+        this.processId = processId;
+    }
+
+    public int getServerStatus() {
+        return serverStatus;
+    }
+
+    public void setServerStatus(int serverStatus) {
+        this.serverStatus = serverStatus;
+    }
+
+    public int getWorkerHostWeight() {
+        return workerHostWeight;
+    }
+
+    public void setWorkerHostWeight(int workerHostWeight) {
+        this.workerHostWeight = workerHostWeight;
+    }
+
+    public int getWorkerQueuedTaskCount() {
+        return workerQueuedTaskCount;
+    }
+
+    public void setWorkerQueuedTaskCount(int workerQueuedTaskCount) {
+        this.workerQueuedTaskCount = workerQueuedTaskCount;
+    }
+
+    public int getWorkerRunningTaskCount() {
+        return workerRunningTaskCount;
+    }
+
+    public void setWorkerRunningTaskCount(int workerRunningTaskCount) {
+        this.workerRunningTaskCount = workerRunningTaskCount;
+    }
+
+    public int getWorkerExecThreadCount() {
+        return workerExecThreadCount;
+    }
+
+    public void setWorkerExecThreadCount(int workerExecThreadCount) {
+        this.workerExecThreadCount = workerExecThreadCount;
+    }
+
+    public int getCpuCores() {
+        return cpuCores;
+    }
+
+    public void setCpuCores(int cpuCores) {
+        this.cpuCores = cpuCores;
+    }
+
+    /**
+     * whether the heartbeat differs from another one enough to be published again,
+     * the report time is ignored
+     *
+     * @param other heartbeat published before
+     * @param threshold min relative change of the usages, at least the threshold itself for the values below 1
+     * @return true if other is null, the status or a task count is changed, or a usage is changed beyond the threshold
+     */
+    public boolean isChanged(HeartBeat other, double threshold) {
+        if (other == null) {
+            return true;
+        }
+        if (serverStatus != other.serverStatus
+                || processId != other.processId
+                || startupTime != other.startupTime
+                || workerHostWeight != other.workerHostWeight
+                || workerQueuedTaskCount != other.workerQueuedTaskCount
+                || workerRunningTaskCount != other.workerRunningTaskCount
+                || workerExecThreadCount != other.workerExecThreadCount
+                || cpuCores != other.cpuCores) {
+            return true;
+        }
+        return isChanged(cpuUsage, other.cpuUsage, threshold)
+                || isChanged(memoryUsage, other.memoryUsage, threshold)
+                || isChanged(loadAverage, other.loadAverage, threshold)
+                || isChanged(availablePhysicalMemorySize, other.availablePhysicalMemorySize, threshold)
+                || isChanged(diskAvailable, other.diskAvailable, threshold);
+    }
+
+    private static boolean isChanged(double value, double other, double threshold) {
+        return Math.abs(value - other) >= threshold * Math.max(Math.abs(other), 1);
+    }
+
+    /**
+     * @return heartbeat json
+     */
+    public String encodeHeartBeat() {
+        return JSONUtils.toJsonString(this);
+    }
+
+    /**
+     * decode heartbeat, either json or comma joined by older servers
+     *
+     * @param heartBeatInfo heartbeat info
+     * @return heartbeat, null if the heartbeat info is invalid
+     */
+    public static HeartBeat decodeHeartBeat(String heartBeatInfo) {
+        if (StringUtils.isEmpty(heartBeatInfo)) {
+            return null;
+        }
+        if (heartBeatInfo.charAt(0) == '{') {
+            return JSONUtils.parseObject(heartBeatInfo, HeartBeat.class);
+        }
+        String[] parts = heartBeatInfo.split(Constants.COMMA);
+        if (!ResInfo.isValidHeartbeatForRegistryInfo(parts)) {
+            return null;
+        }
+        try {
+            HeartBeat heartBeat = new HeartBeat();
+            heartBeat.setVersion(0);
+            heartBeat.setCpuUsage(Double.parseDouble(parts[0]));
+            heartBeat.setMemoryUsage(Double.parseDouble(parts[1]));
+            heartBeat.setLoadAverage(Double.parseDouble(parts[2]));
+            heartBeat.setAvailablePhysicalMemorySize(Double.parseDouble(parts[3]));
+            heartBeat.setMaxCpuloadAvg(Double.parseDouble(parts[4]));
+            heartBeat.setReservedMemory(Double.parseDouble(parts[5]));
+            heartBeat.setStartupTime(getTime(parts[6]));
+            heartBeat.setReportTime(getTime(parts[7]));
+            heartBeat.setServerStatus(Integer.parseInt(parts[8]));
+            heartBeat.setProcessId(Integer.parseInt(parts[9]));
+            heartBeat.setDiskAvailable(OSUtils.NEGATIVE_ONE);
+            heartBeat.setWorkerHostWeight(ResInfo.isNewHeartbeatWithWeight(parts)
+                    ? Integer.parseInt(parts[10]) : Constants.DEFAULT_WORKER_HOST_WEIGHT);
+            return heartBeat;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long getTime(String date) {
+        Date time = DateUtils.stringToDate(date);
+        return time == null ? 0 : time.getTime();
+    }
+
+    @Override
+    public String toString() {
+        return encodeHeartBeat();
+    }
+}
@@ -25,6 +25,7 @@ import static com.fasterxml.jackson.databind.DeserializationFeature.READ_UNKNOWN
 import static com.fasterxml.jackson.databind.MapperFeature.REQUIRE_SETTERS_FOR_GETTERS;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -145,6 +146,27 @@ public class JSONUtils {
         return parseObject(json, clazz);
     }
 
+    /**
+     *  deserialize
+     *
+     * @param src input stream
+     * @param clazz class
+     * @param <T> deserialize type
+     * @return deserialize type
+     */
+    public static <T> T parseObject(InputStream src, Class<T> clazz) {
+        if (src == null) {
+            return null;
+        }
+
+        try {
+            return objectMapper.readValue(src, clazz);
+        } catch (Exception e) {
+            logger.error("parse object exception!", e);
+        }
+        return null;
+    }
+
     /**
      * json to list
      *
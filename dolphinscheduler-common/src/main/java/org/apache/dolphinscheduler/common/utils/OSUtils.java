@@ -20,6 +20,7 @@ package org.apache.dolphinscheduler.common.utils;
 import org.apache.dolphinscheduler.common.shell.ShellExecutor;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
@@ -121,6 +122,29 @@ public class OSUtils {
         return Double.parseDouble(df.format(totalPhysicalMemorySize));
     }
 
+    /**
+     * get available disk space of the data base dir
+     * <p>
+     * Keep 2 decimal
+     *
+     * @return available disk space, unit: G
+     */
+    public static double diskAvailable() {
+        File dataBaseDir = new File(FileUtils.DATA_BASEDIR).getAbsoluteFile();
+        // the data base dir is created by the first task
+        while (dataBaseDir != null && !dataBaseDir.exists()) {
+            dataBaseDir = dataBaseDir.getParentFile();
+        }
+        if (dataBaseDir == null) {
+            return NEGATIVE_ONE;
+        }
+        double diskAvailable = dataBaseDir.getUsableSpace() / 1024.0 / 1024 / 1024;
+
+        DecimalFormat df = new DecimalFormat(TWO_DECIMAL);
+        df.setRoundingMode(RoundingMode.HALF_UP);
+        return Double.parseDouble(df.format(diskAvailable));
+    }
+
     /**
      * load average
      *
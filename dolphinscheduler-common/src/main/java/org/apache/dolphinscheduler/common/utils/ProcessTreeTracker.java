@@ -0,0 +1,468 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.utils;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * process tree tracker, reads the process trees of tasks from procfs instead of forking pstree.
+ * children are read from /proc/[pid]/task/[tid]/children, or from one scan of /proc/[pid]/stat
+ * when the kernel does not expose them.
+ * the trees of the tracked tasks are refreshed periodically while the tasks run, every process seen in the tree
+ * is cached with its start time, so that the processes orphaned by the death of their parent are still found
+ * and a reused pid is never taken for a task process.
+ * the kill requests of one tenant arriving within a short window are coalesced into one kill command
+ */
+public class ProcessTreeTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessTreeTracker.class);
+
+    private static final String PROC = "/proc";
+
+    /**
+     * max pids signaled by one kill command, keeps the command line far below ARG_MAX
+     */
+    private static final int MAX_PIDS_PER_KILL = 2000;
+
+    private static final boolean PROCFS_SUPPORTED = new File(PROC, "self/stat").isFile();
+
+    private static final boolean CHILDREN_SUPPORTED = PROCFS_SUPPORTED && isChildrenFileExists();
+
+    /**
+     * interval of refreshing the tracked process trees
+     */
+    static final long REFRESH_INTERVAL_MILLIS = 1000;
+
+    /**
+     * window in which the kill requests of one tenant are coalesced
+     */
+    static final long KILL_COALESCE_MILLIS = 20;
+
+    /**
+     * tracked process trees, key is the task instance id
+     */
+    private final ConcurrentHashMap<Integer, ProcessTree> trees = new ConcurrentHashMap<>();
+
+    /**
+     * tenant -> kill requests waiting for the end of the window, guarded by itself
+     */
+    private final Map<String, PendingKill> pendingKills = new HashMap<>();
+
+    private final ScheduledExecutorService killExecutor = ThreadUtils.newDaemonThreadScheduledExecutor("ProcessTreeKiller", 1);
+
+    private ProcessTreeTracker() {
+        if (PROCFS_SUPPORTED) {
+            ScheduledExecutorService executorService = ThreadUtils.newDaemonThreadScheduledExecutor("ProcessTreeTracker", 1);
+            executorService.scheduleWithFixedDelay(this::refresh, REFRESH_INTERVAL_MILLIS, REFRESH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static class ProcessTreeTrackerHolder {
+        private static final ProcessTreeTracker INSTANCE = new ProcessTreeTracker();
+    }
+
+    public static ProcessTreeTracker getInstance() {
+        return ProcessTreeTrackerHolder.INSTANCE;
+    }
+
+    /**
+     * @return whether process trees can be read from procfs
+     */
+    public static boolean isSupported() {
+        return PROCFS_SUPPORTED;
+    }
+
+    /**
+     * track the process tree of task
+     *
+     * @param taskInstanceId task instance id
+     * @param pid pid of the task process
+     */
+    public void track(int taskInstanceId, int pid) {
+        if (!PROCFS_SUPPORTED || pid <= 0) {
+            return;
+        }
+        ProcessTable table = newProcessTable();
+        long startTime = table.getStartTime(pid);
+        if (startTime >= 0) {
+            ProcessTree tree = new ProcessTree(pid, startTime);
+            tree.refresh(table);
+            trees.put(taskInstanceId, tree);
+        }
+    }
+
+    /**
+     * stop tracking the process tree of task
+     *
+     * @param taskInstanceId task instance id
+     */
+    public void untrack(int taskInstanceId) {
+        trees.remove(taskInstanceId);
+    }
+
+    /**
+     * @return number of tracked process trees
+     */
+    public int getTrackedCount() {
+        return trees.size();
+    }
+
+    /**
+     * get the alive processes in the tree of task
+     *
+     * @param taskInstanceId task instance id
+     * @param pid pid of the task process
+     * @return pids, the task process first if it is alive
+     */
+    public List<Integer> getProcessTree(int taskInstanceId, int pid) {
+        if (!PROCFS_SUPPORTED) {
+            return Collections.emptyList();
+        }
+        ProcessTable table = newProcessTable();
+        ProcessTree tree = trees.get(taskInstanceId);
+        if (tree == null || tree.rootPid != pid) {
+            // not tracked by this worker, e.g. killed before the tracking or after a restart
+            tree = new ProcessTree(pid, table.getStartTime(pid));
+        }
+        return tree.refresh(table);
+    }
+
+    /**
+     * refresh the tracked process trees, the process table is read once for all the trees.
+     * the descendants are added while their parents are alive, so they are still found once orphaned
+     */
+    void refresh() {
+        if (trees.isEmpty()) {
+            return;
+        }
+        try {
+            ProcessTable table = newProcessTable();
+            for (ProcessTree tree : trees.values()) {
+                tree.refresh(table);
+            }
+        } catch (Exception e) {
+            logger.warn("refresh process trees failed", e);
+        }
+    }
+
+    /**
+     * read the alive processes in the tree of process, without tracking
+     *
+     * @param pid pid
+     * @return pids, the process first if it is alive
+     */
+    public static List<Integer> readProcessTree(int pid) {
+        if (!PROCFS_SUPPORTED) {
+            return Collections.emptyList();
+        }
+        ProcessTable table = newProcessTable();
+        return new ProcessTree(pid, table.getStartTime(pid)).refresh(table);
+    }
+
+    private static ProcessTable newProcessTable() {
+        return CHILDREN_SUPPORTED ? new ProcessTable() : ProcessTable.scan();
+    }
+
+    /**
+     * send SIGKILL to processes along with the other kill requests of the tenant arriving within
+     * {@link #KILL_COALESCE_MILLIS}, wait until the coalesced kill command is run
+     *
+     * @param tenantCode tenant to run the kill command as
+     * @param pids pids
+     * @return whether the coalesced kill commands succeeded, a failure may be caused by the pids of other requests
+     * @throws InterruptedException if interrupted
+     */
+    public boolean killCoalesced(String tenantCode, Collection<Integer> pids) throws InterruptedException {
+        if (pids.isEmpty()) {
+            return true;
+        }
+        CompletableFuture<Boolean> result;
+        synchronized (pendingKills) {
+            PendingKill pendingKill = pendingKills.get(tenantCode);
+            if (pendingKill == null) {
+                pendingKill = new PendingKill();
+                pendingKills.put(tenantCode, pendingKill);
+                killExecutor.schedule(() -> killPending(tenantCode), KILL_COALESCE_MILLIS, TimeUnit.MILLISECONDS);
+            }
+            pendingKill.pids.addAll(pids);
+            result = pendingKill.result;
+        }
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            logger.warn("kill processes failed, pids: {}", pids, e.getCause());
+            return false;
+        }
+    }
+
+    private void killPending(String tenantCode) {
+        PendingKill pendingKill;
+        synchronized (pendingKills) {
+            pendingKill = pendingKills.remove(tenantCode);
+        }
+        try {
+            pendingKill.result.complete(kill(tenantCode, pendingKill.pids));
+        } catch (Exception e) {
+            pendingKill.result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * send SIGKILL to processes, by as few kill commands as possible
+     *
+     * @param tenantCode tenant to run the kill command as
+     * @param pids pids
+     * @return whether all kill commands succeeded
+     */
+    public static boolean kill(String tenantCode, Collection<Integer> pids) {
+        if (pids.isEmpty()) {
+            return true;
+        }
+        boolean success = true;
+        List<Integer> pidList = new ArrayList<>(pids);
+        for (int from = 0; from < pidList.size(); from += MAX_PIDS_PER_KILL) {
+            List<Integer> batch = pidList.subList(from, Math.min(from + MAX_PIDS_PER_KILL, pidList.size()));
+            StringBuilder cmd = new StringBuilder("kill -9");
+            for (Integer pid : batch) {
+                cmd.append(' ').append(pid);
+            }
+            String killCmd = OSUtils.getSudoCmd(tenantCode, cmd.toString());
+            try {
+                OSUtils.exeCmd(killCmd);
+            } catch (IOException e) {
+                // kill goes on with the other pids when one of them has already exited
+                logger.warn("kill processes failed, {} pids, cmd: {}, {}", batch.size(), killCmd, e.getMessage());
+                success = false;
+            }
+        }
+        return success;
+    }
+
+    /**
+     * kill requests of a tenant waiting for the end of the window
+     */
+    private static final class PendingKill {
+
+        private final Set<Integer> pids = new LinkedHashSet<>();
+
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+    }
+
+    /**
+     * pids of the processes seen in the tree of a task, with their start times
+     */
+    private static final class ProcessTree {
+
+        private final int rootPid;
+
+        private final Map<Integer, Long> processes = new LinkedHashMap<>();
+
+        ProcessTree(int rootPid, long startTime) {
+            this.rootPid = rootPid;
+            if (startTime >= 0) {
+                processes.put(rootPid, startTime);
+            }
+        }
+
+        /**
+         * drop the exited processes and add the descendants of the alive ones
+         *
+         * @param table process table
+         * @return alive pids
+         */
+        synchronized List<Integer> refresh(ProcessTable table) {
+            Deque<Integer> queue = new ArrayDeque<>();
+            Iterator<Map.Entry<Integer, Long>> iterator = processes.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Integer, Long> entry = iterator.next();
+                if (table.getStartTime(entry.getKey()) == entry.getValue()) {
+                    queue.add(entry.getKey());
+                } else {
+                    iterator.remove();
+                }
+            }
+            while (!queue.isEmpty()) {
+                for (Integer child : table.getChildren(queue.poll())) {
+                    if (!processes.containsKey(child)) {
+                        long startTime = table.getStartTime(child);
+                        if (startTime >= 0) {
+                            processes.put(child, startTime);
+                            queue.add(child);
+                        }
+                    }
+                }
+            }
+            return new ArrayList<>(processes.keySet());
+        }
+    }
+
+    /**
+     * process table, reads procfs per pid unless it is a snapshot from a scan of all processes
+     */
+    static class ProcessTable {
+
+        private final Map<Integer, Long> startTimes;
+
+        private final Map<Integer, List<Integer>> children;
+
+        ProcessTable() {
+            this(null, null);
+        }
+
+        private ProcessTable(Map<Integer, Long> startTimes, Map<Integer, List<Integer>> children) {
+            this.startTimes = startTimes;
+            this.children = children;
+        }
+
+        /**
+         * read the stat of all processes
+         *
+         * @return process table snapshot
+         */
+        static ProcessTable scan() {
+            String[] names = new File(PROC).list();
+            Map<Integer, Long> startTimes = new HashMap<>();
+            Map<Integer, List<Integer>> children = new HashMap<>();
+            if (names != null) {
+                for (String name : names) {
+                    if (name.isEmpty() || !Character.isDigit(name.charAt(0))) {
+                        continue;
+                    }
+                    int pid = Integer.parseInt(name);
+                    long[] stat = readStat(pid);
+                    if (stat != null) {
+                        startTimes.put(pid, stat[1]);
+                        children.computeIfAbsent((int) stat[0], k -> new ArrayList<>()).add(pid);
+                    }
+                }
+            }
+            return new ProcessTable(startTimes, children);
+        }
+
+        /**
+         * @return start time in clock ticks after boot, -1 if the process does not exist
+         */
+        long getStartTime(int pid) {
+            if (startTimes != null) {
+                Long startTime = startTimes.get(pid);
+                return startTime == null ? -1 : startTime;
+            }
+            return readStartTime(pid);
+        }
+
+        List<Integer> getChildren(int pid) {
+            if (children != null) {
+                return children.getOrDefault(pid, Collections.emptyList());
+            }
+            return readChildren(pid);
+        }
+    }
+
+    private static long readStartTime(int pid) {
+        long[] stat = readStat(pid);
+        return stat == null ? -1 : stat[1];
+    }
+
+    /**
+     * read /proc/[pid]/stat
+     *
+     * @return parent pid and start time, null if the process does not exist
+     */
+    static long[] readStat(int pid) {
+        String stat = readProcFile(pid + "/stat");
+        if (stat == null) {
+            return null;
+        }
+        // the command name in parentheses may contain spaces and parentheses, fields follow the last one
+        int end = stat.lastIndexOf(')');
+        if (end < 0) {
+            return null;
+        }
+        String[] fields = stat.substring(end + 2).split(" ");
+        // fields from the state, the 3rd field of stat: ppid is the 4th and starttime the 22nd
+        if (fields.length < 20) {
+            return null;
+        }
+        try {
+            return new long[]{Long.parseLong(fields[1]), Long.parseLong(fields[19])};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * read the children of all threads of process
+     */
+    static List<Integer> readChildren(int pid) {
+        String[] tids = new File(PROC, pid + "/task").list();
+        if (tids == null) {
+            return Collections.emptyList();
+        }
+        List<Integer> result = new ArrayList<>();
+        for (String tid : tids) {
+            String content = readProcFile(pid + "/task/" + tid + "/children");
+            if (StringUtils.isBlank(content)) {
+                continue;
+            }
+            for (String child : content.trim().split(" ")) {
+                result.add(Integer.parseInt(child));
+            }
+        }
+        return result;
+    }
+
+    private static boolean isChildrenFileExists() {
+        String[] tids = new File(PROC, "self/task").list();
+        return tids != null && tids.length > 0 && new File(PROC, "self/task/" + tids[0] + "/children").isFile();
+    }
+
+    private static String readProcFile(String path) {
+        try {
+            return new String(Files.readAllBytes(Paths.get(PROC, path)), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            // the process does not exist or exited while reading
+            return null;
+        }
+    }
+}
@@ -20,6 +20,8 @@ package org.apache.dolphinscheduler.common.utils;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.model.Server;
 
+import java.util.Date;
+
 /**
  *  heartbeat for ZK reigster res info
  */
@@ -92,18 +94,18 @@ public class ResInfo {
      * @return heartbeat info to Server
      */
     public static Server parseHeartbeatForRegistryInfo(String heartBeatInfo) {
-        if (!isValidHeartbeatForRegistryInfo(heartBeatInfo)) {
+        HeartBeat heartBeat = HeartBeat.decodeHeartBeat(heartBeatInfo);
+        if (heartBeat == null) {
             return null;
         }
-        String[] parts = heartBeatInfo.split(Constants.COMMA);
         Server server = new Server();
-        server.setResInfo(getResInfoJson(Double.parseDouble(parts[0]),
-                Double.parseDouble(parts[1]),
-                Double.parseDouble(parts[2])));
-        server.setCreateTime(DateUtils.stringToDate(parts[6]));
-        server.setLastHeartbeatTime(DateUtils.stringToDate(parts[7]));
+        server.setResInfo(getResInfoJson(heartBeat.getCpuUsage(),
+                heartBeat.getMemoryUsage(),
+                heartBeat.getLoadAverage()));
+        server.setCreateTime(new Date(heartBeat.getStartupTime()));
+        server.setLastHeartbeatTime(new Date(heartBeat.getReportTime()));
         //set process id
-        server.setId(Integer.parseInt(parts[9]));
+        server.setId(heartBeat.getProcessId());
         return server;
     }
 
@@ -113,12 +115,17 @@ public class ResInfo {
      * @return heartbeat info is valid
      */
     public static boolean isValidHeartbeatForRegistryInfo(String heartBeatInfo) {
-        if (StringUtils.isNotEmpty(heartBeatInfo)) {
-            String[] parts = heartBeatInfo.split(Constants.COMMA);
-            return parts.length == Constants.HEARTBEAT_FOR_ZOOKEEPER_INFO_LENGTH
-                    || parts.length == Constants.HEARTBEAT_WITH_WEIGHT_FOR_ZOOKEEPER_INFO_LENGTH;
-        }
-        return false;
+        return HeartBeat.decodeHeartBeat(heartBeatInfo) != null;
+    }
+
+    /**
+     * is valid comma joined heartbeat info for zk
+     * @param parts heartbeat info parts
+     * @return heartbeat info is valid
+     */
+    public static boolean isValidHeartbeatForRegistryInfo(String[] parts) {
+        return parts.length == Constants.HEARTBEAT_FOR_ZOOKEEPER_INFO_LENGTH
+                || parts.length == Constants.HEARTBEAT_WITH_WEIGHT_FOR_ZOOKEEPER_INFO_LENGTH;
     }
 
     /**
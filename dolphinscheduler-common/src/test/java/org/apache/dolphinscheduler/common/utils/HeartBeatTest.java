@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.utils;
+
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.model.Server;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HeartBeatTest {
+
+    @Test
+    public void testEncodeHeartBeat() {
+        HeartBeat heartBeat = newHeartBeat();
+        String heartBeatInfo = heartBeat.encodeHeartBeat();
+        HeartBeat decoded = HeartBeat.decodeHeartBeat(heartBeatInfo);
+        Assert.assertNotNull(decoded);
+        Assert.assertEquals(HeartBeat.VERSION, decoded.getVersion());
+        Assert.assertEquals(heartBeatInfo, decoded.encodeHeartBeat());
+        Assert.assertFalse(decoded.isChanged(heartBeat, 0.1));
+
+        Server server = ResInfo.parseHeartbeatForRegistryInfo(heartBeatInfo);
+        Assert.assertNotNull(server);
+        Assert.assertEquals(1234, server.getId());
+        Assert.assertEquals(2000L, server.getLastHeartbeatTime().getTime());
+    }
+
+    @Test
+    public void testDecodeCommaJoinedHeartBeat() {
+        String heartBeatInfo = "0.3,0.4,1.5,6.0,10.0,1.0,2021-01-01 00:00:00,2021-01-01 00:00:10,0,1234";
+        HeartBeat heartBeat = HeartBeat.decodeHeartBeat(heartBeatInfo);
+        Assert.assertNotNull(heartBeat);
+        Assert.assertEquals(0, heartBeat.getVersion());
+        Assert.assertEquals(1.5, heartBeat.getLoadAverage(), 0);
+        Assert.assertEquals(10000L, heartBeat.getReportTime() - heartBeat.getStartupTime());
+        Assert.assertEquals(Constants.DEFAULT_WORKER_HOST_WEIGHT, heartBeat.getWorkerHostWeight());
+        Assert.assertEquals(0, heartBeat.getWorkerExecThreadCount());
+
+        heartBeat = HeartBeat.decodeHeartBeat(heartBeatInfo + ",50");
+        Assert.assertNotNull(heartBeat);
+        Assert.assertEquals(50, heartBeat.getWorkerHostWeight());
+        Assert.assertEquals(0, heartBeat.getWorkerRunningTaskCount());
+
+        Assert.assertNull(HeartBeat.decodeHeartBeat(heartBeatInfo + ",50,3,4"));
+
+        Assert.assertNull(HeartBeat.decodeHeartBeat(""));
+        Assert.assertNull(HeartBeat.decodeHeartBeat("0.3,0.4"));
+        Assert.assertNull(HeartBeat.decodeHeartBeat(heartBeatInfo.replace("1234", "pid")));
+    }
+
+    @Test
+    public void testIsChanged() {
+        HeartBeat heartBeat = newHeartBeat();
+        Assert.assertTrue(heartBeat.isChanged(null, 0.1));
+
+        HeartBeat other = newHeartBeat();
+        other.setReportTime(3000L);
+        other.setCpuUsage(0.35);
+        other.setLoadAverage(10.5);
+        Assert.assertFalse(heartBeat.isChanged(other, 0.1));
+
+        other.setCpuUsage(0.45);
+        Assert.assertTrue(heartBeat.isChanged(other, 0.1));
+
+        other = newHeartBeat();
+        other.setLoadAverage(12);
+        Assert.assertTrue(heartBeat.isChanged(other, 0.1));
+
+        other = newHeartBeat();
+        other.setWorkerRunningTaskCount(5);
+        Assert.assertTrue(heartBeat.isChanged(other, 0.1));
+    }
+
+    private HeartBeat newHeartBeat() {
+        HeartBeat heartBeat = new HeartBeat();
+        heartBeat.setStartupTime(1000L);
+        heartBeat.setReportTime(2000L);
+        heartBeat.setCpuUsage(0.3);
+        heartBeat.setMemoryUsage(0.4);
+        heartBeat.setLoadAverage(10);
+        heartBeat.setAvailablePhysicalMemorySize(6);
+        heartBeat.setMaxCpuloadAvg(16);
+        heartBeat.setReservedMemory(1);
+        heartBeat.setDiskAvailable(100);
+        heartBeat.setProcessId(1234);
+        heartBeat.setServerStatus(Constants.NORMAL_NODE_STATUS);
+        heartBeat.setWorkerHostWeight(100);
+        heartBeat.setWorkerQueuedTaskCount(1);
+        heartBeat.setWorkerRunningTaskCount(4);
+        heartBeat.setWorkerExecThreadCount(8);
+        heartBeat.setCpuCores(4);
+        return heartBeat;
+    }
+}
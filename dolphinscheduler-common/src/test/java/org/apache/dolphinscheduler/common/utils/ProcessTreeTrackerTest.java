@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.common.utils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProcessTreeTrackerTest {
+
+    private final List<Process> processes = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue(ProcessTreeTracker.isSupported());
+    }
+
+    @After
+    public void tearDown() {
+        for (Process process : processes) {
+            process.destroyForcibly();
+        }
+    }
+
+    @Test
+    public void testReadProcessTree() throws Exception {
+        int pid = startTree();
+        List<Integer> pids = awaitTree(pid);
+        Assert.assertEquals(3, pids.size());
+        Assert.assertEquals(pid, (int) pids.get(0));
+
+        Assert.assertTrue(ProcessTreeTracker.readProcessTree(Integer.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    public void testTrackOrphans() throws Exception {
+        ProcessTreeTracker tracker = ProcessTreeTracker.getInstance();
+        int pid = startTree();
+        tracker.track(1, pid);
+        List<Integer> pids = awaitTree(pid);
+        Assert.assertEquals(3, pids.size());
+        // the children started after the tracking are added by the periodic refresh
+        Thread.sleep(ProcessTreeTracker.REFRESH_INTERVAL_MILLIS * 3);
+
+        // the sleeps are orphaned when the shell is killed, they are still in the tree of the task
+        ProcessTreeTracker.kill(null, pids.subList(0, 1));
+        Assert.assertTrue(processes.get(0).waitFor(10, TimeUnit.SECONDS));
+        List<Integer> orphans = tracker.getProcessTree(1, pid);
+        Assert.assertEquals(pids.subList(1, 3), orphans);
+        Assert.assertTrue(ProcessTreeTracker.readProcessTree(pid).isEmpty());
+
+        Assert.assertTrue(ProcessTreeTracker.kill(null, orphans));
+        tracker.untrack(1);
+        Assert.assertEquals(0, tracker.getTrackedCount());
+    }
+
+    @Test
+    public void testKillTrees() throws Exception {
+        int pid1 = startTree();
+        int pid2 = startTree();
+        List<Integer> pids = new ArrayList<>(awaitTree(pid1));
+        pids.addAll(awaitTree(pid2));
+
+        Assert.assertTrue(ProcessTreeTracker.kill(null, pids));
+        Assert.assertTrue(processes.get(0).waitFor(10, TimeUnit.SECONDS));
+        Assert.assertTrue(processes.get(1).waitFor(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testKillCoalesced() throws Exception {
+        int pid1 = startTree();
+        int pid2 = startTree();
+        List<Integer> pids1 = awaitTree(pid1);
+        List<Integer> pids2 = awaitTree(pid2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> kill1 = executor.submit(() -> ProcessTreeTracker.getInstance().killCoalesced(null, pids1));
+            Future<Boolean> kill2 = executor.submit(() -> ProcessTreeTracker.getInstance().killCoalesced(null, pids2));
+            Assert.assertTrue(kill1.get(10, TimeUnit.SECONDS));
+            Assert.assertTrue(kill2.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertTrue(processes.get(0).waitFor(10, TimeUnit.SECONDS));
+        Assert.assertTrue(processes.get(1).waitFor(10, TimeUnit.SECONDS));
+        Assert.assertTrue(ProcessTreeTracker.getInstance().killCoalesced(null, new ArrayList<>()));
+    }
+
+    private int startTree() throws Exception {
+        Process process = new ProcessBuilder("sh", "-c", "sleep 60 & sleep 60 & wait").start();
+        processes.add(process);
+        Field f = process.getClass().getDeclaredField("pid");
+        f.setAccessible(true);
+        return f.getInt(process);
+    }
+
+    private List<Integer> awaitTree(int pid) throws InterruptedException {
+        List<Integer> pids = ProcessTreeTracker.readProcessTree(pid);
+        for (int i = 0; i < 100 && pids.size() < 3; i++) {
+            Thread.sleep(50);
+            pids = ProcessTreeTracker.readProcessTree(pid);
+        }
+        return pids;
+    }
+}
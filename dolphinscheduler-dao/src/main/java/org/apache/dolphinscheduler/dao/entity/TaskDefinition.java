@@ -163,6 +163,16 @@ public class TaskDefinition {
      */
     private String resourceIds;
 
+    /**
+     * cpu quota required by task, percent of a cpu core, no requirement if not positive
+     */
+    private int cpuQuota;
+
+    /**
+     * max memory required by task in MB, no requirement if not positive
+     */
+    private int memoryMax;
+
     /**
      * create time
      */
@@ -395,6 +405,22 @@ public class TaskDefinition {
         this.delayTime = delayTime;
     }
 
+    public int getCpuQuota() {
+        return cpuQuota;
+    }
+
+    public void setCpuQuota(int cpuQuota) {
+        this.cpuQuota = cpuQuota;
+    }
+
+    public int getMemoryMax() {
+        return memoryMax;
+    }
+
+    public void setMemoryMax(int memoryMax) {
+        this.memoryMax = memoryMax;
+    }
+
     @Override
     public String toString() {
         return "TaskDefinition{"
@@ -421,6 +447,8 @@ public class TaskDefinition {
                 + ", timeout=" + timeout
                 + ", delayTime=" + delayTime
                 + ", resourceIds='" + resourceIds + '\''
+                + ", cpuQuota=" + cpuQuota
+                + ", memoryMax=" + memoryMax
                 + ", createTime=" + createTime
                 + ", updateTime=" + updateTime
                 + '}';
@@ -64,6 +64,8 @@ public class TaskDefinitionLog extends TaskDefinition {
         this.setTaskType(taskDefinition.getTaskType());
         this.setTimeout(taskDefinition.getTimeout());
         this.setDelayTime(taskDefinition.getDelayTime());
+        this.setCpuQuota(taskDefinition.getCpuQuota());
+        this.setMemoryMax(taskDefinition.getMemoryMax());
         this.setTimeoutFlag(taskDefinition.getTimeoutFlag());
         this.setUpdateTime(taskDefinition.getUpdateTime());
         this.setCreateTime(taskDefinition.getCreateTime());
@@ -36,6 +36,31 @@ public interface CommandMapper extends BaseMapper<Command> {
      */
     Command getOneToRun();
 
+    /**
+     * query a batch of commands to run, ordered by update time
+     * @param limit max number of commands
+     * @return command list
+     */
+    List<Command> queryCommandPage(@Param("limit") int limit);
+
+    /**
+     * query a batch of commands to run whose id belongs to the slot of this master
+     * @param limit max number of commands
+     * @param masterCount master count
+     * @param thisMasterSlot slot of this master
+     * @return command list
+     */
+    List<Command> queryCommandPageBySlot(@Param("limit") int limit,
+                                         @Param("masterCount") int masterCount,
+                                         @Param("thisMasterSlot") int thisMasterSlot);
+
+    /**
+     * lock the command row in current transaction
+     * @param id command id
+     * @return command id, null if the command has been deleted
+     */
+    Integer lockCommandById(@Param("id") int id);
+
     /**
      * count command state
      * @param userId userId
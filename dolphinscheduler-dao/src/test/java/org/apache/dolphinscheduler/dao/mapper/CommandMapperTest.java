@@ -145,6 +145,57 @@ public class CommandMapperTest {
         assertNotNull(actualCommand);
     }
 
+    /**
+     * test query command page
+     */
+    @Test
+    public void testQueryCommandPage() {
+
+        ProcessDefinition processDefinition = createProcessDefinition();
+
+        createCommand(CommandType.START_PROCESS, processDefinition.getId());
+        createCommand(CommandType.START_PROCESS, processDefinition.getId());
+        createCommand(CommandType.START_PROCESS, processDefinition.getId());
+
+        List<Command> actualCommands = commandMapper.queryCommandPage(2);
+
+        assertEquals(2, actualCommands.size());
+    }
+
+    /**
+     * test query command page by slot
+     */
+    @Test
+    public void testQueryCommandPageBySlot() {
+
+        ProcessDefinition processDefinition = createProcessDefinition();
+
+        Command expectedCommand = createCommand(CommandType.START_PROCESS, processDefinition.getId());
+
+        int masterCount = 2;
+        int thisMasterSlot = expectedCommand.getId() % masterCount;
+        List<Command> actualCommands = commandMapper.queryCommandPageBySlot(10, masterCount, thisMasterSlot);
+
+        assertThat(actualCommands.size(), greaterThanOrEqualTo(1));
+        for (Command actualCommand : actualCommands) {
+            assertEquals(thisMasterSlot, actualCommand.getId() % masterCount);
+        }
+    }
+
+    /**
+     * test lock command by id
+     */
+    @Test
+    public void testLockCommandById() {
+        Command expectedCommand = createCommand();
+
+        assertEquals(Integer.valueOf(expectedCommand.getId()), commandMapper.lockCommandById(expectedCommand.getId()));
+
+        commandMapper.deleteById(expectedCommand.getId());
+
+        assertNull(commandMapper.lockCommandById(expectedCommand.getId()));
+    }
+
     /**
      * test count command state
      */
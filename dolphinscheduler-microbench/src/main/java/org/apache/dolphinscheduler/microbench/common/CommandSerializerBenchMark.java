@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.common;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteRequestCommand;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteResponseCommand;
+import org.apache.dolphinscheduler.remote.utils.CommandSerializer;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * json vs protostuff body of the task execute request and response commands
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CommandSerializerBenchMark extends AbstractBaseBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommandSerializerBenchMark.class);
+
+    @Param({"JSON", "PROTOSTUFF"})
+    private String serializerName;
+
+    private CommandSerializer serializer;
+
+    private TaskExecuteRequestCommand requestCommand;
+
+    private TaskExecuteResponseCommand responseCommand;
+
+    private byte[] requestBody;
+
+    private byte[] responseBody;
+
+    @Setup
+    public void setUp() {
+        serializer = CommandSerializer.of(serializerName);
+
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            script.append("echo \"line ").append(i).append(" of the shell script\"\n");
+        }
+        Map<String, Object> taskParams = new HashMap<>();
+        taskParams.put("rawScript", script.toString());
+        taskParams.put("localParams", "[]");
+        Map<String, Object> taskNode = new HashMap<>();
+        taskNode.put("type", "SHELL");
+        taskNode.put("name", "shell-task");
+        taskNode.put("params", JSONUtils.toJsonString(taskParams));
+        Map<String, Object> context = new HashMap<>();
+        context.put("taskInstanceId", 1);
+        context.put("taskName", "shell-task");
+        context.put("taskType", "SHELL");
+        context.put("host", "192.168.1.1:1234");
+        context.put("executePath", "/tmp/dolphinscheduler/exec/process/1/2/3/4");
+        context.put("taskJson", JSONUtils.toJsonString(taskNode));
+        requestCommand = new TaskExecuteRequestCommand(JSONUtils.toJsonString(context));
+
+        responseCommand = new TaskExecuteResponseCommand(1);
+        responseCommand.setStatus(7);
+        responseCommand.setEndTime(new Date());
+        responseCommand.setProcessId(12345);
+        responseCommand.setAppIds("application_1600000000000_0001");
+        responseCommand.setVarPool("[{\"prop\":\"output\",\"direct\":\"OUT\",\"type\":\"VARCHAR\",\"value\":\"1\"}]");
+
+        requestBody = serializer.serialize(requestCommand);
+        responseBody = serializer.serialize(responseCommand);
+        logger.info("{} request body {} bytes, response body {} bytes", serializer, requestBody.length, responseBody.length);
+    }
+
+    @Benchmark
+    public Command serializeRequest() {
+        Command command = new Command();
+        CommandSerializer.serializeBody(command, requestCommand, serializer);
+        return command;
+    }
+
+    @Benchmark
+    public TaskExecuteRequestCommand deserializeRequest() {
+        return serializer.deserialize(requestBody, TaskExecuteRequestCommand.class);
+    }
+
+    @Benchmark
+    public Command serializeResponse() {
+        Command command = new Command();
+        CommandSerializer.serializeBody(command, responseCommand, serializer);
+        return command;
+    }
+
+    @Benchmark
+    public TaskExecuteResponseCommand deserializeResponse() {
+        return serializer.deserialize(responseBody, TaskExecuteResponseCommand.class);
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.common;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostSlot;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWeight;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWorker;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.LowerWeightRoundRobin;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.RandomSelector;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.RoundRobinSelector;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.SlotSelector;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * simulation of task placement on workers of different sizes, with bursts of tasks between heartbeats.
+ * workers report heartbeats every 10s and the lower weight snapshot is refreshed every 5s like in the master.
+ * the counters are the placement quality: waitMillis is the mean time a task waits for a slot,
+ * skewPercent the mean difference between the most and the least used worker, overcommitted the
+ * task ticks queued on a full worker. an operation simulates one hour
+ */
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HostSelectorSimulationBenchMark extends AbstractBaseBenchmark {
+
+    private static final int TICK_MILLIS = 100;
+
+    private static final int SIMULATION_TICKS = 36000;
+
+    private static final int HEARTBEAT_TICKS = 100;
+
+    private static final int REFRESH_TICKS = 50;
+
+    private static final int BURST_TICKS = 50;
+
+    private static final int[] WORKER_SLOTS = {8, 16, 32, 8, 16, 32, 8, 16};
+
+    private static final int MIN_TASK_TICKS = 200;
+
+    private static final int MAX_TASK_TICKS = 1200;
+
+    private static final double UTILIZATION = 0.7;
+
+    @Param({"lowerweight", "random", "roundrobin", "slot"})
+    private String selector;
+
+    /**
+     * placement quality, mean of the operations in an iteration
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Placement {
+
+        public double waitMillis;
+
+        public double skewPercent;
+
+        public double overcommitted;
+
+        private int simulations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            waitMillis = 0;
+            skewPercent = 0;
+            overcommitted = 0;
+            simulations = 0;
+        }
+
+        void add(double waitMillis, double skewPercent, long overcommitted) {
+            simulations++;
+            this.waitMillis += (waitMillis - this.waitMillis) / simulations;
+            this.skewPercent += (skewPercent - this.skewPercent) / simulations;
+            this.overcommitted += (overcommitted - this.overcommitted) / simulations;
+        }
+    }
+
+    @Benchmark
+    public void simulate(Placement placement) {
+        new Simulation(selector).run(placement);
+    }
+
+    /**
+     * task waiting or running on a worker
+     */
+    private static final class Task {
+
+        private final int submitTick;
+
+        private final int duration;
+
+        private int finishTick;
+
+        Task(int submitTick, int duration) {
+            this.submitTick = submitTick;
+            this.duration = duration;
+        }
+    }
+
+    private static final class Worker {
+
+        private final int slots;
+
+        private final HostWorker hostWorker;
+
+        private final HostSlot hostSlot;
+
+        private final Deque<Task> queued = new ArrayDeque<>();
+
+        private final List<Task> running = new ArrayList<>();
+
+        /**
+         * queued and running tasks in the last heartbeat
+         */
+        private int reportedQueued;
+
+        private int reportedRunning;
+
+        Worker(int index, int slots) {
+            this.slots = slots;
+            this.hostWorker = HostWorker.of("192.168.1." + index + ":1234", 100, "default");
+            this.hostSlot = new HostSlot(hostWorker);
+        }
+
+        int getAssigned() {
+            return queued.size() + running.size();
+        }
+
+        void heartbeat(int tick) {
+            reportedQueued = queued.size();
+            reportedRunning = running.size();
+            int cores = slots / 2;
+            double cpuUsage = Math.min(1.0, (double) reportedRunning / slots);
+            int freeMemory = (slots - reportedRunning) * 512;
+            hostSlot.update(slots, reportedQueued + reportedRunning, (int) (cores * 100 * (1 - cpuUsage)), freeMemory,
+                    (long) tick * TICK_MILLIS);
+        }
+
+        HostWeight getHostWeight() {
+            double cpuUsage = Math.min(1.0, (double) reportedRunning / slots);
+            double loadAverage = (double) (reportedRunning + reportedQueued) / (slots / 2);
+            return new HostWeight(hostWorker, cpuUsage, cpuUsage, loadAverage, 0, reportedQueued, reportedRunning);
+        }
+    }
+
+    private static final class Simulation {
+
+        private final String selector;
+
+        private final Random random = new Random(1);
+
+        private final List<Worker> workers = new ArrayList<>();
+
+        private final LowerWeightRoundRobin lowerWeightRoundRobin = new LowerWeightRoundRobin();
+
+        private final RandomSelector randomSelector = new RandomSelector();
+
+        private final RoundRobinSelector roundRobinSelector = new RoundRobinSelector();
+
+        private final SlotSelector slotSelector = new SlotSelector();
+
+        private List<HostWeight> hostWeights = new ArrayList<>();
+
+        /**
+         * tasks failed to dispatch, waiting in the master
+         */
+        private final Deque<Task> pending = new ArrayDeque<>();
+
+        Simulation(String selector) {
+            this.selector = selector;
+            for (int i = 0; i < WORKER_SLOTS.length; i++) {
+                workers.add(new Worker(i, WORKER_SLOTS[i]));
+            }
+        }
+
+        void run(Placement placement) {
+            int totalSlots = 0;
+            for (int slots : WORKER_SLOTS) {
+                totalSlots += slots;
+            }
+            double arrivalsPerTick = UTILIZATION * totalSlots / ((MIN_TASK_TICKS + MAX_TASK_TICKS) / 2.0);
+            int burstSize = (int) Math.round(arrivalsPerTick * BURST_TICKS);
+
+            long totalWaitTicks = 0;
+            long finishedTasks = 0;
+            double skew = 0;
+            long overcommitted = 0;
+            for (int tick = 0; tick < SIMULATION_TICKS; tick++) {
+                for (int i = 0; i < workers.size(); i++) {
+                    // heartbeats of workers are not aligned
+                    if ((tick + i * HEARTBEAT_TICKS / workers.size()) % HEARTBEAT_TICKS == 0) {
+                        workers.get(i).heartbeat(tick);
+                    }
+                }
+                if (tick % REFRESH_TICKS == 0) {
+                    hostWeights = new ArrayList<>();
+                    for (Worker worker : workers) {
+                        hostWeights.add(worker.getHostWeight());
+                    }
+                }
+                if (tick % BURST_TICKS == 0) {
+                    for (int i = 0; i < burstSize; i++) {
+                        pending.add(new Task(tick, MIN_TASK_TICKS + random.nextInt(MAX_TASK_TICKS - MIN_TASK_TICKS)));
+                    }
+                }
+                dispatch(tick);
+
+                double maxLoad = 0;
+                double minLoad = Double.MAX_VALUE;
+                for (Worker worker : workers) {
+                    for (int i = worker.running.size() - 1; i >= 0; i--) {
+                        if (worker.running.get(i).finishTick <= tick) {
+                            worker.running.remove(i);
+                            finishedTasks++;
+                        }
+                    }
+                    while (worker.running.size() < worker.slots && !worker.queued.isEmpty()) {
+                        Task task = worker.queued.poll();
+                        totalWaitTicks += tick - task.submitTick;
+                        task.finishTick = tick + task.duration;
+                        worker.running.add(task);
+                    }
+                    overcommitted += worker.queued.size();
+                    double load = (double) worker.getAssigned() / worker.slots;
+                    maxLoad = Math.max(maxLoad, load);
+                    minLoad = Math.min(minLoad, load);
+                }
+                skew += maxLoad - minLoad;
+            }
+            placement.add(finishedTasks == 0 ? 0 : (double) totalWaitTicks * TICK_MILLIS / finishedTasks,
+                    skew * 100 / SIMULATION_TICKS, overcommitted);
+        }
+
+        private void dispatch(int tick) {
+            while (!pending.isEmpty()) {
+                Worker worker = select(tick);
+                if (worker == null) {
+                    // no free slot, retry at the next tick
+                    return;
+                }
+                worker.queued.add(pending.poll());
+            }
+        }
+
+        private Worker select(int tick) {
+            HostWorker hostWorker;
+            switch (selector) {
+                case "lowerweight":
+                    hostWorker = lowerWeightRoundRobin.select(hostWeights).getHostWorker();
+                    break;
+                case "random":
+                    hostWorker = randomSelector.select(getHostWorkers());
+                    break;
+                case "roundrobin":
+                    hostWorker = roundRobinSelector.select(getHostWorkers());
+                    break;
+                case "slot":
+                    List<HostSlot> hostSlots = new ArrayList<>();
+                    for (Worker worker : workers) {
+                        hostSlots.add(worker.hostSlot);
+                    }
+                    HostSlot hostSlot = slotSelector.select(hostSlots);
+                    if (hostSlot == null) {
+                        return null;
+                    }
+                    hostSlot.assign(0, 0, (long) tick * TICK_MILLIS);
+                    hostWorker = hostSlot.getHostWorker();
+                    break;
+                default:
+                    throw new IllegalArgumentException("invalid selector : " + selector);
+            }
+            for (Worker worker : workers) {
+                if (worker.hostWorker == hostWorker) {
+                    return worker;
+                }
+            }
+            return null;
+        }
+
+        private List<HostWorker> getHostWorkers() {
+            List<HostWorker> hostWorkers = new ArrayList<>();
+            for (Worker worker : workers) {
+                hostWorkers.add(worker.hostWorker);
+            }
+            return hostWorkers;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.common;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.service.queue.JournalTaskPriorityQueue;
+import org.apache.dolphinscheduler.service.queue.TaskPriority;
+import org.apache.dolphinscheduler.service.queue.TaskPriorityJournal;
+import org.apache.dolphinscheduler.service.queue.TaskPriorityQueue;
+import org.apache.dolphinscheduler.service.queue.TaskPriorityQueueImpl;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * journal overhead on the dispatch path, one put, one poll and one ack per operation
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JournalTaskPriorityQueueBenchMark extends AbstractBaseBenchmark {
+
+    private File dir;
+
+    private TaskPriorityQueue<TaskPriority> memoryQueue;
+
+    private JournalTaskPriorityQueue journalQueue;
+
+    private int taskId;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("journal").toFile();
+        memoryQueue = new TaskPriorityQueueImpl();
+        journalQueue = new JournalTaskPriorityQueue(new TaskPriorityQueueImpl(), new TaskPriorityJournal(dir, 16 * 1024 * 1024));
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws Exception {
+        journalQueue.close();
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                Files.delete(file.toPath());
+            }
+        }
+        Files.delete(dir.toPath());
+    }
+
+    @Benchmark
+    public TaskPriority memoryQueue() throws Exception {
+        memoryQueue.put(new TaskPriority(0, 1, 0, taskId++, "default"));
+        TaskPriority taskPriority = memoryQueue.poll(0, TimeUnit.MILLISECONDS);
+        memoryQueue.ack(taskPriority);
+        return taskPriority;
+    }
+
+    @Benchmark
+    public TaskPriority journalQueue() throws Exception {
+        journalQueue.put(new TaskPriority(0, 1, 0, taskId++, "default"));
+        TaskPriority taskPriority = journalQueue.poll(0, TimeUnit.MILLISECONDS);
+        journalQueue.ack(taskPriority);
+        return taskPriority;
+    }
+}
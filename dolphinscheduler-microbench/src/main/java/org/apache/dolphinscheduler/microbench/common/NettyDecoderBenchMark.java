@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.common;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.remote.codec.NettyDecoder;
+import org.apache.dolphinscheduler.remote.codec.NettyEncoder;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteRequestCommand;
+import org.apache.dolphinscheduler.remote.utils.CommandSerializer;
+import org.apache.dolphinscheduler.remote.utils.Constants;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * decode of a task execute request into a command and its body, copied vs retained body.
+ * run with -prof gc for the allocation rate
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class NettyDecoderBenchMark extends AbstractBaseBenchmark {
+
+    @Param({"1024", "65536"})
+    private int bodySize;
+
+    @Param({"false", "true"})
+    private boolean retainBody;
+
+    private ByteBuf frame;
+
+    private EmbeddedChannel channel;
+
+    @Setup
+    public void setUp() {
+        StringBuilder context = new StringBuilder();
+        while (context.length() < bodySize) {
+            context.append("echo \"hello world\"\n");
+        }
+        Command command = new TaskExecuteRequestCommand(context.toString()).convert2Command();
+
+        EmbeddedChannel encodeChannel = new EmbeddedChannel(new NettyEncoder());
+        encodeChannel.writeOutbound(command);
+        ByteBuf encoded = encodeChannel.readOutbound();
+        frame = PooledByteBufAllocator.DEFAULT.directBuffer(encoded.readableBytes());
+        frame.writeBytes(encoded);
+        encoded.release();
+
+        channel = new EmbeddedChannel(new NettyDecoder(Constants.DEFAULT_MAX_FRAME_LENGTH, retainBody));
+    }
+
+    @TearDown
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+        frame.release();
+    }
+
+    @Benchmark
+    public TaskExecuteRequestCommand decode() {
+        channel.writeInbound(frame.retainedDuplicate());
+        Command command = channel.readInbound();
+        try {
+            return CommandSerializer.deserializeBody(command, TaskExecuteRequestCommand.class);
+        } finally {
+            command.releaseBody();
+        }
+    }
+}
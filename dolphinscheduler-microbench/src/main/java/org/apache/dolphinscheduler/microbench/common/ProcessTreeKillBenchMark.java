@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.common;
+
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.common.utils.ProcessTreeTracker;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * killing the process trees of many tasks at the same time from several threads, each tree is a shell with two children.
+ * pstree forks pstree and kill per task like before, procfs reads the tree of each task from procfs
+ * and forks only kill, coalesced also reads procfs but the kills requested within a short window are
+ * run by one kill command. an operation kills all the trees
+ */
+@Warmup(iterations = 2)
+@Measurement(iterations = 4)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProcessTreeKillBenchMark extends AbstractBaseBenchmark {
+
+    private static final Pattern PSTREE_PATTERN = Pattern.compile("\\w+\\((\\d+)\\)");
+
+    @Param({"500"})
+    private int treeCount;
+
+    @Param({"32"})
+    private int killThreads;
+
+    @Param({"coalesced", "procfs", "pstree"})
+    private String mode;
+
+    private ExecutorService killExecutor;
+
+    private final List<Process> processes = new ArrayList<>();
+
+    private final Map<Integer, Integer> taskPids = new HashMap<>();
+
+    @Setup
+    public void setUp() {
+        killExecutor = Executors.newFixedThreadPool(killThreads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        killExecutor.shutdownNow();
+    }
+
+    @Setup(Level.Invocation)
+    public void startTrees() throws Exception {
+        for (int i = 0; i < treeCount; i++) {
+            Process process = new ProcessBuilder("sh", "-c", "sleep 600 & sleep 600 & wait").start();
+            processes.add(process);
+            Field f = process.getClass().getDeclaredField("pid");
+            f.setAccessible(true);
+            taskPids.put(i, f.getInt(process));
+        }
+        for (Integer pid : taskPids.values()) {
+            while (ProcessTreeTracker.readProcessTree(pid).size() < 3) {
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopTrees() throws InterruptedException {
+        for (Process process : processes) {
+            process.destroyForcibly();
+            process.waitFor();
+        }
+        processes.clear();
+        taskPids.clear();
+    }
+
+    @Benchmark
+    public void killTrees() throws Exception {
+        List<Future<?>> futures = new ArrayList<>(taskPids.size());
+        for (Map.Entry<Integer, Integer> entry : taskPids.entrySet()) {
+            futures.add(killExecutor.submit(() -> {
+                killTree(entry.getKey(), entry.getValue());
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        for (Process process : processes) {
+            process.waitFor();
+        }
+    }
+
+    private void killTree(int taskInstanceId, int pid) throws Exception {
+        switch (mode) {
+            case "coalesced":
+                ProcessTreeTracker.getInstance().killCoalesced(null, ProcessTreeTracker.getInstance().getProcessTree(taskInstanceId, pid));
+                break;
+            case "procfs":
+                ProcessTreeTracker.kill(null, ProcessTreeTracker.getInstance().getProcessTree(taskInstanceId, pid));
+                break;
+            default:
+                Matcher mat = PSTREE_PATTERN.matcher(OSUtils.exeCmd(String.format("%s -p %d", Constants.PSTREE, pid)));
+                List<String> pids = new ArrayList<>();
+                while (mat.find()) {
+                    pids.add(mat.group(1));
+                }
+                OSUtils.exeCmd(String.format("kill -9 %s", String.join(" ", pids)));
+                break;
+        }
+    }
+}
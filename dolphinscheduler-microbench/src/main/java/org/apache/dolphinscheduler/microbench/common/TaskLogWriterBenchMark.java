@@ -0,0 +1,197 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.dolphinscheduler.microbench.common;
+
+import static ch.qos.logback.classic.ClassicConstants.FINALIZE_SESSION_MARKER;
+
+import org.apache.dolphinscheduler.common.utils.LoggerUtils;
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.service.log.TaskLog;
+import org.apache.dolphinscheduler.service.log.TaskLogWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.joran.JoranConfigurator;
+import ch.qos.logback.core.joran.spi.JoranException;
+
+/**
+ * concurrent noisy tasks writing their output logs, by the shared asynchronous task log writer
+ * or synchronously on the task output thread through the task log sifting appender of logback-worker.xml,
+ * in batches of lines logged by the task logger like the command executor did before the task log writer.
+ * an operation runs all the tasks, tasks per second is the score multiplied by the task count
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TaskLogWriterBenchMark extends AbstractBaseBenchmark {
+
+    /**
+     * the task log part of logback-worker.xml
+     */
+    private static final String LOGBACK_CONFIG = "<configuration>"
+            + "<conversionRule conversionWord=\"message\" converterClass=\"org.apache.dolphinscheduler.service.log.SensitiveDataConverter\"/>"
+            + "<property name=\"task.log.pattern\" scope=\"context\" value=\"[%level] %date{yyyy-MM-dd HH:mm:ss.SSS} %logger{96}:[%line] - %message%n\"/>"
+            + "<appender name=\"TASKLOGFILE\" class=\"ch.qos.logback.classic.sift.SiftingAppender\">"
+            + "<filter class=\"org.apache.dolphinscheduler.server.log.TaskLogFilter\"/>"
+            + "<Discriminator class=\"org.apache.dolphinscheduler.server.log.TaskLogDiscriminator\">"
+            + "<key>taskAppId</key><logBase>${log.base}</logBase>"
+            + "</Discriminator>"
+            + "<sift><appender name=\"FILE-${taskAppId}\" class=\"ch.qos.logback.core.FileAppender\">"
+            + "<file>${log.base}/${taskAppId}.log</file>"
+            + "<encoder><pattern>${task.log.pattern}</pattern><charset>UTF-8</charset></encoder>"
+            + "<append>true</append>"
+            + "</appender></sift>"
+            + "</appender>"
+            + "<root level=\"INFO\"><appender-ref ref=\"TASKLOGFILE\"/></root>"
+            + "</configuration>";
+
+    /**
+     * lines the command executor buffered before passing them to the task logger
+     */
+    private static final int SYNC_BATCH_LINES = 64;
+
+    @Param({"200"})
+    private int taskCount;
+
+    @Param({"1000"})
+    private int linesPerTask;
+
+    @Param({"async", "sync"})
+    private String mode;
+
+    private ExecutorService taskExecutor;
+
+    private TaskLogWriter writer;
+
+    private Path logDir;
+
+    @Setup
+    public void setUp() throws IOException, JoranException {
+        taskExecutor = Executors.newFixedThreadPool(taskCount);
+        writer = new TaskLogWriter(4);
+        logDir = Files.createTempDirectory("task-log-bench");
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+        context.putProperty("log.base", logDir.toString());
+        JoranConfigurator configurator = new JoranConfigurator();
+        configurator.setContext(context);
+        configurator.doConfigure(new ByteArrayInputStream(LOGBACK_CONFIG.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteLogs() throws IOException {
+        try (Stream<Path> logs = Files.walk(logDir)) {
+            logs.sorted(Collections.reverseOrder())
+                    .filter(log -> !log.equals(logDir))
+                    .forEach(log -> log.toFile().delete());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        taskExecutor.shutdownNow();
+        writer.close();
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).reset();
+        Files.deleteIfExists(logDir);
+    }
+
+    @Benchmark
+    public void runTasks() throws Exception {
+        List<Future<?>> futures = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            int taskId = i;
+            futures.add(taskExecutor.submit(() -> {
+                String loggerName = LoggerUtils.buildTaskId(LoggerUtils.TASK_LOGGER_INFO_PREFIX, 1L, 1, 1, taskId);
+                if ("async".equals(mode)) {
+                    writeAsync(logDir.resolve("1_1/1/" + taskId + ".log"), loggerName);
+                } else {
+                    writeSync(loggerName);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private void writeAsync(Path logPath, String loggerName) throws InterruptedException {
+        TaskLog taskLog = writer.open(logPath.toString(), loggerName, null, null);
+        for (int i = 0; i < linesPerTask; i++) {
+            taskLog.append("noisy task output line " + i);
+        }
+        taskLog.close();
+        taskLog.awaitClosed(1, TimeUnit.MINUTES);
+    }
+
+    private void writeSync(String loggerName) {
+        Logger taskLogger = LoggerFactory.getLogger(loggerName);
+        List<String> lines = new ArrayList<>(SYNC_BATCH_LINES);
+        for (int i = 0; i < linesPerTask; i++) {
+            lines.add("noisy task output line " + i);
+            if (lines.size() >= SYNC_BATCH_LINES) {
+                logHandle(taskLogger, lines);
+            }
+        }
+        if (!lines.isEmpty()) {
+            logHandle(taskLogger, lines);
+        }
+        taskLogger.info(FINALIZE_SESSION_MARKER, FINALIZE_SESSION_MARKER.toString());
+    }
+
+    /**
+     * the log handler of the task
+     */
+    private void logHandle(Logger taskLogger, List<String> lines) {
+        StringJoiner joiner = new StringJoiner("\n\t");
+        lines.forEach(joiner::add);
+        taskLogger.info(" -> {}", joiner);
+        lines.clear();
+    }
+}
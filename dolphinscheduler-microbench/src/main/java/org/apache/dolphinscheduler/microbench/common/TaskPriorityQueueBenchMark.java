@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.microbench.common;
+
+import org.apache.dolphinscheduler.microbench.base.AbstractBaseBenchmark;
+import org.apache.dolphinscheduler.service.queue.TaskPriority;
+import org.apache.dolphinscheduler.service.queue.TaskPriorityQueueImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * single priority queue vs per worker group priority queue, with 100k queued tasks.
+ * when a group is blocked, half of the tasks belong to a worker group without available host,
+ * and each operation gets the next task of a healthy group the way the dispatcher does
+ */
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 4, time = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TaskPriorityQueueBenchMark extends AbstractBaseBenchmark {
+
+    private static final int QUEUE_SIZE = 100000;
+
+    private static final String BLOCKED_GROUP = "group-0";
+
+    @Param({"1", "16"})
+    private int groupNum;
+
+    @Param({"false", "true"})
+    private boolean blocked;
+
+    private PriorityBlockingQueue<TaskPriority> priorityBlockingQueue;
+
+    private TaskPriorityQueueImpl groupedQueue;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        priorityBlockingQueue = new PriorityBlockingQueue<>(QUEUE_SIZE);
+        groupedQueue = new TaskPriorityQueueImpl();
+        int healthyGroupNum = blocked ? Math.max(1, groupNum - 1) : groupNum;
+        for (int i = 0; i < QUEUE_SIZE; i++) {
+            String group;
+            int priority;
+            if (blocked && i % 2 == 0) {
+                // blocked tasks have the highest priority, they are always polled first by a single queue
+                group = BLOCKED_GROUP;
+                priority = 0;
+            } else {
+                group = "group-" + (1 + i % healthyGroupNum);
+                priority = 1 + i % 4;
+            }
+            TaskPriority taskPriority = new TaskPriority(priority, i, 0, i, group);
+            priorityBlockingQueue.put(taskPriority);
+            groupedQueue.put(taskPriority);
+        }
+        if (blocked) {
+            groupedQueue.park(BLOCKED_GROUP, 1, TimeUnit.HOURS);
+        }
+    }
+
+    @Benchmark
+    public TaskPriority priorityBlockingQueue() {
+        List<TaskPriority> failedTasks = new ArrayList<>();
+        TaskPriority taskPriority = priorityBlockingQueue.poll();
+        while (taskPriority != null && BLOCKED_GROUP.equals(taskPriority.getGroupName()) && blocked) {
+            failedTasks.add(taskPriority);
+            taskPriority = priorityBlockingQueue.poll();
+        }
+        priorityBlockingQueue.addAll(failedTasks);
+        if (taskPriority != null) {
+            priorityBlockingQueue.put(taskPriority);
+        }
+        return taskPriority;
+    }
+
+    @Benchmark
+    public TaskPriority groupedPriorityQueue() throws Exception {
+        TaskPriority taskPriority = groupedQueue.poll(0, TimeUnit.MILLISECONDS);
+        if (taskPriority != null) {
+            groupedQueue.put(taskPriority);
+        }
+        return taskPriority;
+    }
+}
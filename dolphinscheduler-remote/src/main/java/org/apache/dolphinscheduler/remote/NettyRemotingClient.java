@@ -28,6 +28,7 @@ import org.apache.dolphinscheduler.remote.exceptions.RemotingTooMuchRequestExcep
 import org.apache.dolphinscheduler.remote.future.InvokeCallback;
 import org.apache.dolphinscheduler.remote.future.ReleaseSemaphore;
 import org.apache.dolphinscheduler.remote.future.ResponseFuture;
+import org.apache.dolphinscheduler.remote.future.ResponseFutureTable;
 import org.apache.dolphinscheduler.remote.handler.NettyClientHandler;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
 import org.apache.dolphinscheduler.remote.utils.CallerThreadExecutePolicy;
@@ -39,9 +40,7 @@ import org.apache.dolphinscheduler.remote.utils.NettyUtils;
 import java.net.InetSocketAddress;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -58,9 +57,11 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 
 /**
@@ -101,9 +102,10 @@ public class NettyRemotingClient {
     private final NettyClientConfig clientConfig;
 
     /**
-     * saync semaphore
+     * cap of async requests waiting for response, acquired without waiting,
+     * the writability of the channel is the back-pressure signal
      */
-    private final Semaphore asyncSemaphore = new Semaphore(200, true);
+    private final Semaphore asyncSemaphore;
 
     /**
      * callback thread executor
@@ -116,9 +118,9 @@ public class NettyRemotingClient {
     private final NettyClientHandler clientHandler;
 
     /**
-     * response future executor
+     * in-flight response futures
      */
-    private final ScheduledExecutorService responseFutureExecutor;
+    private final ResponseFutureTable responseFutureTable;
 
     /**
      * client init
@@ -127,6 +129,7 @@ public class NettyRemotingClient {
      */
     public NettyRemotingClient(final NettyClientConfig clientConfig) {
         this.clientConfig = clientConfig;
+        this.asyncSemaphore = new Semaphore(clientConfig.getAsyncPermits());
         if (NettyUtils.useEpoll()) {
             this.workerGroup = new EpollEventLoopGroup(clientConfig.getWorkerThreads(), new ThreadFactory() {
                 private final AtomicInteger threadIndex = new AtomicInteger(0);
@@ -151,7 +154,7 @@ public class NettyRemotingClient {
                 new CallerThreadExecutePolicy());
         this.clientHandler = new NettyClientHandler(this, callbackExecutor);
 
-        this.responseFutureExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("ResponseFutureExecutor"));
+        this.responseFutureTable = new ResponseFutureTable(callbackExecutor);
 
         this.start();
     }
@@ -169,15 +172,19 @@ public class NettyRemotingClient {
                 .option(ChannelOption.SO_SNDBUF, clientConfig.getSendBufferSize())
                 .option(ChannelOption.SO_RCVBUF, clientConfig.getReceiveBufferSize())
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, clientConfig.getConnectTimeoutMillis())
+                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(clientConfig.getWriteBufferLowWaterMark(),
+                        clientConfig.getWriteBufferHighWaterMark()))
                 .handler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     public void initChannel(SocketChannel ch) {
+                        if (clientConfig.getFlushConsolidations() > 0) {
+                            ch.pipeline().addLast("flush-consolidation", new FlushConsolidationHandler(clientConfig.getFlushConsolidations(), true));
+                        }
                         ch.pipeline()
                                 .addLast("client-idle-handler", new IdleStateHandler(Constants.NETTY_CLIENT_HEART_BEAT_TIME, 0, 0, TimeUnit.MILLISECONDS))
-                                .addLast(new NettyDecoder(), clientHandler, encoder);
+                                .addLast(new NettyDecoder(clientConfig.getMaxFrameLength(), clientConfig.isRetainBody()), clientHandler, encoder);
                     }
                 });
-        this.responseFutureExecutor.scheduleAtFixedRate(ResponseFuture::scanFutureTable, 5000, 1000, TimeUnit.MILLISECONDS);
         isStarted.compareAndSet(false, true);
     }
 
@@ -196,14 +203,15 @@ public class NettyRemotingClient {
         if (channel == null) {
             throw new RemotingException("network error");
         }
+        checkWritable(host, channel);
         /*
          * request unique identification
          */
         final long opaque = command.getOpaque();
         /*
-         *  control concurrency number
+         *  control concurrency number, fail fast instead of waiting for a permit
          */
-        boolean acquired = this.asyncSemaphore.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS);
+        boolean acquired = this.asyncSemaphore.tryAcquire();
         if (acquired) {
             final ReleaseSemaphore releaseSemaphore = new ReleaseSemaphore(this.asyncSemaphore);
 
@@ -214,6 +222,7 @@ public class NettyRemotingClient {
                     timeoutMillis,
                     invokeCallback,
                     releaseSemaphore);
+            responseFutureTable.put(responseFuture);
             try {
                 channel.writeAndFlush(command).addListener(future -> {
                     if (future.isSuccess()) {
@@ -233,12 +242,13 @@ public class NettyRemotingClient {
                     }
                 });
             } catch (Exception ex) {
+                responseFutureTable.remove(opaque);
                 responseFuture.release();
                 throw new RemotingException(String.format("send command to host: %s failed", host), ex);
             }
         } else {
-            String message = String.format("try to acquire async semaphore timeout: %d, waiting thread num: %d, total permits: %d",
-                    timeoutMillis, asyncSemaphore.getQueueLength(), asyncSemaphore.availablePermits());
+            String message = String.format("too many async requests waiting for response, total permits: %d",
+                    clientConfig.getAsyncPermits());
             throw new RemotingTooMuchRequestException(message);
         }
     }
@@ -258,6 +268,7 @@ public class NettyRemotingClient {
         }
         final long opaque = command.getOpaque();
         final ResponseFuture responseFuture = new ResponseFuture(opaque, timeoutMillis, null, null);
+        responseFutureTable.put(responseFuture);
         channel.writeAndFlush(command).addListener(future -> {
             if (future.isSuccess()) {
                 responseFuture.setSendOk(true);
@@ -294,6 +305,7 @@ public class NettyRemotingClient {
         if (channel == null) {
             throw new RemotingException(String.format("connect to : %s fail", host));
         }
+        checkWritable(host, channel);
         try {
             ChannelFuture future = channel.writeAndFlush(command).await();
             if (future.isSuccess()) {
@@ -368,6 +380,41 @@ public class NettyRemotingClient {
         return null;
     }
 
+    /**
+     * check whether the write buffer of channel is below the high water mark
+     *
+     * @param host host
+     * @param channel channel
+     * @throws RemotingTooMuchRequestException if the channel is not writable
+     */
+    private void checkWritable(Host host, Channel channel) throws RemotingTooMuchRequestException {
+        if (!channel.isWritable()) {
+            throw new RemotingTooMuchRequestException(String.format("channel to host : %s is not writable, %d bytes to drain",
+                    host, channel.bytesBeforeWritable()));
+        }
+    }
+
+    /**
+     * @return in-flight response futures
+     */
+    public ResponseFutureTable getResponseFutureTable() {
+        return responseFutureTable;
+    }
+
+    /**
+     * @return number of requests waiting for response
+     */
+    public int getInFlightRequestCount() {
+        return responseFutureTable.getInFlightCount();
+    }
+
+    /**
+     * @return number of requests timeout without response
+     */
+    public long getTimeoutRequestCount() {
+        return responseFutureTable.getTimeoutCount();
+    }
+
     /**
      * close
      */
@@ -381,9 +428,7 @@ public class NettyRemotingClient {
                 if (callbackExecutor != null) {
                     this.callbackExecutor.shutdownNow();
                 }
-                if (this.responseFutureExecutor != null) {
-                    this.responseFutureExecutor.shutdownNow();
-                }
+                this.responseFutureTable.clear();
             } catch (Exception ex) {
                 logger.error("netty client close exception", ex);
             }
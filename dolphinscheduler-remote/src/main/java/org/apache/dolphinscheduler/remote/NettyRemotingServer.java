@@ -42,9 +42,11 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.handler.flush.FlushConsolidationHandler;
 import io.netty.handler.timeout.IdleStateHandler;
 
 /**
@@ -159,6 +161,8 @@ public class NettyRemotingServer {
                     .childOption(ChannelOption.TCP_NODELAY, serverConfig.isTcpNoDelay())
                     .childOption(ChannelOption.SO_SNDBUF, serverConfig.getSendBufferSize())
                     .childOption(ChannelOption.SO_RCVBUF, serverConfig.getReceiveBufferSize())
+                    .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(serverConfig.getWriteBufferLowWaterMark(),
+                            serverConfig.getWriteBufferHighWaterMark()))
                     .childHandler(new ChannelInitializer<SocketChannel>() {
 
                         @Override
@@ -190,9 +194,12 @@ public class NettyRemotingServer {
      * @param ch socket channel
      */
     private void initNettyChannel(SocketChannel ch) {
+        if (serverConfig.getFlushConsolidations() > 0) {
+            ch.pipeline().addLast("flush-consolidation", new FlushConsolidationHandler(serverConfig.getFlushConsolidations(), true));
+        }
         ch.pipeline()
                 .addLast("encoder", encoder)
-                .addLast("decoder", new NettyDecoder())
+                .addLast("decoder", new NettyDecoder(serverConfig.getMaxFrameLength(), serverConfig.isRetainBody()))
                 .addLast("server-idle-handle", new IdleStateHandler(0, 0, Constants.NETTY_SERVER_HEART_BEAT_TIME, TimeUnit.MILLISECONDS))
                 .addLast("handler", serverHandler);
     }
@@ -21,6 +21,7 @@ import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandContext;
 import org.apache.dolphinscheduler.remote.command.CommandHeader;
 import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.utils.Constants;
 
 import java.util.List;
 
@@ -29,16 +30,36 @@ import org.slf4j.LoggerFactory;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.CorruptedFrameException;
 import io.netty.handler.codec.ReplayingDecoder;
+import io.netty.handler.codec.TooLongFrameException;
 
 /**
- * netty decoder
+ * netty decoder.
+ * when retainBody is set, the body of a command is a retained slice of the received buffer instead of a copy,
+ * the receiver of the command releases it by {@link Command#releaseBody()}
  */
 public class NettyDecoder extends ReplayingDecoder<NettyDecoder.State> {
     private static final Logger logger = LoggerFactory.getLogger(NettyDecoder.class);
 
+    /**
+     * max length of context and body
+     */
+    private final int maxFrameLength;
+
+    /**
+     * whether to retain the body instead of copying it
+     */
+    private final boolean retainBody;
+
     public NettyDecoder() {
+        this(Constants.DEFAULT_MAX_FRAME_LENGTH, false);
+    }
+
+    public NettyDecoder(int maxFrameLength, boolean retainBody) {
         super(State.MAGIC);
+        this.maxFrameLength = maxFrameLength;
+        this.retainBody = retainBody;
     }
 
     private final CommandHeader commandHeader = new CommandHeader();
@@ -70,7 +91,7 @@ public class NettyDecoder extends ReplayingDecoder<NettyDecoder.State> {
                 checkpoint(State.CONTEXT_LENGTH);
                 // fallthru
             case CONTEXT_LENGTH:
-                commandHeader.setContextLength(in.readInt());
+                commandHeader.setContextLength(checkFrameLength(in.readInt(), 0));
                 checkpoint(State.CONTEXT);
                 // fallthru
             case CONTEXT:
@@ -80,18 +101,20 @@ public class NettyDecoder extends ReplayingDecoder<NettyDecoder.State> {
                 checkpoint(State.BODY_LENGTH);
                 // fallthru
             case BODY_LENGTH:
-                commandHeader.setBodyLength(in.readInt());
+                commandHeader.setBodyLength(checkFrameLength(in.readInt(), commandHeader.getContextLength()));
                 checkpoint(State.BODY);
                 // fallthru
             case BODY:
-                byte[] body = new byte[commandHeader.getBodyLength()];
-                in.readBytes(body);
-                //
-                Command packet = new Command();
-                packet.setType(commandType(commandHeader.getType()));
-                packet.setOpaque(commandHeader.getOpaque());
+                Command packet = new Command(commandHeader.getOpaque());
+                if (retainBody) {
+                    packet.setBodyBuffer(in.readRetainedSlice(commandHeader.getBodyLength()));
+                } else {
+                    byte[] body = new byte[commandHeader.getBodyLength()];
+                    in.readBytes(body);
+                    packet.setBody(body);
+                }
+                packet.setType(CommandType.of(commandHeader.getType()));
                 packet.setContext(CommandContext.valueOf(commandHeader.getContext()));
-                packet.setBody(body);
                 out.add(packet);
                 //
                 checkpoint(State.MAGIC);
@@ -102,17 +125,20 @@ public class NettyDecoder extends ReplayingDecoder<NettyDecoder.State> {
     }
 
     /**
-     * get command type
+     * check length of a frame part
      *
-     * @param type type
+     * @param length length of the part
+     * @param readLength length of the parts before
+     * @return length
      */
-    private CommandType commandType(byte type) {
-        for (CommandType ct : CommandType.values()) {
-            if (ct.ordinal() == type) {
-                return ct;
-            }
+    private int checkFrameLength(int length, int readLength) {
+        if (length < 0) {
+            throw new CorruptedFrameException("illegal packet [length]" + length);
+        }
+        if ((long) length + readLength > maxFrameLength) {
+            throw new TooLongFrameException("frame length exceeds " + maxFrameLength + ": " + ((long) length + readLength));
         }
-        return null;
+        return length;
     }
 
     /**
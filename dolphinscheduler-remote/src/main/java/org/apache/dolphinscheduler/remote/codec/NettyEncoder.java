@@ -20,39 +20,88 @@ package org.apache.dolphinscheduler.remote.codec;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 
+import java.util.List;
+
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.MessageToMessageEncoder;
 
 /**
  * netty encoder
  */
 @Sharable
-public class NettyEncoder extends MessageToByteEncoder<Command> {
+public class NettyEncoder extends MessageToMessageEncoder<Command> {
+
+    /**
+     * magic, version, type, opaque, context length and body length
+     */
+    private static final int HEADER_LENGTH = 1 + 1 + 1 + 8 + 4 + 4;
 
     /**
-     * encode
+     * size of the buffer reserved for the context
+     */
+    private static final int CONTEXT_RESERVED_LENGTH = 64;
+
+    /**
+     * encode, a retained body buffer is not copied but composed after the header,
+     * a body byte array is copied into a buffer allocated large enough for the whole frame
      *
      * @param ctx channel handler context
      * @param msg command
-     * @param out byte buffer
+     * @param out encoded frames
      */
     @Override
-    protected void encode(ChannelHandlerContext ctx, Command msg, ByteBuf out) throws Exception {
+    protected void encode(ChannelHandlerContext ctx, Command msg, List<Object> out) throws Exception {
         if (msg == null) {
             throw new RemotingException("encode msg is null");
         }
+        ByteBuf bodyBuffer = msg.getBodyBuffer();
+        if (bodyBuffer != null) {
+            ByteBuf headerBuffer = ctx.alloc().ioBuffer(HEADER_LENGTH + CONTEXT_RESERVED_LENGTH);
+            try {
+                encodeHeader(msg, bodyBuffer.readableBytes(), headerBuffer);
+            } catch (Exception e) {
+                headerBuffer.release();
+                throw e;
+            }
+            // the body buffer is released by the owner of the command, the frame holds its own reference
+            CompositeByteBuf frame = ctx.alloc().compositeBuffer(2)
+                    .addComponents(true, headerBuffer, bodyBuffer.retainedSlice());
+            out.add(frame);
+        } else {
+            byte[] body = msg.getBody();
+            ByteBuf frame = ctx.alloc().ioBuffer(HEADER_LENGTH + CONTEXT_RESERVED_LENGTH + body.length);
+            try {
+                encodeHeader(msg, body.length, frame);
+                frame.writeBytes(body);
+            } catch (Exception e) {
+                frame.release();
+                throw e;
+            }
+            out.add(frame);
+        }
+    }
+
+    /**
+     * encode every part of the command before the body,
+     * so that a body written separately, such as a file region, completes the frame
+     *
+     * @param msg command
+     * @param bodyLength body length
+     * @param out byte buffer
+     */
+    public static void encodeHeader(Command msg, int bodyLength, ByteBuf out) {
         out.writeByte(Command.MAGIC);
         out.writeByte(Command.VERSION);
         out.writeByte(msg.getType().ordinal());
         out.writeLong(msg.getOpaque());
         writeContext(msg, out);
-        out.writeInt(msg.getBody().length);
-        out.writeBytes(msg.getBody());
+        out.writeInt(bodyLength);
     }
 
-    private void writeContext(Command msg, ByteBuf out) {
+    private static void writeContext(Command msg, ByteBuf out) {
         byte[] headerBytes = msg.getContext().toBytes();
         out.writeInt(headerBytes.length);
         out.writeBytes(headerBytes);
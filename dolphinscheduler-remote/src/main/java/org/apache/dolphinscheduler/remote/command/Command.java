@@ -19,6 +19,9 @@ package org.apache.dolphinscheduler.remote.command;
 import java.io.Serializable;
 import java.util.concurrent.atomic.AtomicLong;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
 /**
  *  receive task log request command and content fill
  *  for netty data serializable transfer
@@ -58,6 +61,11 @@ public class Command implements Serializable {
      */
     private byte[] body;
 
+    /**
+     *  data body retained from the received frame, not copied until the body bytes are needed
+     */
+    private transient ByteBuf bodyBuffer;
+
     public CommandType getType() {
         return type;
     }
@@ -74,7 +82,16 @@ public class Command implements Serializable {
         this.opaque = opaque;
     }
 
+    /**
+     * get body, the retained body buffer is copied and released on first call
+     *
+     * @return body
+     */
     public byte[] getBody() {
+        if (body == null && bodyBuffer != null) {
+            body = ByteBufUtil.getBytes(bodyBuffer);
+            releaseBody();
+        }
         return body;
     }
 
@@ -82,6 +99,37 @@ public class Command implements Serializable {
         this.body = body;
     }
 
+    /**
+     * @return retained body buffer, null if the body is not retained or already released
+     */
+    public ByteBuf getBodyBuffer() {
+        return bodyBuffer;
+    }
+
+    public void setBodyBuffer(ByteBuf bodyBuffer) {
+        this.bodyBuffer = bodyBuffer;
+    }
+
+    /**
+     * @return body length
+     */
+    public int getBodyLength() {
+        if (body != null) {
+            return body.length;
+        }
+        return bodyBuffer == null ? 0 : bodyBuffer.readableBytes();
+    }
+
+    /**
+     * release the retained body buffer, the owner of a received command calls it when done
+     */
+    public void releaseBody() {
+        if (bodyBuffer != null) {
+            bodyBuffer.release();
+            bodyBuffer = null;
+        }
+    }
+
     public CommandContext getContext() {
         return context;
     }
@@ -115,7 +163,7 @@ public class Command implements Serializable {
 
     @Override
     public String toString() {
-        return "Command [type=" + type + ", opaque=" + opaque + ", bodyLen=" + (body == null ? 0 : body.length) + "]";
+        return "Command [type=" + type + ", opaque=" + opaque + ", bodyLen=" + getBodyLength() + "]";
     }
 
 }
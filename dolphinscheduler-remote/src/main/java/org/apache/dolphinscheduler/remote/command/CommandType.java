@@ -121,5 +121,45 @@ public enum CommandType {
     /**
      *  alert send response
      */
-    ALERT_SEND_RESPONSE;
+    ALERT_SEND_RESPONSE,
+
+    /**
+     * open log stream request
+     */
+    LOG_STREAM_OPEN_REQUEST,
+
+    /**
+     * log stream chunk, the body is raw log bytes
+     */
+    LOG_STREAM_CHUNK,
+
+    /**
+     * log stream ack, grants the sender more chunks
+     */
+    LOG_STREAM_ACK,
+
+    /**
+     * log stream close, sent by the sender at the end of the log or by the receiver to cancel
+     */
+    LOG_STREAM_CLOSE,
+
+    /**
+     * execute task reject, the worker has no capacity for the task
+     */
+    TASK_EXECUTE_REJECT;
+
+    private static final CommandType[] VALUES = values();
+
+    /**
+     * get command type by ordinal
+     *
+     * @param type ordinal
+     * @return command type, null if unknown
+     */
+    public static CommandType of(byte type) {
+        if (type < 0 || type >= VALUES.length) {
+            return null;
+        }
+        return VALUES[type];
+    }
 }
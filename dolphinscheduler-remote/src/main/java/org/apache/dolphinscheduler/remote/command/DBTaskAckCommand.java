@@ -17,7 +17,7 @@
 
 package org.apache.dolphinscheduler.remote.command;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.remote.utils.CommandSerializer;
 
 import java.io.Serializable;
 
@@ -62,8 +62,7 @@ public class DBTaskAckCommand implements Serializable {
     public Command convert2Command() {
         Command command = new Command();
         command.setType(CommandType.DB_TASK_ACK);
-        byte[] body = JSONUtils.toJsonByteArray(this);
-        command.setBody(body);
+        CommandSerializer.serializeBody(command, this);
         return command;
     }
 
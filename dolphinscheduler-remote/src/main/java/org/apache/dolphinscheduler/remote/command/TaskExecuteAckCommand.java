@@ -17,7 +17,7 @@
 
 package org.apache.dolphinscheduler.remote.command;
 
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.remote.utils.CommandSerializer;
 
 import java.io.Serializable;
 import java.util.Date;
@@ -60,6 +60,16 @@ public class TaskExecuteAckCommand implements Serializable {
      */
     private String executePath;
 
+    /**
+     * processId, set once the task process is started
+     */
+    private int processId;
+
+    /**
+     * yarn application ids found in the task output so far
+     */
+    private String appIds;
+
     public Date getStartTime() {
         return startTime;
     }
@@ -108,6 +118,22 @@ public class TaskExecuteAckCommand implements Serializable {
         this.executePath = executePath;
     }
 
+    public int getProcessId() {
+        return processId;
+    }
+
+    public void setProcessId(int processId) {
+        this.processId = processId;
+    }
+
+    public String getAppIds() {
+        return appIds;
+    }
+
+    public void setAppIds(String appIds) {
+        this.appIds = appIds;
+    }
+
     /**
      *  package request command
      *
@@ -116,8 +142,7 @@ public class TaskExecuteAckCommand implements Serializable {
     public Command convert2Command() {
         Command command = new Command();
         command.setType(CommandType.TASK_EXECUTE_ACK);
-        byte[] body = JSONUtils.toJsonByteArray(this);
-        command.setBody(body);
+        CommandSerializer.serializeBody(command, this);
         return command;
     }
 
@@ -130,6 +155,8 @@ public class TaskExecuteAckCommand implements Serializable {
                 + ", status=" + status
                 + ", logPath='" + logPath + '\''
                 + ", executePath='" + executePath + '\''
+                + ", processId=" + processId
+                + ", appIds='" + appIds + '\''
                 + '}';
     }
 }
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.command;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+
+import java.io.Serializable;
+
+/**
+ * execute task reject command, sent by the worker instead of the ack when it has no capacity for the task
+ */
+public class TaskExecuteRejectCommand implements Serializable {
+
+    /**
+     * taskInstanceId
+     */
+    private int taskInstanceId;
+
+    /**
+     * host of the worker
+     */
+    private String host;
+
+    /**
+     * tasks waiting in the worker
+     */
+    private int queuedTaskCount;
+
+    /**
+     * tasks running in the worker
+     */
+    private int runningTaskCount;
+
+    public TaskExecuteRejectCommand() {
+    }
+
+    public TaskExecuteRejectCommand(int taskInstanceId, String host, int queuedTaskCount, int runningTaskCount) {
+        this.taskInstanceId = taskInstanceId;
+        this.host = host;
+        this.queuedTaskCount = queuedTaskCount;
+        this.runningTaskCount = runningTaskCount;
+    }
+
+    public int getTaskInstanceId() {
+        return taskInstanceId;
+    }
+
+    public void setTaskInstanceId(int taskInstanceId) {
+        this.taskInstanceId = taskInstanceId;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public int getQueuedTaskCount() {
+        return queuedTaskCount;
+    }
+
+    public void setQueuedTaskCount(int queuedTaskCount) {
+        this.queuedTaskCount = queuedTaskCount;
+    }
+
+    public int getRunningTaskCount() {
+        return runningTaskCount;
+    }
+
+    public void setRunningTaskCount(int runningTaskCount) {
+        this.runningTaskCount = runningTaskCount;
+    }
+
+    /**
+     * package reject command
+     *
+     * @return command
+     */
+    public Command convert2Command() {
+        Command command = new Command();
+        command.setType(CommandType.TASK_EXECUTE_REJECT);
+        byte[] body = JSONUtils.toJsonByteArray(this);
+        command.setBody(body);
+        return command;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskExecuteRejectCommand{"
+                + "taskInstanceId=" + taskInstanceId
+                + ", host='" + host + '\''
+                + ", queuedTaskCount=" + queuedTaskCount
+                + ", runningTaskCount=" + runningTaskCount
+                + '}';
+    }
+}
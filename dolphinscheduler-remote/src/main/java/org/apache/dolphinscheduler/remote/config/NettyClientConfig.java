@@ -54,6 +54,36 @@ public class NettyClientConfig {
      */
     private int connectTimeoutMillis = 3000;
 
+    /**
+     *  max frame length of a received command
+     */
+    private int maxFrameLength = Constants.DEFAULT_MAX_FRAME_LENGTH;
+
+    /**
+     *  whether received command bodies are retained slices of the frame instead of copies
+     */
+    private boolean retainBody = false;
+
+    /**
+     *  low water mark of the channel write buffer, the channel becomes writable again below it
+     */
+    private int writeBufferLowWaterMark = Constants.DEFAULT_WRITE_BUFFER_LOW_WATER_MARK;
+
+    /**
+     *  high water mark of the channel write buffer, the channel is not writable above it
+     */
+    private int writeBufferHighWaterMark = Constants.DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK;
+
+    /**
+     *  max number of flushes consolidated into one, flushes are not consolidated if not positive
+     */
+    private int flushConsolidations = Constants.DEFAULT_FLUSH_CONSOLIDATIONS;
+
+    /**
+     *  max number of async requests waiting for response
+     */
+    private int asyncPermits = 200;
+
     public int getWorkerThreads() {
         return workerThreads;
     }
@@ -101,4 +131,52 @@ public class NettyClientConfig {
     public void setConnectTimeoutMillis(int connectTimeoutMillis) {
         this.connectTimeoutMillis = connectTimeoutMillis;
     }
+
+    public int getMaxFrameLength() {
+        return maxFrameLength;
+    }
+
+    public void setMaxFrameLength(int maxFrameLength) {
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    public boolean isRetainBody() {
+        return retainBody;
+    }
+
+    public void setRetainBody(boolean retainBody) {
+        this.retainBody = retainBody;
+    }
+
+    public int getWriteBufferLowWaterMark() {
+        return writeBufferLowWaterMark;
+    }
+
+    public void setWriteBufferLowWaterMark(int writeBufferLowWaterMark) {
+        this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+    }
+
+    public int getWriteBufferHighWaterMark() {
+        return writeBufferHighWaterMark;
+    }
+
+    public void setWriteBufferHighWaterMark(int writeBufferHighWaterMark) {
+        this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+    }
+
+    public int getFlushConsolidations() {
+        return flushConsolidations;
+    }
+
+    public void setFlushConsolidations(int flushConsolidations) {
+        this.flushConsolidations = flushConsolidations;
+    }
+
+    public int getAsyncPermits() {
+        return asyncPermits;
+    }
+
+    public void setAsyncPermits(int asyncPermits) {
+        this.asyncPermits = asyncPermits;
+    }
 }
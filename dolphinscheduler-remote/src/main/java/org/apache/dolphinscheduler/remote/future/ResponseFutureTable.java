@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.future;
+
+import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+
+/**
+ * in-flight response futures of a client.
+ * the timeout of each future is tracked by a hashed wheel timer and cancelled when the future is removed
+ */
+public class ResponseFutureTable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseFutureTable.class);
+
+    /**
+     * timer shared by all tables, it only dispatches the expired futures
+     */
+    private static final HashedWheelTimer TIMER = new HashedWheelTimer(new NamedThreadFactory("ResponseFutureTimer"),
+            100, TimeUnit.MILLISECONDS, 512);
+
+    /**
+     * in-flight futures
+     */
+    private final ConcurrentHashMap<Long, ResponseFuture> futureTable = new ConcurrentHashMap<>(256);
+
+    /**
+     * executor of timeout callbacks
+     */
+    private final Executor callbackExecutor;
+
+    /**
+     * number of timeout futures
+     */
+    private final AtomicLong timeoutCount = new AtomicLong();
+
+    public ResponseFutureTable(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * put future and start its timeout
+     *
+     * @param future response future
+     */
+    public void put(ResponseFuture future) {
+        future.setFutureTable(this);
+        futureTable.put(future.getOpaque(), future);
+        future.setTimeout(TIMER.newTimeout(timeout -> expire(future.getOpaque()),
+                future.getTimeoutMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * get future
+     *
+     * @param opaque request unique identification
+     * @return future, null if not in flight
+     */
+    public ResponseFuture get(long opaque) {
+        return futureTable.get(opaque);
+    }
+
+    /**
+     * remove future and cancel its timeout, only the first remove of a future gets it
+     *
+     * @param opaque request unique identification
+     * @return future, null if not in flight
+     */
+    public ResponseFuture remove(long opaque) {
+        ResponseFuture future = futureTable.remove(opaque);
+        if (future != null) {
+            future.cancelTimeout();
+        }
+        return future;
+    }
+
+    /**
+     * @return number of in-flight futures
+     */
+    public int getInFlightCount() {
+        return futureTable.size();
+    }
+
+    /**
+     * @return number of timeout futures
+     */
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    /**
+     * remove all futures, their callbacks are not executed
+     */
+    public void clear() {
+        for (Long opaque : futureTable.keySet()) {
+            ResponseFuture future = remove(opaque);
+            if (future != null) {
+                future.release();
+            }
+        }
+    }
+
+    private void expire(long opaque) {
+        ResponseFuture future = futureTable.remove(opaque);
+        if (future == null) {
+            return;
+        }
+        timeoutCount.incrementAndGet();
+        logger.warn("remove timeout request : {}", future);
+        future.release();
+        if (future.getInvokeCallback() == null) {
+            return;
+        }
+        try {
+            callbackExecutor.execute(() -> {
+                try {
+                    future.executeInvokeCallback();
+                } catch (Exception ex) {
+                    logger.warn("execute timeout callback error", ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            logger.warn("callback executor rejected timeout request : {}", future);
+        }
+    }
+}
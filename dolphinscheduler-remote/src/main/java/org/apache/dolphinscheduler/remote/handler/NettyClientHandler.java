@@ -131,8 +131,10 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
      * @param command command
      */
     private void processReceived(final Channel channel, final Command command) {
-        ResponseFuture future = ResponseFuture.getFuture(command.getOpaque());
+        ResponseFuture future = nettyRemotingClient.getResponseFutureTable().remove(command.getOpaque());
         if (future != null) {
+            // responses are read after this method returns, copy the retained body
+            command.getBody();
             future.setResponseCommand(command);
             future.release();
             if (future.getInvokeCallback() != null) {
@@ -153,15 +155,19 @@ public class NettyClientHandler extends ChannelInboundHandlerAdapter {
                     pair.getLeft().process(channel, command);
                 } catch (Exception e) {
                     logger.error(String.format("process command %s exception", command), e);
+                } finally {
+                    command.releaseBody();
                 }
             };
             try {
                 pair.getRight().submit(run);
             } catch (RejectedExecutionException e) {
                 logger.warn("thread pool is full, discard command {} from {}", command, ChannelUtils.getRemoteAddress(channel));
+                command.releaseBody();
             }
         } else {
             logger.warn("receive response {}, but not matched any request ", command);
+            command.releaseBody();
         }
     }
 
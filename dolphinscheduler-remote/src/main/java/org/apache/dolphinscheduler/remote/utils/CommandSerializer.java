@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.utils;
+
+import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.common.utils.PropertyUtils;
+import org.apache.dolphinscheduler.remote.command.Command;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.protostuff.LinkedBuffer;
+import io.protostuff.ProtostuffIOUtil;
+import io.protostuff.Schema;
+import io.protostuff.runtime.RuntimeSchema;
+
+/**
+ * serializer of command body.
+ * the serializer of a body is recorded in the command context, a command without it is json,
+ * so commands serialized by json are the same as before on the wire
+ */
+public enum CommandSerializer {
+
+    JSON {
+        @Override
+        public byte[] serialize(Object obj) {
+            return JSONUtils.toJsonByteArray(obj);
+        }
+
+        @Override
+        public <T> T deserialize(byte[] bytes, Class<T> clazz) {
+            return JSONUtils.parseObject(bytes, clazz);
+        }
+
+        @Override
+        public <T> T deserialize(ByteBuf buffer, Class<T> clazz) {
+            if (!buffer.isReadable()) {
+                return null;
+            }
+            return JSONUtils.parseObject(new ByteBufInputStream(buffer.duplicate()), clazz);
+        }
+    },
+
+    PROTOSTUFF {
+        @Override
+        @SuppressWarnings("unchecked")
+        public byte[] serialize(Object obj) {
+            Schema<Object> schema = (Schema<Object>) getSchema(obj.getClass());
+            LinkedBuffer buffer = BUFFER.get();
+            try {
+                return ProtostuffIOUtil.toByteArray(obj, schema, buffer);
+            } finally {
+                buffer.clear();
+            }
+        }
+
+        @Override
+        public <T> T deserialize(byte[] bytes, Class<T> clazz) {
+            Schema<T> schema = getSchema(clazz);
+            T obj = schema.newMessage();
+            ProtostuffIOUtil.mergeFrom(bytes, obj, schema);
+            return obj;
+        }
+
+        @Override
+        public <T> T deserialize(ByteBuf buffer, Class<T> clazz) {
+            Schema<T> schema = getSchema(clazz);
+            T obj = schema.newMessage();
+            if (buffer.hasArray()) {
+                ProtostuffIOUtil.mergeFrom(buffer.array(), buffer.arrayOffset() + buffer.readerIndex(), buffer.readableBytes(), obj, schema);
+                return obj;
+            }
+            LinkedBuffer linkedBuffer = BUFFER.get();
+            try {
+                ProtostuffIOUtil.mergeFrom(new ByteBufInputStream(buffer.duplicate()), obj, schema, linkedBuffer);
+                return obj;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                linkedBuffer.clear();
+            }
+        }
+    };
+
+    /**
+     * command context key of the body serializer
+     */
+    public static final String CONTEXT_KEY = "serializer";
+
+    /**
+     * protostuff buffer of each thread
+     */
+    private static final ThreadLocal<LinkedBuffer> BUFFER = ThreadLocal.withInitial(() -> LinkedBuffer.allocate(LinkedBuffer.DEFAULT_BUFFER_SIZE));
+
+    /**
+     * protostuff schema cache
+     */
+    private static final Map<Class<?>, Schema<?>> SCHEMA_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * serializer of the commands sent by this process
+     */
+    private static final CommandSerializer DEFAULT = of(PropertyUtils.getString(Constants.REMOTE_COMMAND_SERIALIZER, JSON.name()));
+
+    public abstract byte[] serialize(Object obj);
+
+    public abstract <T> T deserialize(byte[] bytes, Class<T> clazz);
+
+    /**
+     * deserialize from the readable bytes of buffer without changing its indexes
+     */
+    public abstract <T> T deserialize(ByteBuf buffer, Class<T> clazz);
+
+    /**
+     * @return serializer of the commands sent by this process
+     */
+    public static CommandSerializer getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * get serializer by name, json if unknown
+     *
+     * @param name serializer name
+     * @return serializer
+     */
+    public static CommandSerializer of(String name) {
+        for (CommandSerializer serializer : values()) {
+            if (serializer.name().equalsIgnoreCase(name)) {
+                return serializer;
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * set body of command serialized by the default serializer
+     *
+     * @param command command
+     * @param body body
+     */
+    public static void serializeBody(Command command, Object body) {
+        serializeBody(command, body, DEFAULT);
+    }
+
+    /**
+     * set body of command serialized by serializer
+     *
+     * @param command command
+     * @param body body
+     * @param serializer serializer
+     */
+    public static void serializeBody(Command command, Object body, CommandSerializer serializer) {
+        if (serializer != JSON) {
+            command.getContext().put(CONTEXT_KEY, serializer.name());
+        }
+        command.setBody(serializer.serialize(body));
+    }
+
+    /**
+     * deserialize body of command by the serializer recorded in its context
+     *
+     * @param command command
+     * @param clazz body class
+     * @param <T> body type
+     * @return body
+     */
+    public static <T> T deserializeBody(Command command, Class<T> clazz) {
+        CommandSerializer serializer = of(command.getContext() == null ? null : command.getContext().get(CONTEXT_KEY));
+        ByteBuf bodyBuffer = command.getBodyBuffer();
+        if (bodyBuffer != null) {
+            return serializer.deserialize(bodyBuffer, clazz);
+        }
+        return serializer.deserialize(command.getBody(), clazz);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Schema<T> getSchema(Class<T> clazz) {
+        return (Schema<T>) SCHEMA_CACHE.computeIfAbsent(clazz, RuntimeSchema::createFrom);
+    }
+}
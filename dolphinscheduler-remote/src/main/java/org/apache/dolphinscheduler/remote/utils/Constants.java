@@ -57,6 +57,31 @@ public class Constants {
      */
     public static final String NETTY_EPOLL_ENABLE = System.getProperty("netty.epoll.enable", "true");
 
+    /**
+     * serializer of the task command bodies, json or protostuff
+     */
+    public static final String REMOTE_COMMAND_SERIALIZER = "remote.command.serializer";
+
+    /**
+     * default max frame length of a command, 512MB
+     */
+    public static final int DEFAULT_MAX_FRAME_LENGTH = 512 * 1024 * 1024;
+
+    /**
+     * default low water mark of the channel write buffer, 512KB
+     */
+    public static final int DEFAULT_WRITE_BUFFER_LOW_WATER_MARK = 512 * 1024;
+
+    /**
+     * default high water mark of the channel write buffer, 1MB
+     */
+    public static final int DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK = 1024 * 1024;
+
+    /**
+     * default max number of flushes consolidated into one
+     */
+    public static final int DEFAULT_FLUSH_CONSOLIDATIONS = 256;
+
     /**
      * OS Name
      */
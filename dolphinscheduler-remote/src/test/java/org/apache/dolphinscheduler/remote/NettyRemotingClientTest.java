@@ -23,18 +23,23 @@ import org.apache.dolphinscheduler.remote.command.Ping;
 import org.apache.dolphinscheduler.remote.command.Pong;
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
 import org.apache.dolphinscheduler.remote.config.NettyServerConfig;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingTooMuchRequestException;
 import org.apache.dolphinscheduler.remote.future.InvokeCallback;
 import org.apache.dolphinscheduler.remote.future.ResponseFuture;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
 import org.apache.dolphinscheduler.remote.utils.Host;
 
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
 
 /**
  *  netty remote client test
@@ -109,4 +114,142 @@ public class NettyRemotingClientTest {
         server.close();
         client.close();
     }
+
+    /**
+     *  test burst of async sends with consolidated flushes
+     */
+    @Test
+    public void testSendAsyncBurst() throws Exception {
+        NettyServerConfig serverConfig = new NettyServerConfig();
+
+        NettyRemotingServer server = new NettyRemotingServer(serverConfig);
+        server.registerProcessor(CommandType.PING, new NettyRequestProcessor() {
+            @Override
+            public void process(Channel channel, Command command) {
+                channel.writeAndFlush(Pong.create(command.getOpaque()));
+            }
+        });
+        server.start();
+        //
+        final NettyClientConfig clientConfig = new NettyClientConfig();
+        clientConfig.setAsyncPermits(1000);
+        NettyRemotingClient client = new NettyRemotingClient(clientConfig);
+        CountDownLatch latch = new CountDownLatch(1000);
+        Host host = new Host("127.0.0.1", serverConfig.getListenPort());
+        try {
+            for (int i = 0; i < 1000; i++) {
+                client.sendAsync(host, Ping.create(), 5000, responseFuture -> {
+                    if (responseFuture.getResponseCommand() != null) {
+                        latch.countDown();
+                    }
+                });
+            }
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(0, client.getInFlightRequestCount());
+            Assert.assertEquals(0, client.getTimeoutRequestCount());
+        } finally {
+            server.close();
+            client.close();
+        }
+    }
+
+    /**
+     *  test async send fails at once when the permits are used up
+     */
+    @Test
+    public void testSendAsyncPermitsFailFast() throws Exception {
+        NettyServerConfig serverConfig = new NettyServerConfig();
+        NettyRemotingServer server = new NettyRemotingServer(serverConfig);
+        // never responds
+        server.registerProcessor(CommandType.PING, (channel, command) -> { });
+        server.start();
+        final NettyClientConfig clientConfig = new NettyClientConfig();
+        clientConfig.setAsyncPermits(1);
+        NettyRemotingClient client = new NettyRemotingClient(clientConfig);
+        Host host = new Host("127.0.0.1", serverConfig.getListenPort());
+        try {
+            client.sendAsync(host, Ping.create(), 10000, responseFuture -> { });
+            long start = System.currentTimeMillis();
+            try {
+                client.sendAsync(host, Ping.create(), 10000, responseFuture -> { });
+                Assert.fail();
+            } catch (RemotingTooMuchRequestException e) {
+                Assert.assertTrue(System.currentTimeMillis() - start < 5000);
+            }
+        } finally {
+            server.close();
+            client.close();
+        }
+    }
+
+    /**
+     *  test sends are rejected while the channel is not writable
+     */
+    @Test
+    public void testSendRejectedWhenNotWritable() throws Exception {
+        NettyServerConfig serverConfig = new NettyServerConfig();
+        NettyRemotingServer server = new NettyRemotingServer(serverConfig);
+        // stops reading, so the bytes sent by the client pile up in its write buffer
+        server.registerProcessor(CommandType.PING, (channel, command) -> channel.config().setAutoRead(false));
+        server.start();
+        final NettyClientConfig clientConfig = new NettyClientConfig();
+        clientConfig.setAsyncPermits(10000);
+        NettyRemotingClient client = new NettyRemotingClient(clientConfig);
+        Host host = new Host("127.0.0.1", serverConfig.getListenPort());
+        try {
+            boolean rejected = false;
+            for (int i = 0; i < 1000 && !rejected; i++) {
+                Command command = new Command();
+                command.setType(CommandType.PING);
+                command.setBody(new byte[256 * 1024]);
+                try {
+                    client.sendAsync(host, command, 10000, responseFuture -> { });
+                } catch (RemotingTooMuchRequestException e) {
+                    rejected = true;
+                }
+                Thread.sleep(10);
+            }
+            Assert.assertTrue(rejected);
+            Assert.assertFalse(client.getChannel(host).isWritable());
+        } finally {
+            server.close();
+            client.close();
+        }
+    }
+
+    /**
+     *  test flushes of writes issued together are consolidated into one
+     */
+    @Test
+    public void testFlushConsolidation() throws Exception {
+        NettyServerConfig serverConfig = new NettyServerConfig();
+        NettyRemotingServer server = new NettyRemotingServer(serverConfig);
+        CountDownLatch received = new CountDownLatch(10);
+        server.registerProcessor(CommandType.PING, (channel, command) -> received.countDown());
+        server.start();
+        NettyRemotingClient client = new NettyRemotingClient(new NettyClientConfig());
+        Host host = new Host("127.0.0.1", serverConfig.getListenPort());
+        try {
+            Channel channel = client.getChannel(host);
+            AtomicInteger flushes = new AtomicInteger();
+            // next to the head, it sees the flushes passed on by the flush consolidation handler
+            channel.pipeline().addFirst(new ChannelOutboundHandlerAdapter() {
+                @Override
+                public void flush(ChannelHandlerContext ctx) {
+                    flushes.incrementAndGet();
+                    ctx.flush();
+                }
+            });
+            channel.eventLoop().submit(() -> {
+                for (int i = 0; i < 10; i++) {
+                    channel.writeAndFlush(Ping.create());
+                }
+            }).get();
+            Assert.assertTrue(received.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(1, flushes.get());
+        } finally {
+            server.close();
+            client.close();
+        }
+    }
 }
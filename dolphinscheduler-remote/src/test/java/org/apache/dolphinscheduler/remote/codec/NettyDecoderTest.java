@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.codec;
+
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteAckCommand;
+import org.apache.dolphinscheduler.remote.utils.CommandSerializer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.TooLongFrameException;
+
+/**
+ * netty decoder test
+ */
+public class NettyDecoderTest {
+
+    @Test
+    public void testCommandType() {
+        for (CommandType commandType : CommandType.values()) {
+            Assert.assertEquals(commandType, CommandType.of((byte) commandType.ordinal()));
+        }
+        Assert.assertNull(CommandType.of((byte) -1));
+        Assert.assertNull(CommandType.of((byte) CommandType.values().length));
+    }
+
+    @Test
+    public void testDecode() {
+        Command received = decode(new NettyDecoder(), ackCommand());
+        Assert.assertNull(received.getBodyBuffer());
+        assertAck(received);
+    }
+
+    @Test
+    public void testDecodeRetainBody() {
+        Command received = decode(new NettyDecoder(1024, true), ackCommand());
+        ByteBuf bodyBuffer = received.getBodyBuffer();
+        Assert.assertNotNull(bodyBuffer);
+        Assert.assertEquals(1, bodyBuffer.refCnt());
+        assertAck(received);
+        received.releaseBody();
+        Assert.assertEquals(0, bodyBuffer.refCnt());
+        Assert.assertNull(received.getBodyBuffer());
+    }
+
+    @Test
+    public void testGetBodyReleasesBuffer() {
+        Command command = ackCommand();
+        Command received = decode(new NettyDecoder(1024, true), command);
+        ByteBuf bodyBuffer = received.getBodyBuffer();
+        Assert.assertArrayEquals(command.getBody(), received.getBody());
+        Assert.assertEquals(0, bodyBuffer.refCnt());
+        Assert.assertEquals(command.getBody().length, received.getBodyLength());
+    }
+
+    @Test
+    public void testEncodeRetainedBody() {
+        Command received = decode(new NettyDecoder(1024, true), ackCommand());
+        ByteBuf bodyBuffer = received.getBodyBuffer();
+
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyEncoder());
+        channel.writeOutbound(received);
+        ByteBuf frame = channel.readOutbound();
+        Assert.assertTrue(frame instanceof CompositeByteBuf);
+        Assert.assertEquals(2, bodyBuffer.refCnt());
+        received.releaseBody();
+        Assert.assertEquals(1, bodyBuffer.refCnt());
+
+        EmbeddedChannel decodeChannel = new EmbeddedChannel(new NettyDecoder());
+        decodeChannel.writeInbound(frame);
+        Command forwarded = decodeChannel.readInbound();
+        Assert.assertEquals(received.getOpaque(), forwarded.getOpaque());
+        assertAck(forwarded);
+        Assert.assertEquals(0, bodyBuffer.refCnt());
+    }
+
+    @Test
+    public void testTooLongFrame() {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyEncoder());
+        channel.writeOutbound(ackCommand());
+        ByteBuf frame = channel.readOutbound();
+
+        EmbeddedChannel decodeChannel = new EmbeddedChannel(new NettyDecoder(8, true));
+        try {
+            decodeChannel.writeInbound(frame);
+            Assert.fail("frame should be too long");
+        } catch (DecoderException e) {
+            Assert.assertTrue(e instanceof TooLongFrameException);
+        }
+    }
+
+    private Command ackCommand() {
+        TaskExecuteAckCommand ackCommand = new TaskExecuteAckCommand();
+        ackCommand.setTaskInstanceId(1);
+        ackCommand.setStatus(1);
+        ackCommand.setHost("127.0.0.1:1234");
+        return ackCommand.convert2Command();
+    }
+
+    private void assertAck(Command received) {
+        Assert.assertEquals(CommandType.TASK_EXECUTE_ACK, received.getType());
+        TaskExecuteAckCommand ackCommand = CommandSerializer.deserializeBody(received, TaskExecuteAckCommand.class);
+        Assert.assertEquals(1, ackCommand.getTaskInstanceId());
+        Assert.assertEquals("127.0.0.1:1234", ackCommand.getHost());
+    }
+
+    private Command decode(NettyDecoder decoder, Command command) {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyEncoder(), decoder);
+        channel.writeOutbound(command);
+        ByteBuf frame = channel.readOutbound();
+        channel.writeInbound(frame);
+        Command received = channel.readInbound();
+        Assert.assertEquals(command.getOpaque(), received.getOpaque());
+        return received;
+    }
+}
@@ -17,30 +17,26 @@
 
 package org.apache.dolphinscheduler.remote.command.future;
 
+import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.future.InvokeCallback;
 import org.apache.dolphinscheduler.remote.future.ResponseFuture;
-import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
+import org.apache.dolphinscheduler.remote.future.ResponseFutureTable;
 
 import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.Test;
 
 public class ResponseFutureTest {
 
-    @Test
-    public void testScanFutureTable() {
-        ScheduledExecutorService executorService = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("executor-service"));
-        executorService.scheduleAtFixedRate(new Runnable() {
-            @Override
-            public void run() {
-                ResponseFuture.scanFutureTable();
-            }
-        }, 3000, 1000, TimeUnit.MILLISECONDS);
+    private final Executor callbackExecutor = Runnable::run;
 
+    @Test
+    public void testTimeout() throws InterruptedException {
+        ResponseFutureTable futureTable = new ResponseFutureTable(callbackExecutor);
         CountDownLatch latch = new CountDownLatch(1);
         InvokeCallback invokeCallback = new InvokeCallback() {
             @Override
@@ -48,13 +44,47 @@ public class ResponseFutureTest {
                 latch.countDown();
             }
         };
-        ResponseFuture future = new ResponseFuture(1, 2000, invokeCallback, null);
-        try {
-            latch.await(5000, TimeUnit.MILLISECONDS);
-            Assert.assertNull(ResponseFuture.getFuture(1));
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-        executorService.shutdownNow();
+        ResponseFuture future = new ResponseFuture(1, 200, invokeCallback, null);
+        futureTable.put(future);
+        Assert.assertEquals(1, futureTable.getInFlightCount());
+        Assert.assertTrue(latch.await(5000, TimeUnit.MILLISECONDS));
+        Assert.assertNull(futureTable.get(1));
+        Assert.assertEquals(0, futureTable.getInFlightCount());
+        Assert.assertEquals(1, futureTable.getTimeoutCount());
+    }
+
+    @Test
+    public void testRemoveCancelsTimeout() throws InterruptedException {
+        ResponseFutureTable futureTable = new ResponseFutureTable(callbackExecutor);
+        AtomicInteger callbackCount = new AtomicInteger();
+        ResponseFuture future = new ResponseFuture(2, 200, responseFuture -> callbackCount.incrementAndGet(), null);
+        futureTable.put(future);
+        Assert.assertSame(future, futureTable.remove(2));
+        Assert.assertNull(futureTable.remove(2));
+        Thread.sleep(500);
+        Assert.assertEquals(0, callbackCount.get());
+        Assert.assertEquals(0, futureTable.getTimeoutCount());
+    }
+
+    @Test
+    public void testPutResponse() throws InterruptedException {
+        ResponseFutureTable futureTable = new ResponseFutureTable(callbackExecutor);
+        ResponseFuture future = new ResponseFuture(3, 1000, null, null);
+        futureTable.put(future);
+        Command response = new Command(3);
+        future.putResponse(response);
+        Assert.assertSame(response, future.waitResponse());
+        Assert.assertEquals(0, futureTable.getInFlightCount());
+    }
+
+    @Test
+    public void testTablesAreIsolated() {
+        ResponseFutureTable futureTable = new ResponseFutureTable(callbackExecutor);
+        ResponseFutureTable otherTable = new ResponseFutureTable(callbackExecutor);
+        futureTable.put(new ResponseFuture(4, 1000, null, null));
+        Assert.assertNull(otherTable.get(4));
+        Assert.assertNotNull(futureTable.get(4));
+        futureTable.clear();
+        Assert.assertEquals(0, futureTable.getInFlightCount());
     }
 }
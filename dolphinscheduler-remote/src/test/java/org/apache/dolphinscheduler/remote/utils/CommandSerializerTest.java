@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.remote.utils;
+
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandContext;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteRequestCommand;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteResponseCommand;
+
+import java.util.Date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * command serializer test
+ */
+public class CommandSerializerTest {
+
+    @Test
+    public void testDefaultIsJson() {
+        Assert.assertEquals(CommandSerializer.JSON, CommandSerializer.getDefault());
+        Assert.assertEquals(CommandSerializer.PROTOSTUFF, CommandSerializer.of("protostuff"));
+        Assert.assertEquals(CommandSerializer.JSON, CommandSerializer.of("unknown"));
+        Assert.assertEquals(CommandSerializer.JSON, CommandSerializer.of(null));
+    }
+
+    @Test
+    public void testJsonBodyKeepsContext() {
+        TaskExecuteResponseCommand responseCommand = new TaskExecuteResponseCommand(1);
+        responseCommand.setStatus(7);
+        Command command = new Command();
+        CommandSerializer.serializeBody(command, responseCommand, CommandSerializer.JSON);
+
+        Assert.assertNull(command.getContext().get(CommandSerializer.CONTEXT_KEY));
+        TaskExecuteResponseCommand result = CommandSerializer.deserializeBody(command, TaskExecuteResponseCommand.class);
+        Assert.assertEquals(1, result.getTaskInstanceId());
+        Assert.assertEquals(7, result.getStatus());
+    }
+
+    @Test
+    public void testProtostuffBody() {
+        TaskExecuteResponseCommand responseCommand = new TaskExecuteResponseCommand(2);
+        responseCommand.setStatus(7);
+        responseCommand.setEndTime(new Date(1000L));
+        responseCommand.setVarPool("[{\"prop\":\"a\"}]");
+        Command command = new Command();
+        command.setType(CommandType.TASK_EXECUTE_RESPONSE);
+        CommandSerializer.serializeBody(command, responseCommand, CommandSerializer.PROTOSTUFF);
+
+        Command received = new Command(command.getOpaque());
+        received.setContext(CommandContext.valueOf(command.getContext().toBytes()));
+        received.setBody(command.getBody());
+        TaskExecuteResponseCommand result = CommandSerializer.deserializeBody(received, TaskExecuteResponseCommand.class);
+        Assert.assertEquals(2, result.getTaskInstanceId());
+        Assert.assertEquals(7, result.getStatus());
+        Assert.assertEquals(new Date(1000L), result.getEndTime());
+        Assert.assertEquals("[{\"prop\":\"a\"}]", result.getVarPool());
+    }
+
+    @Test
+    public void testProtostuffIsSmaller() {
+        StringBuilder context = new StringBuilder("{\"taskParams\":\"");
+        for (int i = 0; i < 100; i++) {
+            context.append("{\\\"rawScript\\\":\\\"echo \\\\\\\"").append(i).append("\\\\\\\"\\\"}");
+        }
+        context.append("\"}");
+        TaskExecuteRequestCommand requestCommand = new TaskExecuteRequestCommand(context.toString());
+
+        byte[] json = CommandSerializer.JSON.serialize(requestCommand);
+        byte[] protostuff = CommandSerializer.PROTOSTUFF.serialize(requestCommand);
+        Assert.assertTrue(protostuff.length < json.length);
+        Assert.assertEquals(context.toString(),
+                CommandSerializer.PROTOSTUFF.deserialize(protostuff, TaskExecuteRequestCommand.class).getTaskExecutionContext());
+    }
+}
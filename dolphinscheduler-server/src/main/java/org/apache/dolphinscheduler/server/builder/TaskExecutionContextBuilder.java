@@ -52,6 +52,7 @@ public class TaskExecutionContextBuilder {
         taskExecutionContext.setHost(taskInstance.getHost());
         taskExecutionContext.setResources(taskInstance.getResources());
         taskExecutionContext.setDelayTime(taskInstance.getDelayTime());
+        taskExecutionContext.setAppIds(taskInstance.getAppLink());
         return this;
     }
 
@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.log;
+
+import org.apache.dolphinscheduler.remote.codec.NettyEncoder;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.log.LogStreamCloseCommand;
+
+import java.io.File;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.DefaultFileRegion;
+
+/**
+ * log file sent as a stream of chunks.
+ * each chunk is a command header followed by a file region of the log, so the log bytes are sent by sendfile
+ * without being read into the heap. the receiver grants chunks by ack, at most window chunks are unacknowledged.
+ * a following stream stays open at the end of the log and sends the bytes appended later, see {@link #poll(long)}.
+ * it is closed when nothing is sent or acknowledged within the idle timeout, as its receiver is gone or stalled
+ */
+class LogFileStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogFileStream.class);
+
+    private final Channel channel;
+
+    private final long opaque;
+
+    private final File file;
+
+    private final int chunkSize;
+
+    /**
+     * whether the stream is kept open at the end of the log
+     */
+    private final boolean follow;
+
+    /**
+     * log length to send, it is the length when the stream is opened unless the stream follows the log
+     */
+    private long length;
+
+    /**
+     * called once when the stream is closed
+     */
+    private final Runnable onClose;
+
+    /**
+     * cancels the stream when the channel is closed
+     */
+    private final ChannelFutureListener channelCloseListener = future -> cancel();
+
+    private long position;
+
+    private int credits;
+
+    private boolean closed;
+
+    /**
+     * idle timeout in milliseconds of a following stream
+     */
+    private final long idleTimeout;
+
+    /**
+     * last time a chunk is sent or acknowledged
+     */
+    private long lastActiveTime;
+
+    LogFileStream(Channel channel, long opaque, File file, int chunkSize, Runnable onClose) {
+        this(channel, opaque, file, 0, chunkSize, false, 0, onClose);
+    }
+
+    LogFileStream(Channel channel, long opaque, File file, long offset, int chunkSize, boolean follow, long idleTimeout, Runnable onClose) {
+        this.channel = channel;
+        this.opaque = opaque;
+        this.file = file;
+        this.chunkSize = chunkSize;
+        this.follow = follow;
+        this.idleTimeout = idleTimeout;
+        this.length = file.length();
+        this.position = offset < 0 ? length : Math.min(offset, length);
+        this.onClose = onClose;
+        this.lastActiveTime = System.currentTimeMillis();
+    }
+
+    /**
+     * open the stream and send the first window of chunks
+     *
+     * @param window number of chunks
+     */
+    void open(int window) {
+        channel.closeFuture().addListener(channelCloseListener);
+        grant(window);
+    }
+
+    /**
+     * grant chunks and send as many as granted
+     *
+     * @param n number of chunks
+     */
+    synchronized void grant(int n) {
+        credits += n;
+        if (n > 0) {
+            lastActiveTime = System.currentTimeMillis();
+        }
+        while (!closed && credits > 0 && position < length) {
+            int chunkLength = (int) Math.min(chunkSize, length - position);
+            writeChunk(position, chunkLength);
+            position += chunkLength;
+            credits--;
+            lastActiveTime = System.currentTimeMillis();
+        }
+        if (!closed && !follow && position >= length) {
+            close(true, null);
+        }
+    }
+
+    /**
+     * check the log of a following stream and send the appended bytes as far as granted.
+     * the stream is closed when the log is removed or truncated, or the stream is idle longer than the idle timeout
+     *
+     * @param now current time
+     */
+    synchronized void poll(long now) {
+        if (closed || !follow) {
+            return;
+        }
+        if (now - lastActiveTime > idleTimeout) {
+            close(false, "log follow idle timeout");
+            return;
+        }
+        if (!file.isFile()) {
+            close(true, "log file removed");
+            return;
+        }
+        long currentLength = file.length();
+        if (currentLength < position) {
+            close(false, "log file truncated");
+        } else if (currentLength > length) {
+            length = currentLength;
+            grant(0);
+        }
+    }
+
+    boolean isFollow() {
+        return follow;
+    }
+
+    /**
+     * close the stream and tell the receiver
+     *
+     * @param success whether the whole log is sent
+     * @param msg error message
+     */
+    synchronized void close(boolean success, String msg) {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        Command closeCommand = new LogStreamCloseCommand(success, msg).convert2Command(opaque);
+        // queued after the chunks written before
+        channel.eventLoop().execute(() -> channel.writeAndFlush(closeCommand));
+        channel.closeFuture().removeListener(channelCloseListener);
+        onClose.run();
+    }
+
+    /**
+     * close the stream without telling the receiver, when it is cancelled or the channel is closed
+     */
+    synchronized void cancel() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        channel.closeFuture().removeListener(channelCloseListener);
+        onClose.run();
+    }
+
+    synchronized long getPosition() {
+        return position;
+    }
+
+    private void writeChunk(long chunkPosition, int chunkLength) {
+        Command header = new Command(opaque);
+        header.setType(CommandType.LOG_STREAM_CHUNK);
+        // header and file region are written in one event loop task, chunks of other streams can not come between them
+        channel.eventLoop().execute(() -> {
+            ByteBuf headerBuffer = channel.alloc().ioBuffer(64);
+            NettyEncoder.encodeHeader(header, chunkLength, headerBuffer);
+            channel.write(headerBuffer);
+            channel.writeAndFlush(new DefaultFileRegion(file, chunkPosition, chunkLength)).addListener(future -> {
+                if (!future.isSuccess()) {
+                    logger.error("send log chunk of {} error", file, future.cause());
+                    close(false, "send log chunk error");
+                }
+            });
+        });
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.log;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * sparse line offset index of a log file.
+ * the byte offset of every {@link #STRIDE} line is recorded, the index is extended by scanning only the bytes
+ * appended since the last read, so a page of lines is read from the nearest recorded offset
+ * and never from the start of the file
+ */
+class LogLineIndex {
+
+    /**
+     * lines between two recorded offsets
+     */
+    static final int STRIDE = 1000;
+
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+
+    /**
+     * file key of the indexed file, a different key means the file was replaced
+     */
+    private Object fileKey;
+
+    /**
+     * offsets[i] is the byte offset of line i * STRIDE
+     */
+    private long[] offsets = new long[16];
+
+    private int offsetCount;
+
+    /**
+     * number of complete lines indexed
+     */
+    private long lineCount;
+
+    /**
+     * bytes indexed, the end of the last complete line
+     */
+    private long indexedLength;
+
+    LogLineIndex(Path path) {
+        this.path = path;
+        reset(null);
+    }
+
+    /**
+     * read lines of the file, like Files.lines(path).skip(skipLine).limit(limit)
+     *
+     * @param skipLine skip line
+     * @param limit read lines limit
+     * @return lines
+     * @throws IOException if the file can not be read
+     */
+    synchronized List<String> readLines(long skipLine, int limit) throws IOException {
+        if (skipLine < 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            update(channel);
+            if (skipLine > lineCount) {
+                // the last line without line separator is the only line after the indexed lines
+                return Collections.emptyList();
+            }
+            int block = (int) Math.min(skipLine / STRIDE, offsetCount - 1L);
+            long linesToSkip = skipLine - (long) block * STRIDE;
+            channel.position(offsets[block]);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8));
+            for (long i = 0; i < linesToSkip; i++) {
+                if (reader.readLine() == null) {
+                    return Collections.emptyList();
+                }
+            }
+            List<String> lines = new ArrayList<>(Math.min(limit, STRIDE));
+            String line;
+            while (lines.size() < limit && (line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+            return lines;
+        }
+    }
+
+    /**
+     * @return number of complete lines indexed
+     */
+    synchronized long getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * @return number of recorded offsets
+     */
+    synchronized int getOffsetCount() {
+        return offsetCount;
+    }
+
+    /**
+     * index the bytes appended since the last update, or index again if the file was replaced or truncated
+     */
+    private void update(FileChannel channel) throws IOException {
+        Object currentFileKey = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        long size = channel.size();
+        if (size < indexedLength || !Objects.equals(currentFileKey, fileKey)) {
+            reset(currentFileKey);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = indexedLength;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            byte[] bytes = buffer.array();
+            int scanned = read;
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] == '\n') {
+                    endLine(position + i + 1);
+                } else if (bytes[i] == '\r') {
+                    if (i + 1 == read) {
+                        // a line separator of "\r" or "\r\n", decided by the next byte
+                        scanned = i;
+                        break;
+                    }
+                    if (bytes[i + 1] == '\n') {
+                        i++;
+                    }
+                    endLine(position + i + 1);
+                }
+            }
+            if (scanned == 0) {
+                // "\r" at the end of the file, the line is indexed when the next byte is written
+                break;
+            }
+            position += scanned;
+        }
+    }
+
+    /**
+     * count a complete line, line separators are "\n", "\r" and "\r\n" like {@link BufferedReader#readLine()}
+     *
+     * @param end offset after the line separator
+     */
+    private void endLine(long end) {
+        lineCount++;
+        indexedLength = end;
+        if (lineCount % STRIDE == 0) {
+            addOffset(end);
+        }
+    }
+
+    private void reset(Object currentFileKey) {
+        fileKey = currentFileKey;
+        offsetCount = 0;
+        lineCount = 0;
+        indexedLength = 0;
+        addOffset(0);
+    }
+
+    private void addOffset(long offset) {
+        if (offsetCount == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[offsetCount++] = offset;
+    }
+}
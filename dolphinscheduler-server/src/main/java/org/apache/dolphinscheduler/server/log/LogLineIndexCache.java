@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.log;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * least recently used line indexes of log files
+ */
+class LogLineIndexCache {
+
+    private final Map<Path, LogLineIndex> indexes;
+
+    LogLineIndexCache(int maxSize) {
+        this.indexes = new LinkedHashMap<Path, LogLineIndex>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, LogLineIndex> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * read lines of the log file by its line index
+     *
+     * @param filePath file path
+     * @param skipLine skip line
+     * @param limit read lines limit
+     * @return lines
+     * @throws IOException if the file can not be read
+     */
+    List<String> readLines(String filePath, long skipLine, int limit) throws IOException {
+        return getIndex(Paths.get(filePath)).readLines(skipLine, limit);
+    }
+
+    /**
+     * remove the line index of the log file
+     *
+     * @param filePath file path
+     */
+    synchronized void invalidate(String filePath) {
+        indexes.remove(Paths.get(filePath));
+    }
+
+    synchronized int size() {
+        return indexes.size();
+    }
+
+    private synchronized LogLineIndex getIndex(Path path) {
+        return indexes.computeIfAbsent(path, LogLineIndex::new);
+    }
+}
@@ -23,6 +23,9 @@ import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesResponseCommand;
+import org.apache.dolphinscheduler.remote.command.log.LogStreamAckCommand;
+import org.apache.dolphinscheduler.remote.command.log.LogStreamCloseCommand;
+import org.apache.dolphinscheduler.remote.command.log.LogStreamOpenRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.RollViewLogRequestCommand;
@@ -31,20 +34,20 @@ import org.apache.dolphinscheduler.remote.command.log.ViewLogRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.ViewLogResponseCommand;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
 import org.apache.dolphinscheduler.remote.utils.Constants;
+import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,20 +61,68 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
 
     private final Logger logger = LoggerFactory.getLogger(LoggerRequestProcessor.class);
 
+    /**
+     * min chunk size of log stream
+     */
+    private static final int MIN_STREAM_CHUNK_SIZE = 4 * 1024;
+
+    /**
+     * max chunk size of log stream
+     */
+    private static final int MAX_STREAM_CHUNK_SIZE = 1024 * 1024;
+
+    /**
+     * max window of log stream
+     */
+    private static final int MAX_STREAM_WINDOW = 64;
+
+    /**
+     * max number of log files whose line index is cached
+     */
+    private static final int MAX_CACHED_LINE_INDEXES = 1000;
+
+    /**
+     * interval of checking the logs of following streams for appended bytes
+     */
+    private static final long LOG_FOLLOW_INTERVAL = 1000L;
+
+    /**
+     * a following stream is closed when nothing is sent or acknowledged for this time
+     */
+    static final long LOG_FOLLOW_IDLE_TIMEOUT = 10 * 60 * 1000L;
+
     private final ExecutorService executor;
 
+    /**
+     * opened log streams, key is the channel id and the opaque of the open request
+     */
+    private final ConcurrentHashMap<String, LogFileStream> logStreams = new ConcurrentHashMap<>();
+
+    /**
+     * line indexes of the rolling viewed log files
+     */
+    private final LogLineIndexCache logLineIndexCache = new LogLineIndexCache(MAX_CACHED_LINE_INDEXES);
+
+    /**
+     * one thread checks the logs of all following streams, a stream costs a file length check per interval
+     */
+    private final ScheduledExecutorService logFollowExecutor;
+
     public LoggerRequestProcessor() {
         this.executor = Executors.newFixedThreadPool(Constants.CPUS * 2 + 1);
+        this.logFollowExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("LogFollowExecutor"));
+        this.logFollowExecutor.scheduleWithFixedDelay(this::pollLogStreams, LOG_FOLLOW_INTERVAL, LOG_FOLLOW_INTERVAL, TimeUnit.MILLISECONDS);
     }
 
     @Override
     public void process(Channel channel, Command command) {
-        logger.info("received command : {}", command);
-
         /**
          * reuqest task log command type
          */
         final CommandType commandType = command.getType();
+        if (commandType != CommandType.LOG_STREAM_ACK) {
+            logger.info("received command : {}", command);
+        }
         switch (commandType) {
             case GET_LOG_BYTES_REQUEST:
                 GetLogBytesRequestCommand getLogRequest = JSONUtils.parseObject(
@@ -104,6 +155,7 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
                         command.getBody(), RemoveTaskLogRequestCommand.class);
 
                 String taskLogPath = removeTaskLogRequest.getPath();
+                logLineIndexCache.invalidate(taskLogPath);
 
                 File taskLogFile = new File(taskLogPath);
                 Boolean status = true;
@@ -118,15 +170,91 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
                 RemoveTaskLogResponseCommand removeTaskLogResponse = new RemoveTaskLogResponseCommand(status);
                 channel.writeAndFlush(removeTaskLogResponse.convert2Command(command.getOpaque()));
                 break;
+            case LOG_STREAM_OPEN_REQUEST:
+                LogStreamOpenRequestCommand openRequest = JSONUtils.parseObject(
+                        command.getBody(), LogStreamOpenRequestCommand.class);
+                openLogStream(channel, command.getOpaque(), openRequest);
+                break;
+            case LOG_STREAM_ACK:
+                LogStreamAckCommand ack = JSONUtils.parseObject(
+                        command.getBody(), LogStreamAckCommand.class);
+                LogFileStream ackStream = logStreams.get(streamKey(channel, command.getOpaque()));
+                if (ackStream != null) {
+                    ackStream.grant(ack.getCredits());
+                }
+                break;
+            case LOG_STREAM_CLOSE:
+                LogFileStream closeStream = logStreams.get(streamKey(channel, command.getOpaque()));
+                if (closeStream != null) {
+                    closeStream.cancel();
+                }
+                break;
             default:
                 throw new IllegalArgumentException("unknown commandType");
         }
     }
 
+    /**
+     * open log stream and send the first window of chunks
+     *
+     * @param channel channel
+     * @param opaque opaque of the open request
+     * @param openRequest open request
+     */
+    private void openLogStream(Channel channel, long opaque, LogStreamOpenRequestCommand openRequest) {
+        File file = new File(openRequest.getPath());
+        if (!file.isFile()) {
+            logger.info("file path: {} not exists", openRequest.getPath());
+            channel.writeAndFlush(new LogStreamCloseCommand(false, "log file not exists").convert2Command(opaque));
+            return;
+        }
+        String key = streamKey(channel, opaque);
+        int chunkSize = Math.min(Math.max(openRequest.getChunkSize(), MIN_STREAM_CHUNK_SIZE), MAX_STREAM_CHUNK_SIZE);
+        LogFileStream stream = new LogFileStream(channel, opaque, file, openRequest.getOffset(), chunkSize,
+                openRequest.isFollow(), LOG_FOLLOW_IDLE_TIMEOUT, () -> logStreams.remove(key));
+        logStreams.put(key, stream);
+        stream.open(Math.min(Math.max(openRequest.getWindow(), 1), MAX_STREAM_WINDOW));
+    }
+
+    /**
+     * send the bytes appended to the logs of following streams
+     */
+    private void pollLogStreams() {
+        long now = System.currentTimeMillis();
+        for (LogFileStream stream : logStreams.values()) {
+            if (stream.isFollow()) {
+                try {
+                    stream.poll(now);
+                } catch (Exception e) {
+                    logger.error("poll log stream error", e);
+                }
+            }
+        }
+    }
+
+    private String streamKey(Channel channel, long opaque) {
+        return channel.id().asLongText() + "_" + opaque;
+    }
+
+    /**
+     * @return number of opened log streams
+     */
+    int getLogStreamCount() {
+        return logStreams.size();
+    }
+
     public ExecutorService getExecutor() {
         return this.executor;
     }
 
+    /**
+     * stop following logs and processing requests
+     */
+    public void close() {
+        this.logFollowExecutor.shutdownNow();
+        this.executor.shutdownNow();
+    }
+
     /**
      * get files content bytes，for down load file
      *
@@ -162,8 +290,8 @@ public class LoggerRequestProcessor implements NettyRequestProcessor {
                                              int limit) {
         File file = new File(filePath);
         if (file.exists() && file.isFile()) {
-            try (Stream<String> stream = Files.lines(Paths.get(filePath))) {
-                return stream.skip(skipLine).limit(limit).collect(Collectors.toList());
+            try {
+                return logLineIndexCache.readLines(filePath, skipLine, limit);
             } catch (IOException e) {
                 logger.error("read file error", e);
             }
@@ -56,6 +56,9 @@ public class LoggerServer {
         this.server.registerProcessor(CommandType.ROLL_VIEW_LOG_REQUEST, requestProcessor, requestProcessor.getExecutor());
         this.server.registerProcessor(CommandType.VIEW_WHOLE_LOG_REQUEST, requestProcessor, requestProcessor.getExecutor());
         this.server.registerProcessor(CommandType.REMOVE_TAK_LOG_REQUEST, requestProcessor, requestProcessor.getExecutor());
+        this.server.registerProcessor(CommandType.LOG_STREAM_OPEN_REQUEST, requestProcessor, requestProcessor.getExecutor());
+        this.server.registerProcessor(CommandType.LOG_STREAM_ACK, requestProcessor, requestProcessor.getExecutor());
+        this.server.registerProcessor(CommandType.LOG_STREAM_CLOSE, requestProcessor, requestProcessor.getExecutor());
     }
 
     /**
@@ -86,6 +89,7 @@ public class LoggerServer {
      */
     public void stop() {
         this.server.close();
+        this.requestProcessor.close();
         logger.info("logger server shut down");
     }
 
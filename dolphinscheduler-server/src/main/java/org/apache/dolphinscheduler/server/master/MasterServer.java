@@ -110,6 +110,11 @@ public class MasterServer implements IStoppable {
         // init remoting server
         NettyServerConfig serverConfig = new NettyServerConfig();
         serverConfig.setListenPort(masterConfig.getListenPort());
+        serverConfig.setWriteBufferLowWaterMark(masterConfig.getMasterNettyWriteBufferLowWaterMark());
+        serverConfig.setWriteBufferHighWaterMark(masterConfig.getMasterNettyWriteBufferHighWaterMark());
+        serverConfig.setFlushConsolidations(masterConfig.getMasterNettyFlushConsolidations());
+        serverConfig.setMaxFrameLength(masterConfig.getMasterNettyMaxFrameLength());
+        serverConfig.setRetainBody(masterConfig.isMasterNettyRetainBody());
         this.nettyRemotingServer = new NettyRemotingServer(serverConfig);
         this.nettyRemotingServer.registerProcessor(CommandType.TASK_EXECUTE_RESPONSE, new TaskResponseProcessor());
         this.nettyRemotingServer.registerProcessor(CommandType.TASK_EXECUTE_ACK, new TaskAckProcessor());
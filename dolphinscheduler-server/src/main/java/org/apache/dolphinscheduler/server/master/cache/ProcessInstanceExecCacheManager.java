@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache;
+
+import org.apache.dolphinscheduler.server.master.runner.MasterExecThread;
+
+/**
+ *  running process instance exec thread manager
+ */
+public interface ProcessInstanceExecCacheManager {
+
+    /**
+     * get master exec thread by process instance id
+     *
+     * @param processInstanceId processInstanceId
+     * @return master exec thread, null if the process instance is not running on this master
+     */
+    MasterExecThread getByProcessInstanceId(int processInstanceId);
+
+    /**
+     * cache master exec thread
+     *
+     * @param processInstanceId processInstanceId
+     * @param masterExecThread masterExecThread
+     */
+    void cache(int processInstanceId, MasterExecThread masterExecThread);
+
+    /**
+     * remove master exec thread by process instance id
+     *
+     * @param processInstanceId processInstanceId
+     */
+    void removeByProcessInstanceId(int processInstanceId);
+}
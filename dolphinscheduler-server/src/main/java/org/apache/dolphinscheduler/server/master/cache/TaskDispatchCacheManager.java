@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache;
+
+import org.apache.dolphinscheduler.common.enums.ResourceType;
+import org.apache.dolphinscheduler.dao.entity.DataSource;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.Resource;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.Tenant;
+import org.apache.dolphinscheduler.dao.entity.UdfFunc;
+
+import java.util.List;
+
+/**
+ *  read through cache of the slow-changing entities needed to build a dispatched task context
+ */
+public interface TaskDispatchCacheManager {
+
+    /**
+     * get process definition by code and version
+     *
+     * @param processDefinitionCode processDefinitionCode
+     * @param version version
+     * @return process definition
+     */
+    ProcessDefinition getProcessDefinition(Long processDefinitionCode, int version);
+
+    /**
+     * get task definition by code and version
+     *
+     * @param taskCode taskCode
+     * @param version version
+     * @return task definition
+     */
+    TaskDefinition getTaskDefinition(long taskCode, int version);
+
+    /**
+     * get tenant of process
+     *
+     * @param tenantId tenantId
+     * @param userId userId
+     * @return tenant
+     */
+    Tenant getTenantForProcess(int tenantId, int userId);
+
+    /**
+     * get queue of the process instance executor
+     *
+     * @param executorId executorId
+     * @param processInstanceId processInstanceId, used to load the queue on cache miss
+     * @return user queue
+     */
+    String getUserQueue(int executorId, int processInstanceId);
+
+    /**
+     * get datasource by id
+     *
+     * @param dataSourceId dataSourceId
+     * @return datasource
+     */
+    DataSource getDataSource(int dataSourceId);
+
+    /**
+     * get tenant code of resource
+     *
+     * @param resName resource name
+     * @param resourceType resource type
+     * @return tenant code
+     */
+    String getTenantCodeByResName(String resName, ResourceType resourceType);
+
+    /**
+     * list resources by ids
+     *
+     * @param resourceIds resource ids
+     * @return resource list
+     */
+    List<Resource> listResourceByIds(Integer[] resourceIds);
+
+    /**
+     * list udf functions by ids
+     *
+     * @param udfFuncIds udf function ids
+     * @return udf function list
+     */
+    List<UdfFunc> queryUdfFunListByIds(int[] udfFuncIds);
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache.impl;
+
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.runner.MasterExecThread;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ *  running process instance exec thread manager
+ */
+@Component
+public class ProcessInstanceExecCacheManagerImpl implements ProcessInstanceExecCacheManager {
+
+    /**
+     * master exec thread cache
+     */
+    private final Map<Integer, MasterExecThread> processInstanceExecCache = new ConcurrentHashMap<>();
+
+    @Override
+    public MasterExecThread getByProcessInstanceId(int processInstanceId) {
+        return processInstanceExecCache.get(processInstanceId);
+    }
+
+    @Override
+    public void cache(int processInstanceId, MasterExecThread masterExecThread) {
+        processInstanceExecCache.put(processInstanceId, masterExecThread);
+    }
+
+    @Override
+    public void removeByProcessInstanceId(int processInstanceId) {
+        processInstanceExecCache.remove(processInstanceId);
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache.impl;
+
+import org.apache.dolphinscheduler.common.enums.ResourceType;
+import org.apache.dolphinscheduler.dao.entity.DataSource;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.Resource;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.Tenant;
+import org.apache.dolphinscheduler.dao.entity.UdfFunc;
+import org.apache.dolphinscheduler.server.master.cache.TaskDispatchCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ *  read through cache of process and task definition, tenant, user queue, datasource, resource and udf function for task dispatching.
+ *  entries expire after the configured time, so changes of these entities are seen by dispatching after the expire time.
+ *  the definitions are cached by code and version, the cached entities are shared and must not be modified
+ */
+@Component
+public class TaskDispatchCacheManagerImpl implements TaskDispatchCacheManager {
+
+    /**
+     * process service
+     */
+    @Autowired
+    private ProcessService processService;
+
+    /**
+     * master config
+     */
+    @Autowired
+    private MasterConfig masterConfig;
+
+    /**
+     * process definition cache, key is code_version
+     */
+    private Cache<String, ProcessDefinition> processDefinitionCache;
+
+    /**
+     * task definition cache, key is code_version
+     */
+    private Cache<String, TaskDefinition> taskDefinitionCache;
+
+    /**
+     * tenant cache, key is tenantId_userId
+     */
+    private Cache<String, Tenant> tenantCache;
+
+    /**
+     * user queue cache, key is executor id
+     */
+    private Cache<Integer, String> userQueueCache;
+
+    /**
+     * datasource cache
+     */
+    private Cache<Integer, DataSource> dataSourceCache;
+
+    /**
+     * resource tenant code cache, key is resourceType_resName
+     */
+    private Cache<String, String> resourceTenantCodeCache;
+
+    /**
+     * resource cache
+     */
+    private Cache<Integer, Resource> resourceCache;
+
+    /**
+     * udf function cache
+     */
+    private Cache<Integer, UdfFunc> udfFuncCache;
+
+    @PostConstruct
+    public void init() {
+        processDefinitionCache = newCache();
+        taskDefinitionCache = newCache();
+        tenantCache = newCache();
+        userQueueCache = newCache();
+        dataSourceCache = newCache();
+        resourceTenantCodeCache = newCache();
+        resourceCache = newCache();
+        udfFuncCache = newCache();
+    }
+
+    private <K, V> Cache<K, V> newCache() {
+        return CacheBuilder.newBuilder()
+                .maximumSize(masterConfig.getMasterDispatchCacheMaxSize())
+                .expireAfterWrite(masterConfig.getMasterDispatchCacheExpireSeconds(), TimeUnit.SECONDS)
+                .build();
+    }
+
+    /**
+     * get value of key, load and cache it if absent. null values are never cached
+     *
+     * @param cache cache
+     * @param key key
+     * @param loader loader
+     * @return value
+     */
+    private static <K, V> V get(Cache<K, V> cache, K key, Supplier<V> loader) {
+        V value = cache.getIfPresent(key);
+        if (value == null) {
+            value = loader.get();
+            if (value != null) {
+                cache.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public ProcessDefinition getProcessDefinition(Long processDefinitionCode, int version) {
+        return get(processDefinitionCache, processDefinitionCode + "_" + version,
+            () -> processService.findProcessDefinition(processDefinitionCode, version));
+    }
+
+    @Override
+    public TaskDefinition getTaskDefinition(long taskCode, int version) {
+        return get(taskDefinitionCache, taskCode + "_" + version, () -> processService.findTaskDefinition(taskCode, version));
+    }
+
+    @Override
+    public Tenant getTenantForProcess(int tenantId, int userId) {
+        return get(tenantCache, tenantId + "_" + userId, () -> processService.getTenantForProcess(tenantId, userId));
+    }
+
+    @Override
+    public String getUserQueue(int executorId, int processInstanceId) {
+        return get(userQueueCache, executorId, () -> processService.queryUserQueueByProcessInstanceId(processInstanceId));
+    }
+
+    @Override
+    public DataSource getDataSource(int dataSourceId) {
+        return get(dataSourceCache, dataSourceId, () -> processService.findDataSourceById(dataSourceId));
+    }
+
+    @Override
+    public String getTenantCodeByResName(String resName, ResourceType resourceType) {
+        return get(resourceTenantCodeCache, resourceType + "_" + resName, () -> processService.queryTenantCodeByResName(resName, resourceType));
+    }
+
+    @Override
+    public List<Resource> listResourceByIds(Integer[] resourceIds) {
+        List<Resource> resources = new ArrayList<>(resourceIds.length);
+        List<Integer> missIds = new ArrayList<>();
+        for (Integer resourceId : resourceIds) {
+            Resource resource = resourceCache.getIfPresent(resourceId);
+            if (resource == null) {
+                missIds.add(resourceId);
+            } else {
+                resources.add(resource);
+            }
+        }
+        if (!missIds.isEmpty()) {
+            List<Resource> loaded = processService.listResourceByIds(missIds.toArray(new Integer[0]));
+            for (Resource resource : loaded) {
+                resourceCache.put(resource.getId(), resource);
+            }
+            resources.addAll(loaded);
+        }
+        return resources;
+    }
+
+    @Override
+    public List<UdfFunc> queryUdfFunListByIds(int[] udfFuncIds) {
+        List<UdfFunc> udfFuncs = new ArrayList<>(udfFuncIds.length);
+        List<Integer> missIds = new ArrayList<>();
+        for (int udfFuncId : udfFuncIds) {
+            UdfFunc udfFunc = udfFuncCache.getIfPresent(udfFuncId);
+            if (udfFunc == null) {
+                missIds.add(udfFuncId);
+            } else {
+                udfFuncs.add(udfFunc);
+            }
+        }
+        if (!missIds.isEmpty()) {
+            List<UdfFunc> loaded = processService.queryUdfFunListByIds(missIds.stream().mapToInt(Integer::intValue).toArray());
+            for (UdfFunc udfFunc : loaded) {
+                udfFuncCache.put(udfFunc.getId(), udfFunc);
+            }
+            udfFuncs.addAll(loaded);
+        }
+        return udfFuncs;
+    }
+}
@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.remote.command.TaskExecuteAckCommand;
 import org.apache.dolphinscheduler.remote.command.TaskExecuteResponseCommand;
 import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.master.cache.TaskInstanceCacheManager;
+import org.apache.dolphinscheduler.server.master.future.TaskCompletionRegistry;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
 import java.util.Map;
@@ -56,6 +57,12 @@ public class TaskInstanceCacheManagerImpl implements TaskInstanceCacheManager {
     @Autowired
     private ProcessService processService;
 
+    /**
+     * task completion registry
+     */
+    @Autowired
+    private TaskCompletionRegistry taskCompletionRegistry;
+
     /**
      * taskInstance cache refresh timer
      */
@@ -116,6 +123,8 @@ public class TaskInstanceCacheManagerImpl implements TaskInstanceCacheManager {
         taskInstance.setHost(taskAckCommand.getHost());
         taskInstance.setExecutePath(taskAckCommand.getExecutePath());
         taskInstance.setLogPath(taskAckCommand.getLogPath());
+        taskInstance.setPid(taskAckCommand.getProcessId());
+        taskInstance.setAppLink(taskAckCommand.getAppIds());
         taskInstanceCache.put(taskAckCommand.getTaskInstanceId(), taskInstance);
     }
 
@@ -148,6 +157,8 @@ public class TaskInstanceCacheManagerImpl implements TaskInstanceCacheManager {
                 TaskInstance taskInstance = processService.findTaskInstanceById(taskInstanceEntry.getKey());
                 if (null != taskInstance && taskInstance.getState() == ExecutionStatus.NEED_FAULT_TOLERANCE) {
                     taskInstanceCache.computeIfPresent(taskInstanceEntry.getKey(), (k, v) -> taskInstance);
+                    // worker failover may be done by another master
+                    taskCompletionRegistry.complete(taskInstance.getId(), taskInstance.getState());
                 }
             }
 
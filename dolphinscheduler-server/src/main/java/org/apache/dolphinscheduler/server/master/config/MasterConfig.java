@@ -30,6 +30,21 @@ public class MasterConfig {
     @Value("${master.listen.port:5678}")
     private int listenPort;
 
+    @Value("${master.netty.write.buffer.low.water.mark:524288}")
+    private int masterNettyWriteBufferLowWaterMark;
+
+    @Value("${master.netty.write.buffer.high.water.mark:1048576}")
+    private int masterNettyWriteBufferHighWaterMark;
+
+    @Value("${master.netty.flush.consolidations:256}")
+    private int masterNettyFlushConsolidations;
+
+    @Value("${master.netty.max.frame.length:536870912}")
+    private int masterNettyMaxFrameLength;
+
+    @Value("${master.netty.retain.body:false}")
+    private boolean masterNettyRetainBody;
+
     @Value("${master.exec.threads:100}")
     private int masterExecThreads;
 
@@ -39,6 +54,36 @@ public class MasterConfig {
     @Value("${master.dispatch.task.num:3}")
     private int masterDispatchTaskNumber;
 
+    @Value("${master.dispatch.threads:4}")
+    private int masterDispatchThreads;
+
+    @Value("${master.dispatch.queue.capacity:64}")
+    private int masterDispatchQueueCapacity;
+
+    @Value("${master.dispatch.cache.expire.seconds:60}")
+    private int masterDispatchCacheExpireSeconds;
+
+    @Value("${master.dispatch.cache.max.size:10000}")
+    private int masterDispatchCacheMaxSize;
+
+    @Value("${master.task.queue.journal.enable:false}")
+    private boolean masterTaskQueueJournalEnable;
+
+    @Value("${master.task.queue.journal.dir:/tmp/dolphinscheduler/journal}")
+    private String masterTaskQueueJournalDir;
+
+    @Value("${master.command.batch.size:1}")
+    private int masterCommandBatchSize;
+
+    @Value("${master.command.sharding.enable:false}")
+    private boolean masterCommandShardingEnable;
+
+    @Value("${master.persist.event.threads:4}")
+    private int masterPersistEventThreads;
+
+    @Value("${master.persist.event.batch.size:100}")
+    private int masterPersistEventBatchSize;
+
     @Value("${master.host.selector:LowerWeight}")
     private String hostSelector;
 
@@ -139,4 +184,124 @@ public class MasterConfig {
     public void setMasterDispatchTaskNumber(int masterDispatchTaskNumber) {
         this.masterDispatchTaskNumber = masterDispatchTaskNumber;
     }
-}
\ No newline at end of file
+
+    public int getMasterDispatchThreads() {
+        return masterDispatchThreads;
+    }
+
+    public void setMasterDispatchThreads(int masterDispatchThreads) {
+        this.masterDispatchThreads = masterDispatchThreads;
+    }
+
+    public int getMasterDispatchQueueCapacity() {
+        return masterDispatchQueueCapacity;
+    }
+
+    public void setMasterDispatchQueueCapacity(int masterDispatchQueueCapacity) {
+        this.masterDispatchQueueCapacity = masterDispatchQueueCapacity;
+    }
+
+    public int getMasterDispatchCacheExpireSeconds() {
+        return masterDispatchCacheExpireSeconds;
+    }
+
+    public void setMasterDispatchCacheExpireSeconds(int masterDispatchCacheExpireSeconds) {
+        this.masterDispatchCacheExpireSeconds = masterDispatchCacheExpireSeconds;
+    }
+
+    public int getMasterDispatchCacheMaxSize() {
+        return masterDispatchCacheMaxSize;
+    }
+
+    public void setMasterDispatchCacheMaxSize(int masterDispatchCacheMaxSize) {
+        this.masterDispatchCacheMaxSize = masterDispatchCacheMaxSize;
+    }
+
+    public boolean isMasterTaskQueueJournalEnable() {
+        return masterTaskQueueJournalEnable;
+    }
+
+    public void setMasterTaskQueueJournalEnable(boolean masterTaskQueueJournalEnable) {
+        this.masterTaskQueueJournalEnable = masterTaskQueueJournalEnable;
+    }
+
+    public String getMasterTaskQueueJournalDir() {
+        return masterTaskQueueJournalDir;
+    }
+
+    public void setMasterTaskQueueJournalDir(String masterTaskQueueJournalDir) {
+        this.masterTaskQueueJournalDir = masterTaskQueueJournalDir;
+    }
+
+    public int getMasterCommandBatchSize() {
+        return masterCommandBatchSize;
+    }
+
+    public void setMasterCommandBatchSize(int masterCommandBatchSize) {
+        this.masterCommandBatchSize = masterCommandBatchSize;
+    }
+
+    public boolean isMasterCommandShardingEnable() {
+        return masterCommandShardingEnable;
+    }
+
+    public void setMasterCommandShardingEnable(boolean masterCommandShardingEnable) {
+        this.masterCommandShardingEnable = masterCommandShardingEnable;
+    }
+
+    public int getMasterPersistEventThreads() {
+        return masterPersistEventThreads;
+    }
+
+    public void setMasterPersistEventThreads(int masterPersistEventThreads) {
+        this.masterPersistEventThreads = masterPersistEventThreads;
+    }
+
+    public int getMasterPersistEventBatchSize() {
+        return masterPersistEventBatchSize;
+    }
+
+    public void setMasterPersistEventBatchSize(int masterPersistEventBatchSize) {
+        this.masterPersistEventBatchSize = masterPersistEventBatchSize;
+    }
+
+    public int getMasterNettyWriteBufferLowWaterMark() {
+        return masterNettyWriteBufferLowWaterMark;
+    }
+
+    public void setMasterNettyWriteBufferLowWaterMark(int masterNettyWriteBufferLowWaterMark) {
+        this.masterNettyWriteBufferLowWaterMark = masterNettyWriteBufferLowWaterMark;
+    }
+
+    public int getMasterNettyWriteBufferHighWaterMark() {
+        return masterNettyWriteBufferHighWaterMark;
+    }
+
+    public void setMasterNettyWriteBufferHighWaterMark(int masterNettyWriteBufferHighWaterMark) {
+        this.masterNettyWriteBufferHighWaterMark = masterNettyWriteBufferHighWaterMark;
+    }
+
+    public int getMasterNettyFlushConsolidations() {
+        return masterNettyFlushConsolidations;
+    }
+
+    public void setMasterNettyFlushConsolidations(int masterNettyFlushConsolidations) {
+        this.masterNettyFlushConsolidations = masterNettyFlushConsolidations;
+    }
+
+    public int getMasterNettyMaxFrameLength() {
+        return masterNettyMaxFrameLength;
+    }
+
+    public void setMasterNettyMaxFrameLength(int masterNettyMaxFrameLength) {
+        this.masterNettyMaxFrameLength = masterNettyMaxFrameLength;
+    }
+
+    public boolean isMasterNettyRetainBody() {
+        return masterNettyRetainBody;
+    }
+
+    public void setMasterNettyRetainBody(boolean masterNettyRetainBody) {
+        this.masterNettyRetainBody = masterNettyRetainBody;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.config;
+
+import org.apache.dolphinscheduler.service.queue.JournalTaskPriorityQueue;
+import org.apache.dolphinscheduler.service.queue.TaskPriority;
+import org.apache.dolphinscheduler.service.queue.TaskPriorityJournal;
+import org.apache.dolphinscheduler.service.queue.TaskPriorityQueue;
+import org.apache.dolphinscheduler.service.queue.TaskPriorityQueueImpl;
+
+import java.io.File;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * task priority queue config
+ */
+@Configuration
+public class TaskPriorityQueueConfig {
+
+    /**
+     * initial size of the journal file
+     */
+    private static final int JOURNAL_INITIAL_SIZE = 16 * 1024 * 1024;
+
+    @Autowired
+    private MasterConfig masterConfig;
+
+    @Bean
+    public TaskPriorityQueue<TaskPriority> taskPriorityQueue() throws Exception {
+        TaskPriorityQueue<TaskPriority> taskPriorityQueue = new TaskPriorityQueueImpl();
+        if (!masterConfig.isMasterTaskQueueJournalEnable()) {
+            return taskPriorityQueue;
+        }
+        TaskPriorityJournal journal = new TaskPriorityJournal(new File(masterConfig.getMasterTaskQueueJournalDir()), JOURNAL_INITIAL_SIZE);
+        return new JournalTaskPriorityQueue(taskPriorityQueue, journal);
+    }
+}
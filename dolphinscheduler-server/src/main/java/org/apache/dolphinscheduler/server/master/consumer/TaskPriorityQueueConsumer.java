@@ -32,13 +32,17 @@ import org.apache.dolphinscheduler.common.task.sqoop.SqoopParameters;
 import org.apache.dolphinscheduler.common.task.sqoop.sources.SourceMysqlParameter;
 import org.apache.dolphinscheduler.common.task.sqoop.targets.TargetMysqlParameter;
 import org.apache.dolphinscheduler.common.thread.Stopper;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
 import org.apache.dolphinscheduler.common.utils.CollectionUtils;
 import org.apache.dolphinscheduler.common.utils.EnumUtils;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
+import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.common.utils.StringUtils;
 import org.apache.dolphinscheduler.common.utils.TaskParametersUtils;
 import org.apache.dolphinscheduler.dao.entity.DataSource;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.Resource;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.entity.Tenant;
 import org.apache.dolphinscheduler.dao.entity.UdfFunc;
@@ -48,26 +52,32 @@ import org.apache.dolphinscheduler.server.entity.ProcedureTaskExecutionContext;
 import org.apache.dolphinscheduler.server.entity.SQLTaskExecutionContext;
 import org.apache.dolphinscheduler.server.entity.SqoopTaskExecutionContext;
 import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.master.cache.TaskDispatchCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.ExecutorDispatcher;
 import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
 import org.apache.dolphinscheduler.server.master.dispatch.enums.ExecutorType;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.ExecuteException;
+import org.apache.dolphinscheduler.server.master.future.TaskCompletionRegistry;
+import org.apache.dolphinscheduler.service.exceptions.TaskPriorityQueueException;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.dolphinscheduler.service.queue.TaskPriority;
 import org.apache.dolphinscheduler.service.queue.TaskPriorityQueue;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -85,6 +95,16 @@ public class TaskPriorityQueueConsumer extends Thread {
      */
     private static final Logger logger = LoggerFactory.getLogger(TaskPriorityQueueConsumer.class);
 
+    /**
+     * max delay before a failed task is dispatched again
+     */
+    private static final long MAX_DISPATCH_RETRY_DELAY_MILLIS = 10000L;
+
+    /**
+     * time a worker group is not polled when its dispatch queue is full
+     */
+    static final long DISPATCH_QUEUE_FULL_PARK_MILLIS = 100L;
+
     /**
      * taskUpdateQueue
      */
@@ -103,6 +123,11 @@ public class TaskPriorityQueueConsumer extends Thread {
     @Autowired
     private ExecutorDispatcher dispatcher;
 
+    /**
+     * task dispatch cache manager
+     */
+    @Autowired
+    private TaskDispatchCacheManager taskDispatchCacheManager;
 
     /**
      * master config
@@ -110,46 +135,131 @@ public class TaskPriorityQueueConsumer extends Thread {
     @Autowired
     private MasterConfig masterConfig;
 
+    /**
+     * task completion registry
+     */
+    @Autowired
+    private TaskCompletionRegistry taskCompletionRegistry;
+
+    /**
+     * worker group -> dispatch queue, each worker group has its own queue served by the dispatch pool
+     */
+    private final ConcurrentHashMap<String, WorkerGroupDispatchQueue> dispatchQueues = new ConcurrentHashMap<>();
+
+    /**
+     * dispatch pool, shared by the dispatch queues of all worker groups
+     */
+    private ExecutorService dispatchExecutor;
+
+    /**
+     * capacity of the dispatch queue of each worker group
+     */
+    private int dispatchQueueCapacity;
+
+    /**
+     * tasks failed to dispatch, waiting to be put back to the priority queue
+     */
+    private final DelayQueue<DelayedTaskPriority> retryQueue = new DelayQueue<>();
+
     @PostConstruct
     public void init() {
+        int dispatchThreads = Math.max(1, masterConfig.getMasterDispatchThreads());
+        this.dispatchQueueCapacity = Math.max(1, masterConfig.getMasterDispatchQueueCapacity());
+        this.dispatchExecutor = ThreadUtils.newDaemonFixedThreadExecutor("TaskDispatchWorker-%d", dispatchThreads);
         super.setName("TaskUpdateQueueConsumerThread");
         super.start();
     }
 
     @Override
     public void run() {
-        List<TaskPriority> failedDispatchTasks = new ArrayList<>();
         while (Stopper.isRunning()) {
             try {
-                int fetchTaskNum = masterConfig.getMasterDispatchTaskNumber();
-                failedDispatchTasks.clear();
-                for (int i = 0; i < fetchTaskNum; i++) {
-                    TaskPriority taskPriority = taskPriorityQueue.poll(Constants.SLEEP_TIME_MILLIS, TimeUnit.MILLISECONDS);
-                    if (Objects.isNull(taskPriority)) {
-                        continue;
-                    }
-
-                    boolean dispatchResult = dispatch(taskPriority);
-                    if (!dispatchResult) {
-                        failedDispatchTasks.add(taskPriority);
-                    }
-                }
-                if (!failedDispatchTasks.isEmpty()) {
-                    for (TaskPriority dispatchFailedTask : failedDispatchTasks) {
-                        taskPriorityQueue.put(dispatchFailedTask);
-                    }
-                    // If there are tasks in a cycle that cannot find the worker group,
-                    // sleep for 1 second
-                    if (taskPriorityQueue.size() <= failedDispatchTasks.size()) {
-                        TimeUnit.MILLISECONDS.sleep(Constants.SLEEP_TIME_MILLIS);
-                    }
+                requeueRetryTasks();
+                TaskPriority taskPriority = taskPriorityQueue.poll(Constants.SLEEP_TIME_MILLIS, TimeUnit.MILLISECONDS);
+                if (Objects.isNull(taskPriority)) {
+                    continue;
                 }
+                queueDispatch(taskPriority);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
             } catch (Exception e) {
                 logger.error("dispatcher task error", e);
             }
         }
     }
 
+    /**
+     * queue the task to the dispatch queue of its worker group.
+     * a worker group whose dispatch queue is full is parked for a while, so it is not polled
+     * and other worker groups are not blocked, the delayed retry is only for failed dispatches
+     *
+     * @param taskPriority taskPriority
+     * @throws TaskPriorityQueueException TaskPriorityQueueException
+     */
+    void queueDispatch(TaskPriority taskPriority) throws TaskPriorityQueueException {
+        WorkerGroupDispatchQueue dispatchQueue = dispatchQueues.computeIfAbsent(String.valueOf(taskPriority.getGroupName()),
+            groupName -> new WorkerGroupDispatchQueue(groupName, dispatchQueueCapacity, dispatchExecutor, this::dispatchAndAck));
+        if (!dispatchQueue.offer(taskPriority)) {
+            // the queue is still full after the park time, put the task back to wait for its turn
+            taskPriorityQueue.put(taskPriority);
+        }
+        if (dispatchQueue.isFull()) {
+            taskPriorityQueue.park(taskPriority.getGroupName(), DISPATCH_QUEUE_FULL_PARK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * put the tasks whose retry delay expired back to the priority queue
+     *
+     * @throws TaskPriorityQueueException TaskPriorityQueueException
+     */
+    private void requeueRetryTasks() throws TaskPriorityQueueException {
+        DelayedTaskPriority delayedTaskPriority;
+        while ((delayedTaskPriority = retryQueue.poll()) != null) {
+            taskPriorityQueue.put(delayedTaskPriority.getTaskPriority());
+        }
+    }
+
+    /**
+     * delay of the next dispatch of a failed task, grows with the failed times up to MAX_DISPATCH_RETRY_DELAY_MILLIS
+     *
+     * @param dispatchFailedRetryTimes dispatch failed retry times
+     * @return delay in milliseconds
+     */
+    static long getDispatchRetryDelayMillis(int dispatchFailedRetryTimes) {
+        return Math.min((long) Constants.SLEEP_TIME_MILLIS * dispatchFailedRetryTimes, MAX_DISPATCH_RETRY_DELAY_MILLIS);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (dispatchExecutor != null) {
+            dispatchExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * dispatch the task, ack it if it is dispatched, or put it into the retry queue
+     *
+     * @param taskPriority taskPriority
+     */
+    private void dispatchAndAck(TaskPriority taskPriority) {
+        try {
+            if (dispatch(taskPriority)) {
+                // the task is not recovered from the journal from now on
+                taskPriorityQueue.ack(taskPriority);
+            } else {
+                taskPriority.setDispatchFailedRetryTimes(taskPriority.getDispatchFailedRetryTimes() + 1);
+                long retryDelayMillis = getDispatchRetryDelayMillis(taskPriority.getDispatchFailedRetryTimes());
+                // the other tasks of this worker group would most likely fail too
+                taskPriorityQueue.park(taskPriority.getGroupName(), retryDelayMillis, TimeUnit.MILLISECONDS);
+                retryQueue.put(new DelayedTaskPriority(taskPriority, retryDelayMillis));
+            }
+        } catch (Exception e) {
+            logger.error("dispatcher task error", e);
+        }
+    }
+
     /**
      * dispatch task
      *
@@ -159,16 +269,30 @@ public class TaskPriorityQueueConsumer extends Thread {
     protected boolean dispatch(TaskPriority taskPriority) {
         boolean result = false;
         try {
-            int taskInstanceId = taskPriority.getTaskId();
-            TaskExecutionContext context = getTaskExecutionContext(taskInstanceId);
-            ExecutionContext executionContext = new ExecutionContext(context.toCommand(), ExecutorType.WORKER, context.getWorkerGroup());
-
-            if (taskInstanceIsFinalState(taskInstanceId)) {
+            TaskInstance taskInstance = processService.findTaskInstanceById(taskPriority.getTaskId());
+            if (taskInstance == null || taskInstance.getState().typeIsFinished()) {
                 // when task finish, ignore this task, there is no need to dispatch anymore
                 return true;
-            } else {
-                result = dispatcher.dispatch(executionContext);
             }
+            fillTaskInstanceDetail(taskInstance);
+            String processInstanceHost = taskInstance.getProcessInstance().getHost();
+            if (StringUtils.isNotEmpty(processInstanceHost) && !processInstanceHost.equals(NetUtils.getAddr(masterConfig.getListenPort()))) {
+                // recovered from journal but the process instance has been taken over by another master
+                logger.warn("process instance {} is hosted by {}, ignore task {}", taskInstance.getProcessInstanceId(), processInstanceHost, taskInstance.getId());
+                return true;
+            }
+            TaskExecutionContext context = getTaskExecutionContext(taskInstance);
+            if (context == null) {
+                // tenant not exists, task has been set to failure
+                return true;
+            }
+            ExecutionContext executionContext = new ExecutionContext(context.toCommand(), ExecutorType.WORKER, context.getWorkerGroup());
+            TaskDefinition taskDefinition = taskInstance.getTaskDefine();
+            if (taskDefinition != null) {
+                executionContext.setCpuQuota(taskDefinition.getCpuQuota());
+                executionContext.setMemoryMax(taskDefinition.getMemoryMax());
+            }
+            result = dispatcher.dispatch(executionContext);
         } catch (ExecuteException e) {
             logger.error("dispatch error: {}", e.getMessage());
         }
@@ -176,28 +300,45 @@ public class TaskPriorityQueueConsumer extends Thread {
     }
 
     /**
-     * taskInstance is final state
-     * success，failure，kill，stop，pause，threadwaiting is final state
+     * set the process instance, the process definition and the task definition of the task instance.
+     * the process instance is read from db, its state and host change. the definitions of a version
+     * do not change, they are read through the dispatch cache
      *
-     * @param taskInstanceId taskInstanceId
-     * @return taskInstance is final state
+     * @param taskInstance taskInstance
      */
-    public Boolean taskInstanceIsFinalState(int taskInstanceId) {
-        TaskInstance taskInstance = processService.findTaskInstanceById(taskInstanceId);
-        return taskInstance.getState().typeIsFinished();
+    private void fillTaskInstanceDetail(TaskInstance taskInstance) {
+        ProcessInstance processInstance = processService.findProcessInstanceDetailById(taskInstance.getProcessInstanceId());
+        taskInstance.setProcessInstance(processInstance);
+        taskInstance.setProcessDefine(taskDispatchCacheManager.getProcessDefinition(processInstance.getProcessDefinitionCode(),
+                processInstance.getProcessDefinitionVersion()));
+        taskInstance.setTaskDefine(taskDispatchCacheManager.getTaskDefinition(taskInstance.getTaskCode(),
+                taskInstance.getTaskDefinitionVersion()));
     }
 
     /**
      * get TaskExecutionContext
      *
      * @param taskInstanceId taskInstanceId
-     * @return TaskExecutionContext
+     * @return TaskExecutionContext, null if the task instance or its tenant not exists
      */
     protected TaskExecutionContext getTaskExecutionContext(int taskInstanceId) {
-        TaskInstance taskInstance = processService.getTaskInstanceDetailByTaskId(taskInstanceId);
+        TaskInstance taskInstance = processService.findTaskInstanceById(taskInstanceId);
+        if (taskInstance == null) {
+            return null;
+        }
+        fillTaskInstanceDetail(taskInstance);
+        return getTaskExecutionContext(taskInstance);
+    }
 
+    /**
+     * get TaskExecutionContext, tenant, queue, datasource, resource and udf are read through the dispatch cache
+     *
+     * @param taskInstance task instance detail
+     * @return TaskExecutionContext, null if tenant not exists
+     */
+    protected TaskExecutionContext getTaskExecutionContext(TaskInstance taskInstance) {
         int userId = taskInstance.getProcessDefine() == null ? 0 : taskInstance.getProcessDefine().getUserId();
-        Tenant tenant = processService.getTenantForProcess(taskInstance.getProcessInstance().getTenantId(), userId);
+        Tenant tenant = taskDispatchCacheManager.getTenantForProcess(taskInstance.getProcessInstance().getTenantId(), userId);
 
         // verify tenant is null
         if (verifyTenantIsNull(tenant, taskInstance)) {
@@ -207,48 +348,62 @@ public class TaskPriorityQueueConsumer extends Thread {
                     null,
                     null,
                     taskInstance.getId());
+            taskCompletionRegistry.complete(taskInstance.getId(), ExecutionStatus.FAILURE);
             return null;
         }
         // set queue for process instance, user-specified queue takes precedence over tenant queue
-        String userQueue = processService.queryUserQueueByProcessInstanceId(taskInstance.getProcessInstanceId());
+        String userQueue = taskDispatchCacheManager.getUserQueue(taskInstance.getProcessInstance().getExecutorId(), taskInstance.getProcessInstanceId());
         taskInstance.getProcessInstance().setQueue(StringUtils.isEmpty(userQueue) ? tenant.getQueue() : userQueue);
         taskInstance.getProcessInstance().setTenantCode(tenant.getTenantCode());
         taskInstance.setResources(getResourceFullNames(taskInstance));
 
-        SQLTaskExecutionContext sqlTaskExecutionContext = new SQLTaskExecutionContext();
-        DataxTaskExecutionContext dataxTaskExecutionContext = new DataxTaskExecutionContext();
-        ProcedureTaskExecutionContext procedureTaskExecutionContext = new ProcedureTaskExecutionContext();
-        SqoopTaskExecutionContext sqoopTaskExecutionContext = new SqoopTaskExecutionContext();
-
-        // SQL task
-        if (TaskType.SQL.getDesc().equalsIgnoreCase(taskInstance.getTaskType())) {
-            setSQLTaskRelation(sqlTaskExecutionContext, taskInstance);
-        }
+        TaskExecutionContextBuilder builder = TaskExecutionContextBuilder.get()
+                .buildTaskInstanceRelatedInfo(taskInstance)
+                .buildTaskDefinitionRelatedInfo(taskInstance.getTaskDefine())
+                .buildProcessInstanceRelatedInfo(taskInstance.getProcessInstance())
+                .buildProcessDefinitionRelatedInfo(taskInstance.getProcessDefine());
+        buildTaskTypeRelatedInfo(builder, taskInstance);
+        return builder.create();
+    }
 
-        // DATAX task
-        if (TaskType.DATAX.getDesc().equalsIgnoreCase(taskInstance.getTaskType())) {
-            setDataxTaskRelation(dataxTaskExecutionContext, taskInstance);
+    /**
+     * build the context of the task types which need datasource or udf, other task types need nothing more
+     *
+     * @param builder builder
+     * @param taskInstance taskInstance
+     */
+    private void buildTaskTypeRelatedInfo(TaskExecutionContextBuilder builder, TaskInstance taskInstance) {
+        if (StringUtils.isEmpty(taskInstance.getTaskType())) {
+            return;
         }
-
-        // procedure task
-        if (TaskType.PROCEDURE.getDesc().equalsIgnoreCase(taskInstance.getTaskType())) {
-            setProcedureTaskRelation(procedureTaskExecutionContext, taskInstance);
+        TaskType taskType = EnumUtils.getEnum(TaskType.class, taskInstance.getTaskType().toUpperCase());
+        if (taskType == null) {
+            return;
         }
-
-        if (TaskType.SQOOP.getDesc().equalsIgnoreCase(taskInstance.getTaskType())) {
-            setSqoopTaskRelation(sqoopTaskExecutionContext, taskInstance);
+        switch (taskType) {
+            case SQL:
+                SQLTaskExecutionContext sqlTaskExecutionContext = new SQLTaskExecutionContext();
+                setSQLTaskRelation(sqlTaskExecutionContext, taskInstance);
+                builder.buildSQLTaskRelatedInfo(sqlTaskExecutionContext);
+                break;
+            case DATAX:
+                DataxTaskExecutionContext dataxTaskExecutionContext = new DataxTaskExecutionContext();
+                setDataxTaskRelation(dataxTaskExecutionContext, taskInstance);
+                builder.buildDataxTaskRelatedInfo(dataxTaskExecutionContext);
+                break;
+            case PROCEDURE:
+                ProcedureTaskExecutionContext procedureTaskExecutionContext = new ProcedureTaskExecutionContext();
+                setProcedureTaskRelation(procedureTaskExecutionContext, taskInstance);
+                builder.buildProcedureTaskRelatedInfo(procedureTaskExecutionContext);
+                break;
+            case SQOOP:
+                SqoopTaskExecutionContext sqoopTaskExecutionContext = new SqoopTaskExecutionContext();
+                setSqoopTaskRelation(sqoopTaskExecutionContext, taskInstance);
+                builder.buildSqoopTaskRelatedInfo(sqoopTaskExecutionContext);
+                break;
+            default:
+                break;
         }
-
-        return TaskExecutionContextBuilder.get()
-                .buildTaskInstanceRelatedInfo(taskInstance)
-                .buildTaskDefinitionRelatedInfo(taskInstance.getTaskDefine())
-                .buildProcessInstanceRelatedInfo(taskInstance.getProcessInstance())
-                .buildProcessDefinitionRelatedInfo(taskInstance.getProcessDefine())
-                .buildSQLTaskRelatedInfo(sqlTaskExecutionContext)
-                .buildDataxTaskRelatedInfo(dataxTaskExecutionContext)
-                .buildProcedureTaskRelatedInfo(procedureTaskExecutionContext)
-                .buildSqoopTaskRelatedInfo(sqoopTaskExecutionContext)
-                .create();
     }
 
     /**
@@ -260,7 +415,7 @@ public class TaskPriorityQueueConsumer extends Thread {
     private void setProcedureTaskRelation(ProcedureTaskExecutionContext procedureTaskExecutionContext, TaskInstance taskInstance) {
         ProcedureParameters procedureParameters = JSONUtils.parseObject(taskInstance.getTaskParams(), ProcedureParameters.class);
         int datasourceId = procedureParameters.getDatasource();
-        DataSource datasource = processService.findDataSourceById(datasourceId);
+        DataSource datasource = taskDispatchCacheManager.getDataSource(datasourceId);
         procedureTaskExecutionContext.setConnectionParams(datasource.getConnectionParams());
     }
 
@@ -273,8 +428,8 @@ public class TaskPriorityQueueConsumer extends Thread {
     protected void setDataxTaskRelation(DataxTaskExecutionContext dataxTaskExecutionContext, TaskInstance taskInstance) {
         DataxParameters dataxParameters = JSONUtils.parseObject(taskInstance.getTaskParams(), DataxParameters.class);
 
-        DataSource dbSource = processService.findDataSourceById(dataxParameters.getDataSource());
-        DataSource dbTarget = processService.findDataSourceById(dataxParameters.getDataTarget());
+        DataSource dbSource = taskDispatchCacheManager.getDataSource(dataxParameters.getDataSource());
+        DataSource dbTarget = taskDispatchCacheManager.getDataSource(dataxParameters.getDataTarget());
 
         if (dbSource != null) {
             dataxTaskExecutionContext.setDataSourceId(dataxParameters.getDataSource());
@@ -303,8 +458,8 @@ public class TaskPriorityQueueConsumer extends Thread {
             SourceMysqlParameter sourceMysqlParameter = JSONUtils.parseObject(sqoopParameters.getSourceParams(), SourceMysqlParameter.class);
             TargetMysqlParameter targetMysqlParameter = JSONUtils.parseObject(sqoopParameters.getTargetParams(), TargetMysqlParameter.class);
 
-            DataSource dataSource = processService.findDataSourceById(sourceMysqlParameter.getSrcDatasource());
-            DataSource dataTarget = processService.findDataSourceById(targetMysqlParameter.getTargetDatasource());
+            DataSource dataSource = taskDispatchCacheManager.getDataSource(sourceMysqlParameter.getSrcDatasource());
+            DataSource dataTarget = taskDispatchCacheManager.getDataSource(targetMysqlParameter.getTargetDatasource());
 
             if (dataSource != null) {
                 sqoopTaskExecutionContext.setDataSourceId(dataSource.getId());
@@ -329,7 +484,7 @@ public class TaskPriorityQueueConsumer extends Thread {
     private void setSQLTaskRelation(SQLTaskExecutionContext sqlTaskExecutionContext, TaskInstance taskInstance) {
         SqlParameters sqlParameters = JSONUtils.parseObject(taskInstance.getTaskParams(), SqlParameters.class);
         int datasourceId = sqlParameters.getDatasource();
-        DataSource datasource = processService.findDataSourceById(datasourceId);
+        DataSource datasource = taskDispatchCacheManager.getDataSource(datasourceId);
         sqlTaskExecutionContext.setConnectionParams(datasource.getConnectionParams());
 
         // whether udf type
@@ -343,10 +498,10 @@ public class TaskPriorityQueueConsumer extends Thread {
                 udfFunIdsArray[i] = Integer.parseInt(udfFunIds[i]);
             }
 
-            List<UdfFunc> udfFuncList = processService.queryUdfFunListByIds(udfFunIdsArray);
+            List<UdfFunc> udfFuncList = taskDispatchCacheManager.queryUdfFunListByIds(udfFunIdsArray);
             Map<UdfFunc, String> udfFuncMap = new HashMap<>();
             for (UdfFunc udfFunc : udfFuncList) {
-                String tenantCode = processService.queryTenantCodeByResName(udfFunc.getResourceName(), ResourceType.UDF);
+                String tenantCode = taskDispatchCacheManager.getTenantCodeByResName(udfFunc.getResourceName(), ResourceType.UDF);
                 udfFuncMap.put(udfFunc, tenantCode);
             }
 
@@ -385,7 +540,7 @@ public class TaskPriorityQueueConsumer extends Thread {
                 // filter the resources that the resource id equals 0
                 Set<ResourceInfo> oldVersionResources = projectResourceFiles.stream().filter(t -> t.getId() == 0).collect(Collectors.toSet());
                 if (CollectionUtils.isNotEmpty(oldVersionResources)) {
-                    oldVersionResources.forEach(t -> resourcesMap.put(t.getRes(), processService.queryTenantCodeByResName(t.getRes(), ResourceType.FILE)));
+                    oldVersionResources.forEach(t -> resourcesMap.put(t.getRes(), taskDispatchCacheManager.getTenantCodeByResName(t.getRes(), ResourceType.FILE)));
                 }
 
                 // get the resource id in order to get the resource names in batch
@@ -395,8 +550,8 @@ public class TaskPriorityQueueConsumer extends Thread {
                 if (CollectionUtils.isNotEmpty(resourceIdsSet)) {
                     Integer[] resourceIds = resourceIdsSet.toArray(new Integer[resourceIdsSet.size()]);
 
-                    List<Resource> resources = processService.listResourceByIds(resourceIds);
-                    resources.forEach(t -> resourcesMap.put(t.getFullName(), processService.queryTenantCodeByResName(t.getFullName(), ResourceType.FILE)));
+                    List<Resource> resources = taskDispatchCacheManager.listResourceByIds(resourceIds);
+                    resources.forEach(t -> resourcesMap.put(t.getFullName(), taskDispatchCacheManager.getTenantCodeByResName(t.getFullName(), ResourceType.FILE)));
                 }
             }
         }
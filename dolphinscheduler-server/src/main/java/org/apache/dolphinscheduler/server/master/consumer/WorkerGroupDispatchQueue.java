@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.consumer;
+
+import org.apache.dolphinscheduler.common.thread.Stopper;
+import org.apache.dolphinscheduler.service.queue.TaskPriority;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * dispatch queue of one worker group.
+ * the tasks of the worker group are dispatched one by one in the order they are queued, by one thread of the
+ * shared dispatch pool at a time. the thread is given to other worker groups after some tasks,
+ * so a worker group whose dispatch is slow does not block the other worker groups
+ */
+public class WorkerGroupDispatchQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerGroupDispatchQueue.class);
+
+    /**
+     * tasks dispatched before the thread is given to other worker groups
+     */
+    static final int MAX_DISPATCH_PER_DRAIN = 16;
+
+    private final String groupName;
+
+    private final BlockingQueue<TaskPriority> queue;
+
+    private final Executor executor;
+
+    private final Consumer<TaskPriority> dispatcher;
+
+    /**
+     * whether a dispatch thread is scheduled, at most one thread drains the queue at a time
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    public WorkerGroupDispatchQueue(String groupName, int capacity, Executor executor, Consumer<TaskPriority> dispatcher) {
+        this.groupName = groupName;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.executor = executor;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * queue the task and schedule a dispatch thread
+     *
+     * @param taskPriority task priority
+     * @return false if the queue is full
+     */
+    public boolean offer(TaskPriority taskPriority) {
+        if (!queue.offer(taskPriority)) {
+            return false;
+        }
+        schedule();
+        return true;
+    }
+
+    /**
+     * @return true if the queue has no room for another task
+     */
+    public boolean isFull() {
+        return queue.remainingCapacity() == 0;
+    }
+
+    /**
+     * @return number of tasks queued
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    private void schedule() {
+        if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (Exception e) {
+                logger.error("schedule dispatch of worker group {} error", groupName, e);
+                scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            TaskPriority taskPriority;
+            for (int i = 0; i < MAX_DISPATCH_PER_DRAIN && Stopper.isRunning() && (taskPriority = queue.poll()) != null; i++) {
+                try {
+                    dispatcher.accept(taskPriority);
+                } catch (Exception e) {
+                    logger.error("dispatcher task error", e);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        if (!queue.isEmpty() && Stopper.isRunning()) {
+            schedule();
+        }
+    }
+}
@@ -48,6 +48,15 @@ public class ExecutionContext {
      */
     private String workerGroup;
 
+    /**
+     *  cpu quota required by task, percent of a cpu core, no requirement if not positive
+     */
+    private int cpuQuota;
+
+    /**
+     *  max memory required by task in MB, no requirement if not positive
+     */
+    private int memoryMax;
 
     public ExecutionContext(Command command, ExecutorType executorType) {
         this(command, executorType, DEFAULT_WORKER_GROUP);
@@ -83,4 +92,20 @@ public class ExecutionContext {
     public void setHost(Host host) {
         this.host = host;
     }
+
+    public int getCpuQuota() {
+        return cpuQuota;
+    }
+
+    public void setCpuQuota(int cpuQuota) {
+        this.cpuQuota = cpuQuota;
+    }
+
+    public int getMemoryMax() {
+        return memoryMax;
+    }
+
+    public void setMemoryMax(int memoryMax) {
+        this.memoryMax = memoryMax;
+    }
 }
@@ -23,11 +23,13 @@ import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
 import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
 import org.apache.dolphinscheduler.server.master.dispatch.enums.ExecutorType;
 import org.apache.dolphinscheduler.server.master.dispatch.exceptions.ExecuteException;
 import org.apache.dolphinscheduler.server.master.processor.TaskAckProcessor;
 import org.apache.dolphinscheduler.server.master.processor.TaskKillResponseProcessor;
+import org.apache.dolphinscheduler.server.master.processor.TaskRejectProcessor;
 import org.apache.dolphinscheduler.server.master.processor.TaskResponseProcessor;
 import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
 
@@ -60,20 +62,24 @@ public class NettyExecutorManager extends AbstractExecutorManager<Boolean>{
     private ServerNodeManager serverNodeManager;
 
     /**
-     * netty remote client
+     * master config
      */
-    private final NettyRemotingClient nettyRemotingClient;
+    @Autowired
+    private MasterConfig masterConfig;
 
     /**
-     * constructor
+     * netty remote client
      */
-    public NettyExecutorManager(){
-        final NettyClientConfig clientConfig = new NettyClientConfig();
-        this.nettyRemotingClient = new NettyRemotingClient(clientConfig);
-    }
+    private NettyRemotingClient nettyRemotingClient;
 
     @PostConstruct
     public void init(){
+        final NettyClientConfig clientConfig = new NettyClientConfig();
+        clientConfig.setWriteBufferLowWaterMark(masterConfig.getMasterNettyWriteBufferLowWaterMark());
+        clientConfig.setWriteBufferHighWaterMark(masterConfig.getMasterNettyWriteBufferHighWaterMark());
+        clientConfig.setFlushConsolidations(masterConfig.getMasterNettyFlushConsolidations());
+        clientConfig.setMaxFrameLength(masterConfig.getMasterNettyMaxFrameLength());
+        this.nettyRemotingClient = new NettyRemotingClient(clientConfig);
         /**
          * register EXECUTE_TASK_RESPONSE command type TaskResponseProcessor
          * register EXECUTE_TASK_ACK command type TaskAckProcessor
@@ -81,6 +87,7 @@ public class NettyExecutorManager extends AbstractExecutorManager<Boolean>{
         this.nettyRemotingClient.registerProcessor(CommandType.TASK_EXECUTE_RESPONSE, new TaskResponseProcessor());
         this.nettyRemotingClient.registerProcessor(CommandType.TASK_EXECUTE_ACK, new TaskAckProcessor());
         this.nettyRemotingClient.registerProcessor(CommandType.TASK_KILL_RESPONSE, new TaskKillResponseProcessor());
+        this.nettyRemotingClient.registerProcessor(CommandType.TASK_EXECUTE_REJECT, new TaskRejectProcessor());
     }
 
     /**
@@ -19,8 +19,7 @@ package org.apache.dolphinscheduler.server.master.dispatch.host;
 
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.utils.CollectionUtils;
-import org.apache.dolphinscheduler.common.utils.ResInfo;
-import org.apache.dolphinscheduler.common.utils.StringUtils;
+import org.apache.dolphinscheduler.common.utils.HeartBeat;
 import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
 import org.apache.dolphinscheduler.server.master.dispatch.enums.ExecutorType;
@@ -31,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -39,12 +39,22 @@ import org.springframework.beans.factory.annotation.Autowired;
  */
 public abstract class CommonHostManager implements HostManager {
 
+    /**
+     * time a host is skipped after it rejected a task
+     */
+    private static final long BUSY_TIMEOUT_MILLIS = 5000L;
+
     /**
      * server node manager
      */
     @Autowired
     protected ServerNodeManager serverNodeManager;
 
+    /**
+     * busy hosts, value is the time they are available again
+     */
+    private final ConcurrentHashMap<String, Long> busyHosts = new ConcurrentHashMap<>();
+
     /**
      * select host
      * @param context context
@@ -73,11 +83,36 @@ public abstract class CommonHostManager implements HostManager {
 
     protected abstract HostWorker select(Collection<HostWorker> nodes);
 
+    @Override
+    public void markBusy(Host host) {
+        busyHosts.put(host.getAddress(), System.currentTimeMillis() + BUSY_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * whether host rejected a task within the busy timeout
+     * @param address host address
+     * @return true if busy
+     */
+    protected boolean isBusy(String address) {
+        Long availableTime = busyHosts.get(address);
+        if (availableTime == null) {
+            return false;
+        }
+        if (availableTime <= System.currentTimeMillis()) {
+            busyHosts.remove(address, availableTime);
+            return false;
+        }
+        return true;
+    }
+
     protected List<HostWorker> getWorkerCandidates(String workerGroup) {
         List<HostWorker> hostWorkers = new ArrayList<>();
         Set<String> nodes = serverNodeManager.getWorkerGroupNodes(workerGroup);
         if (CollectionUtils.isNotEmpty(nodes)) {
             for (String node : nodes) {
+                if (isBusy(node)) {
+                    continue;
+                }
                 String heartbeat = serverNodeManager.getWorkerNodeInfo(node);
                 int hostWeight = getWorkerHostWeightFromHeartbeat(heartbeat);
                 hostWorkers.add(HostWorker.of(node, hostWeight, workerGroup));
@@ -87,14 +122,8 @@ public abstract class CommonHostManager implements HostManager {
     }
 
     protected int getWorkerHostWeightFromHeartbeat(String heartbeat) {
-        int hostWeight = Constants.DEFAULT_WORKER_HOST_WEIGHT;
-        if (StringUtils.isNotEmpty(heartbeat)) {
-            String[] parts = heartbeat.split(Constants.COMMA);
-            if (ResInfo.isNewHeartbeatWithWeight(parts)) {
-                hostWeight = Integer.parseInt(parts[10]);
-            }
-        }
-        return hostWeight;
+        HeartBeat heartBeat = HeartBeat.decodeHeartBeat(heartbeat);
+        return heartBeat == null ? Constants.DEFAULT_WORKER_HOST_WEIGHT : heartBeat.getWorkerHostWeight();
     }
 
 }
@@ -32,4 +32,10 @@ public interface HostManager {
      */
     Host select(ExecutionContext context);
 
+    /**
+     *  mark host busy after it rejected a task, it is not selected until the busy timeout
+     * @param host host
+     */
+    void markBusy(Host host);
+
 }
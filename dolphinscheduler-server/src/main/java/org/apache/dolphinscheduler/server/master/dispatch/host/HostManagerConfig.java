@@ -55,6 +55,9 @@ public class HostManagerConfig {
             case LOWERWEIGHT:
                 hostManager = new LowerWeightHostManager();
                 break;
+            case SLOT:
+                hostManager = new SlotHostManager();
+                break;
             default:
                 throw new IllegalArgumentException("unSupport selector " + hostSelector);
         }
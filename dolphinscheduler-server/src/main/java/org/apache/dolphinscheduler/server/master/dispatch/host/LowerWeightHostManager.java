@@ -19,8 +19,7 @@ package org.apache.dolphinscheduler.server.master.dispatch.host;
 
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.utils.CollectionUtils;
-import org.apache.dolphinscheduler.common.utils.DateUtils;
-import org.apache.dolphinscheduler.common.utils.ResInfo;
+import org.apache.dolphinscheduler.common.utils.HeartBeat;
 import org.apache.dolphinscheduler.remote.utils.Host;
 import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
 import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
@@ -31,6 +30,7 @@ import org.apache.dolphinscheduler.server.master.dispatch.host.assign.LowerWeigh
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -39,6 +39,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -96,7 +97,12 @@ public class LowerWeightHostManager extends CommonHostManager {
     public Host select(ExecutionContext context) {
         Set<HostWeight> workerHostWeights = getWorkerHostWeights(context.getWorkerGroup());
         if (CollectionUtils.isNotEmpty(workerHostWeights)) {
-            return selector.select(workerHostWeights).getHost();
+            List<HostWeight> availableHostWeights = workerHostWeights.stream()
+                    .filter(hostWeight -> !isBusy(hostWeight.getHost().getAddress()))
+                    .collect(Collectors.toList());
+            if (!availableHostWeights.isEmpty()) {
+                return selector.select(availableHostWeights).getHost();
+            }
         }
         return new Host();
     }
@@ -154,22 +160,18 @@ public class LowerWeightHostManager extends CommonHostManager {
         }
 
         public HostWeight getHostWeight(String addr, String workerGroup, String heartbeat) {
-            if (ResInfo.isValidHeartbeatForRegistryInfo(heartbeat)) {
-                String[] parts = heartbeat.split(Constants.COMMA);
-                int status = Integer.parseInt(parts[8]);
-                if (status == Constants.ABNORMAL_NODE_STATUS) {
-                    logger.warn("worker {} current cpu load average {} is too high or available memory {}G is too low",
-                            addr, Double.parseDouble(parts[2]), Double.parseDouble(parts[3]));
-                    return null;
-                }
-                double cpu = Double.parseDouble(parts[0]);
-                double memory = Double.parseDouble(parts[1]);
-                double loadAverage = Double.parseDouble(parts[2]);
-                long startTime = DateUtils.stringToDate(parts[6]).getTime();
-                int weight = getWorkerHostWeightFromHeartbeat(heartbeat);
-                return new HostWeight(HostWorker.of(addr, weight, workerGroup), cpu, memory, loadAverage, startTime);
+            HeartBeat heartBeat = HeartBeat.decodeHeartBeat(heartbeat);
+            if (heartBeat == null) {
+                return null;
+            }
+            if (heartBeat.getServerStatus() == Constants.ABNORMAL_NODE_STATUS) {
+                logger.warn("worker {} current cpu load average {} is too high or available memory {}G is too low",
+                        addr, heartBeat.getLoadAverage(), heartBeat.getAvailablePhysicalMemorySize());
+                return null;
             }
-            return null;
+            return new HostWeight(HostWorker.of(addr, heartBeat.getWorkerHostWeight(), workerGroup),
+                    heartBeat.getCpuUsage(), heartBeat.getMemoryUsage(), heartBeat.getLoadAverage(), heartBeat.getStartupTime(),
+                    heartBeat.getWorkerQueuedTaskCount(), heartBeat.getWorkerRunningTaskCount());
         }
     }
 
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.host;
+
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.utils.HeartBeat;
+import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
+import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostSlot;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.HostWorker;
+import org.apache.dolphinscheduler.server.master.dispatch.host.assign.SlotSelector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ *  slot host manager, selects the least loaded worker with enough free slots and resources for the task.
+ *  the tasks dispatched by this master are counted in the slots of workers at once, not after their next heartbeat
+ */
+public class SlotHostManager extends CommonHostManager {
+
+    private final Logger logger = LoggerFactory.getLogger(SlotHostManager.class);
+
+    /**
+     * slot count of the worker whose heartbeat has no capacity, default value of worker.exec.threads
+     */
+    private static final int DEFAULT_SLOT_COUNT = 100;
+
+    /**
+     * selector
+     */
+    private SlotSelector selector;
+
+    /**
+     * host slots by worker group and address
+     */
+    private Map<String, Map<String, HostSlot>> workerHostSlotsMap;
+
+    /**
+     * lock of host slots
+     */
+    private Lock lock;
+
+    /**
+     * executor service
+     */
+    private ScheduledExecutorService executorService;
+
+    @PostConstruct
+    public void init() {
+        this.selector = new SlotSelector();
+        this.workerHostSlotsMap = new HashMap<>();
+        this.lock = new ReentrantLock();
+        this.executorService = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("SlotHostManagerExecutor"));
+        this.executorService.scheduleWithFixedDelay(this::refresh, 0, 1, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        this.executorService.shutdownNow();
+    }
+
+    /**
+     * select host and count the task in its slots
+     * @param context context
+     * @return host
+     */
+    @Override
+    public Host select(ExecutionContext context) {
+        lock.lock();
+        try {
+            Map<String, HostSlot> hostSlots = workerHostSlotsMap.get(context.getWorkerGroup());
+            if (hostSlots == null) {
+                return new Host();
+            }
+            List<HostSlot> availableHostSlots = new ArrayList<>(hostSlots.size());
+            for (HostSlot hostSlot : hostSlots.values()) {
+                if (!isBusy(hostSlot.getHost().getAddress())) {
+                    availableHostSlots.add(hostSlot);
+                }
+            }
+            HostSlot hostSlot = selector.select(availableHostSlots, context.getCpuQuota(), context.getMemoryMax());
+            if (hostSlot == null) {
+                logger.warn("no worker of worker group {} has free slot for cpu quota {}%, memory {}MB",
+                        context.getWorkerGroup(), context.getCpuQuota(), context.getMemoryMax());
+                return new Host();
+            }
+            hostSlot.assign(context.getCpuQuota(), context.getMemoryMax(), System.currentTimeMillis());
+            return hostSlot.getHost();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public HostWorker select(Collection<HostWorker> nodes) {
+        throw new UnsupportedOperationException("not support");
+    }
+
+    /**
+     * update the host slots from heartbeats
+     */
+    void refresh() {
+        try {
+            Map<String, Set<String>> workerGroupNodes = serverNodeManager.getWorkerGroupNodes();
+            lock.lock();
+            try {
+                Map<String, Map<String, HostSlot>> workerHostSlots = new HashMap<>();
+                for (Map.Entry<String, Set<String>> entry : workerGroupNodes.entrySet()) {
+                    String workerGroup = entry.getKey();
+                    Map<String, HostSlot> oldHostSlots = workerHostSlotsMap.getOrDefault(workerGroup, new HashMap<>());
+                    Map<String, HostSlot> hostSlots = new HashMap<>();
+                    for (String node : entry.getValue()) {
+                        HostSlot hostSlot = oldHostSlots.get(node);
+                        if (hostSlot == null) {
+                            hostSlot = new HostSlot(HostWorker.of(node, Constants.DEFAULT_WORKER_HOST_WEIGHT, workerGroup));
+                        }
+                        if (updateHostSlot(hostSlot, serverNodeManager.getWorkerNodeInfo(node))) {
+                            hostSlots.put(node, hostSlot);
+                        }
+                    }
+                    if (!hostSlots.isEmpty()) {
+                        workerHostSlots.put(workerGroup, hostSlots);
+                    }
+                }
+                workerHostSlotsMap = workerHostSlots;
+            } finally {
+                lock.unlock();
+            }
+        } catch (Throwable ex) {
+            logger.error("refresh host slots error", ex);
+        }
+    }
+
+    /**
+     * update host slot from heartbeat
+     *
+     * @param hostSlot host slot
+     * @param heartbeat heartbeat
+     * @return false if the worker is not available
+     */
+    boolean updateHostSlot(HostSlot hostSlot, String heartbeat) {
+        HeartBeat heartBeat = HeartBeat.decodeHeartBeat(heartbeat);
+        if (heartBeat == null || heartBeat.getServerStatus() == Constants.ABNORMAL_NODE_STATUS) {
+            return false;
+        }
+        int usedSlotCount = heartBeat.getWorkerQueuedTaskCount() + heartBeat.getWorkerRunningTaskCount();
+        int slotCount = heartBeat.getWorkerExecThreadCount() > 0 ? heartBeat.getWorkerExecThreadCount() : DEFAULT_SLOT_COUNT;
+        // cpu is not limited if the cpu cores of worker are unknown
+        int freeCpuQuota = Integer.MAX_VALUE;
+        if (heartBeat.getCpuCores() > 0) {
+            freeCpuQuota = (int) (heartBeat.getCpuCores() * 100 * (1 - heartBeat.getCpuUsage()));
+        }
+        int freeMemory = (int) ((heartBeat.getAvailablePhysicalMemorySize() - heartBeat.getReservedMemory()) * 1024);
+        hostSlot.update(slotCount, usedSlotCount, freeCpuQuota, freeMemory, heartBeat.getReportTime());
+        return true;
+    }
+
+}
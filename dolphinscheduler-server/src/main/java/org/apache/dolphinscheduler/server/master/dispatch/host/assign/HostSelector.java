@@ -26,7 +26,9 @@ public enum HostSelector {
 
     ROUNDROBIN,
 
-    LOWERWEIGHT;
+    LOWERWEIGHT,
+
+    SLOT;
 
     public static HostSelector of(String selector) {
         for (HostSelector hs : values()) {
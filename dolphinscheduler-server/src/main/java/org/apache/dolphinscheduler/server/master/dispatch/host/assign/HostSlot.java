@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.host.assign;
+
+import org.apache.dolphinscheduler.remote.utils.Host;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * slots and free resources of a worker. the heartbeat reports the used slots and free resources,
+ * the tasks assigned after the heartbeat are counted on top of it until a later heartbeat covers them
+ */
+public class HostSlot {
+
+    /**
+     * assignments not covered by heartbeats expire after this time, in case of clock skew or lost tasks
+     */
+    static final long ASSIGNMENT_TIMEOUT_MILLIS = 60000L;
+
+    private final HostWorker hostWorker;
+
+    /**
+     * tasks able to run in parallel
+     */
+    private int slotCount;
+
+    /**
+     * queued and running tasks in heartbeat
+     */
+    private int usedSlotCount;
+
+    /**
+     * free cpu in heartbeat, percent of a cpu core
+     */
+    private int freeCpuQuota;
+
+    /**
+     * free memory in heartbeat, MB
+     */
+    private int freeMemory;
+
+    /**
+     * report time of heartbeat
+     */
+    private long reportTime;
+
+    /**
+     * tasks assigned after the heartbeat, in assign order
+     */
+    private final Deque<Assignment> assignments = new ArrayDeque<>();
+
+    private int assignedCpuQuota;
+
+    private int assignedMemory;
+
+    public HostSlot(HostWorker hostWorker) {
+        this.hostWorker = hostWorker;
+    }
+
+    public HostWorker getHostWorker() {
+        return hostWorker;
+    }
+
+    public Host getHost() {
+        return hostWorker;
+    }
+
+    /**
+     * update from heartbeat, the assignments before the report time are counted in it
+     *
+     * @param slotCount slot count
+     * @param usedSlotCount queued and running tasks
+     * @param freeCpuQuota free cpu, percent of a cpu core
+     * @param freeMemory free memory in MB
+     * @param reportTime report time of heartbeat
+     */
+    public void update(int slotCount, int usedSlotCount, int freeCpuQuota, int freeMemory, long reportTime) {
+        this.slotCount = slotCount;
+        this.usedSlotCount = usedSlotCount;
+        this.freeCpuQuota = freeCpuQuota;
+        this.freeMemory = freeMemory;
+        this.reportTime = reportTime;
+        expire(reportTime, 0);
+    }
+
+    /**
+     * drop the assignments before the time
+     *
+     * @param time time
+     * @param timeout timeout of assignments
+     */
+    private void expire(long time, long timeout) {
+        Iterator<Assignment> iterator = assignments.iterator();
+        while (iterator.hasNext()) {
+            Assignment assignment = iterator.next();
+            if (assignment.assignTime + timeout >= time) {
+                break;
+            }
+            assignedCpuQuota -= assignment.cpuQuota;
+            assignedMemory -= assignment.memory;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * count a task in the slots until a heartbeat covers it
+     *
+     * @param cpuQuota cpu quota of task, percent of a cpu core
+     * @param memory memory of task in MB
+     * @param now current time
+     */
+    public void assign(int cpuQuota, int memory, long now) {
+        expire(now, ASSIGNMENT_TIMEOUT_MILLIS);
+        Assignment assignment = new Assignment(Math.max(cpuQuota, 0), Math.max(memory, 0), Math.max(now, reportTime));
+        assignments.addLast(assignment);
+        assignedCpuQuota += assignment.cpuQuota;
+        assignedMemory += assignment.memory;
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    public int getFreeSlotCount() {
+        return slotCount - usedSlotCount - assignments.size();
+    }
+
+    public int getFreeCpuQuota() {
+        return freeCpuQuota - assignedCpuQuota;
+    }
+
+    public int getFreeMemory() {
+        return freeMemory - assignedMemory;
+    }
+
+    public int getAssignmentCount() {
+        return assignments.size();
+    }
+
+    /**
+     * @return used slots ratio, more than 1 if tasks are queued
+     */
+    public double getLoad() {
+        if (slotCount <= 0) {
+            return Double.MAX_VALUE;
+        }
+        return (double) (slotCount - getFreeSlotCount()) / slotCount;
+    }
+
+    /**
+     * whether the task fits in the free slots and resources
+     *
+     * @param cpuQuota cpu quota of task, no requirement if not positive
+     * @param memory memory of task, no requirement if not positive
+     * @return true if fits
+     */
+    public boolean canAssign(int cpuQuota, int memory) {
+        return getFreeSlotCount() > 0
+                && (cpuQuota <= 0 || getFreeCpuQuota() >= cpuQuota)
+                && (memory <= 0 || getFreeMemory() >= memory);
+    }
+
+    @Override
+    public String toString() {
+        return "HostSlot{"
+                + "host=" + hostWorker.getAddress()
+                + ", slotCount=" + slotCount
+                + ", freeSlotCount=" + getFreeSlotCount()
+                + ", freeCpuQuota=" + getFreeCpuQuota()
+                + ", freeMemory=" + getFreeMemory()
+                + '}';
+    }
+
+    private static final class Assignment {
+
+        private final int cpuQuota;
+
+        private final int memory;
+
+        private final long assignTime;
+
+        Assignment(int cpuQuota, int memory, long assignTime) {
+            this.cpuQuota = cpuQuota;
+            this.memory = memory;
+            this.assignTime = assignTime;
+        }
+    }
+}
@@ -31,6 +31,10 @@ public class HostWeight {
 
     private final int LOAD_AVERAGE_FACTOR = 70;
 
+    private final int RUNNING_TASK_FACTOR = 10;
+
+    private final int QUEUED_TASK_FACTOR = 30;
+
     private final HostWorker hostWorker;
 
     private final double weight;
@@ -38,8 +42,13 @@ public class HostWeight {
     private double currentWeight;
 
     public HostWeight(HostWorker hostWorker, double cpu, double memory, double loadAverage, long startTime) {
+        this(hostWorker, cpu, memory, loadAverage, startTime, 0, 0);
+    }
+
+    public HostWeight(HostWorker hostWorker, double cpu, double memory, double loadAverage, long startTime,
+                      int queuedTaskCount, int runningTaskCount) {
         this.hostWorker = hostWorker;
-        this.weight = calculateWeight(cpu, memory, loadAverage, startTime);
+        this.weight = calculateWeight(cpu, memory, loadAverage, startTime, queuedTaskCount, runningTaskCount);
         this.currentWeight = this.weight;
     }
 
@@ -72,8 +81,10 @@ public class HostWeight {
             + '}';
     }
 
-    private double calculateWeight(double cpu, double memory, double loadAverage, long startTime) {
-        double calculatedWeight = cpu * CPU_FACTOR + memory * MEMORY_FACTOR + loadAverage * LOAD_AVERAGE_FACTOR;
+    private double calculateWeight(double cpu, double memory, double loadAverage, long startTime,
+                                   int queuedTaskCount, int runningTaskCount) {
+        double calculatedWeight = cpu * CPU_FACTOR + memory * MEMORY_FACTOR + loadAverage * LOAD_AVERAGE_FACTOR
+                + runningTaskCount * RUNNING_TASK_FACTOR + queuedTaskCount * QUEUED_TASK_FACTOR;
         long uptime = System.currentTimeMillis() - startTime;
         if (uptime > 0 && uptime < Constants.WARM_UP_TIME) {
             // If the warm-up is not over, add the weight
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.host.assign;
+
+import java.util.Collection;
+
+/**
+ * slot selector, selects the least loaded worker with enough free slots and resources for the task
+ */
+public class SlotSelector implements Selector<HostSlot> {
+
+    /**
+     * select without resource requirement
+     *
+     * @param source source
+     * @return HostSlot, null if no worker has a free slot
+     */
+    @Override
+    public HostSlot select(Collection<HostSlot> source) {
+        return select(source, 0, 0);
+    }
+
+    /**
+     * select
+     *
+     * @param source source
+     * @param cpuQuota cpu quota of task, no requirement if not positive
+     * @param memory memory of task, no requirement if not positive
+     * @return HostSlot, null if no worker fits the task
+     */
+    public HostSlot select(Collection<HostSlot> source, int cpuQuota, int memory) {
+        HostSlot selected = null;
+        for (HostSlot hostSlot : source) {
+            if (!hostSlot.canAssign(cpuQuota, memory)) {
+                continue;
+            }
+            if (selected == null
+                    || hostSlot.getLoad() < selected.getLoad()
+                    || hostSlot.getLoad() == selected.getLoad() && hostSlot.getFreeMemory() > selected.getFreeMemory()) {
+                selected = hostSlot;
+            }
+        }
+        return selected;
+    }
+}
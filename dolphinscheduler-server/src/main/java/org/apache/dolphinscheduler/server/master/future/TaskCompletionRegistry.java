@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.future;
+
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+
+/**
+ * task completion registry, holds one future per running task instance,
+ * the future is completed when the final state of the task instance is persisted.
+ * timeout checks of all running task instances share one hashed wheel timer,
+ * the timer only triggers the checks, they run on the timeout check executor
+ * because a check may write the db and kill the task
+ */
+@Component
+public class TaskCompletionRegistry {
+
+    private final Logger logger = LoggerFactory.getLogger(TaskCompletionRegistry.class);
+
+    /**
+     * task instance id -> completion future
+     */
+    private final ConcurrentHashMap<Integer, CompletableFuture<ExecutionStatus>> futureTable = new ConcurrentHashMap<>(256);
+
+    /**
+     * timer for timeout checks
+     */
+    private final HashedWheelTimer timer = new HashedWheelTimer(new NamedThreadFactory("TaskCompletionTimer"),
+            100, TimeUnit.MILLISECONDS, 512);
+
+    /**
+     * timeout check thread num
+     */
+    private static final int TIMEOUT_CHECK_THREADS = 4;
+
+    /**
+     * executor of timeout checks
+     */
+    private final ExecutorService timeoutCheckExecutor = ThreadUtils.newDaemonFixedThreadExecutor("TaskTimeoutCheck-%d", TIMEOUT_CHECK_THREADS);
+
+    /**
+     * register a completion future of the task instance
+     *
+     * @param taskInstanceId taskInstanceId
+     * @return completion future, completed with the final state of the task instance
+     */
+    public CompletableFuture<ExecutionStatus> register(int taskInstanceId) {
+        return futureTable.computeIfAbsent(taskInstanceId, k -> new CompletableFuture<>());
+    }
+
+    /**
+     * complete the future of the task instance
+     *
+     * @param taskInstanceId taskInstanceId
+     * @param state final state
+     * @return false if there is no future registered for the task instance
+     */
+    public boolean complete(int taskInstanceId, ExecutionStatus state) {
+        CompletableFuture<ExecutionStatus> future = futureTable.remove(taskInstanceId);
+        if (future == null) {
+            return false;
+        }
+        logger.info("task instance {} complete, state is {}", taskInstanceId, state);
+        return future.complete(state);
+    }
+
+    /**
+     * cancel the future of the task instance if it is still registered, the waiters are not completed anymore
+     *
+     * @param taskInstanceId taskInstanceId
+     * @param future future returned by register
+     * @return false if the future is not registered
+     */
+    public boolean cancel(int taskInstanceId, CompletableFuture<ExecutionStatus> future) {
+        if (!futureTable.remove(taskInstanceId, future)) {
+            return false;
+        }
+        logger.info("task instance {} completion is cancelled", taskInstanceId);
+        return future.cancel(false);
+    }
+
+    /**
+     * schedule a one-shot task, the shared timer hands it to the timeout check executor when it expires
+     *
+     * @param task task
+     * @param delay delay
+     * @param unit time unit
+     * @return timeout handle, can be cancelled
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        return timer.newTimeout(timeout -> timeoutCheckExecutor.execute(task), delay, unit);
+    }
+
+    /**
+     * in-flight task instance count
+     *
+     * @return count
+     */
+    public int size() {
+        return futureTable.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        timer.stop();
+        timeoutCheckExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.processor;
+
+import org.apache.dolphinscheduler.common.utils.Preconditions;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteRejectCommand;
+import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+import org.apache.dolphinscheduler.remote.utils.ChannelUtils;
+import org.apache.dolphinscheduler.remote.utils.CommandSerializer;
+import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.server.master.dispatch.host.HostManager;
+import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
+import org.apache.dolphinscheduler.service.exceptions.TaskPriorityQueueException;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+import org.apache.dolphinscheduler.service.queue.TaskPriority;
+import org.apache.dolphinscheduler.service.queue.TaskPriorityQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.channel.Channel;
+
+/**
+ *  task reject processor, the task rejected by a busy worker is dispatched again to another worker
+ */
+public class TaskRejectProcessor implements NettyRequestProcessor {
+
+    private final Logger logger = LoggerFactory.getLogger(TaskRejectProcessor.class);
+
+    /**
+     * host manager
+     */
+    private final HostManager hostManager;
+
+    /**
+     * process service
+     */
+    private final ProcessService processService;
+
+    /**
+     * task priority queue
+     */
+    private final TaskPriorityQueue<TaskPriority> taskPriorityQueue;
+
+    @SuppressWarnings("unchecked")
+    public TaskRejectProcessor() {
+        this.hostManager = SpringApplicationContext.getBean(HostManager.class);
+        this.processService = SpringApplicationContext.getBean(ProcessService.class);
+        this.taskPriorityQueue = SpringApplicationContext.getBean(TaskPriorityQueue.class);
+    }
+
+    /**
+     * task reject process
+     * @param channel channel channel
+     * @param command command TaskExecuteRejectCommand
+     */
+    @Override
+    public void process(Channel channel, Command command) {
+        Preconditions.checkArgument(CommandType.TASK_EXECUTE_REJECT == command.getType(), String.format("invalid command type : %s", command.getType()));
+        TaskExecuteRejectCommand rejectCommand = CommandSerializer.deserializeBody(command, TaskExecuteRejectCommand.class);
+        logger.info("taskRejectCommand : {}", rejectCommand);
+
+        Host host = rejectCommand.getHost() != null ? Host.of(rejectCommand.getHost()) : ChannelUtils.toAddress(channel);
+        hostManager.markBusy(host);
+
+        TaskInstance taskInstance = processService.getTaskInstanceDetailByTaskId(rejectCommand.getTaskInstanceId());
+        if (taskInstance == null || taskInstance.getState().typeIsFinished()) {
+            return;
+        }
+        ProcessInstance processInstance = taskInstance.getProcessInstance();
+        TaskPriority taskPriority = new TaskPriority(processInstance.getProcessInstancePriority().getCode(),
+                processInstance.getId(),
+                taskInstance.getProcessInstancePriority().getCode(),
+                taskInstance.getId(),
+                taskInstance.getWorkerGroup());
+        try {
+            taskPriorityQueue.put(taskPriority);
+        } catch (TaskPriorityQueueException e) {
+            logger.error("put rejected task instance {} to priority queue error", taskInstance.getId(), e);
+        }
+    }
+
+}
@@ -20,15 +20,29 @@ package org.apache.dolphinscheduler.server.master.processor.queue;
 import org.apache.dolphinscheduler.common.enums.Event;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
 import org.apache.dolphinscheduler.common.thread.Stopper;
+import org.apache.dolphinscheduler.common.utils.StringUtils;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.remote.command.DBTaskAckCommand;
 import org.apache.dolphinscheduler.remote.command.DBTaskResponseCommand;
+import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.future.TaskCompletionRegistry;
+import org.apache.dolphinscheduler.server.master.runner.MasterExecThread;
+import org.apache.dolphinscheduler.server.master.runner.TaskStateEvent;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -52,10 +66,19 @@ public class TaskResponseService {
     private final Logger logger = LoggerFactory.getLogger(TaskResponseService.class);
 
     /**
-     * attemptQueue
+     * event queue capacity of each persist thread
      */
-    private final BlockingQueue<TaskResponseEvent> eventQueue = new LinkedBlockingQueue<>(5000);
+    private static final int EVENT_QUEUE_CAPACITY = 5000;
 
+    /**
+     * interval of logging the event queue size and the batch cost
+     */
+    private static final long METRICS_LOG_INTERVAL_SECONDS = 60;
+
+    /**
+     * event queues, one per persist thread, events of one task instance always go to the same queue
+     */
+    private final List<BlockingQueue<TaskResponseEvent>> eventQueues = new ArrayList<>();
 
     /**
      * process service
@@ -64,25 +87,83 @@ public class TaskResponseService {
     private ProcessService processService;
 
     /**
-     * task response worker
+     * master config
+     */
+    @Autowired
+    private MasterConfig masterConfig;
+
+    /**
+     * running process instance exec thread manager
+     */
+    @Autowired
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
+    /**
+     * task completion registry
+     */
+    @Autowired
+    private TaskCompletionRegistry taskCompletionRegistry;
+
+    /**
+     * task response workers
+     */
+    private final List<Thread> taskResponseWorkers = new ArrayList<>();
+
+    /**
+     * max events persisted in one batch
+     */
+    private int batchSize;
+
+    /**
+     * cost of the last persisted batch in milliseconds
+     */
+    private volatile long lastBatchCostMillis;
+
+    /**
+     * max batch cost in milliseconds since the metrics are logged
      */
-    private Thread taskResponseWorker;
+    private final AtomicLong maxBatchCostMillis = new AtomicLong();
+
+    /**
+     * events persisted since the metrics are logged
+     */
+    private final AtomicLong persistedEventCount = new AtomicLong();
+
+    /**
+     * logs the event queue size and the batch cost
+     */
+    private ScheduledExecutorService metricsExecutor;
 
     @PostConstruct
     public void start() {
-        this.taskResponseWorker = new TaskResponseWorker();
-        this.taskResponseWorker.setName("TaskResponseWorker");
-        this.taskResponseWorker.start();
+        int workerNum = Math.max(1, masterConfig.getMasterPersistEventThreads());
+        this.batchSize = Math.max(1, masterConfig.getMasterPersistEventBatchSize());
+        for (int i = 0; i < workerNum; i++) {
+            BlockingQueue<TaskResponseEvent> eventQueue = new LinkedBlockingQueue<>(EVENT_QUEUE_CAPACITY);
+            eventQueues.add(eventQueue);
+            Thread taskResponseWorker = new TaskResponseWorker(eventQueue);
+            taskResponseWorker.setName("TaskResponseWorker-" + i);
+            taskResponseWorker.start();
+            taskResponseWorkers.add(taskResponseWorker);
+        }
+        this.metricsExecutor = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("TaskResponseMetrics"));
+        this.metricsExecutor.scheduleWithFixedDelay(this::logMetrics,
+                METRICS_LOG_INTERVAL_SECONDS, METRICS_LOG_INTERVAL_SECONDS, TimeUnit.SECONDS);
     }
 
     @PreDestroy
     public void stop() {
-        this.taskResponseWorker.interrupt();
-        if (!eventQueue.isEmpty()) {
-            List<TaskResponseEvent> remainEvents = new ArrayList<>(eventQueue.size());
-            eventQueue.drainTo(remainEvents);
-            for (TaskResponseEvent event : remainEvents) {
-                this.persist(event);
+        if (metricsExecutor != null) {
+            metricsExecutor.shutdownNow();
+        }
+        for (Thread taskResponseWorker : taskResponseWorkers) {
+            taskResponseWorker.interrupt();
+        }
+        for (BlockingQueue<TaskResponseEvent> eventQueue : eventQueues) {
+            if (!eventQueue.isEmpty()) {
+                List<TaskResponseEvent> remainEvents = new ArrayList<>(eventQueue.size());
+                eventQueue.drainTo(remainEvents);
+                this.persist(remainEvents);
             }
         }
     }
@@ -94,7 +175,7 @@ public class TaskResponseService {
      */
     public void addResponse(TaskResponseEvent taskResponseEvent) {
         try {
-            eventQueue.put(taskResponseEvent);
+            eventQueues.get(Math.floorMod(taskResponseEvent.getTaskInstanceId(), eventQueues.size())).put(taskResponseEvent);
         } catch (InterruptedException e) {
             logger.error("put task : {} error :{}", taskResponseEvent, e);
             Thread.currentThread().interrupt();
@@ -106,22 +187,171 @@ public class TaskResponseService {
      */
     class TaskResponseWorker extends Thread {
 
+        private final BlockingQueue<TaskResponseEvent> eventQueue;
+
+        TaskResponseWorker(BlockingQueue<TaskResponseEvent> eventQueue) {
+            this.eventQueue = eventQueue;
+        }
+
         @Override
         public void run() {
 
+            List<TaskResponseEvent> events = new ArrayList<>(batchSize);
             while (Stopper.isRunning()) {
                 try {
                     // if not task , blocking here
-                    TaskResponseEvent taskResponseEvent = eventQueue.take();
-                    persist(taskResponseEvent);
+                    events.add(eventQueue.take());
+                    eventQueue.drainTo(events, batchSize - 1);
+                    persist(events);
                 } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                     break;
                 } catch (Exception e) {
                     logger.error("persist task error", e);
+                } finally {
+                    events.clear();
                 }
             }
-            logger.info("TaskResponseWorker stopped");
+            logger.info("{} stopped", getName());
+        }
+    }
+
+    /**
+     * persist a batch of taskResponseEvent, events of the same task instance are merged into one update,
+     * and all updates, including the out params of the results, are committed in one transaction.
+     * if the batch fails, fall back to persist one by one
+     *
+     * @param events taskResponseEvent list
+     */
+    void persist(List<TaskResponseEvent> events) {
+        long startTime = System.currentTimeMillis();
+        Map<Integer, List<TaskResponseEvent>> taskEvents = new LinkedHashMap<>();
+        for (TaskResponseEvent event : events) {
+            taskEvents.computeIfAbsent(event.getTaskInstanceId(), k -> new ArrayList<>()).add(event);
+        }
+        List<TaskInstance> taskInstances;
+        try {
+            taskInstances = processService.findTaskInstanceByIdList(new ArrayList<>(taskEvents.keySet()));
+            Map<Integer, String> results = new HashMap<>();
+            for (TaskInstance taskInstance : taskInstances) {
+                for (TaskResponseEvent event : taskEvents.get(taskInstance.getId())) {
+                    merge(taskInstance, event);
+                    if (event.getEvent() == Event.RESULT) {
+                        results.put(taskInstance.getId(), event.getResult());
+                    }
+                }
+            }
+            processService.updateTaskInstances(taskInstances, results);
+        } catch (Exception e) {
+            logger.error("persist {} task events in batch error, persist them one by one", events.size(), e);
+            for (TaskResponseEvent event : events) {
+                persist(event);
+            }
+            recordBatchCost(events.size(), startTime);
+            return;
+        }
+
+        Map<Integer, TaskInstance> taskInstanceMap = new HashMap<>(taskInstances.size());
+        for (TaskInstance taskInstance : taskInstances) {
+            taskInstanceMap.put(taskInstance.getId(), taskInstance);
+        }
+        for (Map.Entry<Integer, List<TaskResponseEvent>> entry : taskEvents.entrySet()) {
+            boolean result = false;
+            // if taskInstance is null (maybe deleted) . retry will be meaningless . so response success
+            for (TaskResponseEvent event : entry.getValue()) {
+                if (event.getEvent() == Event.RESULT) {
+                    result = true;
+                    DBTaskResponseCommand taskResponseCommand = new DBTaskResponseCommand(ExecutionStatus.SUCCESS.getCode(), event.getTaskInstanceId());
+                    event.getChannel().writeAndFlush(taskResponseCommand.convert2Command());
+                } else {
+                    DBTaskAckCommand taskAckCommand = new DBTaskAckCommand(ExecutionStatus.SUCCESS.getCode(), event.getTaskInstanceId());
+                    event.getChannel().writeAndFlush(taskAckCommand.convert2Command());
+                }
+            }
+            TaskInstance taskInstance = taskInstanceMap.get(entry.getKey());
+            if (taskInstance == null) {
+                continue;
+            }
+            if (result || taskInstance.getState().typeIsFinished()) {
+                taskCompletionRegistry.complete(taskInstance.getId(), taskInstance.getState());
+            }
+            if (result) {
+                notifyProcessInstance(taskInstance.getProcessInstanceId(), taskInstance.getId(), taskInstance.getState());
+            }
+        }
+        recordBatchCost(events.size(), startTime);
+    }
+
+    /**
+     * record the cost of a persisted batch
+     *
+     * @param eventCount events of the batch
+     * @param startTime start time of the batch
+     */
+    private void recordBatchCost(int eventCount, long startTime) {
+        long costMillis = System.currentTimeMillis() - startTime;
+        this.lastBatchCostMillis = costMillis;
+        maxBatchCostMillis.accumulateAndGet(costMillis, Math::max);
+        persistedEventCount.addAndGet(eventCount);
+        logger.debug("persist {} task events cost {} ms", eventCount, costMillis);
+    }
+
+    /**
+     * log the events waiting to be persisted and the batch cost since the last log, nothing is logged when idle
+     */
+    void logMetrics() {
+        long persisted = persistedEventCount.getAndSet(0);
+        long maxCostMillis = maxBatchCostMillis.getAndSet(0);
+        int queueSize = getEventQueueSize();
+        if (persisted == 0 && queueSize == 0) {
+            return;
+        }
+        logger.info("task response events waiting : {}, persisted in last {} s : {}, max batch cost : {} ms, last batch cost : {} ms",
+                queueSize, METRICS_LOG_INTERVAL_SECONDS, persisted, maxCostMillis, lastBatchCostMillis);
+    }
+
+    /**
+     * apply taskResponseEvent to task instance without saving it, the out params of a result are applied on update
+     *
+     * @param taskInstance taskInstance
+     * @param taskResponseEvent taskResponseEvent
+     */
+    private void merge(TaskInstance taskInstance, TaskResponseEvent taskResponseEvent) {
+        switch (taskResponseEvent.getEvent()) {
+            case ACK:
+                if (!taskInstance.getState().typeIsFinished()) {
+                    taskInstance.setState(taskResponseEvent.getState());
+                }
+                taskInstance.setStartTime(taskResponseEvent.getStartTime());
+                taskInstance.setHost(taskResponseEvent.getWorkerAddress());
+                taskInstance.setExecutePath(taskResponseEvent.getExecutePath());
+                taskInstance.setLogPath(taskResponseEvent.getLogPath());
+                mergeRunningInfo(taskInstance, taskResponseEvent);
+                break;
+            case RESULT:
+                taskInstance.setPid(taskResponseEvent.getProcessId());
+                taskInstance.setAppLink(taskResponseEvent.getAppIds());
+                taskInstance.setState(taskResponseEvent.getState());
+                taskInstance.setEndTime(taskResponseEvent.getEndTime());
+                taskInstance.setVarPool(taskResponseEvent.getVarPool());
+                break;
+            default:
+                throw new IllegalArgumentException("invalid event type : " + taskResponseEvent.getEvent());
+        }
+    }
+
+    /**
+     * apply the process id and the application ids an ack of a running task reports
+     *
+     * @param taskInstance taskInstance
+     * @param taskResponseEvent ack event
+     */
+    private void mergeRunningInfo(TaskInstance taskInstance, TaskResponseEvent taskResponseEvent) {
+        if (taskResponseEvent.getProcessId() > 0) {
+            taskInstance.setPid(taskResponseEvent.getProcessId());
+        }
+        if (StringUtils.isNotEmpty(taskResponseEvent.getAppIds())) {
+            taskInstance.setAppLink(taskResponseEvent.getAppIds());
         }
     }
 
@@ -140,12 +370,16 @@ public class TaskResponseService {
                     TaskInstance taskInstance = processService.findTaskInstanceById(taskResponseEvent.getTaskInstanceId());
                     if (taskInstance != null) {
                         ExecutionStatus status = taskInstance.getState().typeIsFinished() ? taskInstance.getState() : taskResponseEvent.getState();
+                        mergeRunningInfo(taskInstance, taskResponseEvent);
                         processService.changeTaskState(taskInstance, status,
                             taskResponseEvent.getStartTime(),
                             taskResponseEvent.getWorkerAddress(),
                             taskResponseEvent.getExecutePath(),
                             taskResponseEvent.getLogPath(),
                             taskResponseEvent.getTaskInstanceId());
+                        if (status.typeIsFinished()) {
+                            taskCompletionRegistry.complete(taskResponseEvent.getTaskInstanceId(), status);
+                        }
                     }
                     // if taskInstance is null (maybe deleted) . retry will be meaningless . so ack success
                     DBTaskAckCommand taskAckCommand = new DBTaskAckCommand(ExecutionStatus.SUCCESS.getCode(), taskResponseEvent.getTaskInstanceId());
@@ -168,6 +402,8 @@ public class TaskResponseService {
                             taskResponseEvent.getVarPool(),
                                 taskResponseEvent.getResult()
                         );
+                        taskCompletionRegistry.complete(taskResponseEvent.getTaskInstanceId(), taskResponseEvent.getState());
+                        notifyProcessInstance(taskInstance.getProcessInstanceId(), taskResponseEvent.getTaskInstanceId(), taskResponseEvent.getState());
                     }
                     // if taskInstance is null (maybe deleted) . retry will be meaningless . so response success
                     DBTaskResponseCommand taskResponseCommand = new DBTaskResponseCommand(ExecutionStatus.SUCCESS.getCode(), taskResponseEvent.getTaskInstanceId());
@@ -183,7 +419,35 @@ public class TaskResponseService {
         }
     }
 
-    public BlockingQueue<TaskResponseEvent> getEventQueue() {
-        return eventQueue;
+    /**
+     * push the task state to the process instance exec thread, if it is running on this master
+     *
+     * @param processInstanceId processInstanceId
+     * @param taskInstanceId taskInstanceId
+     * @param state task state
+     */
+    private void notifyProcessInstance(int processInstanceId, int taskInstanceId, ExecutionStatus state) {
+        MasterExecThread masterExecThread = processInstanceExecCacheManager.getByProcessInstanceId(processInstanceId);
+        if (masterExecThread != null) {
+            masterExecThread.addTaskStateEvent(new TaskStateEvent(taskInstanceId, state));
+        }
+    }
+
+    /**
+     * @return cost of the last persisted batch in milliseconds
+     */
+    public long getLastBatchCostMillis() {
+        return lastBatchCostMillis;
+    }
+
+    /**
+     * @return events waiting to be persisted
+     */
+    public int getEventQueueSize() {
+        int size = 0;
+        for (BlockingQueue<TaskResponseEvent> eventQueue : eventQueues) {
+            size += eventQueue.size();
+        }
+        return size;
     }
 }
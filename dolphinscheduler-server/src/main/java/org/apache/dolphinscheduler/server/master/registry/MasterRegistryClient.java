@@ -35,6 +35,7 @@ import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
 import org.apache.dolphinscheduler.server.builder.TaskExecutionContextBuilder;
 import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.future.TaskCompletionRegistry;
 import org.apache.dolphinscheduler.server.registry.HeartBeatTask;
 import org.apache.dolphinscheduler.server.utils.ProcessUtils;
 import org.apache.dolphinscheduler.service.process.ProcessService;
@@ -84,6 +85,12 @@ public class MasterRegistryClient {
     @Autowired
     private MasterConfig masterConfig;
 
+    /**
+     * task completion registry
+     */
+    @Autowired
+    private TaskCompletionRegistry taskCompletionRegistry;
+
     /**
      * heartbeat executor
      */
@@ -96,6 +103,8 @@ public class MasterRegistryClient {
 
     private String localNodePath;
 
+    private HeartBeatTask heartBeatTask;
+
     public void start() {
         String nodeLock = registryClient.getMasterStartUpLockPath();
         try {
@@ -119,6 +128,7 @@ public class MasterRegistryClient {
                 removeNodePath(null, NodeType.WORKER, true);
             }
             registryClient.subscribe(REGISTRY_DOLPHINSCHEDULER_NODE, new MasterRegistryDataListener());
+            registryClient.cache(registryClient.getDeadZNodeParentPath());
         } catch (Exception e) {
             logger.error("master start up exception", e);
         } finally {
@@ -300,6 +310,7 @@ public class MasterRegistryClient {
 
             taskInstance.setState(ExecutionStatus.NEED_FAULT_TOLERANCE);
             processService.saveTaskInstance(taskInstance);
+            taskCompletionRegistry.complete(taskInstance.getId(), ExecutionStatus.NEED_FAULT_TOLERANCE);
         }
         logger.info("end worker[{}] failover ...", workerHost);
     }
@@ -352,7 +363,7 @@ public class MasterRegistryClient {
         registryClient.persistEphemeral(localNodePath, "");
         registryClient.addConnectionStateListener(new MasterRegistryConnectStateListener());
         int masterHeartbeatInterval = masterConfig.getMasterHeartbeatInterval();
-        HeartBeatTask heartBeatTask = new HeartBeatTask(startTime,
+        this.heartBeatTask = new HeartBeatTask(startTime,
                 masterConfig.getMasterMaxCpuloadAvg(),
                 masterConfig.getMasterReservedMemory(),
                 Sets.newHashSet(getMasterPath()),
@@ -370,9 +381,11 @@ public class MasterRegistryClient {
         public void notify(RegistryConnectState newState) {
             if (RegistryConnectState.RECONNECTED == newState) {
                 registryClient.persistEphemeral(localNodePath, "");
+                heartBeatTask.reset();
             }
             if (RegistryConnectState.SUSPENDED == newState) {
                 registryClient.persistEphemeral(localNodePath, "");
+                heartBeatTask.reset();
             }
         }
     }
@@ -30,18 +30,18 @@ import org.apache.dolphinscheduler.spi.register.SubscribeListener;
 
 import org.apache.commons.collections.CollectionUtils;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.annotation.PreDestroy;
 
@@ -52,7 +52,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 /**
- * server node manager
+ * server node manager.
+ * the master nodes, worker group nodes and worker node info are held in an immutable membership snapshot,
+ * a new snapshot is published on every registry event and by a periodic reconciliation in case an event is missed,
+ * so the readers on the dispatch path take neither lock nor copy.
+ * the registry events and the reconciliation are handled one by one by a single thread, which reads the registry
+ * when it handles them, so a snapshot is never replaced by one built from an older registry read
  */
 @Service
 public class ServerNodeManager implements InitializingBean {
@@ -60,37 +65,17 @@ public class ServerNodeManager implements InitializingBean {
     private final Logger logger = LoggerFactory.getLogger(ServerNodeManager.class);
 
     /**
-     * master lock
+     * interval of reconciling the membership with the registry and database
      */
-    private final Lock masterLock = new ReentrantLock();
+    private static final long RECONCILE_INTERVAL_SECONDS = 30;
 
     /**
-     * worker group lock
+     * membership snapshot, only published by the executor service thread once the listeners are subscribed
      */
-    private final Lock workerGroupLock = new ReentrantLock();
+    private final AtomicReference<Membership> membership = new AtomicReference<>(Membership.EMPTY);
 
     /**
-     * worker node info lock
-     */
-    private final Lock workerNodeInfoLock = new ReentrantLock();
-
-    /**
-     * worker group nodes
-     */
-    private final ConcurrentHashMap<String, Set<String>> workerGroupNodes = new ConcurrentHashMap<>();
-
-    /**
-     * master nodes
-     */
-    private final Set<String> masterNodes = new HashSet<>();
-
-    /**
-     * worker node info
-     */
-    private final Map<String, String> workerNodeInfo = new HashMap<>();
-
-    /**
-     * executor service
+     * executor service, the single thread handling the registry events and the reconciliation
      */
     private ScheduledExecutorService executorService;
 
@@ -120,14 +105,14 @@ public class ServerNodeManager implements InitializingBean {
     @Override
     public void afterPropertiesSet() throws Exception {
         /**
-         * load nodes from zookeeper
+         * load nodes from zookeeper and database
          */
-        load();
+        reconcile();
         /**
          * init executor service
          */
         executorService = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("ServerNodeManagerExecutor"));
-        executorService.scheduleWithFixedDelay(new WorkerNodeInfoAndGroupDbSyncTask(), 0, 10, TimeUnit.SECONDS);
+        executorService.scheduleWithFixedDelay(new ReconcileTask(), RECONCILE_INTERVAL_SECONDS, RECONCILE_INTERVAL_SECONDS, TimeUnit.SECONDS);
         /**
          * init MasterNodeListener listener
          */
@@ -135,55 +120,76 @@ public class ServerNodeManager implements InitializingBean {
         /**
          * init WorkerNodeListener listener
          */
-        registryClient.subscribe(registryClient.getWorkerPath(), new MasterDataListener());
+        registryClient.subscribe(registryClient.getWorkerPath(), new WorkerGroupNodeListener());
     }
 
     /**
-     * load nodes from zookeeper
+     * rebuild the membership from zookeeper and database
      */
-    private void load() {
+    private void reconcile() {
         /**
          * master nodes from zookeeper
          */
-        Set<String> initMasterNodes = registryClient.getMasterNodesDirectly();
-        syncMasterNodes(initMasterNodes);
+        Set<String> masterNodes = registryClient.getMasterNodesDirectly();
 
         /**
-         * worker group nodes from zookeeper
+         * worker group nodes and worker node info from zookeeper
          */
-        Set<String> workerGroups = registryClient.getWorkerGroupDirectly();
-        for (String workerGroup : workerGroups) {
-            syncWorkerGroupNodes(workerGroup, registryClient.getWorkerGroupNodesDirectly(workerGroup));
+        Map<String, Set<String>> registryWorkerGroupNodes = new HashMap<>();
+        for (String workerGroup : registryClient.getWorkerGroupDirectly()) {
+            registryWorkerGroupNodes.put(workerGroup.toLowerCase(), registryClient.getWorkerGroupNodesDirectly(workerGroup));
+        }
+        Map<String, String> workerNodeInfo = registryClient.getServerMaps(NodeType.WORKER, true);
+
+        /**
+         * worker group addresses from database, the last ones are kept if the database is not available
+         */
+        Map<String, Set<String>> dbWorkerGroupAddrs;
+        try {
+            dbWorkerGroupAddrs = getDbWorkerGroupAddrs();
+        } catch (Exception e) {
+            logger.error("query worker groups from database failed", e);
+            dbWorkerGroupAddrs = membership.get().dbWorkerGroupAddrs;
+        }
+
+        membership.set(new Membership(masterNodes, registryWorkerGroupNodes, dbWorkerGroupAddrs, workerNodeInfo));
+    }
+
+    private Map<String, Set<String>> getDbWorkerGroupAddrs() {
+        Map<String, Set<String>> dbWorkerGroupAddrs = new HashMap<>();
+        List<WorkerGroup> workerGroupList = workerGroupMapper.queryAllWorkerGroup();
+        if (CollectionUtils.isNotEmpty(workerGroupList)) {
+            for (WorkerGroup wg : workerGroupList) {
+                Set<String> addrs = new HashSet<>();
+                Collections.addAll(addrs, wg.getAddrList().split(Constants.COMMA));
+                dbWorkerGroupAddrs.put(wg.getName().toLowerCase(), addrs);
+            }
+        }
+        return dbWorkerGroupAddrs;
+    }
+
+    /**
+     * handle a registry event by the executor service thread, after the events and the reconciliation before it
+     */
+    private void execute(Runnable handler) {
+        try {
+            executorService.execute(handler);
+        } catch (RejectedExecutionException e) {
+            logger.warn("server node manager is stopped, the registry event is ignored");
         }
     }
 
     /**
-     * worker node info and worker group db sync task
+     * reconcile task
      */
-    class WorkerNodeInfoAndGroupDbSyncTask implements Runnable {
+    class ReconcileTask implements Runnable {
 
         @Override
         public void run() {
-            // sync worker node info
-            Map<String, String> newWorkerNodeInfo = registryClient.getServerMaps(NodeType.WORKER, true);
-            syncWorkerNodeInfo(newWorkerNodeInfo);
-
-            // sync worker group nodes from database
-            List<WorkerGroup> workerGroupList = workerGroupMapper.queryAllWorkerGroup();
-            if (CollectionUtils.isNotEmpty(workerGroupList)) {
-                for (WorkerGroup wg : workerGroupList) {
-                    String workerGroup = wg.getName();
-                    Set<String> nodes = new HashSet<>();
-                    String[] addrs = wg.getAddrList().split(Constants.COMMA);
-                    for (String addr : addrs) {
-                        if (newWorkerNodeInfo.containsKey(addr)) {
-                            nodes.add(addr);
-                        }
-                    }
-                    if (!nodes.isEmpty()) {
-                        syncWorkerGroupNodes(workerGroup, nodes);
-                    }
-                }
+            try {
+                reconcile();
+            } catch (Exception e) {
+                logger.error("reconcile server nodes failed", e);
             }
         }
     }
@@ -196,35 +202,52 @@ public class ServerNodeManager implements InitializingBean {
         @Override
         public void notify(String path, DataChangeEvent dataChangeEvent) {
             if (registryClient.isWorkerPath(path)) {
-                try {
-                    if (dataChangeEvent == DataChangeEvent.ADD) {
-                        logger.info("worker group node : {} added.", path);
-                        String group = parseGroup(path);
-                        Set<String> currentNodes = registryClient.getWorkerGroupNodesDirectly(group);
-                        logger.info("currentNodes : {}", currentNodes);
-                        syncWorkerGroupNodes(group, currentNodes);
-                    } else if (dataChangeEvent == DataChangeEvent.REMOVE) {
-                        logger.info("worker group node : {} down.", path);
-                        String group = parseGroup(path);
-                        Set<String> currentNodes = registryClient.getWorkerGroupNodesDirectly(group);
-                        syncWorkerGroupNodes(group, currentNodes);
-                        alertDao.sendServerStopedAlert(1, path, "WORKER");
-                    }
-                } catch (IllegalArgumentException ex) {
-                    logger.warn(ex.getMessage());
-                } catch (Exception ex) {
-                    logger.error("WorkerGroupListener capture data change and get data failed", ex);
-                }
+                execute(() -> handle(path, dataChangeEvent));
+            }
+        }
 
+        private void handle(String path, DataChangeEvent dataChangeEvent) {
+            try {
+                String[] groupAndNode = parseWorkerNodePath(path);
+                if (groupAndNode == null) {
+                    // the worker group node, its worker nodes come with their own events
+                    return;
+                }
+                String group = groupAndNode[0];
+                String node = groupAndNode[1];
+                if (dataChangeEvent == DataChangeEvent.ADD) {
+                    logger.info("worker group node : {} added.", path);
+                    Set<String> currentNodes = registryClient.getWorkerGroupNodesDirectly(group);
+                    logger.info("currentNodes : {}", currentNodes);
+                    String heartbeat = registryClient.get(path);
+                    membership.updateAndGet(m -> m.withWorkerGroupNodes(group, currentNodes).withWorkerNodeInfo(node, heartbeat));
+                } else if (dataChangeEvent == DataChangeEvent.REMOVE) {
+                    logger.info("worker group node : {} down.", path);
+                    Set<String> currentNodes = registryClient.getWorkerGroupNodesDirectly(group);
+                    membership.updateAndGet(m -> m.withWorkerGroupNodes(group, currentNodes));
+                    alertDao.sendServerStopedAlert(1, path, "WORKER");
+                } else if (dataChangeEvent == DataChangeEvent.UPDATE) {
+                    String heartbeat = registryClient.get(path);
+                    membership.updateAndGet(m -> m.withWorkerNodeInfo(node, heartbeat));
+                }
+            } catch (Exception ex) {
+                logger.error("WorkerGroupListener capture data change and get data failed", ex);
             }
         }
 
-        private String parseGroup(String path) {
-            String[] parts = path.split("/");
-            if (parts.length < 6) {
-                throw new IllegalArgumentException(String.format("worker group path : %s is not valid, ignore", path));
+        /**
+         * parse worker node path, e.g. /nodes/worker/default/192.168.1.1:1234
+         *
+         * @param path path
+         * @return worker group and worker node, null if the path is not a worker node path
+         */
+        private String[] parseWorkerNodePath(String path) {
+            String workerPath = registryClient.getWorkerPath();
+            String[] parts = path.substring(path.indexOf(workerPath) + workerPath.length()).split("/");
+            if (parts.length != 3) {
+                return null;
             }
-            return parts[parts.length - 2];
+            return new String[]{parts[1], parts[2]};
         }
 
     }
@@ -236,21 +259,25 @@ public class ServerNodeManager implements InitializingBean {
         @Override
         public void notify(String path, DataChangeEvent dataChangeEvent) {
             if (registryClient.isMasterPath(path)) {
-                try {
-                    if (dataChangeEvent.equals(DataChangeEvent.ADD)) {
-                        logger.info("master node : {} added.", path);
-                        Set<String> currentNodes = registryClient.getMasterNodesDirectly();
-                        syncMasterNodes(currentNodes);
-                    }
-                    if (dataChangeEvent.equals(DataChangeEvent.REMOVE)) {
-                        logger.info("master node : {} down.", path);
-                        Set<String> currentNodes = registryClient.getMasterNodesDirectly();
-                        syncMasterNodes(currentNodes);
-                        alertDao.sendServerStopedAlert(1, path, "MASTER");
-                    }
-                } catch (Exception ex) {
-                    logger.error("MasterNodeListener capture data change and get data failed.", ex);
+                execute(() -> handle(path, dataChangeEvent));
+            }
+        }
+
+        private void handle(String path, DataChangeEvent dataChangeEvent) {
+            try {
+                if (dataChangeEvent.equals(DataChangeEvent.ADD)) {
+                    logger.info("master node : {} added.", path);
+                    Set<String> currentNodes = registryClient.getMasterNodesDirectly();
+                    membership.updateAndGet(m -> m.withMasterNodes(currentNodes));
                 }
+                if (dataChangeEvent.equals(DataChangeEvent.REMOVE)) {
+                    logger.info("master node : {} down.", path);
+                    Set<String> currentNodes = registryClient.getMasterNodesDirectly();
+                    membership.updateAndGet(m -> m.withMasterNodes(currentNodes));
+                    alertDao.sendServerStopedAlert(1, path, "MASTER");
+                }
+            } catch (Exception ex) {
+                logger.error("MasterNodeListener capture data change and get data failed.", ex);
             }
         }
     }
@@ -261,73 +288,33 @@ public class ServerNodeManager implements InitializingBean {
      * @return master nodes
      */
     public Set<String> getMasterNodes() {
-        masterLock.lock();
-        try {
-            return Collections.unmodifiableSet(masterNodes);
-        } finally {
-            masterLock.unlock();
-        }
+        return membership.get().masterNodes;
     }
 
     /**
-     * sync master nodes
+     * get master nodes in natural order, the index of a master is its command slot
      *
-     * @param nodes master nodes
+     * @return sorted master nodes
      */
-    private void syncMasterNodes(Set<String> nodes) {
-        masterLock.lock();
-        try {
-            masterNodes.clear();
-            masterNodes.addAll(nodes);
-        } finally {
-            masterLock.unlock();
-        }
-    }
-
-    /**
-     * sync worker group nodes
-     *
-     * @param workerGroup worker group
-     * @param nodes worker nodes
-     */
-    private void syncWorkerGroupNodes(String workerGroup, Set<String> nodes) {
-        workerGroupLock.lock();
-        try {
-            workerGroup = workerGroup.toLowerCase();
-            Set<String> workerNodes = workerGroupNodes.getOrDefault(workerGroup, new HashSet<>());
-            workerNodes.clear();
-            workerNodes.addAll(nodes);
-            workerGroupNodes.put(workerGroup, workerNodes);
-        } finally {
-            workerGroupLock.unlock();
-        }
+    public List<String> getSortedMasterNodes() {
+        return membership.get().sortedMasterNodes;
     }
 
     public Map<String, Set<String>> getWorkerGroupNodes() {
-        return Collections.unmodifiableMap(workerGroupNodes);
+        return membership.get().workerGroupNodes;
     }
 
     /**
      * get worker group nodes
      *
      * @param workerGroup workerGroup
-     * @return worker nodes
+     * @return worker nodes, null if the worker group has no node
      */
     public Set<String> getWorkerGroupNodes(String workerGroup) {
-        workerGroupLock.lock();
-        try {
-            if (StringUtils.isEmpty(workerGroup)) {
-                workerGroup = Constants.DEFAULT_WORKER_GROUP;
-            }
-            workerGroup = workerGroup.toLowerCase();
-            Set<String> nodes = workerGroupNodes.get(workerGroup);
-            if (CollectionUtils.isNotEmpty(nodes)) {
-                return Collections.unmodifiableSet(nodes);
-            }
-            return nodes;
-        } finally {
-            workerGroupLock.unlock();
+        if (StringUtils.isEmpty(workerGroup)) {
+            workerGroup = Constants.DEFAULT_WORKER_GROUP;
         }
+        return membership.get().workerGroupNodes.get(workerGroup.toLowerCase());
     }
 
     /**
@@ -336,7 +323,7 @@ public class ServerNodeManager implements InitializingBean {
      * @return worker node info
      */
     public Map<String, String> getWorkerNodeInfo() {
-        return Collections.unmodifiableMap(workerNodeInfo);
+        return membership.get().workerNodeInfo;
     }
 
     /**
@@ -346,27 +333,7 @@ public class ServerNodeManager implements InitializingBean {
      * @return worker node info
      */
     public String getWorkerNodeInfo(String workerNode) {
-        workerNodeInfoLock.lock();
-        try {
-            return workerNodeInfo.getOrDefault(workerNode, null);
-        } finally {
-            workerNodeInfoLock.unlock();
-        }
-    }
-
-    /**
-     * sync worker node info
-     *
-     * @param newWorkerNodeInfo new worker node info
-     */
-    private void syncWorkerNodeInfo(Map<String, String> newWorkerNodeInfo) {
-        workerNodeInfoLock.lock();
-        try {
-            workerNodeInfo.clear();
-            workerNodeInfo.putAll(newWorkerNodeInfo);
-        } finally {
-            workerNodeInfoLock.unlock();
-        }
+        return membership.get().workerNodeInfo.get(workerNode);
     }
 
     /**
@@ -378,4 +345,90 @@ public class ServerNodeManager implements InitializingBean {
         registryClient.close();
     }
 
+    /**
+     * immutable membership snapshot, a change copies the snapshot
+     */
+    static final class Membership {
+
+        static final Membership EMPTY = new Membership(Collections.emptySet(), Collections.emptyMap(),
+                Collections.emptyMap(), Collections.emptyMap());
+
+        private final Set<String> masterNodes;
+
+        private final List<String> sortedMasterNodes;
+
+        /**
+         * worker group nodes in registry
+         */
+        private final Map<String, Set<String>> registryWorkerGroupNodes;
+
+        /**
+         * worker group addresses in database
+         */
+        private final Map<String, Set<String>> dbWorkerGroupAddrs;
+
+        /**
+         * worker group nodes in registry, along with the alive addresses of the worker groups in database
+         */
+        private final Map<String, Set<String>> workerGroupNodes;
+
+        private final Map<String, String> workerNodeInfo;
+
+        Membership(Set<String> masterNodes,
+                   Map<String, Set<String>> registryWorkerGroupNodes,
+                   Map<String, Set<String>> dbWorkerGroupAddrs,
+                   Map<String, String> workerNodeInfo) {
+            this.masterNodes = Collections.unmodifiableSet(new HashSet<>(masterNodes));
+            List<String> sorted = new ArrayList<>(masterNodes);
+            Collections.sort(sorted);
+            this.sortedMasterNodes = Collections.unmodifiableList(sorted);
+            this.registryWorkerGroupNodes = registryWorkerGroupNodes;
+            this.dbWorkerGroupAddrs = dbWorkerGroupAddrs;
+
+            Set<String> aliveNodes = new HashSet<>();
+            Map<String, Set<String>> groupNodes = new HashMap<>();
+            for (Map.Entry<String, Set<String>> entry : registryWorkerGroupNodes.entrySet()) {
+                if (!entry.getValue().isEmpty()) {
+                    groupNodes.put(entry.getKey(), new HashSet<>(entry.getValue()));
+                    aliveNodes.addAll(entry.getValue());
+                }
+            }
+            for (Map.Entry<String, Set<String>> entry : dbWorkerGroupAddrs.entrySet()) {
+                for (String addr : entry.getValue()) {
+                    if (aliveNodes.contains(addr)) {
+                        groupNodes.computeIfAbsent(entry.getKey(), k -> new HashSet<>()).add(addr);
+                    }
+                }
+            }
+            for (Map.Entry<String, Set<String>> entry : groupNodes.entrySet()) {
+                entry.setValue(Collections.unmodifiableSet(entry.getValue()));
+            }
+            this.workerGroupNodes = Collections.unmodifiableMap(groupNodes);
+
+            // drop the info of the workers gone
+            Map<String, String> nodeInfo = new HashMap<>(workerNodeInfo);
+            nodeInfo.keySet().retainAll(aliveNodes);
+            this.workerNodeInfo = Collections.unmodifiableMap(nodeInfo);
+        }
+
+        Membership withMasterNodes(Set<String> nodes) {
+            return new Membership(nodes, registryWorkerGroupNodes, dbWorkerGroupAddrs, workerNodeInfo);
+        }
+
+        Membership withWorkerGroupNodes(String workerGroup, Set<String> nodes) {
+            Map<String, Set<String>> groupNodes = new HashMap<>(registryWorkerGroupNodes);
+            groupNodes.put(workerGroup.toLowerCase(), Collections.unmodifiableSet(new HashSet<>(nodes)));
+            return new Membership(masterNodes, groupNodes, dbWorkerGroupAddrs, workerNodeInfo);
+        }
+
+        Membership withWorkerNodeInfo(String workerNode, String info) {
+            if (info == null) {
+                return this;
+            }
+            Map<String, String> nodeInfo = new HashMap<>(workerNodeInfo);
+            nodeInfo.put(workerNode, info);
+            return new Membership(masterNodes, registryWorkerGroupNodes, dbWorkerGroupAddrs, nodeInfo);
+        }
+    }
+
 }
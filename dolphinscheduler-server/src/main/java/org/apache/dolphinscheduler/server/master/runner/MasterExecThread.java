@@ -54,6 +54,7 @@ import org.apache.dolphinscheduler.dao.entity.Schedule;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.dao.utils.DagHelper;
 import org.apache.dolphinscheduler.remote.NettyRemotingClient;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.service.alert.ProcessAlertManager;
 import org.apache.dolphinscheduler.service.process.ProcessService;
@@ -66,13 +67,18 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -176,19 +182,32 @@ public class MasterExecThread implements Runnable {
      */
     private Map<String, Object> propToValue = new ConcurrentHashMap<>();
 
+    /**
+     * task state events of this process instance
+     */
+    private final BlockingQueue<TaskStateEvent> taskStateEvents = new LinkedBlockingQueue<>();
+
+    /**
+     * running process instance exec thread manager
+     */
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
     /**
      * constructor of MasterExecThread
      *
      * @param processInstance processInstance
      * @param processService processService
      * @param nettyRemotingClient nettyRemotingClient
+     * @param processInstanceExecCacheManager processInstanceExecCacheManager
      */
     public MasterExecThread(ProcessInstance processInstance
             , ProcessService processService
             , NettyRemotingClient nettyRemotingClient
             , ProcessAlertManager processAlertManager
-            , MasterConfig masterConfig) {
+            , MasterConfig masterConfig
+            , ProcessInstanceExecCacheManager processInstanceExecCacheManager) {
         this.processService = processService;
+        this.processInstanceExecCacheManager = processInstanceExecCacheManager;
 
         this.processInstance = processInstance;
         this.masterConfig = masterConfig;
@@ -214,6 +233,7 @@ public class MasterExecThread implements Runnable {
             return;
         }
 
+        processInstanceExecCacheManager.cache(processInstance.getId(), this);
         try {
             if (processInstance.isComplementData() && Flag.NO == processInstance.getIsSubProcess()) {
                 // sub process complement data
@@ -229,10 +249,26 @@ public class MasterExecThread implements Runnable {
             processInstance.setEndTime(new Date());
             processService.updateProcessInstance(processInstance);
         } finally {
+            processInstanceExecCacheManager.removeByProcessInstanceId(processInstance.getId());
+            // the task instances still active are not waited anymore, drop their completion futures
+            for (MasterBaseTaskExecThread taskExecThread : activeTaskNode.keySet()) {
+                if (taskExecThread instanceof MasterTaskExecThread) {
+                    ((MasterTaskExecThread) taskExecThread).cancelCompletion();
+                }
+            }
             taskExecService.shutdown();
         }
     }
 
+    /**
+     * add task state event, wake up the process instance if it is waiting for events
+     *
+     * @param taskStateEvent task state event
+     */
+    public void addTaskStateEvent(TaskStateEvent taskStateEvent) {
+        taskStateEvents.offer(taskStateEvent);
+    }
+
     /**
      * execute process
      *
@@ -439,7 +475,18 @@ public class MasterExecThread implements Runnable {
         } else {
             abstractExecThread = new MasterTaskExecThread(taskInstance);
         }
-        Future<Boolean> future = taskExecService.submit(abstractExecThread);
+        final MasterBaseTaskExecThread taskExecThread = abstractExecThread;
+        CompletableFuture<Boolean> future;
+        if (taskExecThread instanceof MasterTaskExecThread) {
+            // only submit in the exec service, the completion is waited without holding a thread
+            future = CompletableFuture.supplyAsync(((MasterTaskExecThread) taskExecThread)::submitAsync, taskExecService)
+                    .thenCompose(quit -> quit);
+        } else {
+            future = CompletableFuture.supplyAsync(taskExecThread::call, taskExecService);
+        }
+        // exec thread quit, wake up the process instance to check it at once
+        future.whenComplete((result, throwable) ->
+                addTaskStateEvent(new TaskStateEvent(taskExecThread.getTaskInstance().getId(), null)));
         activeTaskNode.putIfAbsent(abstractExecThread, future);
         return abstractExecThread.getTaskInstance();
     }
@@ -756,6 +803,7 @@ public class MasterExecThread implements Runnable {
     private ExecutionStatus getProcessInstanceState() {
         ProcessInstance instance = processService.findProcessInstanceById(processInstance.getId());
         ExecutionStatus state = instance.getState();
+        notifyTaskExecThreads(state);
 
         if (activeTaskNode.size() > 0 || hasRetryTaskInStandBy()) {
             // active task and retry task exists
@@ -807,6 +855,22 @@ public class MasterExecThread implements Runnable {
         return state;
     }
 
+    /**
+     * push the process instance state to the running task exec threads
+     *
+     * @param state state of the process instance
+     */
+    private void notifyTaskExecThreads(ExecutionStatus state) {
+        if (state != ExecutionStatus.READY_STOP && state != ExecutionStatus.READY_PAUSE) {
+            return;
+        }
+        for (MasterBaseTaskExecThread taskExecThread : activeTaskNode.keySet()) {
+            if (taskExecThread instanceof MasterTaskExecThread) {
+                ((MasterTaskExecThread) taskExecThread).processInstanceStateChanged(state);
+            }
+        }
+    }
+
     /**
      * whether standby task list have retry tasks
      */
@@ -924,6 +988,7 @@ public class MasterExecThread implements Runnable {
         // submit start node
         submitPostNode(null);
         boolean sendTimeWarning = false;
+        Set<Integer> finishedTaskIds = new HashSet<>();
         while (!processInstance.isProcessInstanceStop() && Stopper.isRunning()) {
 
             // send warning email if process time out.
@@ -937,7 +1002,8 @@ public class MasterExecThread implements Runnable {
                 Future<Boolean> future = entry.getValue();
                 TaskInstance task = entry.getKey().getTaskInstance();
 
-                if (!future.isDone()) {
+                // task finished event may arrive before the exec thread quits
+                if (!future.isDone() && !finishedTaskIds.contains(task.getId())) {
                     continue;
                 }
 
@@ -953,6 +1019,8 @@ public class MasterExecThread implements Runnable {
                 // node monitor thread complete
                 if (task.getState().typeIsFinished()) {
                     activeTaskNode.remove(entry.getKey());
+                } else if (!future.isDone()) {
+                    continue;
                 }
 
                 logger.info("task :{}, id:{} complete, state is {} ",
@@ -1028,18 +1096,42 @@ public class MasterExecThread implements Runnable {
             if (canSubmitTaskToQueue()) {
                 submitStandByTask();
             }
-            try {
-                Thread.sleep(Constants.SLEEP_TIME_MILLIS);
-            } catch (InterruptedException e) {
-                logger.error(e.getMessage(), e);
-                Thread.currentThread().interrupt();
-            }
+            finishedTaskIds = waitTaskStateEvents();
             updateProcessInstanceState();
         }
 
         logger.info("process:{} end, state :{}", processInstance.getId(), processInstance.getState());
     }
 
+    /**
+     * wait until task state events arrive, the wait is bounded so that retry interval,
+     * timeout and state changes made outside of the master are still checked
+     *
+     * @return ids of task instances which are finished according to the events
+     */
+    private Set<Integer> waitTaskStateEvents() {
+        Set<Integer> finishedTaskIds = new HashSet<>();
+        List<TaskStateEvent> events = new ArrayList<>();
+        try {
+            TaskStateEvent event = taskStateEvents.poll(Constants.SLEEP_TIME_MILLIS, TimeUnit.MILLISECONDS);
+            if (event == null) {
+                return finishedTaskIds;
+            }
+            events.add(event);
+            taskStateEvents.drainTo(events);
+        } catch (InterruptedException e) {
+            logger.error(e.getMessage(), e);
+            Thread.currentThread().interrupt();
+        }
+        for (TaskStateEvent event : events) {
+            logger.debug("process instance {} receive task state event: {}", processInstance.getId(), event);
+            if (event.getExecutionStatus() != null && event.getExecutionStatus().typeIsFinished()) {
+                finishedTaskIds.add(event.getTaskInstanceId());
+            }
+        }
+        return finishedTaskIds;
+    }
+
     /**
      * whether check process time out
      *
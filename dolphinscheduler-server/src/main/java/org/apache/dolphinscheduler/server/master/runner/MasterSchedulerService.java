@@ -20,17 +20,22 @@ package org.apache.dolphinscheduler.server.master.runner;
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.thread.Stopper;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.common.utils.CollectionUtils;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.dao.entity.Command;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.remote.NettyRemotingClient;
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.registry.MasterRegistryClient;
+import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
 import org.apache.dolphinscheduler.service.alert.ProcessAlertManager;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -70,6 +75,18 @@ public class MasterSchedulerService extends Thread {
     @Autowired
     private MasterConfig masterConfig;
 
+    /**
+     * server node manager
+     */
+    @Autowired
+    private ServerNodeManager serverNodeManager;
+
+    /**
+     * running process instance exec thread manager
+     */
+    @Autowired
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
     /**
      * alert manager
      */
@@ -143,44 +160,107 @@ public class MasterSchedulerService extends Thread {
     }
 
     private void scheduleProcess() throws Exception {
+        if (masterConfig.isMasterCommandShardingEnable()) {
+            scheduleProcessBySlot();
+            return;
+        }
 
         try {
             masterRegistryClient.blockAcquireMutex();
 
-            int activeCount = masterExecService.getActiveCount();
-            // make sure to scan and delete command  table in one transaction
-            Command command = processService.findOneCommand();
-            if (command != null) {
-                logger.info("find one command: id: {}, type: {}", command.getId(),command.getCommandType());
-
-                try {
-
-                    ProcessInstance processInstance = processService.handleCommand(logger,
-                            getLocalAddress(),
-                            this.masterConfig.getMasterExecThreads() - activeCount, command);
-                    if (processInstance != null) {
-                        logger.info("start master exec thread , split DAG ...");
-                        masterExecService.execute(
-                                new MasterExecThread(
-                                        processInstance
-                                        , processService
-                                        , nettyRemotingClient
-                                        , processAlertManager
-                                        , masterConfig));
-                    }
-                } catch (Exception e) {
-                    logger.error("scan command error ", e);
-                    processService.moveToErrorCommand(command, e.toString());
-                }
-            } else {
-                //indicate that no command ,sleep for 1s
-                Thread.sleep(Constants.SLEEP_TIME_MILLIS);
-            }
+            int validThreadNum = getValidThreadNum();
+            List<Command> commands = processService.findCommandPage(getFetchNum(validThreadNum));
+            executeCommands(commands, validThreadNum, false);
         } finally {
             masterRegistryClient.releaseLock();
         }
     }
 
+    /**
+     * fetch commands whose id hash to the slot of this master, without the global master lock.
+     * the slot is the index of this master in the sorted live master nodes, so it is reassigned
+     * whenever the membership changes, commands are claimed by row lock in case two masters
+     * see different memberships for a while
+     */
+    private void scheduleProcessBySlot() throws InterruptedException {
+        List<String> masterNodes = serverNodeManager.getSortedMasterNodes();
+        int thisMasterSlot = masterNodes.indexOf(getLocalAddress());
+        if (thisMasterSlot < 0) {
+            logger.warn("current master {} is not in the master nodes {}, wait for registry", getLocalAddress(), masterNodes);
+            Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+            return;
+        }
+        int validThreadNum = getValidThreadNum();
+        List<Command> commands = processService.findCommandPageBySlot(getFetchNum(validThreadNum), masterNodes.size(), thisMasterSlot);
+        executeCommands(commands, validThreadNum, true);
+    }
+
+    private int getValidThreadNum() {
+        return this.masterConfig.getMasterExecThreads() - masterExecService.getActiveCount();
+    }
+
+    /**
+     * fetch at most as many commands as idle exec threads, but always at least one
+     */
+    private int getFetchNum(int validThreadNum) {
+        return Math.max(1, Math.min(masterConfig.getMasterCommandBatchSize(), validThreadNum));
+    }
+
+    private void executeCommands(List<Command> commands, int validThreadNum, boolean claim) throws InterruptedException {
+        if (CollectionUtils.isEmpty(commands)) {
+            //indicate that no command ,sleep for 1s
+            Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+            return;
+        }
+        logger.info("find {} commands, first id: {}", commands.size(), commands.get(0).getId());
+
+        List<ProcessInstance> processInstances = handleCommands(commands, validThreadNum, claim);
+        for (ProcessInstance processInstance : processInstances) {
+            logger.info("start master exec thread , split DAG ...");
+            masterExecService.execute(
+                    new MasterExecThread(
+                            processInstance
+                            , processService
+                            , nettyRemotingClient
+                            , processAlertManager
+                            , masterConfig
+                            , processInstanceExecCacheManager));
+        }
+    }
+
+    /**
+     * handle commands in one transaction, fall back to one by one if the batch fails,
+     * so that a bad command only moves itself to the error command table
+     */
+    private List<ProcessInstance> handleCommands(List<Command> commands, int validThreadNum, boolean claim) {
+        if (commands.size() > 1) {
+            try {
+                return claim
+                        ? processService.claimAndHandleCommands(logger, getLocalAddress(), validThreadNum, commands)
+                        : processService.handleCommands(logger, getLocalAddress(), validThreadNum, commands);
+            } catch (Exception e) {
+                logger.error("handle command batch error, handle them one by one", e);
+            }
+        }
+        List<ProcessInstance> processInstances = new ArrayList<>(commands.size());
+        for (Command command : commands) {
+            logger.info("find one command: id: {}, type: {}", command.getId(), command.getCommandType());
+            try {
+                ProcessInstance processInstance = claim
+                        ? processService.claimAndHandleCommand(logger, getLocalAddress(), validThreadNum, command)
+                        : processService.handleCommand(logger, getLocalAddress(), validThreadNum, command);
+                if (processInstance != null) {
+                    processInstances.add(processInstance);
+                    validThreadNum--;
+                }
+            } catch (Exception e) {
+                logger.error("scan command error ", e);
+                processService.moveToErrorCommand(command, e.toString());
+            }
+        }
+        return processInstances;
+    }
+
     private String getLocalAddress() {
         return NetUtils.getAddr(masterConfig.getListenPort());
     }
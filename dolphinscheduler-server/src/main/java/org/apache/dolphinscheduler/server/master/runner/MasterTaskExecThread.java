@@ -17,9 +17,7 @@
 
 package org.apache.dolphinscheduler.server.master.runner;
 
-import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
-import org.apache.dolphinscheduler.common.thread.Stopper;
 import org.apache.dolphinscheduler.common.utils.CollectionUtils;
 import org.apache.dolphinscheduler.common.utils.StringUtils;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
@@ -30,11 +28,16 @@ import org.apache.dolphinscheduler.server.master.cache.impl.TaskInstanceCacheMan
 import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
 import org.apache.dolphinscheduler.server.master.dispatch.enums.ExecutorType;
 import org.apache.dolphinscheduler.server.master.dispatch.executor.NettyExecutorManager;
+import org.apache.dolphinscheduler.server.master.future.TaskCompletionRegistry;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import org.apache.dolphinscheduler.service.registry.RegistryClient;
 
 import java.util.Date;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.util.Timeout;
 
 /**
  * master task exec thread
@@ -57,6 +60,26 @@ public class MasterTaskExecThread extends MasterBaseTaskExecThread {
      */
     private RegistryClient registryClient;
 
+    /**
+     * task completion registry
+     */
+    private TaskCompletionRegistry taskCompletionRegistry;
+
+    /**
+     * completion future of the task instance, null until the task instance is submitted
+     */
+    private volatile CompletableFuture<ExecutionStatus> completionFuture;
+
+    /**
+     * next timeout check
+     */
+    private volatile Timeout timeoutCheck;
+
+    /**
+     * max delay of timeout check before the task is started by worker
+     */
+    private static final long TIMEOUT_RECHECK_SECONDS = 60;
+
     /**
      * constructor of MasterTaskExecThread
      *
@@ -67,6 +90,7 @@ public class MasterTaskExecThread extends MasterBaseTaskExecThread {
         this.taskInstanceCacheManager = SpringApplicationContext.getBean(TaskInstanceCacheManagerImpl.class);
         this.nettyExecutorManager = SpringApplicationContext.getBean(NettyExecutorManager.class);
         this.registryClient = SpringApplicationContext.getBean(RegistryClient.class);
+        this.taskCompletionRegistry = SpringApplicationContext.getBean(TaskCompletionRegistry.class);
     }
 
     /**
@@ -91,71 +115,147 @@ public class MasterTaskExecThread extends MasterBaseTaskExecThread {
      */
     @Override
     public Boolean submitWaitComplete() {
-        Boolean result = false;
+        return submitAsync().join();
+    }
+
+    /**
+     * submit task instance, the returned future is completed when the task instance is finished,
+     * no thread is held while waiting
+     *
+     * @return completion future, false if the task instance is failed to submit or finished at once
+     */
+    public CompletableFuture<Boolean> submitAsync() {
+        this.processInstance = processService.findProcessInstanceById(taskInstance.getProcessInstanceId());
         this.taskInstance = submit();
         if (this.taskInstance == null) {
             logger.error("submit task instance to mysql and queue failed , please check and fix it");
-            return result;
+            return CompletableFuture.completedFuture(false);
+        }
+        if (this.taskInstance.getState().typeIsFinished()) {
+            taskInstance.setEndTime(new Date());
+            processService.updateTaskInstance(taskInstance);
+            return CompletableFuture.completedFuture(false);
         }
-        if (!this.taskInstance.getState().typeIsFinished()) {
-            result = waitTaskQuit();
+        if (this.processInstance == null) {
+            logger.error("process instance not exists , master task exec thread exit");
+            return CompletableFuture.completedFuture(true);
         }
-        taskInstance.setEndTime(new Date());
-        processService.updateTaskInstance(taskInstance);
-        logger.info("task :{} id:{}, process id:{}, exec thread completed ",
-            this.taskInstance.getName(), taskInstance.getId(), processInstance.getId());
-        return result;
+        return waitTaskQuitAsync();
     }
 
     /**
-     * polling db
-     * <p>
-     * wait task quit
+     * register the task instance in completion registry, the state is checked once after registering
+     * in case the task instance is finished before the future is registered
      *
-     * @return true if task quit success
+     * @return completion future
      */
-    public Boolean waitTaskQuit() {
-        // query new state
-        taskInstance = processService.findTaskInstanceById(taskInstance.getId());
+    private CompletableFuture<Boolean> waitTaskQuitAsync() {
+        this.completionFuture = taskCompletionRegistry.register(taskInstance.getId());
         logger.info("wait task: process id: {}, task id:{}, task name:{} complete",
                 this.taskInstance.getProcessInstanceId(), this.taskInstance.getId(), this.taskInstance.getName());
+        TaskInstance currentTaskInstance = processService.findTaskInstanceById(taskInstance.getId());
+        if (currentTaskInstance != null && currentTaskInstance.getState().typeIsFinished()) {
+            taskCompletionRegistry.complete(taskInstance.getId(), currentTaskInstance.getState());
+        } else if (checkTimeoutFlag) {
+            scheduleTimeoutCheck(getTimeoutCheckDelay());
+        }
+        // task may be killed before the future is registered
+        if (this.cancel) {
+            killTask();
+        }
+        return completionFuture.thenApply(state -> {
+            // if task is final result , then remove taskInstance from cache
+            taskInstanceCacheManager.removeByTaskInstanceId(taskInstance.getId());
+            if (timeoutCheck != null) {
+                timeoutCheck.cancel();
+            }
+            logger.info("task :{} id:{}, process id:{}, exec thread completed, state: {}",
+                    this.taskInstance.getName(), taskInstance.getId(), taskInstance.getProcessInstanceId(), state);
+            return true;
+        });
+    }
+
+    /**
+     * kill master task exec thread, cancel the task instance at once
+     */
+    @Override
+    public void kill() {
+        super.kill();
+        if (completionFuture != null) {
+            killTask();
+        }
+    }
 
-        while (Stopper.isRunning()) {
-            try {
-                if (this.processInstance == null) {
-                    logger.error("process instance not exists , master task exec thread exit");
-                    return true;
-                }
-                // task instance add queue , waiting worker to kill
-                if (this.cancel || this.processInstance.getState() == ExecutionStatus.READY_STOP) {
-                    cancelTaskInstance();
-                }
-                if (processInstance.getState() == ExecutionStatus.READY_PAUSE) {
-                    pauseTask();
-                }
-                // task instance finished
-                if (taskInstance.getState().typeIsFinished()) {
-                    // if task is final result , then remove taskInstance from cache
-                    taskInstanceCacheManager.removeByTaskInstanceId(taskInstance.getId());
-                    break;
-                }
-                if (checkTaskTimeout()) {
-                    this.checkTimeoutFlag = !alertTimeout();
-                }
-                // updateProcessInstance task instance
-                //issue#5539 Check status of taskInstance from cache
-                taskInstance = taskInstanceCacheManager.getByTaskInstanceId(taskInstance.getId());
-                processInstance = processService.findProcessInstanceById(processInstance.getId());
-                Thread.sleep(Constants.SLEEP_TIME_MILLIS);
-            } catch (Exception e) {
-                logger.error("exception", e);
-                if (processInstance != null) {
-                    logger.error("wait task quit failed, instance id:{}, task id:{}",
-                        processInstance.getId(), taskInstance.getId());
-                }
+    /**
+     * cancel the completion future and the timeout check if the task instance is still waited,
+     * called when the master exec thread quits without waiting the task instance anymore
+     */
+    public void cancelCompletion() {
+        if (timeoutCheck != null) {
+            timeoutCheck.cancel();
+        }
+        if (completionFuture != null && !completionFuture.isDone()) {
+            taskCompletionRegistry.cancel(taskInstance.getId(), completionFuture);
+        }
+    }
+
+    /**
+     * handle the state change of the process instance, pushed by the master exec thread
+     *
+     * @param state state of the process instance
+     */
+    public void processInstanceStateChanged(ExecutionStatus state) {
+        if (completionFuture == null || completionFuture.isDone()) {
+            return;
+        }
+        if (state == ExecutionStatus.READY_STOP) {
+            killTask();
+        } else if (state == ExecutionStatus.READY_PAUSE) {
+            pauseTask();
+        }
+    }
+
+    private void killTask() {
+        try {
+            cancelTaskInstance();
+        } catch (Exception e) {
+            logger.error("kill task instance failed, task id:{}", taskInstance.getId(), e);
+        }
+    }
+
+    /**
+     * delay of next timeout check, the start time is unknown until the worker acks the task
+     */
+    private long getTimeoutCheckDelay() {
+        long timeoutSeconds = taskTimeoutParameter.getInterval() * 60L;
+        if (taskInstance.getStartTime() == null) {
+            return Math.min(timeoutSeconds, TIMEOUT_RECHECK_SECONDS);
+        }
+        return Math.max(getRemainTime(timeoutSeconds), 0);
+    }
+
+    private void scheduleTimeoutCheck(long delaySeconds) {
+        this.timeoutCheck = taskCompletionRegistry.newTimeout(this::checkTimeout, delaySeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * timeout check, triggered by the shared timer of completion registry and run on its timeout check executor
+     */
+    private void checkTimeout() {
+        if (completionFuture.isDone() || !checkTimeoutFlag) {
+            return;
+        }
+        if (taskInstance.getStartTime() == null) {
+            TaskInstance cachedTaskInstance = taskInstanceCacheManager.getByTaskInstanceId(taskInstance.getId());
+            if (cachedTaskInstance != null) {
+                taskInstance.setStartTime(cachedTaskInstance.getStartTime());
             }
         }
-        return true;
+        if (checkTaskTimeout()) {
+            this.checkTimeoutFlag = !alertTimeout();
+            return;
+        }
+        scheduleTimeoutCheck(getTimeoutCheckDelay());
     }
 
     /**
@@ -170,13 +270,14 @@ public class MasterTaskExecThread extends MasterBaseTaskExecThread {
             taskInstance.setState(ExecutionStatus.PAUSE);
             taskInstance.setEndTime(new Date());
             processService.updateTaskInstance(taskInstance);
+            taskCompletionRegistry.complete(taskInstance.getId(), ExecutionStatus.PAUSE);
         }
     }
 
     /**
      * task instance add queue , waiting worker to kill
      */
-    private void cancelTaskInstance() throws Exception {
+    private synchronized void cancelTaskInstance() throws Exception {
         if (alreadyKilled) {
             return;
         }
@@ -186,6 +287,7 @@ public class MasterTaskExecThread extends MasterBaseTaskExecThread {
             taskInstance.setState(ExecutionStatus.KILL);
             taskInstance.setEndTime(new Date());
             processService.updateTaskInstance(taskInstance);
+            taskCompletionRegistry.complete(taskInstance.getId(), ExecutionStatus.KILL);
             return;
         }
 
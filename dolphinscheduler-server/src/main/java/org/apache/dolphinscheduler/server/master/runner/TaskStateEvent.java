@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.runner;
+
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+
+/**
+ * task state change event, pushed into the event queue of the process instance
+ */
+public class TaskStateEvent {
+
+    /**
+     * task instance id, 0 if the task instance has not been saved yet
+     */
+    private final int taskInstanceId;
+
+    /**
+     * task state, null if unknown
+     */
+    private final ExecutionStatus executionStatus;
+
+    public TaskStateEvent(int taskInstanceId, ExecutionStatus executionStatus) {
+        this.taskInstanceId = taskInstanceId;
+        this.executionStatus = executionStatus;
+    }
+
+    public int getTaskInstanceId() {
+        return taskInstanceId;
+    }
+
+    public ExecutionStatus getExecutionStatus() {
+        return executionStatus;
+    }
+
+    @Override
+    public String toString() {
+        return "TaskStateEvent{"
+                + "taskInstanceId=" + taskInstanceId
+                + ", executionStatus=" + executionStatus
+                + '}';
+    }
+}
@@ -17,16 +17,16 @@
 
 package org.apache.dolphinscheduler.server.registry;
 
-import static org.apache.dolphinscheduler.remote.utils.Constants.COMMA;
-
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.IStoppable;
 import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.common.utils.HeartBeat;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.service.registry.RegistryClient;
 
 import java.util.Date;
 import java.util.Set;
+import java.util.function.IntSupplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,13 +38,32 @@ public class HeartBeatTask implements Runnable {
 
     private final Logger logger = LoggerFactory.getLogger(HeartBeatTask.class);
 
-    private String startTime;
+    /**
+     * min relative change of the resource usages to publish the heartbeat, see {@link HeartBeat#isChanged}
+     */
+    private static final double CHANGE_THRESHOLD = 0.1;
+
+    /**
+     * max beats not published, the unchanged heartbeat is still published once in a while to refresh its report time
+     */
+    private static final int MAX_SKIPPED_BEATS = 5;
+
     private double maxCpuloadAvg;
     private double reservedMemory;
     private int hostWeight; // worker host weight
     private Set<String> heartBeatPaths;
     private String serverType;
     private RegistryClient registryClient;
+    private IntSupplier queuedTaskCount; // tasks waiting in worker
+    private IntSupplier runningTaskCount; // tasks running in worker
+    private int slotCount; // tasks able to run in parallel in worker
+    private final long startupTime;
+    private final int processId = OSUtils.getProcessID();
+
+    // heartbeat last published, null to publish at the next beat
+    private volatile HeartBeat lastHeartBeat;
+    // beats not published since the last published one
+    private int skippedBeats;
 
     // server stop or not
     protected IStoppable stoppable = null;
@@ -55,7 +74,7 @@ public class HeartBeatTask implements Runnable {
                          Set<String> heartBeatPaths,
                          String serverType,
                          RegistryClient registryClient) {
-        this.startTime = startTime;
+        this.startupTime = getTime(startTime);
         this.maxCpuloadAvg = maxCpuloadAvg;
         this.reservedMemory = reservedMemory;
         this.heartBeatPaths = heartBeatPaths;
@@ -70,7 +89,7 @@ public class HeartBeatTask implements Runnable {
                          Set<String> heartBeatPaths,
                          String serverType,
                          RegistryClient registryClient) {
-        this.startTime = startTime;
+        this.startupTime = getTime(startTime);
         this.maxCpuloadAvg = maxCpuloadAvg;
         this.reservedMemory = reservedMemory;
         this.hostWeight = hostWeight;
@@ -90,40 +109,94 @@ public class HeartBeatTask implements Runnable {
                 }
             }
 
-            double loadAverage = OSUtils.loadAverage();
-            double availablePhysicalMemorySize = OSUtils.availablePhysicalMemorySize();
-            int status = Constants.NORMAL_NODE_STATUS;
-            if (loadAverage > maxCpuloadAvg || availablePhysicalMemorySize < reservedMemory) {
-                logger.warn("current cpu load average {} is too high or available memory {}G is too low, under max.cpuload.avg={} and reserved.memory={}G",
-                        loadAverage, availablePhysicalMemorySize, maxCpuloadAvg, reservedMemory);
-                status = Constants.ABNORMAL_NODE_STATUS;
-            }
-
-            StringBuilder builder = new StringBuilder(100);
-            builder.append(OSUtils.cpuUsage()).append(COMMA);
-            builder.append(OSUtils.memoryUsage()).append(COMMA);
-            builder.append(OSUtils.loadAverage()).append(COMMA);
-            builder.append(OSUtils.availablePhysicalMemorySize()).append(Constants.COMMA);
-            builder.append(maxCpuloadAvg).append(Constants.COMMA);
-            builder.append(reservedMemory).append(Constants.COMMA);
-            builder.append(startTime).append(Constants.COMMA);
-            builder.append(DateUtils.dateToString(new Date())).append(Constants.COMMA);
-            builder.append(status).append(COMMA);
-            // save process id
-            builder.append(OSUtils.getProcessID());
-            // worker host weight
-            if (Constants.WORKER_TYPE.equals(serverType)) {
-                builder.append(Constants.COMMA).append(hostWeight);
+            HeartBeat heartBeat = getHeartBeat();
+            if (!heartBeat.isChanged(lastHeartBeat, CHANGE_THRESHOLD) && skippedBeats < MAX_SKIPPED_BEATS) {
+                skippedBeats++;
+                return;
             }
-
+            String heartBeatInfo = heartBeat.encodeHeartBeat();
             for (String heartBeatPath : heartBeatPaths) {
-                registryClient.update(heartBeatPath, builder.toString());
+                registryClient.update(heartBeatPath, heartBeatInfo);
             }
+            lastHeartBeat = heartBeat;
+            skippedBeats = 0;
         } catch (Throwable ex) {
             logger.error("error write heartbeat info", ex);
         }
     }
 
+    private static long getTime(String date) {
+        Date time = DateUtils.stringToDate(date);
+        return time == null ? 0 : time.getTime();
+    }
+
+    /**
+     * collect heartbeat
+     *
+     * @return heartbeat
+     */
+    HeartBeat getHeartBeat() {
+        double loadAverage = OSUtils.loadAverage();
+        double availablePhysicalMemorySize = OSUtils.availablePhysicalMemorySize();
+        int status = Constants.NORMAL_NODE_STATUS;
+        if (loadAverage > maxCpuloadAvg || availablePhysicalMemorySize < reservedMemory) {
+            logger.warn("current cpu load average {} is too high or available memory {}G is too low, under max.cpuload.avg={} and reserved.memory={}G",
+                    loadAverage, availablePhysicalMemorySize, maxCpuloadAvg, reservedMemory);
+            status = Constants.ABNORMAL_NODE_STATUS;
+        }
+
+        HeartBeat heartBeat = new HeartBeat();
+        heartBeat.setStartupTime(startupTime);
+        heartBeat.setReportTime(System.currentTimeMillis());
+        heartBeat.setCpuUsage(OSUtils.cpuUsage());
+        heartBeat.setMemoryUsage(OSUtils.memoryUsage());
+        heartBeat.setLoadAverage(loadAverage);
+        heartBeat.setAvailablePhysicalMemorySize(availablePhysicalMemorySize);
+        heartBeat.setMaxCpuloadAvg(maxCpuloadAvg);
+        heartBeat.setReservedMemory(reservedMemory);
+        heartBeat.setDiskAvailable(OSUtils.diskAvailable());
+        heartBeat.setProcessId(processId);
+        heartBeat.setServerStatus(status);
+        if (Constants.WORKER_TYPE.equals(serverType)) {
+            heartBeat.setWorkerHostWeight(hostWeight);
+            if (queuedTaskCount != null && runningTaskCount != null) {
+                heartBeat.setWorkerQueuedTaskCount(queuedTaskCount.getAsInt());
+                heartBeat.setWorkerRunningTaskCount(runningTaskCount.getAsInt());
+            }
+            heartBeat.setWorkerExecThreadCount(slotCount);
+            heartBeat.setCpuCores(Runtime.getRuntime().availableProcessors());
+        }
+        return heartBeat;
+    }
+
+    /**
+     * publish the heartbeat at the next beat even if it is not changed,
+     * e.g. the heartbeat paths are recreated after reconnecting to the registry
+     */
+    public void reset() {
+        lastHeartBeat = null;
+    }
+
+    /**
+     * report the task count of worker in heartbeat
+     *
+     * @param queuedTaskCount queued task count
+     * @param runningTaskCount running task count
+     */
+    public void setTaskCount(IntSupplier queuedTaskCount, IntSupplier runningTaskCount) {
+        this.queuedTaskCount = queuedTaskCount;
+        this.runningTaskCount = runningTaskCount;
+    }
+
+    /**
+     * report the slot count of worker in heartbeat
+     *
+     * @param slotCount slot count
+     */
+    public void setSlotCount(int slotCount) {
+        this.slotCount = slotCount;
+    }
+
     /**
      * for stop server
      *
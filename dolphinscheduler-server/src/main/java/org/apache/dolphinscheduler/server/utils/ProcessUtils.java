@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.HadoopUtils;
 import org.apache.dolphinscheduler.common.utils.LoggerUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.common.utils.ProcessTreeTracker;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.common.utils.StringUtils;
 import org.apache.dolphinscheduler.remote.utils.Host;
@@ -379,13 +380,32 @@ public class ProcessUtils {
      */
     public static void kill(TaskExecutionContext taskExecutionContext) {
         try {
-            int processId = taskExecutionContext.getProcessId();
-            if (processId == 0) {
-                logger.error("process kill failed, process id :{}, task id:{}",
-                        processId, taskExecutionContext.getTaskInstanceId());
-                return;
-            }
+            killProcessTree(taskExecutionContext);
+        } catch (Exception e) {
+            logger.error("kill task failed", e);
+        }
+        // find log and kill yarn job
+        killYarnJob(taskExecutionContext);
+    }
 
+    /**
+     * kill the process tree of task.
+     * the tree is read from procfs, along with the processes orphaned while the task ran,
+     * and signaled by one kill command, coalesced with the kills of the other tasks of the tenant
+     * requested at the same time. pstree is forked where procfs is not available
+     *
+     * @param taskExecutionContext taskExecutionContext
+     * @return whether the kill command succeeded
+     * @throws Exception exception
+     */
+    public static boolean killProcessTree(TaskExecutionContext taskExecutionContext) throws Exception {
+        int processId = taskExecutionContext.getProcessId();
+        if (processId == 0) {
+            logger.error("process kill failed, process id :{}, task id:{}",
+                    processId, taskExecutionContext.getTaskInstanceId());
+            return true;
+        }
+        if (!ProcessTreeTracker.isSupported()) {
             String pidsStr = getPidsStr(processId);
             if (StringUtils.isNotEmpty(pidsStr)) {
                 String cmd = String.format("kill -9 %s", pidsStr);
@@ -393,12 +413,16 @@ public class ProcessUtils {
                 logger.info("process id:{}, cmd:{}", processId, cmd);
                 OSUtils.exeCmd(cmd);
             }
+            return true;
+        }
 
-        } catch (Exception e) {
-            logger.error("kill task failed", e);
+        List<Integer> pids = ProcessTreeTracker.getInstance().getProcessTree(taskExecutionContext.getTaskInstanceId(), processId);
+        // the sudo process can not be killed by the tenant, it exits with its child
+        if (CommonUtils.isSudoEnable() && !pids.isEmpty() && pids.get(0) == processId) {
+            pids = pids.subList(1, pids.size());
         }
-        // find log and kill yarn job
-        killYarnJob(taskExecutionContext);
+        logger.info("process id:{}, task id:{}, kill pids:{}", processId, taskExecutionContext.getTaskInstanceId(), pids);
+        return ProcessTreeTracker.getInstance().killCoalesced(taskExecutionContext.getTenantCode(), pids);
     }
 
     /**
@@ -410,6 +434,15 @@ public class ProcessUtils {
      */
     public static String getPidsStr(int processId) throws Exception {
         List<String> pidList = new ArrayList<>();
+        if (ProcessTreeTracker.isSupported()) {
+            for (Integer pid : ProcessTreeTracker.readProcessTree(processId)) {
+                pidList.add(String.valueOf(pid));
+            }
+            if (CommonUtils.isSudoEnable() && !pidList.isEmpty() && pidList.get(0).equals(String.valueOf(processId))) {
+                pidList = pidList.subList(1, pidList.size());
+            }
+            return String.join(" ", pidList);
+        }
         Matcher mat = null;
         // pstree pid get sub pids
         if (OSUtils.isMacOS()) {
@@ -441,12 +474,15 @@ public class ProcessUtils {
      */
     public static List<String> killYarnJob(TaskExecutionContext taskExecutionContext) {
         try {
-            Thread.sleep(Constants.SLEEP_TIME_MILLIS);
-            String log;
-            try (LogClientService logClient = new LogClientService()) {
-                log = logClient.viewLog(Host.of(taskExecutionContext.getHost()).getIp(),
-                        Constants.RPC_PORT,
-                        taskExecutionContext.getLogPath());
+            // application ids collected from the task output while it is running
+            String log = taskExecutionContext.getAppIds();
+            if (StringUtils.isEmpty(log)) {
+                Thread.sleep(Constants.SLEEP_TIME_MILLIS);
+                try (LogClientService logClient = new LogClientService()) {
+                    log = logClient.viewLog(Host.of(taskExecutionContext.getHost()).getIp(),
+                            Constants.RPC_PORT,
+                            taskExecutionContext.getLogPath());
+                }
             }
             if (StringUtils.isNotEmpty(log)) {
                 if (StringUtils.isEmpty(taskExecutionContext.getExecutePath())) {
@@ -122,6 +122,11 @@ public class WorkerServer implements IStoppable {
         // init remoting server
         NettyServerConfig serverConfig = new NettyServerConfig();
         serverConfig.setListenPort(workerConfig.getListenPort());
+        serverConfig.setWriteBufferLowWaterMark(workerConfig.getWorkerNettyWriteBufferLowWaterMark());
+        serverConfig.setWriteBufferHighWaterMark(workerConfig.getWorkerNettyWriteBufferHighWaterMark());
+        serverConfig.setFlushConsolidations(workerConfig.getWorkerNettyFlushConsolidations());
+        serverConfig.setMaxFrameLength(workerConfig.getWorkerNettyMaxFrameLength());
+        serverConfig.setRetainBody(workerConfig.isWorkerNettyRetainBody());
         this.nettyRemotingServer = new NettyRemotingServer(serverConfig);
         this.nettyRemotingServer.registerProcessor(CommandType.TASK_EXECUTE_REQUEST, new TaskExecuteProcessor(alertClientService));
         this.nettyRemotingServer.registerProcessor(CommandType.TASK_KILL_REQUEST, new TaskKillProcessor());
@@ -32,9 +32,27 @@ public class WorkerConfig {
     @Value("${worker.listen.port:1234}")
     private int listenPort;
 
+    @Value("${worker.netty.write.buffer.low.water.mark:524288}")
+    private int workerNettyWriteBufferLowWaterMark;
+
+    @Value("${worker.netty.write.buffer.high.water.mark:1048576}")
+    private int workerNettyWriteBufferHighWaterMark;
+
+    @Value("${worker.netty.flush.consolidations:256}")
+    private int workerNettyFlushConsolidations;
+
+    @Value("${worker.netty.max.frame.length:536870912}")
+    private int workerNettyMaxFrameLength;
+
+    @Value("${worker.netty.retain.body:false}")
+    private boolean workerNettyRetainBody;
+
     @Value("${worker.exec.threads:100}")
     private int workerExecThreads;
 
+    @Value("${worker.admission.threshold:-1}")
+    private int workerAdmissionThreshold;
+
     @Value("${worker.heartbeat.interval:10}")
     private int workerHeartbeatInterval;
 
@@ -56,6 +74,21 @@ public class WorkerConfig {
     @Value("${alert.listen.host:localhost}")
     private String alertListenHost;
 
+    @Value("${worker.http.max.connections:200}")
+    private int httpMaxConnections;
+
+    @Value("${worker.http.max.connections.per.host:20}")
+    private int httpMaxConnectionsPerHost;
+
+    @Value("${worker.http.idle.timeout:60}")
+    private int httpIdleTimeout;
+
+    @Value("${worker.http.async.enable:false}")
+    private boolean httpAsyncEnable;
+
+    @Value("${worker.http.async.threads:200}")
+    private int httpAsyncThreads;
+
     public int getListenPort() {
         return listenPort;
     }
@@ -80,6 +113,17 @@ public class WorkerConfig {
         this.workerExecThreads = workerExecThreads;
     }
 
+    /**
+     * @return max queued and running tasks before rejecting new tasks, workerExecThreads * 2 if not positive
+     */
+    public int getWorkerAdmissionThreshold() {
+        return workerAdmissionThreshold > 0 ? workerAdmissionThreshold : workerExecThreads * 2;
+    }
+
+    public void setWorkerAdmissionThreshold(int workerAdmissionThreshold) {
+        this.workerAdmissionThreshold = workerAdmissionThreshold;
+    }
+
     public int getWorkerHeartbeatInterval() {
         return workerHeartbeatInterval;
     }
@@ -130,4 +174,84 @@ public class WorkerConfig {
     public void setAlertListenHost(String alertListenHost) {
         this.alertListenHost = alertListenHost;
     }
-}
\ No newline at end of file
+
+    public int getHttpMaxConnections() {
+        return httpMaxConnections;
+    }
+
+    public void setHttpMaxConnections(int httpMaxConnections) {
+        this.httpMaxConnections = httpMaxConnections;
+    }
+
+    public int getHttpMaxConnectionsPerHost() {
+        return httpMaxConnectionsPerHost;
+    }
+
+    public void setHttpMaxConnectionsPerHost(int httpMaxConnectionsPerHost) {
+        this.httpMaxConnectionsPerHost = httpMaxConnectionsPerHost;
+    }
+
+    public int getHttpIdleTimeout() {
+        return httpIdleTimeout;
+    }
+
+    public void setHttpIdleTimeout(int httpIdleTimeout) {
+        this.httpIdleTimeout = httpIdleTimeout;
+    }
+
+    public boolean isHttpAsyncEnable() {
+        return httpAsyncEnable;
+    }
+
+    public void setHttpAsyncEnable(boolean httpAsyncEnable) {
+        this.httpAsyncEnable = httpAsyncEnable;
+    }
+
+    public int getHttpAsyncThreads() {
+        return httpAsyncThreads;
+    }
+
+    public void setHttpAsyncThreads(int httpAsyncThreads) {
+        this.httpAsyncThreads = httpAsyncThreads;
+    }
+
+    public int getWorkerNettyWriteBufferLowWaterMark() {
+        return workerNettyWriteBufferLowWaterMark;
+    }
+
+    public void setWorkerNettyWriteBufferLowWaterMark(int workerNettyWriteBufferLowWaterMark) {
+        this.workerNettyWriteBufferLowWaterMark = workerNettyWriteBufferLowWaterMark;
+    }
+
+    public int getWorkerNettyWriteBufferHighWaterMark() {
+        return workerNettyWriteBufferHighWaterMark;
+    }
+
+    public void setWorkerNettyWriteBufferHighWaterMark(int workerNettyWriteBufferHighWaterMark) {
+        this.workerNettyWriteBufferHighWaterMark = workerNettyWriteBufferHighWaterMark;
+    }
+
+    public int getWorkerNettyFlushConsolidations() {
+        return workerNettyFlushConsolidations;
+    }
+
+    public void setWorkerNettyFlushConsolidations(int workerNettyFlushConsolidations) {
+        this.workerNettyFlushConsolidations = workerNettyFlushConsolidations;
+    }
+
+    public int getWorkerNettyMaxFrameLength() {
+        return workerNettyMaxFrameLength;
+    }
+
+    public void setWorkerNettyMaxFrameLength(int workerNettyMaxFrameLength) {
+        this.workerNettyMaxFrameLength = workerNettyMaxFrameLength;
+    }
+
+    public boolean isWorkerNettyRetainBody() {
+        return workerNettyRetainBody;
+    }
+
+    public void setWorkerNettyRetainBody(boolean workerNettyRetainBody) {
+        this.workerNettyRetainBody = workerNettyRetainBody;
+    }
+}
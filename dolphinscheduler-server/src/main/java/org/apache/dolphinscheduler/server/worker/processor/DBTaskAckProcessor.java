@@ -19,10 +19,10 @@ package org.apache.dolphinscheduler.server.worker.processor;
 
 import io.netty.channel.Channel;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
-import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.Preconditions;
 import org.apache.dolphinscheduler.remote.command.*;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+import org.apache.dolphinscheduler.remote.utils.CommandSerializer;
 import org.apache.dolphinscheduler.server.worker.cache.ResponceCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,8 +40,8 @@ public class DBTaskAckProcessor implements NettyRequestProcessor {
         Preconditions.checkArgument(CommandType.DB_TASK_ACK == command.getType(),
                 String.format("invalid command type : %s", command.getType()));
 
-        DBTaskAckCommand taskAckCommand = JSONUtils.parseObject(
-                command.getBody(), DBTaskAckCommand.class);
+        DBTaskAckCommand taskAckCommand = CommandSerializer.deserializeBody(
+                command, DBTaskAckCommand.class);
 
         if (taskAckCommand == null){
             return;
@@ -31,8 +31,10 @@ import org.apache.dolphinscheduler.common.utils.Preconditions;
 import org.apache.dolphinscheduler.remote.command.Command;
 import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.command.TaskExecuteAckCommand;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteRejectCommand;
 import org.apache.dolphinscheduler.remote.command.TaskExecuteRequestCommand;
 import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
+import org.apache.dolphinscheduler.remote.utils.CommandSerializer;
 import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.utils.LogUtils;
 import org.apache.dolphinscheduler.server.worker.cache.ResponceCache;
@@ -112,8 +114,8 @@ public class TaskExecuteProcessor implements NettyRequestProcessor {
         Preconditions.checkArgument(CommandType.TASK_EXECUTE_REQUEST == command.getType(),
             String.format("invalid command type : %s", command.getType()));
 
-        TaskExecuteRequestCommand taskRequestCommand = JSONUtils.parseObject(
-            command.getBody(), TaskExecuteRequestCommand.class);
+        TaskExecuteRequestCommand taskRequestCommand = CommandSerializer.deserializeBody(
+            command, TaskExecuteRequestCommand.class);
 
         logger.info("received command : {}", taskRequestCommand);
 
@@ -130,6 +132,11 @@ public class TaskExecuteProcessor implements NettyRequestProcessor {
             return;
         }
 
+        if (workerManager.isOverloaded()) {
+            doReject(channel, taskExecutionContext);
+            return;
+        }
+
         setTaskCache(taskExecutionContext);
         // custom logger
         Logger taskLogger = LoggerFactory.getLogger(LoggerUtils.buildTaskId(LoggerUtils.TASK_LOGGER_INFO_PREFIX,
@@ -182,6 +189,22 @@ public class TaskExecuteProcessor implements NettyRequestProcessor {
         }
     }
 
+    /**
+     * tell master that worker has no capacity for the task, master dispatches it to another worker
+     *
+     * @param channel channel
+     * @param taskExecutionContext taskExecutionContext
+     */
+    private void doReject(Channel channel, TaskExecutionContext taskExecutionContext) {
+        int queuedTaskCount = workerManager.getQueuedTaskCount();
+        int runningTaskCount = workerManager.getRunningTaskCount();
+        logger.warn("reject task instance {}, queued tasks: {}, running tasks: {}, admission threshold: {}",
+                taskExecutionContext.getTaskInstanceId(), queuedTaskCount, runningTaskCount, workerConfig.getWorkerAdmissionThreshold());
+        TaskExecuteRejectCommand rejectCommand = new TaskExecuteRejectCommand(taskExecutionContext.getTaskInstanceId(),
+                NetUtils.getAddr(workerConfig.getListenPort()), queuedTaskCount, runningTaskCount);
+        channel.writeAndFlush(rejectCommand.convert2Command());
+    }
+
     private void doAck(TaskExecutionContext taskExecutionContext) {
         // tell master that task is in executing
         TaskExecuteAckCommand ackCommand = buildAckCommand(taskExecutionContext);
@@ -21,7 +21,6 @@ import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
 import org.apache.dolphinscheduler.common.utils.JSONUtils;
 import org.apache.dolphinscheduler.common.utils.LoggerUtils;
-import org.apache.dolphinscheduler.common.utils.OSUtils;
 import org.apache.dolphinscheduler.common.utils.Preconditions;
 import org.apache.dolphinscheduler.common.utils.StringUtils;
 import org.apache.dolphinscheduler.remote.command.Command;
@@ -123,14 +122,7 @@ public class TaskKillProcessor implements NettyRequestProcessor {
                 return Pair.of(true, appIds);
             }
 
-            String pidsStr = ProcessUtils.getPidsStr(taskExecutionContext.getProcessId());
-            if (StringUtils.isNotEmpty(pidsStr)) {
-                String cmd = String.format("kill -9 %s", pidsStr);
-                cmd = OSUtils.getSudoCmd(taskExecutionContext.getTenantCode(), cmd);
-                logger.info("process id:{}, cmd:{}", taskExecutionContext.getProcessId(), cmd);
-                OSUtils.exeCmd(cmd);
-            }
-
+            processFlag = ProcessUtils.killProcessTree(taskExecutionContext);
         } catch (Exception e) {
             processFlag = false;
             logger.error("kill task error", e);
@@ -139,7 +131,8 @@ public class TaskKillProcessor implements NettyRequestProcessor {
         Pair<Boolean, List<String>> yarnResult = killYarnJob(Host.of(taskExecutionContext.getHost()).getIp(),
                 taskExecutionContext.getLogPath(),
                 taskExecutionContext.getExecutePath(),
-                taskExecutionContext.getTenantCode());
+                taskExecutionContext.getTenantCode(),
+                taskExecutionContext.getAppIds());
         return Pair.of(processFlag && yarnResult.getLeft(), yarnResult.getRight());
     }
 
@@ -171,12 +164,18 @@ public class TaskKillProcessor implements NettyRequestProcessor {
      * @param logPath logPath
      * @param executePath executePath
      * @param tenantCode tenantCode
+     * @param knownAppIds application ids collected from the task output, the log is read if it is empty
      * @return Pair<Boolean, List < String>> yarn kill result
      */
-    private Pair<Boolean, List<String>> killYarnJob(String host, String logPath, String executePath, String tenantCode) {
-        try (LogClientService logClient = new LogClientService();) {
-            logger.info("view log host : {},logPath : {}", host, logPath);
-            String log = logClient.viewLog(host, Constants.RPC_PORT, logPath);
+    private Pair<Boolean, List<String>> killYarnJob(String host, String logPath, String executePath, String tenantCode, String knownAppIds) {
+        try {
+            String log = knownAppIds;
+            if (StringUtils.isEmpty(log)) {
+                logger.info("view log host : {},logPath : {}", host, logPath);
+                try (LogClientService logClient = new LogClientService()) {
+                    log = logClient.viewLog(host, Constants.RPC_PORT, logPath);
+                }
+            }
             List<String> appIds = Collections.emptyList();
             if (StringUtils.isNotEmpty(log)) {
                 appIds = LoggerUtils.getAppIds(log, logger);
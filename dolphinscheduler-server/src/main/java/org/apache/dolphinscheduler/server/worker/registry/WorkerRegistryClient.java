@@ -29,6 +29,7 @@ import org.apache.dolphinscheduler.common.utils.StringUtils;
 import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
 import org.apache.dolphinscheduler.server.registry.HeartBeatTask;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+import org.apache.dolphinscheduler.server.worker.runner.WorkerManagerThread;
 import org.apache.dolphinscheduler.service.registry.RegistryClient;
 
 import java.util.Date;
@@ -61,6 +62,12 @@ public class WorkerRegistryClient {
     @Autowired
     private WorkerConfig workerConfig;
 
+    /**
+     * worker manager
+     */
+    @Autowired
+    private WorkerManagerThread workerManagerThread;
+
     /**
      * heartbeat executor
      */
@@ -96,6 +103,9 @@ public class WorkerRegistryClient {
             registryClient.persistEphemeral(workerZKPath, "");
             logger.info("worker node : {} registry to ZK {} successfully", address, workerZKPath);
         }
+        // the masters are looked up per task callback and the dead servers per heartbeat
+        registryClient.cache(registryClient.getMasterPath());
+        registryClient.cache(registryClient.getDeadZNodeParentPath());
 
         HeartBeatTask heartBeatTask = new HeartBeatTask(startTime,
                 workerConfig.getWorkerMaxCpuloadAvg(),
@@ -104,6 +114,8 @@ public class WorkerRegistryClient {
                 workerZkPaths,
                 Constants.WORKER_TYPE,
                 registryClient);
+        heartBeatTask.setTaskCount(workerManagerThread::getQueuedTaskCount, workerManagerThread::getRunningTaskCount);
+        heartBeatTask.setSlotCount(workerConfig.getWorkerExecThreads());
 
         this.heartBeatExecutor.scheduleAtFixedRate(heartBeatTask, workerHeartbeatInterval, workerHeartbeatInterval, TimeUnit.SECONDS);
         logger.info("worker node : {} heartbeat interval {} s", address, workerHeartbeatInterval);
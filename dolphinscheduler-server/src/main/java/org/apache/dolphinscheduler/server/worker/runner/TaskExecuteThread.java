@@ -50,6 +50,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Delayed;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -119,6 +121,7 @@ public class TaskExecuteThread implements Runnable, Delayed {
     public void run() {
 
         TaskExecuteResponseCommand responseCommand = new TaskExecuteResponseCommand(taskExecutionContext.getTaskInstanceId());
+        CompletableFuture<Void> handleFuture;
         try {
             logger.info("script path : {}", taskExecutionContext.getExecutePath());
             // check if the OS user exists
@@ -127,6 +130,7 @@ public class TaskExecuteThread implements Runnable, Delayed {
                 taskLogger.error(errorLog);
                 responseCommand.setStatus(ExecutionStatus.FAILURE.getCode());
                 responseCommand.setEndTime(new Date());
+                finish(responseCommand);
                 return;
             }
 
@@ -155,8 +159,28 @@ public class TaskExecuteThread implements Runnable, Delayed {
             // task init
             task.init();
 
-            // task handle
-            task.handle();
+            // task handle, the execute thread is released if the task completes the handle on other threads
+            handleFuture = task.handleAsync();
+        } catch (Exception e) {
+            handleFailure(responseCommand, e);
+            finish(responseCommand);
+            return;
+        }
+        handleFuture.whenComplete((result, e) -> afterHandle(responseCommand, e));
+    }
+
+    /**
+     * process the task result when the task is handled
+     *
+     * @param responseCommand responseCommand
+     * @param handleError error of the handle, null if succeeded
+     */
+    private void afterHandle(TaskExecuteResponseCommand responseCommand, Throwable handleError) {
+        try {
+            if (handleError != null) {
+                throw handleError instanceof CompletionException && handleError.getCause() != null
+                        ? handleError.getCause() : handleError;
+            }
 
             // task result process
             task.after();
@@ -168,21 +192,36 @@ public class TaskExecuteThread implements Runnable, Delayed {
             responseCommand.setVarPool(task.getVarPool());
             responseCommand.setResult(task.getResultString());
             logger.info("task instance id : {},task final status : {}", taskExecutionContext.getTaskInstanceId(), task.getExitStatus());
-        } catch (Exception e) {
-            logger.error("task scheduler failure", e);
-            kill();
-            responseCommand.setStatus(ExecutionStatus.FAILURE.getCode());
-            responseCommand.setEndTime(new Date());
+        } catch (Throwable e) {
+            handleFailure(responseCommand, e);
+        } finally {
+            finish(responseCommand);
+        }
+    }
+
+    private void handleFailure(TaskExecuteResponseCommand responseCommand, Throwable e) {
+        logger.error("task scheduler failure", e);
+        kill();
+        responseCommand.setStatus(ExecutionStatus.FAILURE.getCode());
+        responseCommand.setEndTime(new Date());
+        if (task != null) {
             responseCommand.setProcessId(task.getProcessId());
             responseCommand.setAppIds(task.getAppIds());
-        } finally {
-            taskExecutionContextCacheManager.removeByTaskInstanceId(taskExecutionContext.getTaskInstanceId());
-            ResponceCache.get().cache(taskExecutionContext.getTaskInstanceId(), responseCommand.convert2Command(), Event.RESULT);
-            taskCallbackService.sendResult(taskExecutionContext.getTaskInstanceId(), responseCommand.convert2Command());
-            clearTaskExecPath();
         }
     }
 
+    /**
+     * send the task result and clean up
+     *
+     * @param responseCommand responseCommand
+     */
+    private void finish(TaskExecuteResponseCommand responseCommand) {
+        taskExecutionContextCacheManager.removeByTaskInstanceId(taskExecutionContext.getTaskInstanceId());
+        ResponceCache.get().cache(taskExecutionContext.getTaskInstanceId(), responseCommand.convert2Command(), Event.RESULT);
+        taskCallbackService.sendResult(taskExecutionContext.getTaskInstanceId(), responseCommand.convert2Command());
+        clearTaskExecPath();
+    }
+
     /**
      * when task finish, clear execute path.
      */
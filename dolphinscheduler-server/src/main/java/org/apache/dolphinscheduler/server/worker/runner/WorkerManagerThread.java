@@ -28,10 +28,11 @@ import org.apache.dolphinscheduler.server.worker.cache.TaskExecutionContextCache
 import org.apache.dolphinscheduler.server.worker.cache.impl.TaskExecutionContextCacheManagerImpl;
 import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.processor.TaskCallbackService;
+import org.apache.dolphinscheduler.server.worker.task.http.HttpClientPool;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 
 import java.util.concurrent.DelayQueue;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,7 +59,7 @@ public class WorkerManagerThread implements Runnable {
     /**
      * thread executor service
      */
-    private final ExecutorService workerExecService;
+    private final ThreadPoolExecutor workerExecService;
 
     /**
      * taskExecutionContextCacheManager
@@ -70,11 +71,17 @@ public class WorkerManagerThread implements Runnable {
      */
     private final TaskCallbackService taskCallbackService;
 
+    /**
+     * http client pool, http tasks in async mode run on its threads
+     */
+    private final HttpClientPool httpClientPool;
+
     public WorkerManagerThread() {
         this.workerConfig = SpringApplicationContext.getBean(WorkerConfig.class);
         this.taskExecutionContextCacheManager = SpringApplicationContext.getBean(TaskExecutionContextCacheManagerImpl.class);
-        this.workerExecService = ThreadUtils.newDaemonFixedThreadExecutor("Worker-Execute-Thread", this.workerConfig.getWorkerExecThreads());
+        this.workerExecService = (ThreadPoolExecutor) ThreadUtils.newDaemonFixedThreadExecutor("Worker-Execute-Thread", this.workerConfig.getWorkerExecThreads());
         this.taskCallbackService = SpringApplicationContext.getBean(TaskCallbackService.class);
+        this.httpClientPool = SpringApplicationContext.getBean(HttpClientPool.class);
     }
 
     /**
@@ -86,6 +93,33 @@ public class WorkerManagerThread implements Runnable {
         return workerExecuteQueue.size();
     }
 
+    /**
+     * get the number of tasks waiting for execute threads, including delay tasks
+     *
+     * @return queued task count
+     */
+    public int getQueuedTaskCount() {
+        return workerExecuteQueue.size() + workerExecService.getQueue().size();
+    }
+
+    /**
+     * get the number of running tasks, including the http tasks waiting for responses in async mode
+     *
+     * @return running task count
+     */
+    public int getRunningTaskCount() {
+        return workerExecService.getActiveCount() + httpClientPool.getAsyncTaskCount();
+    }
+
+    /**
+     * whether the queued and running tasks reach the admission threshold, new tasks should be rejected
+     *
+     * @return true if overloaded
+     */
+    public boolean isOverloaded() {
+        return getQueuedTaskCount() + getRunningTaskCount() >= workerConfig.getWorkerAdmissionThreshold();
+    }
+
     /**
      * Kill tasks that have not been executed, like delay task
      * then send Response to Master, update the execution status of task instance
@@ -22,6 +22,7 @@ import static org.apache.dolphinscheduler.common.Constants.EXIT_CODE_KILL;
 import static org.apache.dolphinscheduler.common.Constants.EXIT_CODE_SUCCESS;
 
 import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.enums.Event;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
 import org.apache.dolphinscheduler.common.thread.Stopper;
 import org.apache.dolphinscheduler.common.thread.ThreadUtils;
@@ -29,24 +30,31 @@ import org.apache.dolphinscheduler.common.utils.CommonUtils;
 import org.apache.dolphinscheduler.common.utils.HadoopUtils;
 import org.apache.dolphinscheduler.common.utils.LoggerUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.common.utils.ProcessTreeTracker;
 import org.apache.dolphinscheduler.common.utils.StringUtils;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteAckCommand;
 import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.utils.ProcessUtils;
+import org.apache.dolphinscheduler.server.worker.cache.ResponceCache;
 import org.apache.dolphinscheduler.server.worker.cache.TaskExecutionContextCacheManager;
 import org.apache.dolphinscheduler.server.worker.cache.impl.TaskExecutionContextCacheManagerImpl;
+import org.apache.dolphinscheduler.server.worker.processor.TaskCallbackService;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
+import org.apache.dolphinscheduler.service.log.TaskLog;
+import org.apache.dolphinscheduler.service.log.TaskLogWriter;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.lang.reflect.Field;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -65,6 +73,11 @@ public abstract class AbstractCommandExecutor {
      */
     protected static final Pattern APPLICATION_REGEX = Pattern.compile(Constants.APPLICATION_REGEX);
 
+    /**
+     * lines without it are not matched by the application regex
+     */
+    private static final String APPLICATION_PREFIX = "application_";
+
     protected StringBuilder varPool = new StringBuilder();
     /**
      * process
@@ -82,11 +95,9 @@ public abstract class AbstractCommandExecutor {
     protected Logger logger;
 
     /**
-     * log list
+     * output log of the process
      */
-    protected final List<String> logBuffer;
-
-    protected boolean logOutputIsScuccess = false;
+    private volatile TaskLog taskLog;
 
     /**
      * SHELL result string
@@ -103,18 +114,24 @@ public abstract class AbstractCommandExecutor {
      */
     private TaskExecutionContextCacheManager taskExecutionContextCacheManager;
 
+    /**
+     * taskCallbackService, reports the application ids while the process is running
+     */
+    private TaskCallbackService taskCallbackService;
+
+    /**
+     * yarn application ids found in the process output, in the order they are found
+     */
+    private final Set<String> appIds = new LinkedHashSet<>();
+
     public AbstractCommandExecutor(Consumer<List<String>> logHandler,
                                    TaskExecutionContext taskExecutionContext,
                                    Logger logger) {
         this.logHandler = logHandler;
         this.taskExecutionContext = taskExecutionContext;
         this.logger = logger;
-        this.logBuffer = Collections.synchronizedList(new ArrayList<>());
         this.taskExecutionContextCacheManager = SpringApplicationContext.getBean(TaskExecutionContextCacheManagerImpl.class);
-    }
-
-    protected AbstractCommandExecutor(List<String> logBuffer) {
-        this.logBuffer = logBuffer;
+        this.taskCallbackService = SpringApplicationContext.getBean(TaskCallbackService.class);
     }
 
     /**
@@ -182,51 +199,60 @@ public abstract class AbstractCommandExecutor {
         //build process
         buildProcess(commandFilePath);
 
-        // parse process output
-        parseProcessOutput(process);
-
         Integer processId = getProcessId(process);
 
         result.setProcessId(processId);
 
-        // cache processId
-        taskExecutionContext.setProcessId(processId);
-        boolean updateTaskExecutionContextStatus = taskExecutionContextCacheManager.updateTaskExecutionContext(taskExecutionContext);
-        if (Boolean.FALSE.equals(updateTaskExecutionContextStatus)) {
-            ProcessUtils.kill(taskExecutionContext);
-            result.setExitStatusCode(EXIT_CODE_KILL);
-            return result;
-        }
+        // cache the process tree, the processes of the task are still found when their parents have exited
+        ProcessTreeTracker.getInstance().track(taskInstanceId, processId);
+        try {
+            // cache processId
+            taskExecutionContext.setProcessId(processId);
 
-        // print process id
-        logger.info("process start, process id is: {}", processId);
+            // parse process output, the application ids found in it are reported along with the cached process id
+            parseProcessOutput(process);
 
-        // if timeout occurs, exit directly
-        long remainTime = getRemaintime();
+            boolean updateTaskExecutionContextStatus = taskExecutionContextCacheManager.updateTaskExecutionContext(taskExecutionContext);
+            if (Boolean.FALSE.equals(updateTaskExecutionContextStatus)) {
+                ProcessUtils.kill(taskExecutionContext);
+                result.setExitStatusCode(EXIT_CODE_KILL);
+                return result;
+            }
 
-        // waiting for the run to finish
-        boolean status = process.waitFor(remainTime, TimeUnit.SECONDS);
+            // print process id
+            logger.info("process start, process id is: {}", processId);
 
-        logger.info("process has exited, execute path:{}, processId:{} ,exitStatusCode:{}",
-            taskExecutionContext.getExecutePath(), processId, result.getExitStatusCode());
+            // if timeout occurs, exit directly
+            long remainTime = getRemaintime();
 
-        // if SHELL task exit
-        if (status) {
-            // set appIds
-            List<String> appIds = getAppIds(taskExecutionContext.getLogPath());
-            result.setAppIds(String.join(Constants.COMMA, appIds));
+            // waiting for the run to finish
+            boolean status = process.waitFor(remainTime, TimeUnit.SECONDS);
 
-            // SHELL task state
-            result.setExitStatusCode(process.exitValue());
+            logger.info("process has exited, execute path:{}, processId:{} ,exitStatusCode:{}",
+                taskExecutionContext.getExecutePath(), processId, result.getExitStatusCode());
 
-            // if yarn task , yarn state is final state
-            if (process.exitValue() == 0) {
-                result.setExitStatusCode(isSuccessOfYarnState(appIds) ? EXIT_CODE_SUCCESS : EXIT_CODE_FAILURE);
+            // if SHELL task exit
+            if (status) {
+                awaitOutputLog();
+
+                // set appIds, collected from the output as it is read
+                List<String> appIds = getAppIds();
+                result.setAppIds(String.join(Constants.COMMA, appIds));
+
+                // SHELL task state
+                result.setExitStatusCode(process.exitValue());
+
+                // if yarn task , yarn state is final state
+                if (process.exitValue() == 0) {
+                    result.setExitStatusCode(isSuccessOfYarnState(appIds) ? EXIT_CODE_SUCCESS : EXIT_CODE_FAILURE);
+                }
+            } else {
+                logger.error("process has failure , exitStatusCode : {} , ready to kill ...", result.getExitStatusCode());
+                ProcessUtils.kill(taskExecutionContext);
+                result.setExitStatusCode(EXIT_CODE_FAILURE);
             }
-        } else {
-            logger.error("process has failure , exitStatusCode : {} , ready to kill ...", result.getExitStatusCode());
-            ProcessUtils.kill(taskExecutionContext);
-            result.setExitStatusCode(EXIT_CODE_FAILURE);
+        } finally {
+            ProcessTreeTracker.getInstance().untrack(taskInstanceId);
         }
 
         return result;
@@ -247,9 +273,7 @@ public abstract class AbstractCommandExecutor {
             return;
         }
 
-        // clear log
-        clear();
-
+        // the output log is closed when the killed process closes its output
         int processId = getProcessId(process);
 
         logger.info("cancel process: {}", processId);
@@ -329,71 +353,62 @@ public abstract class AbstractCommandExecutor {
     }
 
     /**
-     * clear
+     * close the task log appender of logback
      */
-    private void clear() {
-
+    private void finalizeLog() {
         List<String> markerList = new ArrayList<>();
         markerList.add(ch.qos.logback.classic.ClassicConstants.FINALIZE_SESSION_MARKER.toString());
-
-        if (!logBuffer.isEmpty()) {
-            // log handle
-            logHandler.accept(logBuffer);
-            logBuffer.clear();
-        }
         logHandler.accept(markerList);
     }
 
     /**
-     * get the standard output of the process
+     * get the standard output of the process, the output lines are written by the worker wide task log writer
      *
      * @param process process
      */
     private void parseProcessOutput(Process process) {
         String threadLoggerInfoName = String.format(LoggerUtils.TASK_LOGGER_THREAD_NAME + "-%s", taskExecutionContext.getTaskAppId());
+        final TaskLog outputLog = TaskLogWriter.getInstance().open(taskExecutionContext.getLogPath(),
+                logger.getName(), logHandler, this::finalizeLog);
+        this.taskLog = outputLog;
         ExecutorService getOutputLogService = ThreadUtils.newDaemonSingleThreadExecutor(threadLoggerInfoName + "-" + "getOutputLogService");
         getOutputLogService.submit(() -> {
             BufferedReader inReader = null;
             try {
                 inReader = new BufferedReader(new InputStreamReader(process.getInputStream()));
                 String line;
-                logBuffer.add("welcome to use bigdata scheduling system...");
+                outputLog.append("welcome to use bigdata scheduling system...");
                 while ((line = inReader.readLine()) != null) {
                     if (line.startsWith("${setValue(")) {
                         varPool.append(line.substring("${setValue(".length(), line.length() - 2));
                         varPool.append("$VarPool$");
                     } else {
-                        logBuffer.add(line);
+                        outputLog.append(line);
                         taskResultString = line;
+                        collectAppIds(line);
                     }
                 }
             } catch (Exception e) {
                 logger.error(e.getMessage(), e);
             } finally {
-                logOutputIsScuccess = true;
                 close(inReader);
+                outputLog.close();
             }
         });
         getOutputLogService.shutdown();
+    }
 
-        ExecutorService parseProcessOutputExecutorService = ThreadUtils.newDaemonSingleThreadExecutor(threadLoggerInfoName);
-        parseProcessOutputExecutorService.submit(() -> {
-            try {
-                long lastFlushTime = System.currentTimeMillis();
-                while (logBuffer.size() > 0 || !logOutputIsScuccess) {
-                    if (logBuffer.size() > 0) {
-                        lastFlushTime = flush(lastFlushTime);
-                    } else {
-                        Thread.sleep(Constants.DEFAULT_LOG_FLUSH_INTERVAL);
-                    }
-                }
-            } catch (Exception e) {
-                logger.error(e.getMessage(), e);
-            } finally {
-                clear();
+    /**
+     * wait until the output of the process is written to the log
+     */
+    private void awaitOutputLog() {
+        try {
+            if (taskLog != null && !taskLog.awaitClosed(Constants.DEFAULT_LOG_FLUSH_INTERVAL, TimeUnit.MILLISECONDS)) {
+                logger.warn("process output is not written to the log after {} ms", Constants.DEFAULT_LOG_FLUSH_INTERVAL);
             }
-        });
-        parseProcessOutputExecutorService.shutdown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     /**
@@ -436,76 +451,69 @@ public abstract class AbstractCommandExecutor {
     }
 
     /**
-     * get app links
+     * collect the yarn application ids of an output line, new application ids are reported at once
      *
-     * @param logPath log path
-     * @return app id list
+     * @param line output line
      */
-    private List<String> getAppIds(String logPath) {
-        List<String> logs = convertFile2List(logPath);
-
-        List<String> appIds = new ArrayList<>();
-        /**
-         * analysis log?get submited yarn application id
-         */
-        for (String log : logs) {
-            String appId = findAppId(log);
-            if (StringUtils.isNotEmpty(appId) && !appIds.contains(appId)) {
-                logger.info("find app id: {}", appId);
-                appIds.add(appId);
+    private void collectAppIds(String line) {
+        if (!line.contains(APPLICATION_PREFIX)) {
+            return;
+        }
+        boolean found = false;
+        Matcher matcher = APPLICATION_REGEX.matcher(line);
+        while (matcher.find()) {
+            String appId = matcher.group();
+            synchronized (appIds) {
+                if (appIds.add(appId)) {
+                    logger.info("find app id: {}", appId);
+                    found = true;
+                }
             }
         }
-        return appIds;
+        if (found) {
+            reportAppIds();
+        }
     }
 
     /**
-     * convert file to list
+     * get the yarn application ids found in the process output
      *
-     * @param filename file name
-     * @return line list
+     * @return app id list
      */
-    private List<String> convertFile2List(String filename) {
-        List lineList = new ArrayList<String>(100);
-        File file = new File(filename);
-
-        if (!file.exists()) {
-            return lineList;
+    public List<String> getAppIds() {
+        synchronized (appIds) {
+            return new ArrayList<>(appIds);
         }
-
-        BufferedReader br = null;
-        try {
-            br = new BufferedReader(new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8));
-            String line = null;
-            while ((line = br.readLine()) != null) {
-                lineList.add(line);
-            }
-        } catch (Exception e) {
-            logger.error(String.format("read file: %s failed : ", filename), e);
-        } finally {
-            if (br != null) {
-                try {
-                    br.close();
-                } catch (IOException e) {
-                    logger.error(e.getMessage(), e);
-                }
-            }
-
-        }
-        return lineList;
     }
 
     /**
-     * find app id
-     *
-     * @param line line
-     * @return appid
+     * put the application ids into the cached task execution context, so a kill cancels them,
+     * and send them to the master by an ack of the running task
      */
-    private String findAppId(String line) {
-        Matcher matcher = APPLICATION_REGEX.matcher(line);
-        if (matcher.find()) {
-            return matcher.group();
+    private void reportAppIds() {
+        taskExecutionContext.setAppIds(String.join(Constants.COMMA, getAppIds()));
+        if (taskExecutionContextCacheManager != null) {
+            taskExecutionContextCacheManager.updateTaskExecutionContext(taskExecutionContext);
+        }
+        if (taskCallbackService == null) {
+            return;
+        }
+        TaskExecuteAckCommand ackCommand = new TaskExecuteAckCommand();
+        ackCommand.setTaskInstanceId(taskExecutionContext.getTaskInstanceId());
+        ackCommand.setStatus(ExecutionStatus.RUNNING_EXECUTION.getCode());
+        ackCommand.setStartTime(taskExecutionContext.getStartTime());
+        ackCommand.setHost(taskExecutionContext.getHost());
+        ackCommand.setLogPath(taskExecutionContext.getLogPath());
+        ackCommand.setExecutePath(taskExecutionContext.getExecutePath());
+        ackCommand.setProcessId(taskExecutionContext.getProcessId());
+        ackCommand.setAppIds(taskExecutionContext.getAppIds());
+        Command command = ackCommand.convert2Command();
+        try {
+            ResponceCache.get().cache(taskExecutionContext.getTaskInstanceId(), command, Event.ACK);
+            taskCallbackService.sendAck(taskExecutionContext.getTaskInstanceId(), command);
+        } catch (Exception e) {
+            logger.warn("report app ids {} error : {}", taskExecutionContext.getAppIds(), e.getMessage());
         }
-        return null;
     }
 
     /**
@@ -545,28 +553,6 @@ public abstract class AbstractCommandExecutor {
         return processId;
     }
 
-    /**
-     * when log buffer siz or flush time reach condition , then flush
-     *
-     * @param lastFlushTime last flush time
-     * @return last flush time
-     */
-    private long flush(long lastFlushTime) {
-        long now = System.currentTimeMillis();
-
-        /**
-         * when log buffer siz or flush time reach condition , then flush
-         */
-        if (logBuffer.size() >= Constants.DEFAULT_LOG_ROWS_NUM || now - lastFlushTime > Constants.DEFAULT_LOG_FLUSH_INTERVAL) {
-            lastFlushTime = now;
-            /** log handle */
-            logHandler.accept(logBuffer);
-
-            logBuffer.clear();
-        }
-        return lastFlushTime;
-    }
-
     /**
      * close buffer reader
      *
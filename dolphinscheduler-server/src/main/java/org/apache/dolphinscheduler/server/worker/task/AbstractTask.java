@@ -27,6 +27,7 @@ import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
 
 import java.util.List;
 import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 
@@ -103,6 +104,18 @@ public abstract class AbstractTask {
      */
     public abstract void handle() throws Exception;
 
+    /**
+     * task handle, the returned future is completed when the task is handled.
+     * tasks that wait on remote services may complete it on other threads to release the execute thread
+     *
+     * @return handle future
+     * @throws Exception exception
+     */
+    public CompletableFuture<Void> handleAsync() throws Exception {
+        handle();
+        return CompletableFuture.completedFuture(null);
+    }
+
     /**
      * result processing
      *
@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.task.http;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * http client shared by the http tasks of worker, connections are pooled and kept alive per target host.
+ * in async mode the http tasks wait for responses on the http async threads instead of the worker execute threads
+ */
+@Component
+public class HttpClientPool {
+
+    private final Logger logger = LoggerFactory.getLogger(HttpClientPool.class);
+
+    /**
+     * interval of closing expired and idle connections
+     */
+    private static final long EVICT_INTERVAL = 5000L;
+
+    @Autowired
+    private WorkerConfig workerConfig;
+
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    private CloseableHttpClient httpClient;
+
+    private ScheduledExecutorService evictExecutor;
+
+    /**
+     * null if the async mode is disabled
+     */
+    private ExecutorService asyncExecutor;
+
+    private long idleTimeout;
+
+    private final AtomicLong requestCount = new AtomicLong();
+
+    private final AtomicLong failedRequestCount = new AtomicLong();
+
+    private final AtomicInteger inFlightRequestCount = new AtomicInteger();
+
+    private final AtomicInteger asyncTaskCount = new AtomicInteger();
+
+    @PostConstruct
+    public void start() {
+        start(workerConfig.getHttpMaxConnections(), workerConfig.getHttpMaxConnectionsPerHost(), workerConfig.getHttpIdleTimeout(),
+                workerConfig.isHttpAsyncEnable() ? workerConfig.getHttpAsyncThreads() : 0);
+    }
+
+    /**
+     * start pool
+     *
+     * @param maxConnections max connections
+     * @param maxConnectionsPerHost max connections to a single target host
+     * @param idleTimeout idle timeout of connections in seconds
+     * @param asyncThreads http async thread number, async mode is disabled if not positive
+     */
+    void start(int maxConnections, int maxConnectionsPerHost, int idleTimeout, int asyncThreads) {
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        this.connectionManager.setMaxTotal(maxConnections);
+        this.connectionManager.setDefaultMaxPerRoute(maxConnectionsPerHost);
+        // the client is shared by the tasks of all tenants, cookies of a response must not be sent with the requests of other tasks
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .disableCookieManagement()
+                .build();
+        this.idleTimeout = idleTimeout;
+        this.evictExecutor = ThreadUtils.newDaemonThreadScheduledExecutor("HttpClientPool-Evictor", 1);
+        this.evictExecutor.scheduleWithFixedDelay(this::evictConnections, EVICT_INTERVAL, EVICT_INTERVAL, TimeUnit.MILLISECONDS);
+        if (asyncThreads > 0) {
+            this.asyncExecutor = ThreadUtils.newDaemonFixedThreadExecutor("HttpTask-Async", asyncThreads);
+        }
+        logger.info("http client pool started, max connections: {}, max connections per host: {}, idle timeout: {}s, async threads: {}",
+                maxConnections, maxConnectionsPerHost, idleTimeout, asyncThreads);
+    }
+
+    /**
+     * @return shared http client, it must not be closed by the tasks
+     */
+    public CloseableHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * @return whether http tasks wait for responses on the http async threads
+     */
+    public boolean isAsyncEnable() {
+        return asyncExecutor != null;
+    }
+
+    /**
+     * run http request on the http async threads, the task is counted as async task until the request is completed
+     *
+     * @param request request
+     * @return future completed by the request
+     */
+    public CompletableFuture<Void> submit(Callable<Void> request) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        asyncTaskCount.incrementAndGet();
+        try {
+            asyncExecutor.execute(() -> {
+                Throwable error = null;
+                try {
+                    request.call();
+                } catch (Throwable e) {
+                    error = e;
+                } finally {
+                    asyncTaskCount.decrementAndGet();
+                }
+                if (error == null) {
+                    future.complete(null);
+                } else {
+                    future.completeExceptionally(error);
+                }
+            });
+        } catch (RuntimeException e) {
+            asyncTaskCount.decrementAndGet();
+            throw e;
+        }
+        return future;
+    }
+
+    /**
+     * count request, called before the request is sent
+     */
+    void onRequest() {
+        requestCount.incrementAndGet();
+        inFlightRequestCount.incrementAndGet();
+    }
+
+    /**
+     * count response, called when the request is completed
+     *
+     * @param success whether a response is received
+     */
+    void onResponse(boolean success) {
+        inFlightRequestCount.decrementAndGet();
+        if (!success) {
+            failedRequestCount.incrementAndGet();
+        }
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getFailedRequestCount() {
+        return failedRequestCount.get();
+    }
+
+    public int getInFlightRequestCount() {
+        return inFlightRequestCount.get();
+    }
+
+    /**
+     * get the number of http tasks submitted in async mode and not completed, they are running tasks of the worker
+     * although they do not hold worker execute threads
+     *
+     * @return async task count
+     */
+    public int getAsyncTaskCount() {
+        return asyncTaskCount.get();
+    }
+
+    /**
+     * @return stats of all pooled connections
+     */
+    public PoolStats getTotalStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * @return stats of pooled connections by target host
+     */
+    public Map<String, PoolStats> getHostStats() {
+        Map<String, PoolStats> hostStats = new LinkedHashMap<>();
+        for (HttpRoute route : connectionManager.getRoutes()) {
+            hostStats.put(route.getTargetHost().toURI(), connectionManager.getStats(route));
+        }
+        return hostStats;
+    }
+
+    /**
+     * close expired and idle connections, and log the request counters and pool stats when debug is enabled
+     */
+    private void evictConnections() {
+        try {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleTimeout, TimeUnit.SECONDS);
+            if (logger.isDebugEnabled()) {
+                logger.debug("http client pool, requests: {}, failed: {}, in flight: {}, async tasks: {}, connections: {}, hosts: {}",
+                        getRequestCount(), getFailedRequestCount(), getInFlightRequestCount(), getAsyncTaskCount(), getTotalStats(), getHostStats());
+            }
+        } catch (Exception e) {
+            logger.error("evict http connections error", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdownNow();
+        }
+        evictExecutor.shutdownNow();
+        try {
+            httpClient.close();
+        } catch (Exception e) {
+            logger.warn("close http client error", e);
+        }
+        logger.info("http client pool closed");
+    }
+}
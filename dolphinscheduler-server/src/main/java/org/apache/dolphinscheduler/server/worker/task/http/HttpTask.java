@@ -30,6 +30,7 @@ import org.apache.dolphinscheduler.common.task.http.HttpParameters;
 import org.apache.dolphinscheduler.common.utils.*;
 import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
 import org.apache.dolphinscheduler.server.utils.ParamUtils;
+import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import org.apache.dolphinscheduler.server.worker.task.AbstractTask;
 import org.apache.http.HttpEntity;
 import org.apache.http.ParseException;
@@ -39,8 +40,6 @@ import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 
@@ -49,6 +48,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -77,6 +77,11 @@ public class HttpTask extends AbstractTask {
      */
     private TaskExecutionContext taskExecutionContext;
 
+    /**
+     * http client pool of worker
+     */
+    private final HttpClientPool httpClientPool;
+
     /**
      * constructor
      * @param taskExecutionContext     taskExecutionContext
@@ -85,6 +90,7 @@ public class HttpTask extends AbstractTask {
     public HttpTask(TaskExecutionContext taskExecutionContext, Logger logger) {
         super(taskExecutionContext, logger);
         this.taskExecutionContext = taskExecutionContext;
+        this.httpClientPool = SpringApplicationContext.getBean(HttpClientPool.class);
     }
 
     @Override
@@ -106,8 +112,11 @@ public class HttpTask extends AbstractTask {
         String statusCode = null;
         String body = null;
 
-        try(CloseableHttpClient client = createHttpClient();
-            CloseableHttpResponse response = sendRequest(client)) {
+        boolean success = false;
+        httpClientPool.onRequest();
+        // the pooled client is shared, closing the response releases the connection to the pool
+        try (CloseableHttpResponse response = sendRequest(createHttpClient())) {
+            success = true;
             statusCode = String.valueOf(getStatusCode(response));
             body = getResponseBody(response);
             exitStatusCode = validResponse(body, statusCode);
@@ -119,7 +128,20 @@ public class HttpTask extends AbstractTask {
             exitStatusCode = -1;
             logger.error("httpUrl[" + httpParameters.getUrl() + "] connection failed："+output, e);
             throw e;
+        } finally {
+            httpClientPool.onResponse(success);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> handleAsync() throws Exception {
+        if (!httpClientPool.isAsyncEnable()) {
+            return super.handleAsync();
         }
+        return httpClientPool.submit(() -> {
+            handle();
+            return null;
+        });
     }
 
     /**
@@ -148,7 +170,7 @@ public class HttpTask extends AbstractTask {
         }
         addRequestParams(builder,httpPropertyList);
         String requestUrl = ParameterUtils.convertParameterPlaceholders(httpParameters.getUrl(),ParamUtils.convert(paramsMap));
-        HttpUriRequest request = builder.setUri(requestUrl).build();
+        HttpUriRequest request = builder.setUri(requestUrl).setConfig(requestConfig()).build();
         setHeaders(request,httpPropertyList);
         return client.execute(request);
     }
@@ -276,14 +298,11 @@ public class HttpTask extends AbstractTask {
     }
 
     /**
-     * create http client
+     * get the pooled http client, the timeouts are configured per request
      * @return CloseableHttpClient
      */
     protected CloseableHttpClient createHttpClient() {
-        final RequestConfig requestConfig = requestConfig();
-        HttpClientBuilder httpClientBuilder;
-        httpClientBuilder = HttpClients.custom().setDefaultRequestConfig(requestConfig);
-        return httpClientBuilder.build();
+        return httpClientPool.getHttpClient();
     }
 
     /**
@@ -291,7 +310,12 @@ public class HttpTask extends AbstractTask {
      * @return RequestConfig
      */
     private RequestConfig requestConfig() {
-        return RequestConfig.custom().setSocketTimeout(httpParameters.getSocketTimeout()).setConnectTimeout(httpParameters.getConnectTimeout()).build();
+        // the pooled connections are limited per host, waiting for a connection is bounded by the connect timeout
+        return RequestConfig.custom()
+                .setSocketTimeout(httpParameters.getSocketTimeout())
+                .setConnectTimeout(httpParameters.getConnectTimeout())
+                .setConnectionRequestTimeout(httpParameters.getConnectTimeout())
+                .build();
     }
 
     /**
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LogLineIndexTest {
+
+    private Path logFile;
+
+    @Before
+    public void before() throws IOException {
+        logFile = Files.createTempFile("log-line-index", ".log");
+    }
+
+    @After
+    public void after() throws IOException {
+        Files.deleteIfExists(logFile);
+    }
+
+    @Test
+    public void testReadLines() throws IOException {
+        append(0, 3500);
+        Files.write(logFile, "partial line".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        LogLineIndex index = new LogLineIndex(logFile);
+        assertPage(index, 0, 100);
+        assertPage(index, 999, 2);
+        assertPage(index, 1000, 1000);
+        assertPage(index, 2500, 1500);
+        assertPage(index, 3499, 10);
+        assertPage(index, 3500, 10);
+        assertPage(index, 4000, 10);
+        Assert.assertEquals(3500, index.getLineCount());
+        Assert.assertEquals(4, index.getOffsetCount());
+    }
+
+    @Test
+    public void testIncrementalIndex() throws IOException {
+        append(0, 1500);
+        LogLineIndex index = new LogLineIndex(logFile);
+        assertPage(index, 1400, 200);
+
+        append(1500, 1500);
+        assertPage(index, 1400, 200);
+        assertPage(index, 2990, 100);
+        Assert.assertEquals(3000, index.getLineCount());
+        Assert.assertEquals(4, index.getOffsetCount());
+    }
+
+    @Test
+    public void testTruncatedFile() throws IOException {
+        append(0, 2500);
+        LogLineIndex index = new LogLineIndex(logFile);
+        assertPage(index, 2000, 100);
+
+        Files.write(logFile, "new line\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.TRUNCATE_EXISTING);
+        assertPage(index, 0, 10);
+        Assert.assertEquals(1, index.getLineCount());
+        Assert.assertEquals(1, index.getOffsetCount());
+    }
+
+    @Test
+    public void testCarriageReturnLines() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1500; i++) {
+            builder.append("progress ").append(i).append(i % 3 == 0 ? "\r" : i % 3 == 1 ? "\r\n" : "\n");
+        }
+        // a carriage return at the end of the file may be the first half of "\r\n"
+        builder.append("last\r");
+        Files.write(logFile, builder.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        LogLineIndex index = new LogLineIndex(logFile);
+        assertPage(index, 0, 10);
+        assertPage(index, 995, 10);
+        assertPage(index, 1495, 10);
+        assertPage(index, 1500, 10);
+        assertPage(index, 1501, 10);
+        Assert.assertEquals(1500, index.getLineCount());
+        Assert.assertEquals(2, index.getOffsetCount());
+
+        Files.write(logFile, "\nnext\r\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        assertPage(index, 1498, 10);
+        assertPage(index, 1501, 10);
+        Assert.assertEquals(1502, index.getLineCount());
+    }
+
+    @Test
+    public void testCacheEviction() throws IOException {
+        append(0, 10);
+        File other = File.createTempFile("log-line-index", ".log");
+        try {
+            LogLineIndexCache cache = new LogLineIndexCache(1);
+            Assert.assertEquals(5, cache.readLines(logFile.toString(), 5, 100).size());
+            Assert.assertTrue(cache.readLines(other.getPath(), 0, 100).isEmpty());
+            Assert.assertEquals(1, cache.size());
+            cache.invalidate(other.getPath());
+            Assert.assertEquals(0, cache.size());
+        } finally {
+            Files.deleteIfExists(other.toPath());
+        }
+    }
+
+    private void append(int from, int count) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = from; i < from + count; i++) {
+            builder.append("[INFO] line ").append(i).append(" 日志\n");
+        }
+        Files.write(logFile, builder.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+    private void assertPage(LogLineIndex index, int skipLine, int limit) throws IOException {
+        List<String> expected;
+        try (Stream<String> stream = Files.lines(logFile)) {
+            expected = stream.skip(skipLine).limit(limit).collect(Collectors.toList());
+        }
+        Assert.assertEquals(expected, index.readLines(skipLine, limit));
+    }
+}
@@ -17,14 +17,22 @@
 
 package org.apache.dolphinscheduler.server.log;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.utils.FileUtils;
 import org.apache.dolphinscheduler.common.utils.StringUtils;
 import org.apache.dolphinscheduler.service.log.LogClientService;
+import org.apache.dolphinscheduler.service.log.LogFollowListener;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -70,6 +78,99 @@ public class LoggerServerTest {
         Assert.assertEquals(StringUtils.EMPTY, result);
     }
 
+    @Test
+    public void testStreamLogBytes() throws IOException {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            expected.append("line ").append(i).append(" of testStreamLogBytes\n");
+        }
+        FileUtils.writeStringToFile(new File("/tmp/stream.txt"), expected.toString(), StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        this.logClientService.streamLogBytes("localhost", Constants.RPC_PORT, "/tmp/stream.txt", outputStream);
+
+        Assert.assertEquals(expected.toString(), new String(outputStream.toByteArray(), StandardCharsets.UTF_8));
+        FileUtils.deleteFile("/tmp/stream.txt");
+    }
+
+    @Test
+    public void testStreamLogBytesNotExists() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        this.logClientService.streamLogBytes("localhost", Constants.RPC_PORT, "/tmp/stream-not-exists.txt", outputStream);
+        Assert.assertEquals(0, outputStream.size());
+    }
+
+    @Test
+    public void testFollowLog() throws Exception {
+        File file = new File("/tmp/follow.txt");
+        FileUtils.writeStringToFile(file, "first line\n", StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        CountDownLatch closed = new CountDownLatch(1);
+        this.logClientService.followLog("localhost", Constants.RPC_PORT, "/tmp/follow.txt", 0, new LogFollowListener() {
+            @Override
+            public void onLog(byte[] bytes) {
+                synchronized (received) {
+                    received.write(bytes, 0, bytes.length);
+                }
+            }
+
+            @Override
+            public void onClose(boolean success, String msg) {
+                closed.countDown();
+            }
+        });
+        Files.write(file.toPath(), "second line\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        String expected = "first line\nsecond line\n";
+        long deadline = System.currentTimeMillis() + 10000;
+        String actual;
+        do {
+            Thread.sleep(100);
+            synchronized (received) {
+                actual = new String(received.toByteArray(), StandardCharsets.UTF_8);
+            }
+        } while (!expected.equals(actual) && System.currentTimeMillis() < deadline);
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(1, this.logClientService.getLogFollowCount());
+
+        FileUtils.deleteFile("/tmp/follow.txt");
+        Assert.assertTrue(closed.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(0, this.logClientService.getLogFollowCount());
+    }
+
+    @Test
+    public void testFollowLogStalledListener() throws Exception {
+        File file = new File("/tmp/follow-stalled.txt");
+        FileUtils.writeStringToFile(file, "first line\n", StandardCharsets.UTF_8);
+
+        CountDownLatch interrupted = new CountDownLatch(1);
+        this.logClientService.followLog("localhost", Constants.RPC_PORT, "/tmp/follow-stalled.txt", 0, new LogFollowListener() {
+            @Override
+            public void onLog(byte[] bytes) throws IOException {
+                try {
+                    Thread.sleep(60000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw new InterruptedIOException();
+                }
+            }
+
+            @Override
+            public void onClose(boolean success, String msg) {
+            }
+        });
+
+        // the stalled listener is dropped and its delivering thread is released
+        Assert.assertTrue(interrupted.await(30, TimeUnit.SECONDS));
+        long deadline = System.currentTimeMillis() + 10000;
+        while (this.logClientService.getLogFollowCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        Assert.assertEquals(0, this.logClientService.getLogFollowCount());
+        FileUtils.deleteFile("/tmp/follow-stalled.txt");
+    }
+
     @After
     public void stopServerAndClient() {
         this.loggerServer.stop();
@@ -36,8 +36,10 @@ import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
 import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
 import org.apache.dolphinscheduler.dao.entity.Schedule;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
 import org.apache.dolphinscheduler.server.master.config.MasterConfig;
 import org.apache.dolphinscheduler.server.master.runner.MasterExecThread;
+import org.apache.dolphinscheduler.server.master.runner.TaskStateEvent;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
 import java.lang.reflect.Field;
@@ -48,6 +50,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -101,7 +104,8 @@ public class MasterExecThreadTest {
         processDefinition.setGlobalParamList(Collections.EMPTY_LIST);
         Mockito.when(processInstance.getProcessDefinition()).thenReturn(processDefinition);
 
-        masterExecThread = PowerMockito.spy(new MasterExecThread(processInstance, processService, null, null, config));
+        masterExecThread = PowerMockito.spy(new MasterExecThread(processInstance, processService, null, null, config,
+                mock(ProcessInstanceExecCacheManager.class)));
         // prepareProcess init dag
         Field dag = MasterExecThread.class.getDeclaredField("dag");
         dag.setAccessible(true);
@@ -180,6 +184,21 @@ public class MasterExecThreadTest {
         }
     }
 
+    @Test
+    public void testWaitTaskStateEvents() {
+        try {
+            masterExecThread.addTaskStateEvent(new TaskStateEvent(1, ExecutionStatus.SUCCESS));
+            masterExecThread.addTaskStateEvent(new TaskStateEvent(2, ExecutionStatus.RUNNING_EXECUTION));
+            masterExecThread.addTaskStateEvent(new TaskStateEvent(3, null));
+            Method method = MasterExecThread.class.getDeclaredMethod("waitTaskStateEvents");
+            method.setAccessible(true);
+            Set<Integer> finishedTaskIds = (Set<Integer>) method.invoke(masterExecThread);
+            Assert.assertEquals(Collections.singleton(1), finishedTaskIds);
+        } catch (Exception e) {
+            Assert.fail();
+        }
+    }
+
     @Test
     public void testGetStartTaskInstanceList() {
         try {
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.cache.impl;
+
+import org.apache.dolphinscheduler.dao.entity.DataSource;
+import org.apache.dolphinscheduler.dao.entity.ProcessDefinition;
+import org.apache.dolphinscheduler.dao.entity.Resource;
+import org.apache.dolphinscheduler.dao.entity.TaskDefinition;
+import org.apache.dolphinscheduler.dao.entity.Tenant;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TaskDispatchCacheManagerImplTest {
+
+    @InjectMocks
+    private TaskDispatchCacheManagerImpl taskDispatchCacheManager;
+
+    @Mock
+    private ProcessService processService;
+
+    @Mock
+    private MasterConfig masterConfig;
+
+    @Before
+    public void before() {
+        Mockito.when(masterConfig.getMasterDispatchCacheExpireSeconds()).thenReturn(60);
+        Mockito.when(masterConfig.getMasterDispatchCacheMaxSize()).thenReturn(1);
+        taskDispatchCacheManager.init();
+    }
+
+    @Test
+    public void testGetTenantForProcess() {
+        Tenant tenant = new Tenant();
+        tenant.setTenantCode("tenant");
+        Mockito.when(processService.getTenantForProcess(1, 2)).thenReturn(tenant);
+
+        Assert.assertSame(tenant, taskDispatchCacheManager.getTenantForProcess(1, 2));
+        Assert.assertSame(tenant, taskDispatchCacheManager.getTenantForProcess(1, 2));
+        Mockito.verify(processService, Mockito.times(1)).getTenantForProcess(1, 2);
+    }
+
+    @Test
+    public void testGetDefinitionByVersion() {
+        ProcessDefinition processDefinition = new ProcessDefinition();
+        TaskDefinition taskDefinition = new TaskDefinition();
+        Mockito.when(processService.findProcessDefinition(1L, 2)).thenReturn(processDefinition);
+        Mockito.when(processService.findTaskDefinition(3L, 4)).thenReturn(taskDefinition);
+
+        Assert.assertSame(processDefinition, taskDispatchCacheManager.getProcessDefinition(1L, 2));
+        Assert.assertSame(processDefinition, taskDispatchCacheManager.getProcessDefinition(1L, 2));
+        Assert.assertSame(taskDefinition, taskDispatchCacheManager.getTaskDefinition(3L, 4));
+        Assert.assertSame(taskDefinition, taskDispatchCacheManager.getTaskDefinition(3L, 4));
+        Assert.assertNull(taskDispatchCacheManager.getTaskDefinition(3L, 5));
+        Mockito.verify(processService, Mockito.times(1)).findProcessDefinition(1L, 2);
+        Mockito.verify(processService, Mockito.times(1)).findTaskDefinition(3L, 4);
+    }
+
+    @Test
+    public void testNullNotCached() {
+        Assert.assertNull(taskDispatchCacheManager.getDataSource(1));
+        Assert.assertNull(taskDispatchCacheManager.getDataSource(1));
+        Mockito.verify(processService, Mockito.times(2)).findDataSourceById(1);
+    }
+
+    @Test
+    public void testMaxSize() {
+        DataSource dataSource = new DataSource();
+        Mockito.when(processService.findDataSourceById(Mockito.anyInt())).thenReturn(dataSource);
+
+        taskDispatchCacheManager.getDataSource(1);
+        taskDispatchCacheManager.getDataSource(2);
+        taskDispatchCacheManager.getDataSource(1);
+
+        Mockito.verify(processService, Mockito.times(2)).findDataSourceById(1);
+    }
+
+    @Test
+    public void testListResourceByIds() {
+        Resource resource1 = new Resource();
+        resource1.setId(1);
+        Resource resource2 = new Resource();
+        resource2.setId(2);
+        Mockito.when(processService.listResourceByIds(new Integer[]{1})).thenReturn(Collections.singletonList(resource1));
+        Mockito.when(processService.listResourceByIds(new Integer[]{2})).thenReturn(Collections.singletonList(resource2));
+
+        taskDispatchCacheManager.listResourceByIds(new Integer[]{1});
+        List<Resource> resources = taskDispatchCacheManager.listResourceByIds(new Integer[]{1, 2});
+
+        Assert.assertEquals(Arrays.asList(resource1, resource2), resources);
+        Mockito.verify(processService, Mockito.times(1)).listResourceByIds(new Integer[]{1});
+        Mockito.verify(processService, Mockito.times(1)).listResourceByIds(new Integer[]{2});
+    }
+}
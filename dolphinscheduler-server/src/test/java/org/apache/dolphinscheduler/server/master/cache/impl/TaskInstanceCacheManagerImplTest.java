@@ -25,6 +25,7 @@ import org.apache.dolphinscheduler.dao.entity.TaskInstance;
 import org.apache.dolphinscheduler.remote.command.TaskExecuteAckCommand;
 import org.apache.dolphinscheduler.remote.command.TaskExecuteResponseCommand;
 import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
+import org.apache.dolphinscheduler.server.master.future.TaskCompletionRegistry;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
 import java.util.Calendar;
@@ -49,6 +50,9 @@ public class TaskInstanceCacheManagerImplTest {
     @Mock(name = "processService")
     private ProcessService processService;
 
+    @Mock
+    private TaskCompletionRegistry taskCompletionRegistry;
+
     @Before
     public void before() {
 
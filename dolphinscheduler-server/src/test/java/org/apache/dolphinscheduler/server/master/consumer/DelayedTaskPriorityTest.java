@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.consumer;
+
+import org.apache.dolphinscheduler.service.queue.TaskPriority;
+
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DelayedTaskPriorityTest {
+
+    @Test
+    public void testDelayQueue() throws InterruptedException {
+        DelayQueue<DelayedTaskPriority> retryQueue = new DelayQueue<>();
+        TaskPriority later = new TaskPriority(0, 1, 0, 1, "default");
+        TaskPriority sooner = new TaskPriority(0, 1, 0, 2, "default");
+        retryQueue.put(new DelayedTaskPriority(later, 60000));
+        retryQueue.put(new DelayedTaskPriority(sooner, 10));
+
+        Assert.assertNull(retryQueue.poll());
+        DelayedTaskPriority expired = retryQueue.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull(expired);
+        Assert.assertEquals(sooner, expired.getTaskPriority());
+        Assert.assertNull(retryQueue.poll());
+    }
+
+    @Test
+    public void testDispatchRetryDelay() {
+        Assert.assertEquals(1000L, TaskPriorityQueueConsumer.getDispatchRetryDelayMillis(1));
+        Assert.assertEquals(3000L, TaskPriorityQueueConsumer.getDispatchRetryDelayMillis(3));
+        Assert.assertEquals(10000L, TaskPriorityQueueConsumer.getDispatchRetryDelayMillis(100));
+    }
+}
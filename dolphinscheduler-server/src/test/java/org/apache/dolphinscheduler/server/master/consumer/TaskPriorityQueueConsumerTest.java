@@ -109,7 +109,9 @@ public class TaskPriorityQueueConsumerTest {
         processDefinition.setProjectId(1);
         taskInstance.setProcessDefine(processDefinition);
 
-        Mockito.doReturn(taskInstance).when(processService).getTaskInstanceDetailByTaskId(1);
+        Mockito.doReturn(taskInstance).when(processService).findTaskInstanceById(1);
+        Mockito.doReturn(processInstance).when(processService).findProcessInstanceDetailById(1);
+        Mockito.doReturn(processDefinition).when(processService).findProcessDefinition(Mockito.any(), Mockito.anyInt());
         TaskPriority taskPriority = new TaskPriority(2, 1, 2, 1, "default");
         taskPriorityQueue.put(taskPriority);
 
@@ -138,7 +140,9 @@ public class TaskPriorityQueueConsumerTest {
         processDefinition.setUserId(2);
         processDefinition.setProjectId(1);
         taskInstance.setProcessDefine(processDefinition);
-        Mockito.doReturn(taskInstance).when(processService).getTaskInstanceDetailByTaskId(1);
+        Mockito.doReturn(taskInstance).when(processService).findTaskInstanceById(1);
+        Mockito.doReturn(processInstance).when(processService).findProcessInstanceDetailById(1);
+        Mockito.doReturn(processDefinition).when(processService).findProcessDefinition(Mockito.any(), Mockito.anyInt());
         TaskPriority taskPriority = new TaskPriority(2, 1, 2, 1, "default");
         taskPriorityQueue.put(taskPriority);
 
@@ -181,7 +185,9 @@ public class TaskPriorityQueueConsumerTest {
         processDefinition.setUserId(2);
         processDefinition.setProjectId(1);
         taskInstance.setProcessDefine(processDefinition);
-        Mockito.doReturn(taskInstance).when(processService).getTaskInstanceDetailByTaskId(1);
+        Mockito.doReturn(taskInstance).when(processService).findTaskInstanceById(1);
+        Mockito.doReturn(processInstance).when(processService).findProcessInstanceDetailById(1);
+        Mockito.doReturn(processDefinition).when(processService).findProcessDefinition(Mockito.any(), Mockito.anyInt());
         TaskPriority taskPriority = new TaskPriority(2, 1, 2, 1, "default");
         taskPriorityQueue.put(taskPriority);
 
@@ -222,7 +228,9 @@ public class TaskPriorityQueueConsumerTest {
         processDefinition.setUserId(2);
         processDefinition.setProjectId(1);
         taskInstance.setProcessDefine(processDefinition);
-        Mockito.doReturn(taskInstance).when(processService).getTaskInstanceDetailByTaskId(1);
+        Mockito.doReturn(taskInstance).when(processService).findTaskInstanceById(1);
+        Mockito.doReturn(processInstance).when(processService).findProcessInstanceDetailById(1);
+        Mockito.doReturn(processDefinition).when(processService).findProcessDefinition(Mockito.any(), Mockito.anyInt());
         TaskPriority taskPriority = new TaskPriority(2, 1, 2, 1, "default");
         taskPriorityQueue.put(taskPriority);
 
@@ -243,23 +251,6 @@ public class TaskPriorityQueueConsumerTest {
         Assert.assertNotNull(taskInstance);
     }
 
-    @Test
-    public void testTaskInstanceIsFinalState() {
-        TaskInstance taskInstance = new TaskInstance();
-        taskInstance.setId(1);
-        taskInstance.setTaskType(TaskType.SHELL.getDesc());
-        taskInstance.setProcessInstanceId(1);
-        taskInstance.setState(ExecutionStatus.KILL);
-        taskInstance.setProcessInstancePriority(Priority.MEDIUM);
-        taskInstance.setWorkerGroup("default");
-        taskInstance.setExecutorId(2);
-
-        Mockito.doReturn(taskInstance).when(processService).findTaskInstanceById(1);
-
-        Boolean state = taskPriorityQueueConsumer.taskInstanceIsFinalState(1);
-        Assert.assertNotNull(state);
-    }
-
     @Test
     public void testNotFoundWorkerGroup() throws Exception {
         TaskInstance taskInstance = new TaskInstance();
@@ -283,8 +274,9 @@ public class TaskPriorityQueueConsumerTest {
         processDefinition.setProjectId(1);
         taskInstance.setProcessDefine(processDefinition);
 
-        Mockito.doReturn(taskInstance).when(processService).getTaskInstanceDetailByTaskId(1);
         Mockito.doReturn(taskInstance).when(processService).findTaskInstanceById(1);
+        Mockito.doReturn(processInstance).when(processService).findProcessInstanceDetailById(1);
+        Mockito.doReturn(processDefinition).when(processService).findProcessDefinition(Mockito.any(), Mockito.anyInt());
 
         TaskPriority taskPriority = new TaskPriority(2, 1, 2, 1, "NoWorkGroup");
         taskPriorityQueue.put(taskPriority);
@@ -322,8 +314,10 @@ public class TaskPriorityQueueConsumerTest {
         taskDefinition.setTimeoutFlag(TimeoutFlag.OPEN);
         taskInstance.setTaskDefine(taskDefinition);
 
-        Mockito.doReturn(taskInstance).when(processService).getTaskInstanceDetailByTaskId(1);
         Mockito.doReturn(taskInstance).when(processService).findTaskInstanceById(1);
+        Mockito.doReturn(processInstance).when(processService).findProcessInstanceDetailById(1);
+        Mockito.doReturn(processDefinition).when(processService).findProcessDefinition(Mockito.any(), Mockito.anyInt());
+        Mockito.doReturn(taskDefinition).when(processService).findTaskDefinition(Mockito.anyLong(), Mockito.anyInt());
 
         TaskPriority taskPriority = new TaskPriority();
         taskPriority.setTaskId(1);
@@ -360,8 +354,10 @@ public class TaskPriorityQueueConsumerTest {
         taskDefinition.setTimeoutFlag(TimeoutFlag.OPEN);
         taskInstance.setTaskDefine(taskDefinition);
 
-        Mockito.doReturn(taskInstance).when(processService).getTaskInstanceDetailByTaskId(1);
         Mockito.doReturn(taskInstance).when(processService).findTaskInstanceById(1);
+        Mockito.doReturn(processInstance).when(processService).findProcessInstanceDetailById(1);
+        Mockito.doReturn(processDefinition).when(processService).findProcessDefinition(Mockito.any(), Mockito.anyInt());
+        Mockito.doReturn(taskDefinition).when(processService).findTaskDefinition(Mockito.anyLong(), Mockito.anyInt());
 
         TaskExecutionContext taskExecutionContext = taskPriorityQueueConsumer.getTaskExecutionContext(1);
 
@@ -462,8 +458,9 @@ public class TaskPriorityQueueConsumerTest {
         processDefinition.setProjectId(1);
         taskInstance.setProcessDefine(processDefinition);
 
-        Mockito.doReturn(taskInstance).when(processService).getTaskInstanceDetailByTaskId(1);
         Mockito.doReturn(taskInstance).when(processService).findTaskInstanceById(1);
+        Mockito.doReturn(processInstance).when(processService).findProcessInstanceDetailById(1);
+        Mockito.doReturn(processDefinition).when(processService).findProcessDefinition(Mockito.any(), Mockito.anyInt());
 
         TaskPriority taskPriority = new TaskPriority(2, 1, 2, 1, "NoWorkGroup");
         taskPriorityQueue.put(taskPriority);
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.consumer;
+
+import org.apache.dolphinscheduler.service.queue.TaskPriority;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WorkerGroupDispatchQueueTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(1);
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testDispatchInOrder() throws InterruptedException {
+        int count = WorkerGroupDispatchQueue.MAX_DISPATCH_PER_DRAIN * 3;
+        List<Integer> dispatched = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(count);
+        WorkerGroupDispatchQueue queue = new WorkerGroupDispatchQueue("default", count, executor, taskPriority -> {
+            dispatched.add(taskPriority.getTaskId());
+            latch.countDown();
+        });
+        for (int i = 0; i < count; i++) {
+            Assert.assertTrue(queue.offer(new TaskPriority(0, 1, 0, i, "default")));
+        }
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(i, (int) dispatched.get(i));
+        }
+    }
+
+    @Test
+    public void testSlowGroupNotBlockOtherGroup() throws InterruptedException {
+        Semaphore permits = new Semaphore(0);
+        AtomicInteger slowDispatched = new AtomicInteger();
+        WorkerGroupDispatchQueue slowQueue = new WorkerGroupDispatchQueue("slow", 100, executor, taskPriority -> {
+            permits.acquireUninterruptibly();
+            slowDispatched.incrementAndGet();
+        });
+        CountDownLatch dispatched = new CountDownLatch(1);
+        WorkerGroupDispatchQueue queue = new WorkerGroupDispatchQueue("default", 1, executor, taskPriority -> dispatched.countDown());
+        try {
+            for (int i = 0; i <= WorkerGroupDispatchQueue.MAX_DISPATCH_PER_DRAIN; i++) {
+                Assert.assertTrue(slowQueue.offer(new TaskPriority(0, 1, 0, i, "slow")));
+            }
+            Assert.assertTrue(queue.offer(new TaskPriority(0, 1, 0, 100, "default")));
+            Assert.assertTrue(queue.isFull());
+            Assert.assertFalse(queue.offer(new TaskPriority(0, 1, 0, 101, "default")));
+            Assert.assertFalse(dispatched.await(100, TimeUnit.MILLISECONDS));
+
+            // the only dispatch thread is given to the other worker group after a drain of the slow worker group
+            permits.release(WorkerGroupDispatchQueue.MAX_DISPATCH_PER_DRAIN);
+            Assert.assertTrue(dispatched.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals(WorkerGroupDispatchQueue.MAX_DISPATCH_PER_DRAIN, slowDispatched.get());
+        } finally {
+            permits.release(100);
+        }
+    }
+}
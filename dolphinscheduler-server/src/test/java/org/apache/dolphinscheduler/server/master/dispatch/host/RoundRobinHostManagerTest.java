@@ -62,4 +62,16 @@ public class RoundRobinHostManagerTest {
         Assert.assertTrue(StringUtils.isNotEmpty(host.getAddress()));
         Assert.assertTrue(host.getAddress().equalsIgnoreCase("192.168.1.1:22"));
     }
+
+    @Test
+    public void testSelectSkipBusyHost() {
+        Mockito.when(serverNodeManager.getWorkerGroupNodes("default")).thenReturn(Sets.newHashSet("192.168.1.1:22", "192.168.1.2:22"));
+        ExecutionContext context = ExecutionContextTestUtils.getExecutionContext(10000);
+        roundRobinHostManager.markBusy(Host.of("192.168.1.1:22"));
+        for (int i = 0; i < 4; i++) {
+            Assert.assertEquals("192.168.1.2:22", roundRobinHostManager.select(context).getAddress());
+        }
+        roundRobinHostManager.markBusy(Host.of("192.168.1.2:22"));
+        Assert.assertTrue(StringUtils.isEmpty(roundRobinHostManager.select(context).getAddress()));
+    }
 }
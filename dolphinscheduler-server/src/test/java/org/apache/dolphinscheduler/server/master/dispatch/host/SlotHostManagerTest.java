@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.host;
+
+import org.apache.dolphinscheduler.common.utils.HeartBeat;
+import org.apache.dolphinscheduler.common.utils.StringUtils;
+import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.server.master.dispatch.context.ExecutionContext;
+import org.apache.dolphinscheduler.server.master.registry.ServerNodeManager;
+import org.apache.dolphinscheduler.server.utils.ExecutionContextTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import com.google.common.collect.Sets;
+
+/**
+ * slot host manager test
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SlotHostManagerTest {
+
+    @Mock
+    private ServerNodeManager serverNodeManager;
+
+    @InjectMocks
+    private SlotHostManager slotHostManager;
+
+    @Before
+    public void before() {
+        Map<String, Set<String>> workerGroupNodes = new HashMap<>();
+        workerGroupNodes.put("default", Sets.newHashSet("192.168.1.1:1234", "192.168.1.2:1234"));
+        Mockito.when(serverNodeManager.getWorkerGroupNodes()).thenReturn(workerGroupNodes);
+        // 2 slots and 2 cores with half cpu used, 2G memory above the reserved memory
+        Mockito.when(serverNodeManager.getWorkerNodeInfo("192.168.1.1:1234")).thenReturn(heartbeat(0, 0, 2, 2, 2.3));
+        // 4 slots and 4 cores with half cpu used, 1G memory above the reserved memory
+        Mockito.when(serverNodeManager.getWorkerNodeInfo("192.168.1.2:1234")).thenReturn(heartbeat(1, 0, 4, 4, 1.3));
+        slotHostManager.init();
+    }
+
+    @After
+    public void after() {
+        slotHostManager.close();
+    }
+
+    @Test
+    public void testSelect() {
+        slotHostManager.refresh();
+        ExecutionContext context = ExecutionContextTestUtils.getExecutionContext(10000);
+        Map<String, Integer> assignments = new HashMap<>();
+        Host host;
+        while (StringUtils.isNotEmpty((host = slotHostManager.select(context)).getAddress())) {
+            assignments.merge(host.getAddress(), 1, Integer::sum);
+        }
+        Assert.assertEquals(2, (int) assignments.get("192.168.1.1:1234"));
+        Assert.assertEquals(3, (int) assignments.get("192.168.1.2:1234"));
+    }
+
+    @Test
+    public void testSelectWithResource() {
+        slotHostManager.refresh();
+        ExecutionContext context = ExecutionContextTestUtils.getExecutionContext(10000);
+        context.setMemoryMax(1500);
+        Assert.assertEquals("192.168.1.1:1234", slotHostManager.select(context).getAddress());
+        Assert.assertTrue(StringUtils.isEmpty(slotHostManager.select(context).getAddress()));
+        context.setMemoryMax(0);
+        context.setCpuQuota(150);
+        Assert.assertEquals("192.168.1.2:1234", slotHostManager.select(context).getAddress());
+        Assert.assertTrue(StringUtils.isEmpty(slotHostManager.select(context).getAddress()));
+    }
+
+    @Test
+    public void testSelectSkipBusyHost() {
+        slotHostManager.refresh();
+        ExecutionContext context = ExecutionContextTestUtils.getExecutionContext(10000);
+        slotHostManager.markBusy(Host.of("192.168.1.2:1234"));
+        Assert.assertEquals("192.168.1.1:1234", slotHostManager.select(context).getAddress());
+        Assert.assertEquals("192.168.1.1:1234", slotHostManager.select(context).getAddress());
+        Assert.assertTrue(StringUtils.isEmpty(slotHostManager.select(context).getAddress()));
+    }
+
+    private String heartbeat(int queued, int running, int slots, int cores, double availablePhysicalMemorySize) {
+        HeartBeat heartBeat = new HeartBeat();
+        heartBeat.setStartupTime(System.currentTimeMillis());
+        heartBeat.setReportTime(heartBeat.getStartupTime());
+        heartBeat.setCpuUsage(0.5);
+        heartBeat.setMemoryUsage(0.5);
+        heartBeat.setLoadAverage(1.0);
+        heartBeat.setAvailablePhysicalMemorySize(availablePhysicalMemorySize);
+        heartBeat.setMaxCpuloadAvg(10.0);
+        heartBeat.setReservedMemory(0.3);
+        heartBeat.setDiskAvailable(-1);
+        heartBeat.setProcessId(1);
+        heartBeat.setWorkerHostWeight(100);
+        heartBeat.setWorkerQueuedTaskCount(queued);
+        heartBeat.setWorkerRunningTaskCount(running);
+        heartBeat.setWorkerExecThreadCount(slots);
+        heartBeat.setCpuCores(cores);
+        return heartBeat.encodeHeartBeat();
+    }
+}
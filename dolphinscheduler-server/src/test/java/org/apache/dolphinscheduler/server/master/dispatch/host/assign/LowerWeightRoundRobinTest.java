@@ -69,4 +69,19 @@ public class LowerWeightRoundRobinTest {
         result = roundRobin.select(sources);
         Assert.assertEquals("192.158.2.1", result.getHost().getIp());
     }
+
+    @Test
+    public void testTaskCountSelect() {
+        long startTime = System.currentTimeMillis() - 60 * 20 * 1000;
+        Collection<HostWeight> sources = new ArrayList<>();
+        sources.add(new HostWeight(HostWorker.of("192.158.2.1:11", 100, "default"), 0.06, 0.44, 3.84, startTime, 4, 10));
+        sources.add(new HostWeight(HostWorker.of("192.158.2.2:22", 100, "default"), 0.06, 0.44, 3.84, startTime, 0, 10));
+        sources.add(new HostWeight(HostWorker.of("192.158.2.3:33", 100, "default"), 0.06, 0.44, 3.84, startTime, 0, 2));
+
+        LowerWeightRoundRobin roundRobin = new LowerWeightRoundRobin();
+        HostWeight result;
+        result = roundRobin.select(sources);
+        Assert.assertEquals("192.158.2.3", result.getHost().getIp());
+        Assert.assertTrue(sources.stream().allMatch(hostWeight -> hostWeight.getWeight() >= result.getWeight()));
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.dispatch.host.assign;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * slot selector test
+ */
+public class SlotSelectorTest {
+
+    @Test
+    public void testSelect() {
+        HostSlot hostSlot1 = new HostSlot(HostWorker.of("192.168.1.1:1234", 100, "default"));
+        hostSlot1.update(4, 2, 400, 8192, 1000L);
+        HostSlot hostSlot2 = new HostSlot(HostWorker.of("192.168.1.2:1234", 100, "default"));
+        hostSlot2.update(8, 2, 800, 4096, 1000L);
+        List<HostSlot> hostSlots = Arrays.asList(hostSlot1, hostSlot2);
+
+        SlotSelector selector = new SlotSelector();
+        Assert.assertSame(hostSlot2, selector.select(hostSlots));
+        // only the first worker has enough memory
+        Assert.assertSame(hostSlot1, selector.select(hostSlots, 100, 6000));
+        Assert.assertNull(selector.select(hostSlots, 1000, 0));
+    }
+
+    @Test
+    public void testAssign() {
+        HostSlot hostSlot1 = new HostSlot(HostWorker.of("192.168.1.1:1234", 100, "default"));
+        hostSlot1.update(4, 0, 400, 8192, 1000L);
+        HostSlot hostSlot2 = new HostSlot(HostWorker.of("192.168.1.2:1234", 100, "default"));
+        hostSlot2.update(4, 0, 400, 8192, 1000L);
+        List<HostSlot> hostSlots = Arrays.asList(hostSlot1, hostSlot2);
+
+        // a burst is spread by the assignments before the next heartbeat
+        SlotSelector selector = new SlotSelector();
+        for (int i = 0; i < 8; i++) {
+            selector.select(hostSlots).assign(100, 1024, 2000L);
+        }
+        Assert.assertEquals(0, hostSlot1.getFreeSlotCount());
+        Assert.assertEquals(0, hostSlot2.getFreeSlotCount());
+        Assert.assertEquals(0, hostSlot1.getFreeCpuQuota());
+        Assert.assertEquals(4096, hostSlot1.getFreeMemory());
+        Assert.assertNull(selector.select(hostSlots));
+
+        // the heartbeat before the assignments does not cover them
+        hostSlot1.update(4, 1, 300, 7168, 1500L);
+        Assert.assertEquals(4, hostSlot1.getAssignmentCount());
+        // the heartbeat after the assignments covers them
+        hostSlot1.update(4, 4, 0, 4096, 3000L);
+        Assert.assertEquals(0, hostSlot1.getAssignmentCount());
+        Assert.assertEquals(0, hostSlot1.getFreeSlotCount());
+        hostSlot1.update(4, 1, 300, 7168, 4000L);
+        Assert.assertSame(hostSlot1, selector.select(hostSlots));
+
+        // the assignments not covered by heartbeats expire
+        hostSlot2.assign(0, 0, 2000L + HostSlot.ASSIGNMENT_TIMEOUT_MILLIS + 1);
+        Assert.assertEquals(1, hostSlot2.getAssignmentCount());
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.future;
+
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TaskCompletionRegistryTest {
+
+    private final TaskCompletionRegistry taskCompletionRegistry = new TaskCompletionRegistry();
+
+    @After
+    public void after() {
+        taskCompletionRegistry.close();
+    }
+
+    @Test
+    public void testComplete() {
+        CompletableFuture<ExecutionStatus> future = taskCompletionRegistry.register(1);
+        Assert.assertSame(future, taskCompletionRegistry.register(1));
+        Assert.assertEquals(1, taskCompletionRegistry.size());
+
+        Assert.assertFalse(taskCompletionRegistry.complete(2, ExecutionStatus.SUCCESS));
+        Assert.assertTrue(taskCompletionRegistry.complete(1, ExecutionStatus.SUCCESS));
+        Assert.assertEquals(ExecutionStatus.SUCCESS, future.join());
+        Assert.assertEquals(0, taskCompletionRegistry.size());
+    }
+
+    @Test
+    public void testCancel() {
+        CompletableFuture<ExecutionStatus> future = taskCompletionRegistry.register(1);
+        Assert.assertFalse(taskCompletionRegistry.cancel(1, new CompletableFuture<>()));
+        Assert.assertTrue(taskCompletionRegistry.cancel(1, future));
+        Assert.assertTrue(future.isCancelled());
+        Assert.assertEquals(0, taskCompletionRegistry.size());
+        Assert.assertFalse(taskCompletionRegistry.complete(1, ExecutionStatus.SUCCESS));
+    }
+
+    @Test
+    public void testNewTimeout() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<String> threadName = new AtomicReference<>();
+        taskCompletionRegistry.newTimeout(() -> {
+            threadName.set(Thread.currentThread().getName());
+            latch.countDown();
+        }, 10, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(threadName.get().startsWith("TaskTimeoutCheck"));
+    }
+}
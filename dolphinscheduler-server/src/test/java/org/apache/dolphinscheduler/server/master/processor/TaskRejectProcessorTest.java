@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.master.processor;
+
+import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
+import org.apache.dolphinscheduler.common.enums.Priority;
+import org.apache.dolphinscheduler.dao.entity.ProcessInstance;
+import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.TaskExecuteRejectCommand;
+import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.server.master.dispatch.host.HostManager;
+import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
+import org.apache.dolphinscheduler.service.process.ProcessService;
+import org.apache.dolphinscheduler.service.queue.TaskPriority;
+import org.apache.dolphinscheduler.service.queue.TaskPriorityQueue;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import io.netty.channel.Channel;
+
+/**
+ *  task reject processor test
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({SpringApplicationContext.class})
+public class TaskRejectProcessorTest {
+
+    private HostManager hostManager;
+    private ProcessService processService;
+    private TaskPriorityQueue<TaskPriority> taskPriorityQueue;
+    private TaskRejectProcessor taskRejectProcessor;
+    private TaskInstance taskInstance;
+    private Channel channel;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void before() {
+        PowerMockito.mockStatic(SpringApplicationContext.class);
+
+        hostManager = PowerMockito.mock(HostManager.class);
+        PowerMockito.when(SpringApplicationContext.getBean(HostManager.class)).thenReturn(hostManager);
+
+        processService = PowerMockito.mock(ProcessService.class);
+        PowerMockito.when(SpringApplicationContext.getBean(ProcessService.class)).thenReturn(processService);
+
+        taskPriorityQueue = PowerMockito.mock(TaskPriorityQueue.class);
+        PowerMockito.when(SpringApplicationContext.getBean(TaskPriorityQueue.class)).thenReturn(taskPriorityQueue);
+
+        taskRejectProcessor = new TaskRejectProcessor();
+        channel = PowerMockito.mock(Channel.class);
+
+        ProcessInstance processInstance = new ProcessInstance();
+        processInstance.setId(1);
+        processInstance.setProcessInstancePriority(Priority.MEDIUM);
+        taskInstance = new TaskInstance();
+        taskInstance.setId(2);
+        taskInstance.setProcessInstancePriority(Priority.HIGH);
+        taskInstance.setProcessInstance(processInstance);
+        taskInstance.setWorkerGroup("default");
+        PowerMockito.when(processService.getTaskInstanceDetailByTaskId(2)).thenReturn(taskInstance);
+    }
+
+    @Test
+    public void testProcess() throws Exception {
+        taskInstance.setState(ExecutionStatus.SUBMITTED_SUCCESS);
+        Command command = new TaskExecuteRejectCommand(2, "192.168.1.1:1234", 200, 100).convert2Command();
+        taskRejectProcessor.process(channel, command);
+
+        ArgumentCaptor<Host> host = ArgumentCaptor.forClass(Host.class);
+        Mockito.verify(hostManager).markBusy(host.capture());
+        Assert.assertEquals("192.168.1.1:1234", host.getValue().getAddress());
+        ArgumentCaptor<TaskPriority> taskPriority = ArgumentCaptor.forClass(TaskPriority.class);
+        Mockito.verify(taskPriorityQueue).put(taskPriority.capture());
+        Assert.assertEquals(2, taskPriority.getValue().getTaskId());
+        Assert.assertEquals(1, taskPriority.getValue().getProcessInstanceId());
+        Assert.assertEquals("default", taskPriority.getValue().getGroupName());
+    }
+
+    @Test
+    public void testProcessWithWorkerGroup() throws Exception {
+        taskInstance.setState(ExecutionStatus.SUBMITTED_SUCCESS);
+        taskInstance.setWorkerGroup("spark");
+        Command command = new TaskExecuteRejectCommand(2, "192.168.1.1:1234", 200, 100).convert2Command();
+        taskRejectProcessor.process(channel, command);
+
+        ArgumentCaptor<TaskPriority> taskPriority = ArgumentCaptor.forClass(TaskPriority.class);
+        Mockito.verify(taskPriorityQueue).put(taskPriority.capture());
+        Assert.assertEquals(2, taskPriority.getValue().getTaskId());
+        Assert.assertEquals("spark", taskPriority.getValue().getGroupName());
+    }
+
+    @Test
+    public void testProcessFinishedTask() throws Exception {
+        taskInstance.setState(ExecutionStatus.KILL);
+        Command command = new TaskExecuteRejectCommand(2, "192.168.1.1:1234", 200, 100).convert2Command();
+        taskRejectProcessor.process(channel, command);
+
+        Mockito.verify(hostManager).markBusy(Mockito.any(Host.class));
+        Mockito.verify(taskPriorityQueue, Mockito.never()).put(Mockito.any());
+    }
+}
@@ -19,11 +19,17 @@ package org.apache.dolphinscheduler.server.master.processor.queue;
 
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
 import org.apache.dolphinscheduler.dao.entity.TaskInstance;
+import org.apache.dolphinscheduler.server.master.cache.ProcessInstanceExecCacheManager;
+import org.apache.dolphinscheduler.server.master.config.MasterConfig;
+import org.apache.dolphinscheduler.server.master.future.TaskCompletionRegistry;
 import org.apache.dolphinscheduler.service.process.ProcessService;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -40,6 +46,15 @@ public class TaskResponseServiceTest {
     @Mock(name = "processService")
     private ProcessService processService;
 
+    @Mock
+    private ProcessInstanceExecCacheManager processInstanceExecCacheManager;
+
+    @Mock
+    private TaskCompletionRegistry taskCompletionRegistry;
+
+    @Mock
+    private MasterConfig masterConfig;
+
     @InjectMocks
     TaskResponseService taskRspService;
 
@@ -54,6 +69,8 @@ public class TaskResponseServiceTest {
 
     @Before
     public void before() {
+        Mockito.when(masterConfig.getMasterPersistEventThreads()).thenReturn(2);
+        Mockito.when(masterConfig.getMasterPersistEventBatchSize()).thenReturn(100);
         taskRspService.start();
 
         ackEvent = TaskResponseEvent.newAck(ExecutionStatus.RUNNING_EXECUTION,
@@ -80,12 +97,52 @@ public class TaskResponseServiceTest {
 
     @Test
     public void testAddResponse() {
-        Mockito.when(processService.findTaskInstanceById(Mockito.any())).thenReturn(taskInstance);
-        Mockito.when(channel.writeAndFlush(Mockito.any())).thenReturn(null);
+        Mockito.lenient().when(processService.findTaskInstanceByIdList(Mockito.any())).thenReturn(Collections.singletonList(taskInstance));
+        Mockito.lenient().when(channel.writeAndFlush(Mockito.any())).thenReturn(null);
         taskRspService.addResponse(ackEvent);
         taskRspService.addResponse(resultEvent);
     }
 
+    @Test
+    public void testPersistMergeEvents() {
+        Mockito.when(processService.findTaskInstanceByIdList(Collections.singletonList(22))).thenReturn(Collections.singletonList(taskInstance));
+        taskRspService.persist(Arrays.asList(ackEvent, resultEvent));
+
+        Assert.assertEquals(ExecutionStatus.SUCCESS, taskInstance.getState());
+        Assert.assertEquals("127.*.*.*", taskInstance.getHost());
+        Assert.assertEquals("ids", taskInstance.getAppLink());
+        Mockito.verify(processService, Mockito.times(1)).updateTaskInstances(Collections.singletonList(taskInstance),
+                Collections.singletonMap(22, resultEvent.getResult()));
+        Mockito.verify(channel, Mockito.times(2)).writeAndFlush(Mockito.any());
+        Mockito.verify(taskCompletionRegistry, Mockito.times(1)).complete(22, ExecutionStatus.SUCCESS);
+    }
+
+    @Test
+    public void testPersistFallback() {
+        Mockito.when(processService.findTaskInstanceByIdList(Collections.singletonList(22))).thenReturn(Collections.singletonList(taskInstance));
+        Mockito.doThrow(new RuntimeException("update error")).when(processService).updateTaskInstances(Mockito.any(), Mockito.any());
+        Mockito.when(processService.findTaskInstanceById(22)).thenReturn(taskInstance);
+        taskRspService.persist(Collections.singletonList(resultEvent));
+
+        Mockito.verify(processService, Mockito.times(1)).findTaskInstanceById(22);
+        Mockito.verify(channel, Mockito.times(1)).writeAndFlush(Mockito.any());
+        Mockito.verify(taskCompletionRegistry, Mockito.times(1)).complete(22, ExecutionStatus.SUCCESS);
+    }
+
+    @Test
+    public void testBatchCost() {
+        Mockito.when(processService.findTaskInstanceByIdList(Collections.singletonList(22))).thenReturn(Collections.singletonList(taskInstance));
+        Mockito.doAnswer(invocation -> {
+            Thread.sleep(20);
+            return null;
+        }).when(processService).updateTaskInstances(Mockito.any(), Mockito.any());
+        taskRspService.persist(Collections.singletonList(ackEvent));
+
+        Assert.assertTrue(taskRspService.getLastBatchCostMillis() >= 20);
+        Assert.assertEquals(0, taskRspService.getEventQueueSize());
+        taskRspService.logMetrics();
+    }
+
     @After
     public void after() {
         taskRspService.stop();
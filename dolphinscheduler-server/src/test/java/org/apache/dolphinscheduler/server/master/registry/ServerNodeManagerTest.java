@@ -17,15 +17,34 @@
 
 package org.apache.dolphinscheduler.server.master.registry;
 
+import org.apache.dolphinscheduler.common.enums.NodeType;
 import org.apache.dolphinscheduler.dao.AlertDao;
+import org.apache.dolphinscheduler.dao.entity.WorkerGroup;
 import org.apache.dolphinscheduler.dao.mapper.WorkerGroupMapper;
 import org.apache.dolphinscheduler.service.registry.RegistryClient;
+import org.apache.dolphinscheduler.spi.register.DataChangeEvent;
+import org.apache.dolphinscheduler.spi.register.SubscribeListener;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
+
+import com.google.common.collect.Sets;
 
 /**
  * server node manager test
@@ -50,4 +69,110 @@ public class ServerNodeManagerTest {
         //serverNodeManager.getWorkerGroupNodes()
     }
 
+    @Test
+    public void testGetSortedMasterNodes() throws Exception {
+        Mockito.when(registryClient.getMasterNodesDirectly()).thenReturn(Sets.newHashSet("192.168.1.2:5678", "192.168.1.1:5678"));
+        Mockito.when(registryClient.getWorkerGroupDirectly()).thenReturn(Collections.emptySet());
+        serverNodeManager.afterPropertiesSet();
+
+        List<String> sortedMasterNodes = serverNodeManager.getSortedMasterNodes();
+        Assert.assertEquals(Arrays.asList("192.168.1.1:5678", "192.168.1.2:5678"), sortedMasterNodes);
+        serverNodeManager.destroy();
+    }
+
+    @Test
+    public void testGetWorkerGroupNodes() throws Exception {
+        Mockito.when(registryClient.getWorkerGroupDirectly()).thenReturn(Sets.newHashSet("default"));
+        Mockito.when(registryClient.getWorkerGroupNodesDirectly("default")).thenReturn(Sets.newHashSet("192.168.1.1:1234", "192.168.1.2:1234"));
+        Map<String, String> workerNodeInfo = new HashMap<>();
+        workerNodeInfo.put("192.168.1.1:1234", "heartbeat1");
+        workerNodeInfo.put("192.168.1.2:1234", "heartbeat2");
+        Mockito.when(registryClient.getServerMaps(NodeType.WORKER, true)).thenReturn(workerNodeInfo);
+        WorkerGroup workerGroup = new WorkerGroup();
+        workerGroup.setName("GPU");
+        workerGroup.setAddrList("192.168.1.2:1234,192.168.1.3:1234");
+        Mockito.when(workerGroupMapper.queryAllWorkerGroup()).thenReturn(Collections.singletonList(workerGroup));
+        serverNodeManager.afterPropertiesSet();
+
+        Assert.assertEquals(Sets.newHashSet("192.168.1.1:1234", "192.168.1.2:1234"), serverNodeManager.getWorkerGroupNodes("default"));
+        // the snapshot is read without copy
+        Assert.assertSame(serverNodeManager.getWorkerGroupNodes("default"), serverNodeManager.getWorkerGroupNodes(null));
+        // only the alive addresses of the worker group in database
+        Assert.assertEquals(Sets.newHashSet("192.168.1.2:1234"), serverNodeManager.getWorkerGroupNodes("gpu"));
+        Assert.assertNull(serverNodeManager.getWorkerGroupNodes("cpu"));
+        Assert.assertEquals("heartbeat1", serverNodeManager.getWorkerNodeInfo("192.168.1.1:1234"));
+        serverNodeManager.destroy();
+    }
+
+    @Test
+    public void testWorkerNodeEvents() throws Exception {
+        Mockito.when(registryClient.getWorkerPath()).thenReturn("/nodes/worker");
+        Mockito.when(registryClient.isWorkerPath(Mockito.anyString())).thenReturn(true);
+        serverNodeManager.afterPropertiesSet();
+        ArgumentCaptor<SubscribeListener> listener = ArgumentCaptor.forClass(SubscribeListener.class);
+        Mockito.verify(registryClient).subscribe(Mockito.eq("/nodes/worker"), listener.capture());
+        Assert.assertNull(serverNodeManager.getWorkerGroupNodes("default"));
+
+        Mockito.when(registryClient.getWorkerGroupNodesDirectly("default")).thenReturn(Sets.newHashSet("192.168.1.1:1234"));
+        Mockito.when(registryClient.get("/nodes/worker/default/192.168.1.1:1234")).thenReturn("heartbeat1");
+        listener.getValue().notify("/nodes/worker/default/192.168.1.1:1234", DataChangeEvent.ADD);
+        awaitEvents();
+        Assert.assertEquals(Sets.newHashSet("192.168.1.1:1234"), serverNodeManager.getWorkerGroupNodes("default"));
+        Assert.assertEquals("heartbeat1", serverNodeManager.getWorkerNodeInfo("192.168.1.1:1234"));
+
+        Mockito.when(registryClient.get("/nodes/worker/default/192.168.1.1:1234")).thenReturn("heartbeat2");
+        listener.getValue().notify("/nodes/worker/default/192.168.1.1:1234", DataChangeEvent.UPDATE);
+        awaitEvents();
+        Assert.assertEquals("heartbeat2", serverNodeManager.getWorkerNodeInfo("192.168.1.1:1234"));
+
+        Mockito.when(registryClient.getWorkerGroupNodesDirectly("default")).thenReturn(Collections.emptySet());
+        listener.getValue().notify("/nodes/worker/default/192.168.1.1:1234", DataChangeEvent.REMOVE);
+        awaitEvents();
+        Assert.assertNull(serverNodeManager.getWorkerGroupNodes("default"));
+        Assert.assertNull(serverNodeManager.getWorkerNodeInfo("192.168.1.1:1234"));
+        serverNodeManager.destroy();
+    }
+
+    @Test
+    public void testEventAfterReconcile() throws Exception {
+        Mockito.when(registryClient.getWorkerPath()).thenReturn("/nodes/worker");
+        Mockito.when(registryClient.isWorkerPath(Mockito.anyString())).thenReturn(true);
+        serverNodeManager.afterPropertiesSet();
+        ArgumentCaptor<SubscribeListener> listener = ArgumentCaptor.forClass(SubscribeListener.class);
+        Mockito.verify(registryClient).subscribe(Mockito.eq("/nodes/worker"), listener.capture());
+
+        // the reconciliation reads the worker before it is removed, and is blocked before it publishes
+        CountDownLatch reconciling = new CountDownLatch(1);
+        CountDownLatch removed = new CountDownLatch(1);
+        Mockito.when(registryClient.getWorkerGroupDirectly()).thenReturn(Sets.newHashSet("default"));
+        Mockito.when(registryClient.getWorkerGroupNodesDirectly("default")).thenReturn(Sets.newHashSet("192.168.1.1:1234"));
+        Mockito.when(registryClient.getServerMaps(NodeType.WORKER, true)).thenAnswer(invocation -> {
+            Mockito.when(registryClient.getWorkerGroupNodesDirectly("default")).thenReturn(Collections.emptySet());
+            reconciling.countDown();
+            removed.await(10, TimeUnit.SECONDS);
+            return Collections.singletonMap("192.168.1.1:1234", "heartbeat1");
+        });
+        getExecutorService().execute(serverNodeManager.new ReconcileTask());
+        Assert.assertTrue(reconciling.await(10, TimeUnit.SECONDS));
+        listener.getValue().notify("/nodes/worker/default/192.168.1.1:1234", DataChangeEvent.REMOVE);
+        removed.countDown();
+        awaitEvents();
+
+        // the event handled after the reconciliation is not overwritten by it
+        Assert.assertNull(serverNodeManager.getWorkerGroupNodes("default"));
+        Assert.assertNull(serverNodeManager.getWorkerNodeInfo("192.168.1.1:1234"));
+        serverNodeManager.destroy();
+    }
+
+    private ExecutorService getExecutorService() {
+        return Whitebox.getInternalState(serverNodeManager, "executorService");
+    }
+
+    /**
+     * wait until the registry events notified before are handled
+     */
+    private void awaitEvents() throws Exception {
+        getExecutorService().submit(() -> { }).get(10, TimeUnit.SECONDS);
+    }
+
 }
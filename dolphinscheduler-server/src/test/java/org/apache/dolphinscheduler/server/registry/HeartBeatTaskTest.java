@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.registry;
+
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.utils.DateUtils;
+import org.apache.dolphinscheduler.common.utils.HeartBeat;
+import org.apache.dolphinscheduler.service.registry.RegistryClient;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import com.google.common.collect.Sets;
+
+public class HeartBeatTaskTest {
+
+    private static final String HEARTBEAT_PATH = "/nodes/worker/default/127.0.0.1:1234";
+
+    private RegistryClient registryClient;
+
+    private HeartBeatTask heartBeatTask;
+
+    private final AtomicInteger runningTaskCount = new AtomicInteger();
+
+    @Before
+    public void before() {
+        registryClient = Mockito.mock(RegistryClient.class);
+        heartBeatTask = new HeartBeatTask(DateUtils.dateToString(new Date()), 1000, 0, 100,
+                Sets.newHashSet(HEARTBEAT_PATH), Constants.WORKER_TYPE, registryClient);
+        heartBeatTask.setTaskCount(() -> 0, runningTaskCount::get);
+        heartBeatTask.setSlotCount(8);
+    }
+
+    @Test
+    public void testPublishChanged() {
+        heartBeatTask.run();
+        ArgumentCaptor<String> heartBeatInfo = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(registryClient).update(Mockito.eq(HEARTBEAT_PATH), heartBeatInfo.capture());
+        HeartBeat heartBeat = HeartBeat.decodeHeartBeat(heartBeatInfo.getValue());
+        Assert.assertNotNull(heartBeat);
+        Assert.assertEquals(100, heartBeat.getWorkerHostWeight());
+        Assert.assertEquals(8, heartBeat.getWorkerExecThreadCount());
+
+        runningTaskCount.set(3);
+        heartBeatTask.run();
+        Mockito.verify(registryClient, Mockito.times(2)).update(Mockito.eq(HEARTBEAT_PATH), heartBeatInfo.capture());
+        Assert.assertEquals(3, HeartBeat.decodeHeartBeat(heartBeatInfo.getValue()).getWorkerRunningTaskCount());
+
+        heartBeatTask.reset();
+        heartBeatTask.run();
+        Mockito.verify(registryClient, Mockito.times(3)).update(Mockito.eq(HEARTBEAT_PATH), Mockito.anyString());
+    }
+
+    @Test
+    public void testSkipUnchanged() {
+        HeartBeatTask spyTask = Mockito.spy(heartBeatTask);
+        HeartBeat heartBeat = heartBeatTask.getHeartBeat();
+        Mockito.doReturn(heartBeat).when(spyTask).getHeartBeat();
+
+        // the unchanged heartbeat is published at the first beat and after 5 skipped beats
+        for (int i = 0; i < 7; i++) {
+            spyTask.run();
+        }
+        Mockito.verify(registryClient, Mockito.times(2)).update(Mockito.eq(HEARTBEAT_PATH), Mockito.anyString());
+    }
+}
@@ -23,13 +23,17 @@ import org.apache.dolphinscheduler.common.Constants;
 import org.apache.dolphinscheduler.common.enums.ExecutionStatus;
 import org.apache.dolphinscheduler.common.utils.HadoopUtils;
 import org.apache.dolphinscheduler.common.utils.OSUtils;
+import org.apache.dolphinscheduler.common.utils.ProcessTreeTracker;
 import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.server.entity.TaskExecutionContext;
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -41,7 +45,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({System.class, OSUtils.class, HadoopUtils.class, PropertyUtils.class})
+@PrepareForTest({System.class, OSUtils.class, HadoopUtils.class, PropertyUtils.class, ProcessTreeTracker.class})
 public class ProcessUtilsTest {
 
     private static final Logger logger = LoggerFactory.getLogger(ProcessUtils.class);
@@ -57,6 +61,8 @@ public class ProcessUtilsTest {
         String pidList = ProcessUtils.getPidsStr(processId);
         Assert.assertNotEquals("The child process of process 1 should not be empty", pidList, "");
 
+        PowerMockito.mockStatic(ProcessTreeTracker.class);
+        when(ProcessTreeTracker.isSupported()).thenReturn(false);
         PowerMockito.mockStatic(OSUtils.class);
         when(OSUtils.isMacOS()).thenReturn(true);
         when(OSUtils.exeCmd(String.format("%s -p %d", Constants.PSTREE, processId))).thenReturn(null);
@@ -96,6 +102,8 @@ public class ProcessUtilsTest {
 
         //process id not eq 0
         taskExecutionContext.setProcessId(1);
+        PowerMockito.mockStatic(ProcessTreeTracker.class);
+        when(ProcessTreeTracker.isSupported()).thenReturn(false);
         PowerMockito.mockStatic(OSUtils.class);
         try {
             when(OSUtils.exeCmd(String.format("%s -sp %d", Constants.PSTREE, 1))).thenReturn("1111");
@@ -111,6 +119,27 @@ public class ProcessUtilsTest {
         Assert.assertEquals(1, taskExecutionContext.getProcessId());
     }
 
+    @Test
+    public void testKillProcessTree() throws Exception {
+        Assume.assumeTrue(ProcessTreeTracker.isSupported());
+        Process process = new ProcessBuilder("sh", "-c", "sleep 60 & sleep 60 & wait").start();
+        try {
+            Field f = process.getClass().getDeclaredField("pid");
+            f.setAccessible(true);
+            TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
+            taskExecutionContext.setTaskInstanceId(1);
+            taskExecutionContext.setProcessId(f.getInt(process));
+            while (ProcessTreeTracker.readProcessTree(taskExecutionContext.getProcessId()).size() < 3) {
+                Thread.sleep(50);
+            }
+
+            Assert.assertTrue(ProcessUtils.killProcessTree(taskExecutionContext));
+            Assert.assertTrue(process.waitFor(10, TimeUnit.SECONDS));
+        } finally {
+            process.destroyForcibly();
+        }
+    }
+
     @Test
     public void testGetKerberosInitCommand() {
         PowerMockito.mockStatic(PropertyUtils.class);
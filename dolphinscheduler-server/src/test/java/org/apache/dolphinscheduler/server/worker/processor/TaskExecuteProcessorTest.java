@@ -44,6 +44,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -51,6 +52,8 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.netty.channel.Channel;
+
 /**
  * test task execute processor
  */
@@ -169,6 +172,21 @@ public class TaskExecuteProcessorTest {
         Assert.assertEquals(ExecutionStatus.DELAY_EXECUTION, taskExecutionContext.getCurrentExecutionStatus());
     }
 
+    @Test
+    public void testRejectExecution() {
+        PowerMockito.when(workerManager.isOverloaded()).thenReturn(true);
+        PowerMockito.when(workerManager.getQueuedTaskCount()).thenReturn(2);
+        Channel channel = PowerMockito.mock(Channel.class);
+        TaskExecuteProcessor processor = new TaskExecuteProcessor();
+        processor.process(channel, command);
+
+        ArgumentCaptor<Command> rejectCommand = ArgumentCaptor.forClass(Command.class);
+        Mockito.verify(channel).writeAndFlush(rejectCommand.capture());
+        Assert.assertEquals(CommandType.TASK_EXECUTE_REJECT, rejectCommand.getValue().getType());
+        Mockito.verify(workerManager, Mockito.never()).offer(Mockito.any());
+        Mockito.verify(taskCallbackService, Mockito.never()).sendAck(Mockito.anyInt(), Mockito.any());
+    }
+
     public TaskExecutionContext getTaskExecutionContext() {
         TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
         taskExecutionContext.setProcessId(12345);
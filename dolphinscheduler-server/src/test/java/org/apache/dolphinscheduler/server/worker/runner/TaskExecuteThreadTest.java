@@ -39,11 +39,13 @@ import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.Mockito;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
@@ -155,6 +157,31 @@ public class TaskExecuteThreadTest {
         Assert.assertEquals(ExecutionStatus.RUNNING_EXECUTION, taskExecutionContext.getCurrentExecutionStatus());
     }
 
+    @Test
+    public void testAsyncExecution() {
+        taskExecutionContext.setStartTime(new Date());
+        taskExecutionContext.setCurrentExecutionStatus(ExecutionStatus.RUNNING_EXECUTION);
+        taskExecutionContext.setTenantCode("test");
+        CompletableFuture<Void> handleFuture = new CompletableFuture<>();
+        PowerMockito.when(TaskManager.newTask(taskExecutionContext, taskLogger, alertClientService))
+                .thenReturn(new SimpleTask(taskExecutionContext, taskLogger) {
+                    @Override
+                    public CompletableFuture<Void> handleAsync() {
+                        return handleFuture;
+                    }
+                });
+        TaskExecuteThread taskExecuteThread = new TaskExecuteThread(taskExecutionContext, taskCallbackService, taskLogger, alertClientService);
+        taskExecuteThread.run();
+
+        // the execute thread is released before the task is handled
+        Assert.assertNotNull(taskExecutionContextCacheManager.getByTaskInstanceId(taskExecutionContext.getTaskInstanceId()));
+        Mockito.verify(taskCallbackService, Mockito.never()).sendResult(Mockito.anyInt(), Mockito.any(Command.class));
+
+        handleFuture.complete(null);
+        Assert.assertNull(taskExecutionContextCacheManager.getByTaskInstanceId(taskExecutionContext.getTaskInstanceId()));
+        Mockito.verify(taskCallbackService).sendResult(Mockito.eq(taskExecutionContext.getTaskInstanceId()), Mockito.any(Command.class));
+    }
+
     private class SimpleTask extends AbstractTask {
 
         protected SimpleTask(TaskExecutionContext taskExecutionContext, Logger logger) {
@@ -35,6 +35,7 @@ import org.apache.dolphinscheduler.server.worker.config.WorkerConfig;
 import org.apache.dolphinscheduler.server.worker.processor.TaskCallbackService;
 import org.apache.dolphinscheduler.server.worker.task.AbstractTask;
 import org.apache.dolphinscheduler.server.worker.task.TaskManager;
+import org.apache.dolphinscheduler.server.worker.task.http.HttpClientPool;
 import org.apache.dolphinscheduler.service.alert.AlertClientService;
 import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 
@@ -75,6 +76,10 @@ public class WorkerManagerThreadTest {
 
     private Logger taskLogger;
 
+    private WorkerConfig workerConfig;
+
+    private HttpClientPool httpClientPool;
+
     @Before
     public void before() {
         // init task execution context, logger
@@ -107,7 +112,7 @@ public class WorkerManagerThreadTest {
         taskExecutionContextCacheManager.cacheTaskExecutionContext(taskExecutionContext);
 
         alertClientService = PowerMockito.mock(AlertClientService.class);
-        WorkerConfig workerConfig = PowerMockito.mock(WorkerConfig.class);
+        workerConfig = PowerMockito.mock(WorkerConfig.class);
         taskCallbackService = PowerMockito.mock(TaskCallbackService.class);
         PowerMockito.doNothing().when(taskCallbackService).sendAck(taskExecutionContext.getTaskInstanceId(), ackCommand);
         PowerMockito.doNothing().when(taskCallbackService).sendResult(taskExecutionContext.getTaskInstanceId(), responseCommand);
@@ -118,6 +123,9 @@ public class WorkerManagerThreadTest {
                 .thenReturn(workerConfig);
         PowerMockito.when(SpringApplicationContext.getBean(TaskCallbackService.class))
                 .thenReturn(taskCallbackService);
+        httpClientPool = PowerMockito.mock(HttpClientPool.class);
+        PowerMockito.when(SpringApplicationContext.getBean(HttpClientPool.class))
+                .thenReturn(httpClientPool);
         PowerMockito.when(workerConfig.getWorkerExecThreads()).thenReturn(5);
         workerManager = new WorkerManagerThread();
 
@@ -145,6 +153,25 @@ public class WorkerManagerThreadTest {
         Assert.assertEquals(0, workerManager.getQueueSize());
     }
 
+    @Test
+    public void testOverloaded() {
+        Assert.assertEquals(0, workerManager.getRunningTaskCount());
+        PowerMockito.when(workerConfig.getWorkerAdmissionThreshold()).thenReturn(2);
+        workerManager.offer(new TaskExecuteThread(taskExecutionContext, taskCallbackService, taskLogger, alertClientService));
+        Assert.assertEquals(1, workerManager.getQueuedTaskCount());
+        Assert.assertFalse(workerManager.isOverloaded());
+        PowerMockito.when(workerConfig.getWorkerAdmissionThreshold()).thenReturn(1);
+        Assert.assertTrue(workerManager.isOverloaded());
+    }
+
+    @Test
+    public void testAsyncTaskRunning() {
+        PowerMockito.when(httpClientPool.getAsyncTaskCount()).thenReturn(2);
+        Assert.assertEquals(2, workerManager.getRunningTaskCount());
+        PowerMockito.when(workerConfig.getWorkerAdmissionThreshold()).thenReturn(2);
+        Assert.assertTrue(workerManager.isOverloaded());
+    }
+
     @Test
     public void testRun() {
         TaskExecuteThread taskExecuteThread = new TaskExecuteThread(taskExecutionContext, taskCallbackService, taskLogger, alertClientService);
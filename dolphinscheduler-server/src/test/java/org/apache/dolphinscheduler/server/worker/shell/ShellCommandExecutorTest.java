@@ -45,8 +45,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContext;
 
+import java.util.Arrays;
 import java.util.Date;
-import java.util.List;
 
 /**
  * python shell command executor test
@@ -192,60 +192,32 @@ public class ShellCommandExecutorTest {
     }
 
     @Test
-    public void testFindAppId() {
-        Class<AbstractCommandExecutor> shellCommandExecutorClass = AbstractCommandExecutor.class;
-        try {
-
-            Method method = shellCommandExecutorClass.getDeclaredMethod("findAppId", new Class[]{String.class});
-            method.setAccessible(true);
-            Object[] arg1s = {"11111"};
-            String result = (String) method.invoke(new AbstractCommandExecutor(null, null, null) {
-                @Override
-                protected String buildCommandFilePath() {
-                    return null;
-                }
-
-                @Override
-                protected String commandInterpreter() {
-                    return null;
-                }
-
-                @Override
-                protected void createCommandFileIfNotExists(String execCommand, String commandFile) throws IOException {
-                    logger.info("unit test");
-                }
-            }, arg1s);
-        } catch (Exception e) {
-            logger.error(e.getMessage());
-        }
-    }
-
-    @Test
-    public void testConvertFile2List() {
-        Class<AbstractCommandExecutor> shellCommandExecutorClass = AbstractCommandExecutor.class;
-        try {
-            Method method = shellCommandExecutorClass.getDeclaredMethod("convertFile2List", String.class);
-            method.setAccessible(true);
-            Object[] arg1s = {"/opt/1.txt"};
-            List<String> result = (List<String>) method.invoke(new AbstractCommandExecutor(null, null, null) {
-                @Override
-                protected String buildCommandFilePath() {
-                    return null;
-                }
-
-                @Override
-                protected String commandInterpreter() {
-                    return null;
-                }
-
-                @Override
-                protected void createCommandFileIfNotExists(String execCommand, String commandFile) throws IOException {
-                    logger.info("unit test");
-                }
-            }, arg1s);
-            Assert.assertTrue(true);
-        } catch (Exception e) {
-            logger.error(e.getMessage());
-        }
+    public void testCollectAppIds() throws Exception {
+        TaskExecutionContext taskExecutionContext = new TaskExecutionContext();
+        AbstractCommandExecutor executor = new AbstractCommandExecutor(null, taskExecutionContext, logger) {
+            @Override
+            protected String buildCommandFilePath() {
+                return null;
+            }
+
+            @Override
+            protected String commandInterpreter() {
+                return null;
+            }
+
+            @Override
+            protected void createCommandFileIfNotExists(String execCommand, String commandFile) throws IOException {
+                logger.info("unit test");
+            }
+        };
+        Method method = AbstractCommandExecutor.class.getDeclaredMethod("collectAppIds", String.class);
+        method.setAccessible(true);
+        method.invoke(executor, "11111");
+        Assert.assertTrue(executor.getAppIds().isEmpty());
+
+        method.invoke(executor, "Submitted application application_1548381669007_1234");
+        method.invoke(executor, "tracking url: http://rm:8088/proxy/application_1548381669007_1234/ application_1548381669007_1235");
+        Assert.assertEquals(Arrays.asList("application_1548381669007_1234", "application_1548381669007_1235"), executor.getAppIds());
+        Assert.assertEquals("application_1548381669007_1234,application_1548381669007_1235", taskExecutionContext.getAppIds());
     }
 }
@@ -22,6 +22,7 @@ import org.apache.dolphinscheduler.service.bean.SpringApplicationContext;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.slf4j.Logger;
@@ -38,7 +39,8 @@ public class AbstractCommandExecutorTest {
     @Before
     public void before() throws Exception {
         System.setProperty("log4j2.disable.jmx", Boolean.TRUE.toString());
-        shellCommandExecutor = new ShellCommandExecutor(null);
+        PowerMockito.mockStatic(SpringApplicationContext.class);
+        shellCommandExecutor = new ShellCommandExecutor(null, null, logger);
     }
 
     @Test
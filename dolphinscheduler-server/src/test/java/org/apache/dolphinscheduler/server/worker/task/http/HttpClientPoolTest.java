@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.server.worker.task.http;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class HttpClientPoolTest {
+
+    private HttpServer server;
+
+    private HttpClientPool httpClientPool;
+
+    private String url;
+
+    @Before
+    public void before() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/cookie", exchange -> {
+            String cookie = exchange.getRequestHeaders().getFirst("Cookie");
+            byte[] body = String.valueOf(cookie).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Set-Cookie", "session=1; Path=/");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+
+        httpClientPool = new HttpClientPool();
+        httpClientPool.start(10, 2, 60, 2);
+    }
+
+    @After
+    public void after() {
+        httpClientPool.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void testConnectionReuse() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            try (CloseableHttpResponse response = httpClientPool.getHttpClient().execute(new HttpGet(url))) {
+                Assert.assertEquals(200, response.getStatusLine().getStatusCode());
+                Assert.assertEquals("ok", EntityUtils.toString(response.getEntity()));
+            }
+        }
+
+        // sequential requests reuse the kept alive connection
+        PoolStats totalStats = httpClientPool.getTotalStats();
+        Assert.assertEquals(0, totalStats.getLeased());
+        Assert.assertEquals(1, totalStats.getAvailable());
+        Map<String, PoolStats> hostStats = httpClientPool.getHostStats();
+        Assert.assertEquals(1, hostStats.size());
+        Assert.assertEquals(2, hostStats.values().iterator().next().getMax());
+    }
+
+    @Test
+    public void testCookieNotShared() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            try (CloseableHttpResponse response = httpClientPool.getHttpClient().execute(new HttpGet(url + "cookie"))) {
+                Assert.assertEquals("null", EntityUtils.toString(response.getEntity()));
+            }
+        }
+    }
+
+    @Test
+    public void testSubmit() throws Exception {
+        Assert.assertTrue(httpClientPool.isAsyncEnable());
+        CountDownLatch latch = new CountDownLatch(1);
+        CompletableFuture<Void> future = httpClientPool.submit(() -> {
+            latch.await();
+            return null;
+        });
+        Assert.assertFalse(future.isDone());
+        Assert.assertEquals(1, httpClientPool.getAsyncTaskCount());
+        latch.countDown();
+        future.get(10, TimeUnit.SECONDS);
+        Assert.assertEquals(0, httpClientPool.getAsyncTaskCount());
+
+        CompletableFuture<Void> failed = httpClientPool.submit(() -> {
+            throw new IllegalStateException("failed");
+        });
+        try {
+            failed.get(10, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (Exception e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void testRequestCount() {
+        httpClientPool.onRequest();
+        httpClientPool.onRequest();
+        Assert.assertEquals(2, httpClientPool.getInFlightRequestCount());
+        httpClientPool.onResponse(true);
+        httpClientPool.onResponse(false);
+        Assert.assertEquals(2, httpClientPool.getRequestCount());
+        Assert.assertEquals(1, httpClientPool.getFailedRequestCount());
+        Assert.assertEquals(0, httpClientPool.getInFlightRequestCount());
+    }
+}
@@ -35,6 +35,7 @@ import org.apache.dolphinscheduler.service.process.ProcessService;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -66,6 +67,8 @@ public class HttpTaskTest {
     private ApplicationContext applicationContext;
     private TaskExecutionContext taskExecutionContext;
 
+    private HttpClientPool httpClientPool;
+
     @Before
     public void before() throws Exception {
         taskExecutionContext = new TaskExecutionContext();
@@ -78,6 +81,9 @@ public class HttpTaskTest {
         SpringApplicationContext springApplicationContext = new SpringApplicationContext();
         springApplicationContext.setApplicationContext(applicationContext);
         PowerMockito.when(applicationContext.getBean(ProcessService.class)).thenReturn(processService);
+        httpClientPool = new HttpClientPool();
+        httpClientPool.start(10, 2, 60, 0);
+        PowerMockito.when(applicationContext.getBean(HttpClientPool.class)).thenReturn(httpClientPool);
 
         TaskProps props = new TaskProps();
         props.setExecutePath("/tmp");
@@ -107,6 +113,11 @@ public class HttpTaskTest {
 
     }
 
+    @After
+    public void after() {
+        httpClientPool.close();
+    }
+
     @Test
     public void testGetParameters() {
         Assert.assertNotNull(httpTask.getParameters());
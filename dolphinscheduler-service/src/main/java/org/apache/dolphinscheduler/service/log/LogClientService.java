@@ -22,8 +22,12 @@ import org.apache.dolphinscheduler.common.utils.LoggerUtils;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.remote.NettyRemotingClient;
 import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesResponseCommand;
+import org.apache.dolphinscheduler.remote.command.log.LogStreamAckCommand;
+import org.apache.dolphinscheduler.remote.command.log.LogStreamCloseCommand;
+import org.apache.dolphinscheduler.remote.command.log.LogStreamOpenRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.RollViewLogRequestCommand;
@@ -31,7 +35,27 @@ import org.apache.dolphinscheduler.remote.command.log.RollViewLogResponseCommand
 import org.apache.dolphinscheduler.remote.command.log.ViewLogRequestCommand;
 import org.apache.dolphinscheduler.remote.command.log.ViewLogResponseCommand;
 import org.apache.dolphinscheduler.remote.config.NettyClientConfig;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
+import org.apache.dolphinscheduler.remote.processor.NettyRequestProcessor;
 import org.apache.dolphinscheduler.remote.utils.Host;
+import org.apache.dolphinscheduler.remote.utils.NamedThreadFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -54,6 +78,59 @@ public class LogClientService implements AutoCloseable {
      */
     private static final long LOG_REQUEST_TIMEOUT = 10 * 1000L;
 
+    /**
+     * max bytes of a log stream chunk
+     */
+    private static final int LOG_STREAM_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * number of log stream chunks sent before an ack
+     */
+    private static final int LOG_STREAM_WINDOW = 16;
+
+    /**
+     * threads delivering followed logs to their listeners
+     */
+    private static final int LOG_FOLLOW_THREADS = 8;
+
+    /**
+     * a follow is dropped when delivering one chunk to its listener takes longer,
+     * so stalled listeners do not hold the log follow threads
+     */
+    private static final long LOG_FOLLOW_STALL_TIMEOUT = 5 * 1000L;
+
+    /**
+     * interval of checking the follows for stalled listeners
+     */
+    private static final long LOG_FOLLOW_CHECK_INTERVAL = 1000L;
+
+    /**
+     * received chunks of the opened log streams, key is the opaque of the open request
+     */
+    private final ConcurrentHashMap<Long, BlockingQueue<Command>> logStreams = new ConcurrentHashMap<>();
+
+    /**
+     * followed logs, key is the opaque of the open request
+     */
+    private final ConcurrentHashMap<Long, LogFollower> logFollowers = new ConcurrentHashMap<>();
+
+    /**
+     * single thread, so the chunks of a stream are queued in order.
+     * the log stream threads are started on the first stream or follow, guarded by this
+     */
+    private ExecutorService logStreamExecutor;
+
+    /**
+     * delivers followed logs, the chunks of one followed log are delivered in order,
+     * so a slow listener only holds back its own log. the backlog of a follow is bounded by the stream window
+     */
+    private ExecutorService logFollowExecutor;
+
+    /**
+     * drops the follows whose listeners are stalled
+     */
+    private ScheduledExecutorService logFollowChecker;
+
     /**
      * construct client
      */
@@ -64,13 +141,57 @@ public class LogClientService implements AutoCloseable {
         this.isRunning = true;
     }
 
+    /**
+     * start the log stream threads and register the log stream processors, only once.
+     * clients that never stream or follow a log, like the ones removing task logs, do not start them
+     *
+     * @return follow executor, null if the client is closed
+     */
+    private synchronized ExecutorService startLogStreaming() {
+        if (!isRunning) {
+            return null;
+        }
+        if (logStreamExecutor != null) {
+            return logFollowExecutor;
+        }
+        this.logStreamExecutor = Executors.newSingleThreadExecutor(new NamedThreadFactory("LogStreamExecutor"));
+        this.logFollowExecutor = Executors.newFixedThreadPool(LOG_FOLLOW_THREADS, new NamedThreadFactory("LogFollowExecutor"));
+        this.logFollowChecker = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("LogFollowChecker"));
+        this.logFollowChecker.scheduleWithFixedDelay(this::dropStalledLogFollows,
+                LOG_FOLLOW_CHECK_INTERVAL, LOG_FOLLOW_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+        NettyRequestProcessor logStreamProcessor = (channel, command) -> {
+            BlockingQueue<Command> chunks = logStreams.get(command.getOpaque());
+            if (chunks != null) {
+                // the body is read after this processor returns, copy it if it is retained
+                command.getBody();
+                chunks.offer(command);
+                return;
+            }
+            LogFollower follower = logFollowers.get(command.getOpaque());
+            if (follower != null) {
+                onFollowedLog(command, follower);
+            }
+        };
+        this.client.registerProcessor(CommandType.LOG_STREAM_CHUNK, logStreamProcessor, logStreamExecutor);
+        this.client.registerProcessor(CommandType.LOG_STREAM_CLOSE, logStreamProcessor, logStreamExecutor);
+        return logFollowExecutor;
+    }
+
     /**
      * close
      */
     @Override
     public void close() {
         this.client.close();
-        this.isRunning = false;
+        synchronized (this) {
+            if (logStreamExecutor != null) {
+                this.logStreamExecutor.shutdownNow();
+                this.logFollowChecker.shutdownNow();
+                this.logFollowExecutor.shutdownNow();
+            }
+            this.isRunning = false;
+        }
+        this.logFollowers.clear();
         logger.info("logger client closed");
     }
 
@@ -167,6 +288,195 @@ public class LogClientService implements AutoCloseable {
         return result;
     }
 
+    /**
+     * stream log bytes to the output stream chunk by chunk, so the whole log is never held in memory.
+     * falls back to get log bytes if the worker does not answer the stream
+     *
+     * @param host host
+     * @param port port
+     * @param path log path
+     * @param outputStream output stream
+     * @throws IOException if the stream fails or the output stream can not be written
+     */
+    public void streamLogBytes(String host, int port, String path, OutputStream outputStream) throws IOException {
+        logger.info("stream log path {}", path);
+        if (startLogStreaming() == null) {
+            throw new IOException("log client is closed");
+        }
+        final Host address = new Host(host, port);
+        Command openCommand = new LogStreamOpenRequestCommand(path, LOG_STREAM_CHUNK_SIZE, LOG_STREAM_WINDOW).convert2Command();
+        final long opaque = openCommand.getOpaque();
+        BlockingQueue<Command> chunks = new LinkedBlockingQueue<>();
+        logStreams.put(opaque, chunks);
+        boolean received = false;
+        boolean closed = false;
+        try {
+            this.client.send(address, openCommand);
+            int unacknowledged = 0;
+            while (true) {
+                Command chunk = chunks.poll(LOG_REQUEST_TIMEOUT, TimeUnit.MILLISECONDS);
+                if (chunk == null) {
+                    throw new IOException(String.format("wait log stream of %s from %s timeout", path, address));
+                }
+                received = true;
+                if (chunk.getType() == CommandType.LOG_STREAM_CLOSE) {
+                    closed = true;
+                    LogStreamCloseCommand closeCommand = JSONUtils.parseObject(chunk.getBody(), LogStreamCloseCommand.class);
+                    if (closeCommand != null && !closeCommand.isSuccess()) {
+                        logger.warn("log stream of {} closed : {}", path, closeCommand.getMsg());
+                    }
+                    return;
+                }
+                outputStream.write(chunk.getBody());
+                if (++unacknowledged >= LOG_STREAM_WINDOW / 2) {
+                    this.client.send(address, new LogStreamAckCommand(unacknowledged).convert2Command(opaque));
+                    unacknowledged = 0;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("stream log interrupted");
+        } catch (RemotingException | IOException e) {
+            if (received) {
+                throw e instanceof IOException ? (IOException) e : new IOException(e);
+            }
+            logger.warn("stream log of {} from {} failed, get log bytes instead", path, address, e);
+            closed = true;
+            byte[] logBytes = getLogBytes(host, port, path);
+            if (logBytes != null) {
+                outputStream.write(logBytes);
+            }
+        } finally {
+            logStreams.remove(opaque);
+            if (!closed) {
+                cancelLogStream(address, opaque);
+            }
+        }
+    }
+
+    /**
+     * follow log, the bytes of the log from the offset and the bytes appended later are pushed to the listener
+     * until the follow is cancelled or the worker closes it
+     *
+     * @param host host
+     * @param port port
+     * @param path log path
+     * @param offset byte offset to follow from, negative means the end of the log
+     * @param listener listener
+     * @return id of the follow, to cancel it
+     * @throws RemotingException if the follow request can not be sent
+     */
+    public long followLog(String host, int port, String path, long offset, LogFollowListener listener) throws RemotingException {
+        logger.info("follow log path {} from offset {}", path, offset);
+        ExecutorService followExecutor = startLogStreaming();
+        if (followExecutor == null) {
+            throw new RemotingException("log client is closed");
+        }
+        final Host address = new Host(host, port);
+        Command openCommand = new LogStreamOpenRequestCommand(path, LOG_STREAM_CHUNK_SIZE, LOG_STREAM_WINDOW, offset, true).convert2Command();
+        final long opaque = openCommand.getOpaque();
+        logFollowers.put(opaque, new LogFollower(address, listener, followExecutor));
+        try {
+            this.client.send(address, openCommand);
+        } catch (RemotingException e) {
+            logFollowers.remove(opaque);
+            throw e;
+        }
+        return opaque;
+    }
+
+    /**
+     * cancel log follow
+     *
+     * @param followId id of the follow
+     */
+    public void cancelLogFollow(long followId) {
+        LogFollower follower = logFollowers.remove(followId);
+        if (follower != null) {
+            cancelLogStream(follower.address, followId);
+        }
+    }
+
+    /**
+     * drop the follows whose listeners are blocked on delivering a chunk longer than the stall timeout.
+     * the delivering thread is interrupted, so the blocked write fails and the thread serves other follows
+     */
+    private void dropStalledLogFollows() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, LogFollower> entry : logFollowers.entrySet()) {
+            LogFollower follower = entry.getValue();
+            if (follower.abortIfStalled(now, LOG_FOLLOW_STALL_TIMEOUT) && logFollowers.remove(entry.getKey(), follower)) {
+                logger.warn("follow log from {} stalled over {} ms, drop it", follower.address, LOG_FOLLOW_STALL_TIMEOUT);
+                cancelLogStream(follower.address, entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * @return number of followed logs
+     */
+    public int getLogFollowCount() {
+        return logFollowers.size();
+    }
+
+    /**
+     * hand a chunk of a followed log over to its listener, the body is read on the log stream thread
+     *
+     * @param command chunk or close command
+     * @param follower follower
+     */
+    private void onFollowedLog(Command command, LogFollower follower) {
+        final long opaque = command.getOpaque();
+        if (command.getType() == CommandType.LOG_STREAM_CLOSE) {
+            logFollowers.remove(opaque);
+            LogStreamCloseCommand closeCommand = JSONUtils.parseObject(command.getBody(), LogStreamCloseCommand.class);
+            boolean success = closeCommand == null || closeCommand.isSuccess();
+            follower.execute(() -> follower.close(success, closeCommand == null ? null : closeCommand.getMsg()));
+            return;
+        }
+        byte[] bytes = command.getBody();
+        follower.execute(() -> deliverFollowedLog(opaque, bytes, follower));
+    }
+
+    /**
+     * push a chunk of a followed log to its listener, and ack every half window.
+     * the worker stops sending when the listener falls a window behind
+     *
+     * @param opaque opaque of the follow
+     * @param bytes log bytes
+     * @param follower follower
+     */
+    private void deliverFollowedLog(long opaque, byte[] bytes, LogFollower follower) {
+        if (follower.closed) {
+            return;
+        }
+        try {
+            follower.listener.onLog(bytes);
+            if (++follower.unacknowledged >= LOG_STREAM_WINDOW / 2) {
+                this.client.send(follower.address, new LogStreamAckCommand(follower.unacknowledged).convert2Command(opaque));
+                follower.unacknowledged = 0;
+            }
+        } catch (IOException | RemotingException e) {
+            logger.warn("follow log from {} failed, cancel it", follower.address, e);
+            cancelLogFollow(opaque);
+            follower.close(false, e.getMessage());
+        }
+    }
+
+    /**
+     * tell the worker to stop sending the log stream
+     *
+     * @param address worker address
+     * @param opaque opaque of the stream
+     */
+    private void cancelLogStream(Host address, long opaque) {
+        try {
+            this.client.send(address, new LogStreamCloseCommand(false, "cancelled").convert2Command(opaque));
+        } catch (Exception e) {
+            logger.warn("cancel log stream error", e);
+        }
+    }
+
     /**
      * remove task log
      *
@@ -199,4 +509,104 @@ public class LogClientService implements AutoCloseable {
     public boolean isRunning() {
         return isRunning;
     }
+
+    /**
+     * followed log, its tasks run one at a time and in order on the shared executor
+     */
+    private static final class LogFollower {
+
+        private final Host address;
+
+        private final LogFollowListener listener;
+
+        private final Executor executor;
+
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        /**
+         * only touched by the tasks
+         */
+        private int unacknowledged;
+
+        private volatile boolean closed;
+
+        /**
+         * thread running a task and the time it started, guarded by this
+         */
+        private Thread deliveringThread;
+
+        private long deliverStartTime;
+
+        LogFollower(Host address, LogFollowListener listener, Executor executor) {
+            this.address = address;
+            this.listener = listener;
+            this.executor = executor;
+        }
+
+        void execute(Runnable task) {
+            tasks.offer(task);
+            schedule();
+        }
+
+        void close(boolean success, String msg) {
+            if (!closed) {
+                closed = true;
+                listener.onClose(success, msg);
+            }
+        }
+
+        private void schedule() {
+            if (!tasks.isEmpty() && running.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // the client is closed
+                    running.set(false);
+                }
+            }
+        }
+
+        /**
+         * close the follow without telling the listener if a task runs longer than the timeout,
+         * and interrupt the thread running it
+         *
+         * @param now current time
+         * @param timeout stall timeout in milliseconds
+         * @return true if the follow is aborted
+         */
+        synchronized boolean abortIfStalled(long now, long timeout) {
+            if (deliveringThread == null || now - deliverStartTime <= timeout) {
+                return false;
+            }
+            closed = true;
+            deliveringThread.interrupt();
+            return true;
+        }
+
+        private void drain() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                synchronized (this) {
+                    deliveringThread = Thread.currentThread();
+                    deliverStartTime = System.currentTimeMillis();
+                }
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    logger.error("deliver followed log error", e);
+                } finally {
+                    synchronized (this) {
+                        deliveringThread = null;
+                    }
+                    // an abort after the task completed must not interrupt the tasks of other follows
+                    Thread.interrupted();
+                }
+            }
+            running.set(false);
+            // a task offered after the queue is drained but before the flag is cleared
+            schedule();
+        }
+    }
 }
\ No newline at end of file
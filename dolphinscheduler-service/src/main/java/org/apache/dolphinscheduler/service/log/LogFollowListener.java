@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.log;
+
+import java.io.IOException;
+
+/**
+ * listener of a followed log, called one at a time and in order, on a log follow thread
+ */
+public interface LogFollowListener {
+
+    /**
+     * bytes appended to the log
+     *
+     * @param bytes log bytes
+     * @throws IOException if the bytes can not be delivered, the follow is cancelled
+     */
+    void onLog(byte[] bytes) throws IOException;
+
+    /**
+     * the worker stopped sending the log
+     *
+     * @param success false if the log can not be read any more
+     * @param msg message
+     */
+    void onClose(boolean success, String msg);
+}
@@ -0,0 +1,392 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.log;
+
+import org.apache.dolphinscheduler.common.Constants;
+import org.apache.dolphinscheduler.common.utils.SensitiveLogUtils;
+import org.apache.dolphinscheduler.common.utils.StringUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.encoder.Encoder;
+
+/**
+ * output log of a task.
+ * the lines are appended by one thread, the reader of the task output, into a lock-free ring buffer.
+ * a writer thread is scheduled when lines are queued, it takes the queued lines in batches and appends each batch
+ * to the log file by one write. the appender is parked while the ring buffer is full, so a task writing faster
+ * than the disk is slowed down instead of filling the heap.
+ * each batch is one logging event of the task logger, encoded by the task log pattern of the logback configuration,
+ * so the file keeps the format of the lines logged by the task logger itself.
+ * if no task log pattern is configured, the events are passed to the appenders of the task logger
+ */
+public class TaskLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskLog.class);
+
+    /**
+     * lines queued at most, power of 2
+     */
+    static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * lines written by one write
+     */
+    private static final int MAX_BATCH_LINES = 1024;
+
+    /**
+     * batches written before the writer thread is given to other task logs
+     */
+    private static final int MAX_BATCHES_PER_DRAIN = 4;
+
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * logback context property of the task log pattern, defined in logback-worker.xml
+     */
+    public static final String TASK_LOG_PATTERN = "task.log.pattern";
+
+    private static final String FQCN = TaskLog.class.getName();
+
+    private static final Pattern PASSWORD_PATTERN = Pattern.compile(Constants.DATASOURCE_PASSWORD_REGEX);
+
+    private static final String PASSWORD = "password";
+
+    private final TaskLogWriter writer;
+
+    /**
+     * log file path, null if the lines are passed to the log handler
+     */
+    private final Path path;
+
+    private final ch.qos.logback.classic.Logger taskLogger;
+
+    /**
+     * where the task log is opened, the caller data of the logging events
+     */
+    private final StackTraceElement[] callerData;
+
+    private final Consumer<List<String>> logHandler;
+
+    private final Runnable onClose;
+
+    private final String[] ring;
+
+    private final int mask;
+
+    /**
+     * next line to write, only moved by the writer thread
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * next line to append, only moved by the appender
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * whether a writer thread is scheduled, at most one writer thread drains the ring buffer at a time
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final CountDownLatch closed = new CountDownLatch(1);
+
+    private volatile boolean closing;
+
+    private volatile boolean failed;
+
+    /**
+     * only used by the scheduled writer thread
+     */
+    private FileChannel channel;
+
+    /**
+     * only used by the scheduled writer thread
+     */
+    private Encoder<ILoggingEvent> encoder;
+
+    TaskLog(TaskLogWriter writer, Path path, String loggerName, Consumer<List<String>> logHandler, Runnable onClose, int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of 2");
+        }
+        this.writer = writer;
+        this.path = path;
+        this.taskLogger = getLoggerContext().getLogger(loggerName);
+        this.callerData = getCallerData();
+        this.logHandler = logHandler;
+        this.onClose = onClose;
+        this.ring = new String[capacity];
+        this.mask = capacity - 1;
+        writer.onOpened();
+    }
+
+    /**
+     * append line, only called by one thread
+     *
+     * @param line line
+     */
+    public void append(String line) {
+        if (closing || failed) {
+            return;
+        }
+        long t = tail.get();
+        while (t - head.get() >= ring.length) {
+            if (failed || closed.getCount() == 0) {
+                return;
+            }
+            schedule();
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        ring[(int) t & mask] = line;
+        // a volatile write, the writer thread checks the tail after it is unscheduled
+        tail.set(t + 1);
+        schedule();
+    }
+
+    /**
+     * close after the lines appended are written, called by the appender after the last line
+     */
+    public void close() {
+        closing = true;
+        schedule();
+    }
+
+    /**
+     * wait until the lines appended are written and the log is closed
+     *
+     * @param timeout timeout
+     * @param unit time unit
+     * @return false if timeout
+     * @throws InterruptedException if interrupted
+     */
+    public boolean awaitClosed(long timeout, TimeUnit unit) throws InterruptedException {
+        return closed.await(timeout, unit);
+    }
+
+    /**
+     * @return number of lines queued
+     */
+    public int getQueuedCount() {
+        return (int) (tail.get() - head.get());
+    }
+
+    private void schedule() {
+        if (!scheduled.get() && scheduled.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::drain);
+            } catch (Exception e) {
+                logger.error("schedule task log writer error, log {} is not written", path, e);
+                failed = true;
+                scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_DRAIN && writeBatch(); i++) {
+                // give the writer thread to other task logs after some batches
+            }
+            if (closing && head.get() == tail.get() && closed.getCount() > 0) {
+                finish();
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        if (closed.getCount() > 0 && (head.get() != tail.get() || closing)) {
+            schedule();
+        }
+    }
+
+    /**
+     * take a batch of queued lines and write them
+     *
+     * @return false if no line is queued
+     */
+    private boolean writeBatch() {
+        long h = head.get();
+        long t = tail.get();
+        if (h == t) {
+            return false;
+        }
+        int size = (int) Math.min(t - h, MAX_BATCH_LINES);
+        List<String> lines = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int index = (int) (h + i) & mask;
+            lines.add(ring[index]);
+            ring[index] = null;
+        }
+        head.lazySet(h + size);
+        if (failed) {
+            return true;
+        }
+        try {
+            write(lines);
+        } catch (Exception e) {
+            logger.error("write task log {} error, the rest of the log is dropped", path, e);
+            failed = true;
+        }
+        return true;
+    }
+
+    private void write(List<String> lines) throws IOException {
+        if (path == null) {
+            logHandler.accept(lines);
+            return;
+        }
+        StringBuilder builder = new StringBuilder(lines.size() * 64);
+        for (int i = 0; i < lines.size(); i++) {
+            if (i > 0) {
+                builder.append("\n\t");
+            }
+            builder.append(lines.get(i));
+        }
+        LoggingEvent event = new LoggingEvent(FQCN, taskLogger, Level.INFO, " -> {}", null,
+                new Object[] {maskPassword(builder.toString())});
+        event.setCallerData(callerData);
+        if (encoder == null) {
+            encoder = createEncoder();
+        }
+        if (encoder == null) {
+            taskLogger.callAppenders(event);
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(encoder.encode(event));
+        if (channel == null) {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * create an encoder of the task log pattern of the logger context
+     *
+     * @return null if no task log pattern is configured
+     */
+    private Encoder<ILoggingEvent> createEncoder() {
+        LoggerContext context = taskLogger.getLoggerContext();
+        String pattern = context.getProperty(TASK_LOG_PATTERN);
+        if (StringUtils.isEmpty(pattern)) {
+            return null;
+        }
+        PatternLayoutEncoder patternEncoder = new PatternLayoutEncoder();
+        patternEncoder.setContext(context);
+        patternEncoder.setPattern(pattern);
+        patternEncoder.setCharset(StandardCharsets.UTF_8);
+        patternEncoder.start();
+        return patternEncoder;
+    }
+
+    private static LoggerContext getLoggerContext() {
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        return loggerFactory instanceof LoggerContext ? (LoggerContext) loggerFactory : new LoggerContext();
+    }
+
+    /**
+     * @return the first frame out of the task log
+     */
+    private static StackTraceElement[] getCallerData() {
+        for (StackTraceElement element : new Throwable().getStackTrace()) {
+            if (!element.getClassName().equals(FQCN) && !element.getClassName().equals(TaskLogWriter.class.getName())) {
+                return new StackTraceElement[] {element};
+            }
+        }
+        return new StackTraceElement[0];
+    }
+
+    private void finish() {
+        if (encoder != null) {
+            encoder.stop();
+        }
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.error("close task log {} error", path, e);
+            }
+        }
+        writer.onClosed();
+        if (onClose != null) {
+            try {
+                onClose.run();
+            } catch (Exception e) {
+                logger.error("close task log {} error", path, e);
+            }
+        }
+        closed.countDown();
+    }
+
+    private String maskPassword(String msg) {
+        if (!containsPassword(msg)) {
+            return msg;
+        }
+        Matcher matcher = PASSWORD_PATTERN.matcher(msg);
+        if (!matcher.find()) {
+            return msg;
+        }
+        StringBuffer sb = new StringBuffer(msg.length());
+        do {
+            matcher.appendReplacement(sb, SensitiveLogUtils.maskDataSourcePwd(matcher.group()));
+        } while (matcher.find());
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    /**
+     * the password pattern looks behind at every char, so it is only matched if the batch has the word password
+     */
+    private static boolean containsPassword(String msg) {
+        for (int i = 0, end = msg.length() - PASSWORD.length(); i <= end; i++) {
+            char c = msg.charAt(i);
+            if ((c == 'p' || c == 'P') && msg.regionMatches(true, i, PASSWORD, 0, PASSWORD.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.log;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+import org.apache.dolphinscheduler.common.utils.StringUtils;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * asynchronous writer of task logs, shared by all tasks of the worker.
+ * the output lines of a task are queued in the ring buffer of its {@link TaskLog} without locking,
+ * and a small pool of writer threads appends them in batches to the task log files
+ */
+public class TaskLogWriter {
+
+    /**
+     * writer threads of the worker wide writer
+     */
+    private static final int WRITER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+    private final ExecutorService executor;
+
+    private final AtomicInteger openCount = new AtomicInteger();
+
+    public TaskLogWriter(int threads) {
+        this.executor = ThreadUtils.newDaemonFixedThreadExecutor("TaskLogWriter-%d", threads);
+    }
+
+    /**
+     * @return worker wide task log writer
+     */
+    public static TaskLogWriter getInstance() {
+        return TaskLogWriterHolder.INSTANCE;
+    }
+
+    /**
+     * open task log
+     *
+     * @param logPath log file path, if it is empty the lines are passed to the log handler
+     * @param loggerName name of the task logger, the batches of lines are written as its logging events
+     * @param logHandler log handler used when there is no log file path
+     * @param onClose called by the writer thread after the last line is written
+     * @return task log
+     */
+    public TaskLog open(String logPath, String loggerName, Consumer<List<String>> logHandler, Runnable onClose) {
+        return new TaskLog(this,
+                StringUtils.isEmpty(logPath) ? null : Paths.get(logPath),
+                loggerName,
+                logHandler,
+                onClose,
+                TaskLog.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @return number of task logs not closed yet
+     */
+    public int getOpenCount() {
+        return openCount.get();
+    }
+
+    /**
+     * stop the writer threads, the task logs opened are not written any more
+     */
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    void onOpened() {
+        openCount.incrementAndGet();
+    }
+
+    void onClosed() {
+        openCount.decrementAndGet();
+    }
+
+    private static class TaskLogWriterHolder {
+        private static final TaskLogWriter INSTANCE = new TaskLogWriter(WRITER_THREADS);
+    }
+}
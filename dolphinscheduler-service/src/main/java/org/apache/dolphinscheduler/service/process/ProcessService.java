@@ -237,6 +237,83 @@ public class ProcessService {
         return processInstance;
     }
 
+    /**
+     * claim the command by locking its row, then handle it in the same transaction,
+     * used when masters fetch commands without the global master lock
+     *
+     * @param logger logger
+     * @param host host
+     * @param validThreadNum validThreadNum
+     * @param command found command
+     * @return process instance, null if the command has been handled by another master
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ProcessInstance claimAndHandleCommand(Logger logger, String host, int validThreadNum, Command command) {
+        if (!claimCommand(logger, command)) {
+            return null;
+        }
+        return handleCommand(logger, host, validThreadNum, command);
+    }
+
+    /**
+     * handle a batch of commands (construct ProcessInstance for every Command) in one transaction,
+     * every constructed process instance takes one of the valid threads
+     *
+     * @param logger logger
+     * @param host host
+     * @param validThreadNum validThreadNum
+     * @param commands found commands
+     * @return process instances which are ready to run
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<ProcessInstance> handleCommands(Logger logger, String host, int validThreadNum, List<Command> commands) {
+        return handleCommands(logger, host, validThreadNum, commands, false);
+    }
+
+    /**
+     * claim and handle a batch of commands in one transaction, commands handled by another master are skipped
+     *
+     * @param logger logger
+     * @param host host
+     * @param validThreadNum validThreadNum
+     * @param commands found commands
+     * @return process instances which are ready to run
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<ProcessInstance> claimAndHandleCommands(Logger logger, String host, int validThreadNum, List<Command> commands) {
+        return handleCommands(logger, host, validThreadNum, commands, true);
+    }
+
+    private List<ProcessInstance> handleCommands(Logger logger, String host, int validThreadNum, List<Command> commands, boolean claim) {
+        List<ProcessInstance> processInstances = new ArrayList<>(commands.size());
+        for (Command command : commands) {
+            if (claim && !claimCommand(logger, command)) {
+                continue;
+            }
+            ProcessInstance processInstance = handleCommand(logger, host, validThreadNum, command);
+            if (processInstance != null) {
+                processInstances.add(processInstance);
+                validThreadNum--;
+            }
+        }
+        return processInstances;
+    }
+
+    /**
+     * lock the command row, the lock is held until current transaction ends
+     *
+     * @param logger logger
+     * @param command command
+     * @return false if the command has been deleted by another master
+     */
+    private boolean claimCommand(Logger logger, Command command) {
+        if (commandMapper.lockCommandById(command.getId()) == null) {
+            logger.info("command {} has been handled by another master, skip it", command.getId());
+            return false;
+        }
+        return true;
+    }
+
     /**
      * save error command, and delete original command
      *
@@ -303,6 +380,28 @@ public class ProcessService {
         return commandMapper.getOneToRun();
     }
 
+    /**
+     * find a batch of commands from queue list
+     *
+     * @param pageSize max number of commands
+     * @return command list
+     */
+    public List<Command> findCommandPage(int pageSize) {
+        return commandMapper.queryCommandPage(pageSize);
+    }
+
+    /**
+     * find a batch of commands belonging to the slot of this master from queue list
+     *
+     * @param pageSize max number of commands
+     * @param masterCount master count
+     * @param thisMasterSlot slot of this master
+     * @return command list
+     */
+    public List<Command> findCommandPageBySlot(int pageSize, int masterCount, int thisMasterSlot) {
+        return commandMapper.queryCommandPageBySlot(pageSize, masterCount, thisMasterSlot);
+    }
+
     /**
      * check the input command exists in queue list
      *
@@ -1403,6 +1502,34 @@ public class ProcessService {
         return taskInstanceMapper.selectById(taskId);
     }
 
+    /**
+     * find task instance list by id list
+     *
+     * @param idList task id list
+     * @return task instance list
+     */
+    public List<TaskInstance> findTaskInstanceByIdList(List<Integer> idList) {
+        if (CollectionUtils.isEmpty(idList)) {
+            return new ArrayList<>();
+        }
+        return taskInstanceMapper.selectBatchIds(idList);
+    }
+
+    /**
+     * update task instance list in one transaction, the out params of the task results
+     * are written to the task instances and their process instances in the same transaction
+     *
+     * @param taskInstances task instance list
+     * @param results task instance id -> task result
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void updateTaskInstances(List<TaskInstance> taskInstances, Map<Integer, String> results) {
+        for (TaskInstance taskInstance : taskInstances) {
+            changeOutParam(results.get(taskInstance.getId()), taskInstance);
+            taskInstanceMapper.updateById(taskInstance);
+        }
+    }
+
     /**
      * package task instance，associate processInstance and processDefine
      *
@@ -2197,6 +2324,8 @@ public class ProcessService {
         taskDefinition.setTimeoutNotifyStrategy(taskNode.getTaskTimeoutParameter().getStrategy());
         taskDefinition.setTimeout(taskNode.getTaskTimeoutParameter().getInterval());
         taskDefinition.setDelayTime(taskNode.getDelayTime());
+        taskDefinition.setCpuQuota(taskNode.getCpuQuota());
+        taskDefinition.setMemoryMax(taskNode.getMemoryMax());
         taskDefinition.setResourceIds(getResourceIds(taskDefinition));
     }
 
@@ -2489,6 +2618,8 @@ public class ProcessService {
                     taskDefinitionLog.getTimeoutNotifyStrategy(),
                     taskDefinitionLog.getTimeout())));
             v.setDelayTime(taskDefinitionLog.getDelayTime());
+            v.setCpuQuota(taskDefinitionLog.getCpuQuota());
+            v.setMemoryMax(taskDefinitionLog.getMemoryMax());
             v.getPreTaskNodeList().forEach(task -> task.setName(taskDefinitionLogMap.get(task.getCode()).getName()));
             v.setPreTasks(JSONUtils.toJsonString(v.getPreTaskNodeList().stream().map(PreviousTaskNode::getName).collect(Collectors.toList())));
         });
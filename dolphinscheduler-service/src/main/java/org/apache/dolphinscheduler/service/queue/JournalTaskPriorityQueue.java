@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.queue;
+
+import org.apache.dolphinscheduler.service.exceptions.TaskPriorityQueueException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * task priority queue whose puts and acks are recorded in a journal,
+ * the tasks put but not acked yet are put back into the queue when it is created.
+ * a task is only acked when it is dispatched, so the tasks waiting for dispatch or retry in memory are recovered too
+ */
+public class JournalTaskPriorityQueue implements TaskPriorityQueue<TaskPriority>, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalTaskPriorityQueue.class);
+
+    /**
+     * in memory queue
+     */
+    private final TaskPriorityQueue<TaskPriority> queue;
+
+    /**
+     * journal
+     */
+    private final TaskPriorityJournal journal;
+
+    public JournalTaskPriorityQueue(TaskPriorityQueue<TaskPriority> queue, TaskPriorityJournal journal) throws TaskPriorityQueueException {
+        this.queue = queue;
+        this.journal = journal;
+        List<TaskPriority> pendingTasks = journal.getPendingTasks();
+        for (TaskPriority taskPriority : pendingTasks) {
+            queue.put(taskPriority);
+        }
+        logger.info("recover {} pending tasks from journal", pendingTasks.size());
+    }
+
+    /**
+     * put task takePriorityInfo
+     *
+     * @param taskPriorityInfo takePriorityInfo
+     * @throws TaskPriorityQueueException
+     */
+    @Override
+    public void put(TaskPriority taskPriorityInfo) throws TaskPriorityQueueException {
+        try {
+            journal.appendPut(taskPriorityInfo);
+        } catch (IOException e) {
+            // the task is still dispatched, it is only not recoverable
+            logger.error("append put record of task {} error", taskPriorityInfo.getTaskId(), e);
+        }
+        queue.put(taskPriorityInfo);
+    }
+
+    /**
+     * take taskInfo
+     *
+     * @return taskInfo
+     * @throws TaskPriorityQueueException
+     */
+    @Override
+    public TaskPriority take() throws TaskPriorityQueueException, InterruptedException {
+        return queue.take();
+    }
+
+    /**
+     * poll taskInfo with timeout
+     *
+     * @param timeout
+     * @param unit
+     * @return
+     * @throws TaskPriorityQueueException
+     * @throws InterruptedException
+     */
+    @Override
+    public TaskPriority poll(long timeout, TimeUnit unit) throws TaskPriorityQueueException, InterruptedException {
+        return queue.poll(timeout, unit);
+    }
+
+    /**
+     * queue size
+     *
+     * @return size
+     * @throws TaskPriorityQueueException
+     */
+    @Override
+    public int size() throws TaskPriorityQueueException {
+        return queue.size();
+    }
+
+    @Override
+    public void park(String group, long time, TimeUnit unit) throws TaskPriorityQueueException {
+        queue.park(group, time, unit);
+    }
+
+    /**
+     * record the task is taken in journal, it is not recovered anymore
+     *
+     * @param taskPriority taskPriority
+     */
+    @Override
+    public void ack(TaskPriority taskPriority) {
+        try {
+            journal.appendTake(taskPriority);
+        } catch (IOException e) {
+            // the task may be dispatched again after recovery, which skips finished tasks
+            logger.error("append take record of task {} error", taskPriority.getTaskId(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+}
@@ -85,6 +85,29 @@ public class PeerTaskInstancePriorityQueue implements TaskPriorityQueue<TaskInst
         throw new TaskPriorityQueueException("This operation is not currently supported and suggest to use PriorityBlockingQueue if you want！");
     }
 
+    /**
+     * task instances in the same process instance are not grouped
+     *
+     * @param group group
+     * @param time park time
+     * @param unit time unit
+     * @throws TaskPriorityQueueException
+     */
+    @Override
+    public void park(String group, long time, TimeUnit unit) throws TaskPriorityQueueException {
+        throw new TaskPriorityQueueException("This operation is not currently supported");
+    }
+
+    /**
+     * nothing to do, the task instances are not kept after taken
+     *
+     * @param taskInfo taskInfo
+     */
+    @Override
+    public void ack(TaskInstance taskInfo) {
+        // the task instances are not recoverable
+    }
+
     /**
      * peek taskInfo
      *
@@ -55,6 +55,11 @@ public class TaskPriority implements Comparable<TaskPriority> {
      */
     private Map<String, String> context;
 
+    /**
+     * dispatch failed retry times
+     */
+    private int dispatchFailedRetryTimes;
+
     public TaskPriority(){}
 
     public TaskPriority(int processInstancePriority,
@@ -116,6 +121,14 @@ public class TaskPriority implements Comparable<TaskPriority> {
         this.context = context;
     }
 
+    public int getDispatchFailedRetryTimes() {
+        return dispatchFailedRetryTimes;
+    }
+
+    public void setDispatchFailedRetryTimes(int dispatchFailedRetryTimes) {
+        this.dispatchFailedRetryTimes = dispatchFailedRetryTimes;
+    }
+
     @Override
     public int compareTo(TaskPriority other) {
         if (this.getProcessInstancePriority() > other.getProcessInstancePriority()) {
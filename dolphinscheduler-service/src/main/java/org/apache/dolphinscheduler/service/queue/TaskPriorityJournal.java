@@ -0,0 +1,407 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.queue;
+
+import org.apache.dolphinscheduler.common.thread.ThreadUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * append only, memory mapped journal of the task priorities put into and taken from a queue.
+ * <p>
+ * a record is [int length][byte type][payload], the length is written after the payload,
+ * so a record torn by a crash has length 0 and ends the replay.
+ * the journal grows when it is full, and is compacted to the pending tasks when most of its records are dead.
+ * the compacted journal is written by a background thread, the records appended meanwhile are copied to it
+ * and it is swapped in under the lock, so put and take are not blocked by the compaction.
+ * records reach the page cache on append, they survive a crash of the process but not of the host
+ */
+public class TaskPriorityJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskPriorityJournal.class);
+
+    /**
+     * journal file name
+     */
+    private static final String JOURNAL_FILE = "task_priority.journal";
+
+    /**
+     * journal file name while compacting
+     */
+    private static final String COMPACT_FILE = "task_priority.journal.compact";
+
+    /**
+     * put record
+     */
+    private static final byte PUT = 1;
+
+    /**
+     * take record
+     */
+    private static final byte TAKE = 2;
+
+    /**
+     * length of the record length header
+     */
+    private static final int HEADER_LENGTH = 4;
+
+    /**
+     * compact when there are more records than this and most of them are dead
+     */
+    private static final int COMPACT_MIN_RECORDS = 10000;
+
+    /**
+     * journal directory
+     */
+    private final File dir;
+
+    /**
+     * initial journal file size in bytes
+     */
+    private final int initialSize;
+
+    /**
+     * pending tasks, key is task id
+     */
+    private final Map<Integer, TaskPriority> pendingTasks = new LinkedHashMap<>();
+
+    /**
+     * compaction thread
+     */
+    private final ExecutorService compactExecutor = ThreadUtils.newDaemonSingleThreadExecutor("TaskPriorityJournalCompactor");
+
+    /**
+     * whether a compaction is running or scheduled
+     */
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    /**
+     * journal channel
+     */
+    private FileChannel channel;
+
+    /**
+     * mapped journal
+     */
+    private MappedByteBuffer buffer;
+
+    /**
+     * record count in journal
+     */
+    private int recordCount;
+
+    /**
+     * records appended while the compacted journal is written, null if not compacting
+     */
+    private List<Record> compactTail;
+
+    /**
+     * open the journal in dir, replaying the existing records
+     *
+     * @param dir journal directory
+     * @param initialSize initial journal file size in bytes
+     * @throws IOException if the journal can not be opened
+     */
+    public TaskPriorityJournal(File dir, int initialSize) throws IOException {
+        this.dir = dir;
+        this.initialSize = initialSize;
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("create journal directory error : " + dir);
+        }
+        File journalFile = new File(dir, JOURNAL_FILE);
+        channel = new RandomAccessFile(journalFile, "rw").getChannel();
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(initialSize, (int) journalFile.length()));
+        replay();
+        logger.info("task priority journal {} opened, {} pending tasks", journalFile, pendingTasks.size());
+    }
+
+    /**
+     * @return tasks put but not taken, in put order
+     */
+    public synchronized List<TaskPriority> getPendingTasks() {
+        return new ArrayList<>(pendingTasks.values());
+    }
+
+    /**
+     * append put record
+     *
+     * @param taskPriority task priority
+     * @throws IOException if write error
+     */
+    public synchronized void appendPut(TaskPriority taskPriority) throws IOException {
+        pendingTasks.put(taskPriority.getTaskId(), taskPriority);
+        append(PUT, encode(taskPriority));
+    }
+
+    /**
+     * append take record
+     *
+     * @param taskPriority task priority
+     * @throws IOException if write error
+     */
+    public synchronized void appendTake(TaskPriority taskPriority) throws IOException {
+        pendingTasks.remove(taskPriority.getTaskId());
+        byte[] payload = new byte[4];
+        ByteBuffer.wrap(payload).putInt(taskPriority.getTaskId());
+        append(TAKE, payload);
+    }
+
+    /**
+     * rewrite the journal with only the pending tasks, in the calling thread
+     *
+     * @return false if another compaction is running
+     * @throws IOException if write error
+     */
+    public boolean compact() throws IOException {
+        if (!compacting.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            doCompact();
+        } finally {
+            compacting.set(false);
+        }
+        return true;
+    }
+
+    /**
+     * @return record count in journal
+     */
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        compactExecutor.shutdownNow();
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+        }
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void append(byte type, byte[] payload) throws IOException {
+        int length = HEADER_LENGTH + 1 + payload.length;
+        if (buffer.remaining() < length) {
+            buffer = grow(channel, buffer, length);
+        }
+        write(buffer, type, payload);
+        recordCount++;
+        if (compactTail != null) {
+            compactTail.add(new Record(type, payload));
+        }
+        if (recordCount > COMPACT_MIN_RECORDS && recordCount > pendingTasks.size() * 2) {
+            scheduleCompact();
+        }
+    }
+
+    private void scheduleCompact() {
+        if (!compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            compactExecutor.execute(() -> {
+                try {
+                    doCompact();
+                } catch (Exception e) {
+                    logger.error("compact task priority journal error", e);
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // closed
+            compacting.set(false);
+        }
+    }
+
+    /**
+     * write the pending tasks to the compact file without the lock,
+     * then copy the records appended meanwhile and swap the journal under the lock
+     */
+    private void doCompact() throws IOException {
+        List<byte[]> records;
+        synchronized (this) {
+            if (buffer == null) {
+                return;
+            }
+            records = new ArrayList<>(pendingTasks.size());
+            for (TaskPriority taskPriority : pendingTasks.values()) {
+                records.add(encode(taskPriority));
+            }
+            compactTail = new ArrayList<>();
+        }
+        File compactFile = new File(dir, COMPACT_FILE);
+        FileChannel compactChannel = null;
+        boolean swapped = false;
+        try {
+            long length = 0;
+            for (byte[] payload : records) {
+                length += HEADER_LENGTH + 1 + payload.length;
+            }
+            int size = initialSize;
+            while (size < length * 2) {
+                size *= 2;
+            }
+            Files.deleteIfExists(compactFile.toPath());
+            compactChannel = new RandomAccessFile(compactFile, "rw").getChannel();
+            MappedByteBuffer compactBuffer = compactChannel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            for (byte[] payload : records) {
+                write(compactBuffer, PUT, payload);
+            }
+            compactBuffer.force();
+
+            synchronized (this) {
+                if (buffer == null) {
+                    return;
+                }
+                for (Record record : compactTail) {
+                    int recordLength = HEADER_LENGTH + 1 + record.payload.length;
+                    if (compactBuffer.remaining() < recordLength) {
+                        compactBuffer = grow(compactChannel, compactBuffer, recordLength);
+                    }
+                    write(compactBuffer, record.type, record.payload);
+                }
+                Files.move(compactFile.toPath(), new File(dir, JOURNAL_FILE).toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                channel.close();
+                channel = compactChannel;
+                buffer = compactBuffer;
+                recordCount = records.size() + compactTail.size();
+                swapped = true;
+            }
+        } finally {
+            synchronized (this) {
+                compactTail = null;
+            }
+            if (!swapped) {
+                if (compactChannel != null) {
+                    compactChannel.close();
+                }
+                Files.deleteIfExists(compactFile.toPath());
+            }
+        }
+    }
+
+    /**
+     * map the journal file doubled until the record fits
+     */
+    private static MappedByteBuffer grow(FileChannel channel, MappedByteBuffer buffer, int length) throws IOException {
+        int position = buffer.position();
+        long size = buffer.capacity();
+        while (size - position < length) {
+            size *= 2;
+        }
+        MappedByteBuffer grown = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        grown.position(position);
+        return grown;
+    }
+
+    private static void write(MappedByteBuffer buffer, byte type, byte[] payload) {
+        int position = buffer.position();
+        buffer.position(position + HEADER_LENGTH);
+        buffer.put(type);
+        buffer.put(payload);
+        // length last, a torn record is never replayed
+        buffer.putInt(position, 1 + payload.length);
+    }
+
+    private void replay() {
+        buffer.position(0);
+        while (buffer.remaining() > HEADER_LENGTH) {
+            int position = buffer.position();
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.remaining() - HEADER_LENGTH) {
+                break;
+            }
+            buffer.position(position + HEADER_LENGTH);
+            byte type = buffer.get();
+            if (type == PUT) {
+                TaskPriority taskPriority = decode();
+                pendingTasks.put(taskPriority.getTaskId(), taskPriority);
+            } else if (type == TAKE) {
+                pendingTasks.remove(buffer.getInt());
+            } else {
+                logger.warn("unknown journal record type {} at {}, stop replay", type, position);
+                buffer.position(position);
+                break;
+            }
+            recordCount++;
+        }
+    }
+
+    private static byte[] encode(TaskPriority taskPriority) {
+        byte[] groupName = taskPriority.getGroupName() == null ? new byte[0] : taskPriority.getGroupName().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer payload = ByteBuffer.allocate(4 * 6 + groupName.length);
+        payload.putInt(taskPriority.getProcessInstancePriority());
+        payload.putInt(taskPriority.getProcessInstanceId());
+        payload.putInt(taskPriority.getTaskInstancePriority());
+        payload.putInt(taskPriority.getTaskId());
+        payload.putInt(taskPriority.getDispatchFailedRetryTimes());
+        payload.putInt(groupName.length);
+        payload.put(groupName);
+        return payload.array();
+    }
+
+    private TaskPriority decode() {
+        TaskPriority taskPriority = new TaskPriority(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt(), null);
+        taskPriority.setDispatchFailedRetryTimes(buffer.getInt());
+        byte[] groupName = new byte[buffer.getInt()];
+        buffer.get(groupName);
+        taskPriority.setGroupName(new String(groupName, StandardCharsets.UTF_8));
+        return taskPriority;
+    }
+
+    /**
+     * record appended while compacting
+     */
+    private static final class Record {
+
+        private final byte type;
+
+        private final byte[] payload;
+
+        private Record(byte type, byte[] payload) {
+            this.type = type;
+            this.payload = payload;
+        }
+    }
+}
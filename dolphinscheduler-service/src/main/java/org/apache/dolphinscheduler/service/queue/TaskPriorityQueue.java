@@ -61,4 +61,22 @@ public interface TaskPriorityQueue<T> {
      * @throws TaskPriorityQueueException
      */
     int size() throws TaskPriorityQueueException;
+
+    /**
+     * stop polling the tasks of a group for a while, e.g. the worker group has no available host
+     *
+     * @param group group
+     * @param time park time
+     * @param unit time unit
+     * @throws TaskPriorityQueueException
+     */
+    void park(String group, long time, TimeUnit unit) throws TaskPriorityQueueException;
+
+    /**
+     * acknowledge a task taken from the queue is handled, e.g. dispatched, and need not be recovered anymore
+     *
+     * @param taskInfo taskInfo
+     * @throws TaskPriorityQueueException
+     */
+    void ack(T taskInfo) throws TaskPriorityQueueException;
 }
\ No newline at end of file
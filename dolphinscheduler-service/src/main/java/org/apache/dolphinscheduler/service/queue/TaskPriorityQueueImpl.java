@@ -19,26 +19,61 @@ package org.apache.dolphinscheduler.service.queue;
 
 import org.apache.dolphinscheduler.service.exceptions.TaskPriorityQueueException;
 
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.concurrent.TimeUnit;
-
-import org.springframework.stereotype.Service;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * A singleton of a task queue implemented with zookeeper
- * tasks queue implementation
+ * tasks queue implementation, one priority queue per worker group.
+ * groups are polled in round robin, so a group whose tasks can not be dispatched does not starve the others,
+ * and a group can be parked while it has no available host
  */
-@Service
 public class TaskPriorityQueueImpl implements TaskPriorityQueue<TaskPriority> {
+
     /**
-     * queue size
+     * initial capacity of each group queue
+     */
+    private static final int GROUP_QUEUE_INITIAL_SIZE = 64;
+
+    /**
+     * group queues
+     */
+    private final Map<String, PriorityQueue<TaskPriority>> groupQueues = new HashMap<>();
+
+    /**
+     * groups which have tasks, in round robin order
+     */
+    private final List<String> groups = new ArrayList<>();
+
+    /**
+     * parked groups, value is the unpark time in milliseconds
+     */
+    private final Map<String, Long> parkedGroups = new HashMap<>();
+
+    /**
+     * index of the next group to poll
      */
-    private static final Integer QUEUE_MAX_SIZE = 3000;
+    private int cursor;
 
     /**
-     * queue
+     * task count of all groups
      */
-    private PriorityBlockingQueue<TaskPriority> queue = new PriorityBlockingQueue<>(QUEUE_MAX_SIZE);
+    private int size;
+
+    /**
+     * Lock used for all public operations
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * signaled when a task can be polled
+     */
+    private final Condition available = lock.newCondition();
 
     /**
      * put task takePriorityInfo
@@ -48,7 +83,21 @@ public class TaskPriorityQueueImpl implements TaskPriorityQueue<TaskPriority> {
      */
     @Override
     public void put(TaskPriority taskPriorityInfo) throws TaskPriorityQueueException {
-        queue.put(taskPriorityInfo);
+        lock.lock();
+        try {
+            String group = taskPriorityInfo.getGroupName();
+            PriorityQueue<TaskPriority> groupQueue = groupQueues.get(group);
+            if (groupQueue == null) {
+                groupQueue = new PriorityQueue<>(GROUP_QUEUE_INITIAL_SIZE);
+                groupQueues.put(group, groupQueue);
+                groups.add(group);
+            }
+            groupQueue.offer(taskPriorityInfo);
+            size++;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -59,7 +108,7 @@ public class TaskPriorityQueueImpl implements TaskPriorityQueue<TaskPriority> {
      */
     @Override
     public TaskPriority take() throws TaskPriorityQueueException, InterruptedException {
-        return queue.take();
+        return poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
     }
 
     /**
@@ -73,7 +122,28 @@ public class TaskPriorityQueueImpl implements TaskPriorityQueue<TaskPriority> {
      */
     @Override
     public TaskPriority poll(long timeout, TimeUnit unit) throws TaskPriorityQueueException, InterruptedException {
-        return queue.poll(timeout,unit);
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                long now = System.currentTimeMillis();
+                TaskPriority taskPriority = pollReadyGroup(now);
+                if (taskPriority != null) {
+                    return taskPriority;
+                }
+                if (nanos <= 0) {
+                    return null;
+                }
+                long waitNanos = nanos;
+                Long unparkTime = earliestUnparkTime();
+                if (unparkTime != null) {
+                    waitNanos = Math.min(waitNanos, TimeUnit.MILLISECONDS.toNanos(Math.max(1, unparkTime - now)));
+                }
+                nanos -= waitNanos - available.awaitNanos(waitNanos);
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -84,6 +154,83 @@ public class TaskPriorityQueueImpl implements TaskPriorityQueue<TaskPriority> {
      */
     @Override
     public int size() throws TaskPriorityQueueException {
-        return queue.size();
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * park group, its tasks are kept but not polled until the park time passed.
+     * a parked group keeps the later unpark time, so a short park does not cut a longer one
+     *
+     * @param group group
+     * @param time park time
+     * @param unit time unit
+     * @throws TaskPriorityQueueException
+     */
+    @Override
+    public void park(String group, long time, TimeUnit unit) throws TaskPriorityQueueException {
+        lock.lock();
+        try {
+            parkedGroups.merge(group, System.currentTimeMillis() + unit.toMillis(time), Math::max);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * nothing to do, the tasks are not kept after taken
+     *
+     * @param taskInfo taskInfo
+     */
+    @Override
+    public void ack(TaskPriority taskInfo) {
+        // the tasks are not recoverable
+    }
+
+    /**
+     * poll the head of the next group in round robin order which is not parked
+     *
+     * @param now current time in milliseconds
+     * @return task priority, null if all groups are empty or parked
+     */
+    private TaskPriority pollReadyGroup(long now) {
+        parkedGroups.values().removeIf(unparkTime -> unparkTime <= now);
+        int groupCount = groups.size();
+        for (int i = 0; i < groupCount; i++) {
+            int index = (cursor + i) % groupCount;
+            String group = groups.get(index);
+            if (parkedGroups.containsKey(group)) {
+                continue;
+            }
+            PriorityQueue<TaskPriority> groupQueue = groupQueues.get(group);
+            TaskPriority taskPriority = groupQueue.poll();
+            size--;
+            if (groupQueue.isEmpty()) {
+                groupQueues.remove(group);
+                groups.remove(index);
+                cursor = groups.isEmpty() ? 0 : index % groups.size();
+            } else {
+                cursor = (index + 1) % groupCount;
+            }
+            return taskPriority;
+        }
+        return null;
+    }
+
+    /**
+     * @return the earliest unpark time of the parked groups, null if no group parked
+     */
+    private Long earliestUnparkTime() {
+        Long earliest = null;
+        for (Long unparkTime : parkedGroups.values()) {
+            if (earliest == null || unparkTime < earliest) {
+                earliest = unparkTime;
+            }
+        }
+        return earliest;
     }
 }
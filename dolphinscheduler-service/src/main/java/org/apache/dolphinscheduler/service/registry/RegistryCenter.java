@@ -24,6 +24,7 @@ import org.apache.dolphinscheduler.common.utils.PropertyUtils;
 import org.apache.dolphinscheduler.common.utils.StringUtils;
 import org.apache.dolphinscheduler.spi.plugin.DolphinPluginLoader;
 import org.apache.dolphinscheduler.spi.plugin.DolphinPluginManagerConfig;
+import org.apache.dolphinscheduler.spi.register.CachedRegistryView;
 import org.apache.dolphinscheduler.spi.register.Registry;
 import org.apache.dolphinscheduler.spi.register.RegistryConnectListener;
 import org.apache.dolphinscheduler.spi.register.RegistryException;
@@ -50,6 +51,8 @@ public class RegistryCenter {
 
     private Registry registry;
 
+    private CachedRegistryView registryView;
+
     private IStoppable stoppable;
 
     /**
@@ -87,6 +90,13 @@ public class RegistryCenter {
 
     private static final String REGISTRY_CONFIG_FILE_PATH = "/registry.properties";
 
+    private static final String REGISTRY_CACHE_STALENESS = "registry.cache.staleness.ms";
+
+    /**
+     * default max age of the cached reads
+     */
+    private static final long DEFAULT_REGISTRY_CACHE_STALENESS = 5000L;
+
     /**
      * init node persist
      */
@@ -104,6 +114,7 @@ public class RegistryCenter {
             }
 
             registry.init(registryConfig);
+            registryView = new CachedRegistryView(registry, PropertyUtils.getLong(REGISTRY_CACHE_STALENESS, DEFAULT_REGISTRY_CACHE_STALENESS));
             initNodes();
 
         }
@@ -151,27 +162,42 @@ public class RegistryCenter {
     }
 
     public void persist(String key, String value) {
-        registry.persist(key, value);
+        registryView.persist(key, value);
     }
 
     public void persistEphemeral(String key, String value) {
-        registry.persistEphemeral(key, value);
+        registryView.persistEphemeral(key, value);
     }
 
     public void remove(String key) {
-        registry.remove(key);
+        registryView.remove(key);
     }
 
     public void update(String key, String value) {
-        registry.update(key, value);
+        registryView.update(key, value);
     }
 
+    /**
+     * get data, from the local cache if the key is under a subscribed path
+     */
     public String get(String key) {
-        return registry.get(key);
+        return registryView.get(key);
     }
 
+    /**
+     * subscribe path, the reads under the path are served from the local cache from now on
+     */
     public void subscribe(String path, SubscribeListener subscribeListener) {
-        registry.subscribe(path, subscribeListener);
+        registryView.subscribe(path, subscribeListener);
+    }
+
+    /**
+     * serve the reads under path from the local cache, without listener
+     *
+     * @param path path
+     */
+    public void cache(String path) {
+        registryView.subscribe(path, null);
     }
 
     public void addConnectionStateListener(RegistryConnectListener registryConnectListener) {
@@ -179,7 +205,7 @@ public class RegistryCenter {
     }
 
     public boolean isExisted(String key) {
-        return registry.isExisted(key);
+        return registryView.isExisted(key);
     }
 
     public boolean getLock(String key) {
@@ -254,13 +280,13 @@ public class RegistryCenter {
     }
 
     /**
-     * get children nodes
+     * get children nodes, from the local cache if the key is under a subscribed path
      *
      * @param key key
-     * @return children nodes
+     * @return children nodes, must not be modified
      */
     public List<String> getChildrenKeys(final String key) {
-        return registry.getChildren(key);
+        return registryView.getChildren(key);
     }
 
 }
@@ -22,10 +22,12 @@ import org.apache.dolphinscheduler.common.utils.LoggerUtils;
 import org.apache.dolphinscheduler.common.utils.NetUtils;
 import org.apache.dolphinscheduler.remote.NettyRemotingClient;
 import org.apache.dolphinscheduler.remote.command.Command;
+import org.apache.dolphinscheduler.remote.command.CommandType;
 import org.apache.dolphinscheduler.remote.command.log.GetLogBytesResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.RemoveTaskLogResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.RollViewLogResponseCommand;
 import org.apache.dolphinscheduler.remote.command.log.ViewLogResponseCommand;
+import org.apache.dolphinscheduler.remote.exceptions.RemotingException;
 import org.apache.dolphinscheduler.remote.utils.Host;
 
 import java.nio.charset.StandardCharsets;
@@ -133,6 +135,35 @@ public class LogClientServiceTest {
         LogClientService logClientService = new LogClientService();
         Boolean status = logClientService.removeTaskLog("localhost", 1234, "/log/path");
         Assert.assertTrue(status);
+        // the log stream threads are only started by streams and follows
+        Mockito.verify(remotingClient, Mockito.never()).registerProcessor(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void testFollowLog() throws Exception {
+        NettyRemotingClient remotingClient = PowerMockito.mock(NettyRemotingClient.class);
+        PowerMockito.whenNew(NettyRemotingClient.class).withAnyArguments().thenReturn(remotingClient);
+
+        LogClientService logClientService = new LogClientService();
+        LogFollowListener listener = Mockito.mock(LogFollowListener.class);
+        logClientService.followLog("localhost", 1234, "/tmp/log", -1, listener);
+        logClientService.followLog("localhost", 1234, "/tmp/log", -1, listener);
+        Assert.assertEquals(2, logClientService.getLogFollowCount());
+        Mockito.verify(remotingClient, Mockito.times(1))
+                .registerProcessor(Mockito.eq(CommandType.LOG_STREAM_CHUNK), Mockito.any(), Mockito.any());
+
+        logClientService.close();
+        Assert.assertEquals(0, logClientService.getLogFollowCount());
+    }
+
+    @Test(expected = RemotingException.class)
+    public void testFollowLogAfterClose() throws Exception {
+        NettyRemotingClient remotingClient = PowerMockito.mock(NettyRemotingClient.class);
+        PowerMockito.whenNew(NettyRemotingClient.class).withAnyArguments().thenReturn(remotingClient);
+
+        LogClientService logClientService = new LogClientService();
+        logClientService.close();
+        logClientService.followLog("localhost", 1234, "/tmp/log", -1, Mockito.mock(LogFollowListener.class));
     }
 
     @Test
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+public class TaskLogTest {
+
+    private TaskLogWriter writer;
+
+    private Path logDir;
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+    @Before
+    public void before() throws IOException {
+        context.putProperty(TaskLog.TASK_LOG_PATTERN, "[%level] %date{yyyy-MM-dd HH:mm:ss.SSS} %logger{96}:[%line] - %message%n");
+        writer = new TaskLogWriter(2);
+        logDir = Files.createTempDirectory("task-log");
+    }
+
+    @After
+    public void after() throws IOException {
+        writer.close();
+        try (Stream<Path> paths = Files.walk(logDir)) {
+            paths.sorted(Collections.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testWriteLogFile() throws Exception {
+        Path logPath = logDir.resolve("1_1/2/3.log");
+        AtomicBoolean closed = new AtomicBoolean();
+        TaskLog taskLog = writer.open(logPath.toString(), "TaskLogLogger", null, () -> closed.set(true));
+        for (int i = 0; i < 10000; i++) {
+            taskLog.append("line " + i);
+        }
+        taskLog.close();
+        Assert.assertTrue(taskLog.awaitClosed(10, TimeUnit.SECONDS));
+        Assert.assertTrue(closed.get());
+        Assert.assertEquals(0, writer.getOpenCount());
+
+        List<String> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(logPath, StandardCharsets.UTF_8)) {
+            if (line.startsWith("[INFO]")) {
+                Assert.assertTrue(line.matches("\\[INFO] \\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.\\d{3} TaskLogLogger:\\[\\d+] -  -> .*"));
+                lines.add(line.substring(line.indexOf(" -> ") + " -> ".length()));
+            } else {
+                Assert.assertTrue(line.startsWith("\t"));
+                lines.add(line.substring(1));
+            }
+        }
+        Assert.assertEquals(10000, lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            Assert.assertEquals("line " + i, lines.get(i));
+        }
+    }
+
+    @Test
+    public void testWriteByConfiguredPattern() throws Exception {
+        Path logPath = logDir.resolve("pattern.log");
+        context.putProperty(TaskLog.TASK_LOG_PATTERN, "%level|%logger|%line|%message%n");
+        TaskLog taskLog = writer.open(logPath.toString(), "TaskLogTest.pattern", null, null);
+        taskLog.append("line 0");
+        taskLog.close();
+        Assert.assertTrue(taskLog.awaitClosed(10, TimeUnit.SECONDS));
+
+        List<String> lines = Files.readAllLines(logPath, StandardCharsets.UTF_8);
+        Assert.assertEquals(1, lines.size());
+        Assert.assertTrue(lines.get(0).matches("INFO\\|TaskLogTest\\.pattern\\|\\d+\\| -> line 0"));
+    }
+
+    @Test
+    public void testWriteByTaskLoggerWithoutPattern() throws Exception {
+        Path logPath = logDir.resolve("appender.log");
+        context.putProperty(TaskLog.TASK_LOG_PATTERN, "");
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        Logger taskLogger = context.getLogger("TaskLogTest.appender");
+        taskLogger.setAdditive(false);
+        taskLogger.addAppender(appender);
+        try {
+            TaskLog taskLog = writer.open(logPath.toString(), taskLogger.getName(), null, null);
+            taskLog.append("line 0");
+            taskLog.close();
+            Assert.assertTrue(taskLog.awaitClosed(10, TimeUnit.SECONDS));
+        } finally {
+            taskLogger.detachAndStopAllAppenders();
+        }
+
+        Assert.assertFalse(Files.exists(logPath));
+        Assert.assertEquals(1, appender.list.size());
+        Assert.assertEquals(" -> line 0", appender.list.get(0).getFormattedMessage());
+    }
+
+    @Test
+    public void testMaskPassword() throws Exception {
+        Path logPath = logDir.resolve("mask.log");
+        TaskLog taskLog = writer.open(logPath.toString(), "TaskLogLogger", null, null);
+        taskLog.append("connect with password='123456' done");
+        taskLog.close();
+        Assert.assertTrue(taskLog.awaitClosed(10, TimeUnit.SECONDS));
+
+        String log = new String(Files.readAllBytes(logPath), StandardCharsets.UTF_8);
+        Assert.assertFalse(log.contains("123456"));
+        Assert.assertTrue(log.contains("password='******'"));
+    }
+
+    @Test
+    public void testLogHandlerWhenRingBufferIsFull() throws Exception {
+        List<String> handled = Collections.synchronizedList(new ArrayList<>());
+        TaskLog taskLog = new TaskLog(writer, null, "TaskLogLogger", lines -> {
+            handled.addAll(lines);
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, null, 4);
+        for (int i = 0; i < 100; i++) {
+            taskLog.append("line " + i);
+            Assert.assertTrue(taskLog.getQueuedCount() <= 4);
+        }
+        taskLog.close();
+        Assert.assertTrue(taskLog.awaitClosed(10, TimeUnit.SECONDS));
+
+        Assert.assertEquals(100, handled.size());
+        for (int i = 0; i < handled.size(); i++) {
+            Assert.assertEquals("line " + i, handled.get(i));
+        }
+    }
+}
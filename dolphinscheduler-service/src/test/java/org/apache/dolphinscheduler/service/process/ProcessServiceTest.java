@@ -57,6 +57,7 @@ import org.apache.dolphinscheduler.dao.mapper.UserMapper;
 import org.apache.dolphinscheduler.service.quartz.cron.CronUtilsTest;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -289,6 +290,32 @@ public class ProcessServiceTest {
         Assert.assertTrue(processInstance1.getGlobalParams().contains("\"testStartParam1\""));
     }
 
+    @Test
+    public void testHandleCommands() {
+        String host = "127.0.0.1";
+        int validThreadNum = 1;
+        Command command = new Command();
+        command.setProcessDefinitionId(222);
+        command.setCommandType(CommandType.START_PROCESS);
+        Mockito.when(processDefineMapper.selectById(command.getProcessDefinitionId())).thenReturn(null);
+        Assert.assertTrue(processService.handleCommands(logger, host, validThreadNum, Collections.singletonList(command)).isEmpty());
+    }
+
+    @Test
+    public void testClaimAndHandleCommand() {
+        String host = "127.0.0.1";
+        int validThreadNum = 1;
+        Command command = new Command();
+        command.setId(1);
+        command.setProcessDefinitionId(222);
+        command.setCommandType(CommandType.START_PROCESS);
+        // command has been handled by another master
+        Mockito.when(commandMapper.lockCommandById(command.getId())).thenReturn(null);
+        Assert.assertNull(processService.claimAndHandleCommand(logger, host, validThreadNum, command));
+        Assert.assertTrue(processService.claimAndHandleCommands(logger, host, validThreadNum, Collections.singletonList(command)).isEmpty());
+        Mockito.verify(processDefineMapper, Mockito.never()).selectById(command.getProcessDefinitionId());
+    }
+
     @Test
     public void testGetUserById() {
         User user = new User();
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.service.queue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class JournalTaskPriorityQueueTest {
+
+    private File dir;
+
+    @Before
+    public void before() throws Exception {
+        dir = Files.createTempDirectory("journal").toFile();
+    }
+
+    @After
+    public void after() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void testRecover() throws Exception {
+        JournalTaskPriorityQueue queue = new JournalTaskPriorityQueue(new TaskPriorityQueueImpl(), new TaskPriorityJournal(dir, 1024));
+        queue.put(new TaskPriority(0, 1, 0, 1, "default"));
+        queue.put(new TaskPriority(1, 1, 0, 2, "default"));
+        TaskPriority taskPriority = new TaskPriority(2, 1, 0, 3, "other");
+        taskPriority.setDispatchFailedRetryTimes(2);
+        queue.put(taskPriority);
+        queue.ack(queue.poll(0, TimeUnit.MILLISECONDS));
+        queue.close();
+
+        queue = new JournalTaskPriorityQueue(new TaskPriorityQueueImpl(), new TaskPriorityJournal(dir, 1024));
+        Assert.assertEquals(2, queue.size());
+        Assert.assertEquals(2, queue.take().getTaskId());
+        TaskPriority recovered = queue.take();
+        Assert.assertEquals(taskPriority, recovered);
+        Assert.assertEquals(2, recovered.getDispatchFailedRetryTimes());
+        queue.ack(recovered);
+        queue.ack(new TaskPriority(1, 1, 0, 2, "default"));
+        queue.close();
+
+        TaskPriorityJournal journal = new TaskPriorityJournal(dir, 1024);
+        Assert.assertTrue(journal.getPendingTasks().isEmpty());
+        journal.close();
+    }
+
+    @Test
+    public void testRecoverRetryTask() throws Exception {
+        JournalTaskPriorityQueue queue = new JournalTaskPriorityQueue(new TaskPriorityQueueImpl(), new TaskPriorityJournal(dir, 1024));
+        queue.put(new TaskPriority(0, 1, 0, 1, "default"));
+        queue.put(new TaskPriority(0, 1, 0, 2, "gpu"));
+        // task 1 is dispatched
+        queue.ack(queue.poll(0, TimeUnit.MILLISECONDS));
+        // task 2 is failed to dispatch, and waits in the retry queue of the consumer, then is put back and polled again
+        TaskPriority retryTask = queue.poll(0, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(2, retryTask.getTaskId());
+        retryTask.setDispatchFailedRetryTimes(1);
+        queue.put(retryTask);
+        Assert.assertSame(retryTask, queue.poll(0, TimeUnit.MILLISECONDS));
+        // crash before task 2 is dispatched
+        queue.close();
+
+        queue = new JournalTaskPriorityQueue(new TaskPriorityQueueImpl(), new TaskPriorityJournal(dir, 1024));
+        Assert.assertEquals(1, queue.size());
+        TaskPriority recovered = queue.take();
+        Assert.assertEquals(2, recovered.getTaskId());
+        Assert.assertEquals("gpu", recovered.getGroupName());
+        Assert.assertEquals(1, recovered.getDispatchFailedRetryTimes());
+        queue.close();
+    }
+
+    @Test
+    public void testCompact() throws Exception {
+        TaskPriorityJournal journal = new TaskPriorityJournal(dir, 256);
+        for (int i = 0; i < 20000; i++) {
+            TaskPriority taskPriority = new TaskPriority(0, 1, 0, i, "default");
+            journal.appendPut(taskPriority);
+            if (i % 100 != 0) {
+                journal.appendTake(taskPriority);
+            }
+        }
+        // compacted by the background thread while the records are appended
+        for (int i = 0; i < 100 && journal.getRecordCount() >= 20000; i++) {
+            Thread.sleep(100);
+        }
+        Assert.assertTrue(journal.getRecordCount() < 20000);
+        // false while the background compaction is running
+        boolean compacted = journal.compact();
+        for (int i = 0; i < 100 && !compacted; i++) {
+            Thread.sleep(100);
+            compacted = journal.compact();
+        }
+        Assert.assertTrue(compacted);
+        Assert.assertEquals(200, journal.getRecordCount());
+        journal.appendPut(new TaskPriority(0, 1, 0, 20000, "default"));
+        journal.appendTake(new TaskPriority(0, 1, 0, 20000, "default"));
+        journal.close();
+
+        journal = new TaskPriorityJournal(dir, 256);
+        List<TaskPriority> pendingTasks = journal.getPendingTasks();
+        Assert.assertEquals(200, pendingTasks.size());
+        Assert.assertEquals(0, pendingTasks.get(0).getTaskId());
+        Assert.assertEquals(19900, pendingTasks.get(199).getTaskId());
+        journal.close();
+    }
+}
@@ -113,6 +113,43 @@ public class TaskPriorityQueueImplTest {
         Assert.assertTrue(getPriorityQueue().size() == 2);
     }
 
+    @Test
+    public void testRoundRobinGroups() throws Exception {
+        TaskPriorityQueue<TaskPriority> queue = new TaskPriorityQueueImpl();
+        queue.put(new TaskPriority(0, 1, 0, 1, "groupA"));
+        queue.put(new TaskPriority(0, 1, 0, 2, "groupA"));
+        queue.put(new TaskPriority(2, 2, 0, 3, "groupB"));
+
+        Assert.assertEquals(1, queue.take().getTaskId());
+        Assert.assertEquals(3, queue.take().getTaskId());
+        Assert.assertEquals(2, queue.take().getTaskId());
+        Assert.assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testPark() throws Exception {
+        TaskPriorityQueue<TaskPriority> queue = new TaskPriorityQueueImpl();
+        queue.put(new TaskPriority(0, 1, 0, 1, "groupA"));
+        queue.put(new TaskPriority(2, 2, 0, 2, "groupB"));
+        queue.park("groupA", 200, TimeUnit.MILLISECONDS);
+
+        Assert.assertEquals(2, queue.poll(10, TimeUnit.MILLISECONDS).getTaskId());
+        Assert.assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(1, queue.size());
+        Assert.assertEquals(1, queue.poll(1000, TimeUnit.MILLISECONDS).getTaskId());
+    }
+
+    @Test
+    public void testShortParkNotCutLongerPark() throws Exception {
+        TaskPriorityQueue<TaskPriority> queue = new TaskPriorityQueueImpl();
+        queue.put(new TaskPriority(0, 1, 0, 1, "groupA"));
+        queue.park("groupA", 1000, TimeUnit.MILLISECONDS);
+        queue.park("groupA", 10, TimeUnit.MILLISECONDS);
+
+        Assert.assertNull(queue.poll(100, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(1, queue.poll(2000, TimeUnit.MILLISECONDS).getTaskId());
+    }
+
     /**
      * get queue
      *
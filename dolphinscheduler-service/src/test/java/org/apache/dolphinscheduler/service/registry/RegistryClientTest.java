@@ -24,6 +24,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doNothing;
 
 import org.apache.dolphinscheduler.common.enums.NodeType;
+import org.apache.dolphinscheduler.spi.register.CachedRegistryView;
 import org.apache.dolphinscheduler.spi.register.Registry;
 
 import java.util.Arrays;
@@ -35,6 +36,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
 
 import com.google.common.collect.Sets;
 
@@ -49,7 +51,7 @@ public class RegistryClientTest {
 
     @Before
     public void before() {
-        //  registry=mock(Registry.class);
+        Whitebox.setInternalState(registryClient, "registryView", new CachedRegistryView(registry, 0));
     }
 
     @Test
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.spi.register;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Cached view of a registry. The reads under the subscribed paths are served from memory:
+ * a path is subscribed to the registry once, its data change events drop the cached entries of the changed nodes,
+ * and an entry older than the staleness bound is reloaded anyway in case an event is missed.
+ * The reads under other paths go to the registry.
+ */
+public class CachedRegistryView {
+
+    private final Registry registry;
+
+    private final long stalenessMillis;
+
+    /**
+     * subscribed paths and their listeners
+     */
+    private final Map<String, List<SubscribeListener>> subscriptions = new ConcurrentHashMap<>();
+
+    private final Map<String, CacheEntry<String>> dataCache = new ConcurrentHashMap<>();
+
+    private final Map<String, CacheEntry<List<String>>> childrenCache = new ConcurrentHashMap<>();
+
+    private final Map<String, CacheEntry<Boolean>> existsCache = new ConcurrentHashMap<>();
+
+    /**
+     * guards the invalidations, a value loaded across an invalidation is not cached
+     */
+    private final Object invalidationLock = new Object();
+
+    private long invalidations;
+
+    public CachedRegistryView(Registry registry, long stalenessMillis) {
+        this.registry = registry;
+        this.stalenessMillis = stalenessMillis;
+    }
+
+    /**
+     * subscribe path, the path is subscribed to the registry once however many listeners there are.
+     * the reads under the path are cached from now on
+     *
+     * @param path path
+     * @param subscribeListener listener, null to only cache the path
+     */
+    public synchronized void subscribe(String path, SubscribeListener subscribeListener) {
+        List<SubscribeListener> listeners = subscriptions.get(path);
+        if (listeners == null) {
+            List<SubscribeListener> newListeners = new CopyOnWriteArrayList<>();
+            registry.subscribe(path, (dataPath, dataChangeEvent) -> {
+                invalidate(dataPath);
+                for (SubscribeListener listener : newListeners) {
+                    listener.notify(dataPath, dataChangeEvent);
+                }
+            });
+            subscriptions.put(path, newListeners);
+            listeners = newListeners;
+        }
+        if (subscribeListener != null) {
+            listeners.add(subscribeListener);
+        }
+    }
+
+    /**
+     * unsubscribe path and drop its cache
+     */
+    public synchronized void unsubscribe(String path) {
+        if (subscriptions.remove(path) != null) {
+            registry.unsubscribe(path);
+            invalidateTree(path);
+        }
+    }
+
+    /**
+     * whether the reads of key are cached
+     */
+    public boolean isCached(String key) {
+        for (String path : subscriptions.keySet()) {
+            if (key.equals(path) || (key.startsWith(path) && key.charAt(path.length()) == '/')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String get(String key) {
+        return read(dataCache, key, () -> registry.get(key));
+    }
+
+    /**
+     * get children keys, the list must not be modified
+     */
+    public List<String> getChildren(String key) {
+        return read(childrenCache, key, () -> Collections.unmodifiableList(registry.getChildren(key)));
+    }
+
+    public boolean isExisted(String key) {
+        return read(existsCache, key, () -> registry.isExisted(key));
+    }
+
+    public void persist(String key, String value) {
+        registry.persist(key, value);
+        invalidate(key);
+    }
+
+    public void persistEphemeral(String key, String value) {
+        registry.persistEphemeral(key, value);
+        invalidate(key);
+    }
+
+    public void update(String key, String value) {
+        registry.update(key, value);
+        invalidate(key);
+    }
+
+    public void remove(String key) {
+        registry.remove(key);
+        invalidateTree(key);
+    }
+
+    public boolean delete(String key) {
+        boolean deleted = registry.delete(key);
+        invalidateTree(key);
+        return deleted;
+    }
+
+    private <T> T read(Map<String, CacheEntry<T>> cache, String key, Supplier<T> loader) {
+        if (!isCached(key)) {
+            return loader.get();
+        }
+        long now = System.currentTimeMillis();
+        CacheEntry<T> entry = cache.get(key);
+        if (entry != null && now - entry.loadTime < stalenessMillis) {
+            return entry.value;
+        }
+        long version;
+        synchronized (invalidationLock) {
+            version = invalidations;
+        }
+        T value = loader.get();
+        synchronized (invalidationLock) {
+            if (version == invalidations) {
+                cache.put(key, new CacheEntry<>(value, now));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * drop the cache of the changed node
+     */
+    private void invalidate(String key) {
+        synchronized (invalidationLock) {
+            invalidations++;
+            dataCache.remove(key);
+            existsCache.remove(key);
+            childrenCache.remove(key);
+            int index = key.lastIndexOf('/');
+            if (index > 0) {
+                childrenCache.remove(key.substring(0, index));
+            }
+        }
+    }
+
+    /**
+     * drop the cache of the removed node and its descendants
+     */
+    private void invalidateTree(String key) {
+        synchronized (invalidationLock) {
+            invalidate(key);
+            String prefix = key + "/";
+            dataCache.keySet().removeIf(path -> path.startsWith(prefix));
+            existsCache.keySet().removeIf(path -> path.startsWith(prefix));
+            childrenCache.keySet().removeIf(path -> path.startsWith(prefix));
+        }
+    }
+
+    private static final class CacheEntry<T> {
+
+        private final T value;
+
+        private final long loadTime;
+
+        CacheEntry(T value, long loadTime) {
+            this.value = value;
+            this.loadTime = loadTime;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.dolphinscheduler.spi.register;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CachedRegistryViewTest {
+
+    private MemoryRegistry registry;
+
+    private CachedRegistryView registryView;
+
+    @Before
+    public void before() {
+        registry = new MemoryRegistry();
+        registry.persist("/nodes/master/127.0.0.1:5678", "heartbeat");
+        registryView = new CachedRegistryView(registry, 60000);
+    }
+
+    @Test
+    public void testCachedRead() {
+        registryView.get("/nodes/master/127.0.0.1:5678");
+        registryView.get("/nodes/master/127.0.0.1:5678");
+        Assert.assertEquals(2, registry.reads.get());
+
+        registryView.subscribe("/nodes/master", null);
+        Assert.assertTrue(registryView.isCached("/nodes/master/127.0.0.1:5678"));
+        Assert.assertFalse(registryView.isCached("/nodes/masters"));
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals("heartbeat", registryView.get("/nodes/master/127.0.0.1:5678"));
+            Assert.assertEquals(1, registryView.getChildren("/nodes/master").size());
+            Assert.assertTrue(registryView.isExisted("/nodes/master/127.0.0.1:5678"));
+        }
+        Assert.assertEquals(5, registry.reads.get());
+    }
+
+    @Test
+    public void testInvalidate() {
+        AtomicInteger events = new AtomicInteger();
+        registryView.subscribe("/nodes/master", (path, dataChangeEvent) -> events.incrementAndGet());
+        registryView.subscribe("/nodes/master", null);
+        Assert.assertEquals(1, registry.listeners.size());
+
+        Assert.assertEquals(1, registryView.getChildren("/nodes/master").size());
+        registry.persist("/nodes/master/127.0.0.1:5679", "heartbeat");
+        registry.notify("/nodes/master/127.0.0.1:5679", DataChangeEvent.ADD);
+        Assert.assertEquals(1, events.get());
+        Assert.assertEquals(2, registryView.getChildren("/nodes/master").size());
+
+        Assert.assertEquals("heartbeat", registryView.get("/nodes/master/127.0.0.1:5678"));
+        registryView.update("/nodes/master/127.0.0.1:5678", "changed");
+        Assert.assertEquals("changed", registryView.get("/nodes/master/127.0.0.1:5678"));
+
+        registryView.remove("/nodes/master/127.0.0.1:5678");
+        Assert.assertFalse(registryView.isExisted("/nodes/master/127.0.0.1:5678"));
+        Assert.assertEquals(1, registryView.getChildren("/nodes/master").size());
+    }
+
+    @Test
+    public void testStaleness() {
+        registryView = new CachedRegistryView(registry, 0);
+        registryView.subscribe("/nodes/master", null);
+        registryView.get("/nodes/master/127.0.0.1:5678");
+        registryView.get("/nodes/master/127.0.0.1:5678");
+        Assert.assertEquals(2, registry.reads.get());
+    }
+
+    @Test
+    public void testUnsubscribe() {
+        registryView.subscribe("/nodes/master", null);
+        registryView.unsubscribe("/nodes/master");
+        Assert.assertTrue(registry.listeners.isEmpty());
+        Assert.assertFalse(registryView.isCached("/nodes/master/127.0.0.1:5678"));
+    }
+
+    /**
+     * registry in memory, counting the reads
+     */
+    private static class MemoryRegistry implements Registry {
+
+        private final Map<String, String> data = new HashMap<>();
+
+        private final Map<String, SubscribeListener> listeners = new HashMap<>();
+
+        private final AtomicInteger reads = new AtomicInteger();
+
+        void notify(String path, DataChangeEvent dataChangeEvent) {
+            listeners.forEach((subscribedPath, listener) -> {
+                if (path.startsWith(subscribedPath)) {
+                    listener.notify(path, dataChangeEvent);
+                }
+            });
+        }
+
+        @Override
+        public void init(Map<String, String> registerData) {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean subscribe(String path, SubscribeListener subscribeListener) {
+            return listeners.putIfAbsent(path, subscribeListener) == null;
+        }
+
+        @Override
+        public void unsubscribe(String path) {
+            listeners.remove(path);
+        }
+
+        @Override
+        public void addConnectionStateListener(RegistryConnectListener registryConnectListener) {
+        }
+
+        @Override
+        public String get(String key) {
+            reads.incrementAndGet();
+            return data.get(key);
+        }
+
+        @Override
+        public void remove(String key) {
+            data.keySet().removeIf(path -> path.equals(key) || path.startsWith(key + "/"));
+        }
+
+        @Override
+        public void persist(String key, String value) {
+            data.put(key, value);
+        }
+
+        @Override
+        public void persistEphemeral(String key, String value) {
+            data.put(key, value);
+        }
+
+        @Override
+        public void update(String key, String value) {
+            data.put(key, value);
+        }
+
+        @Override
+        public List<String> getChildren(String path) {
+            reads.incrementAndGet();
+            List<String> children = new ArrayList<>();
+            for (String key : data.keySet()) {
+                if (key.startsWith(path + "/")) {
+                    children.add(key.substring(path.length() + 1));
+                }
+            }
+            return children;
+        }
+
+        @Override
+        public boolean isExisted(String key) {
+            reads.incrementAndGet();
+            return data.containsKey(key);
+        }
+
+        @Override
+        public boolean delete(String key) {
+            return data.remove(key) != null;
+        }
+
+        @Override
+        public boolean acquireLock(String key) {
+            return true;
+        }
+
+        @Override
+        public boolean releaseLock(String key) {
+            return true;
+        }
+    }
+}
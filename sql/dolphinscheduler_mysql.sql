@@ -468,6 +468,8 @@ CREATE TABLE `t_ds_task_definition` (
   `timeout` int(11) DEFAULT '0' COMMENT 'timeout length,unit: minute',
   `delay_time` int(11) DEFAULT '0' COMMENT 'delay execution time,unit: minute',
   `resource_ids` varchar(255) DEFAULT NULL COMMENT 'resource id, separated by comma',
+  `cpu_quota` int(11) DEFAULT '0' COMMENT 'cpu quota in percent of a core, no requirement if not positive',
+  `memory_max` int(11) DEFAULT '0' COMMENT 'max memory in MB, no requirement if not positive',
   `create_time` datetime NOT NULL COMMENT 'create time',
   `update_time` datetime DEFAULT NULL COMMENT 'update time',
   PRIMARY KEY (`id`,`code`),
@@ -498,6 +500,8 @@ CREATE TABLE `t_ds_task_definition_log` (
   `timeout` int(11) DEFAULT '0' COMMENT 'timeout length,unit: minute',
   `delay_time` int(11) DEFAULT '0' COMMENT 'delay execution time,unit: minute',
   `resource_ids` varchar(255) DEFAULT NULL COMMENT 'resource id, separated by comma',
+  `cpu_quota` int(11) DEFAULT '0' COMMENT 'cpu quota in percent of a core, no requirement if not positive',
+  `memory_max` int(11) DEFAULT '0' COMMENT 'max memory in MB, no requirement if not positive',
   `operator` int(11) DEFAULT NULL COMMENT 'operator user id',
   `operate_time` datetime DEFAULT NULL COMMENT 'operate time',
   `create_time` datetime NOT NULL COMMENT 'create time',
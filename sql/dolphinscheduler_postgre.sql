@@ -355,6 +355,8 @@ CREATE TABLE t_ds_task_definition (
   timeout int DEFAULT '0' ,
   delay_time int DEFAULT '0' ,
   resource_ids varchar(255) DEFAULT NULL ,
+  cpu_quota int DEFAULT '0' ,
+  memory_max int DEFAULT '0' ,
   create_time timestamp DEFAULT NULL ,
   update_time timestamp DEFAULT NULL ,
   PRIMARY KEY (id) ,
@@ -384,6 +386,8 @@ CREATE TABLE t_ds_task_definition_log (
   timeout int DEFAULT '0' ,
   delay_time int DEFAULT '0' ,
   resource_ids varchar(255) DEFAULT NULL ,
+  cpu_quota int DEFAULT '0' ,
+  memory_max int DEFAULT '0' ,
   operator int DEFAULT NULL ,
   operate_time timestamp DEFAULT NULL ,
   create_time timestamp DEFAULT NULL ,
@@ -336,6 +336,8 @@ BEGIN
         timeout int DEFAULT '0' ,
         delay_time int DEFAULT '0' ,
         resource_ids varchar(255) DEFAULT NULL ,
+        cpu_quota int DEFAULT '0' ,
+        memory_max int DEFAULT '0' ,
         create_time timestamp DEFAULT NULL ,
         update_time timestamp DEFAULT NULL ,
         PRIMARY KEY (id) ,
@@ -378,6 +380,8 @@ BEGIN
         timeout int DEFAULT '0' ,
         delay_time int DEFAULT '0' ,
         resource_ids varchar(255) DEFAULT NULL ,
+        cpu_quota int DEFAULT '0' ,
+        memory_max int DEFAULT '0' ,
         operator int DEFAULT NULL ,
         operate_time timestamp DEFAULT NULL ,
         create_time timestamp DEFAULT NULL ,